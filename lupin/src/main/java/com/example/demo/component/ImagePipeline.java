@@ -0,0 +1,161 @@
+package com.example.demo.component;
+
+import com.example.demo.config.properties.ImagePipelineProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이미지 처리 파이프라인
+ * - 디코딩/리사이징/인코딩은 CPU 코어 수만큼의 전용 스레드에서, 저장소 업로드는 별도 I/O 스레드에서 실행한다.
+ *   (한 요청의 여러 파일이 동시에 처리되고, 업로드 대기가 CPU 스레드를 막지 않는다)
+ * - 처리 중인 이미지의 메모리는 노드 전체 예산(KB 단위 세마포어)으로 제한한다.
+ *   예산이 모자라면 요청 스레드가 잠시 기다리고, 시간이 지나면 IOException으로 실패한다.
+ */
+@Component
+public class ImagePipeline {
+
+    private final ImagePipelineProperties properties;
+    private final ExecutorService cpuExecutor;
+    private final ExecutorService ioExecutor;
+    private final Semaphore memoryBudget;
+    private final int budgetKb;
+
+    public ImagePipeline(ImagePipelineProperties properties) {
+        this.properties = properties;
+        int cpuThreads = properties.getCpuThreads() > 0
+                ? properties.getCpuThreads()
+                : Runtime.getRuntime().availableProcessors();
+        this.cpuExecutor = Executors.newFixedThreadPool(cpuThreads, namedThreads("image-cpu-"));
+        this.ioExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getIoThreads()), namedThreads("image-io-"));
+        this.budgetKb = Math.max(1, properties.getMemoryBudgetMb()) * 1024;
+        this.memoryBudget = new Semaphore(budgetKb, true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cpuExecutor.shutdown();
+        ioExecutor.shutdown();
+    }
+
+    /**
+     * 원본 크기만큼의 처리 메모리를 예약한다. (반납은 Reservation.close)
+     * 한 파일이 예산보다 크면 예산 전체를 잡아 혼자 처리되게 한다.
+     */
+    public Reservation reserve(long originalSize) throws IOException {
+        long estimatedKb = (Math.max(0L, originalSize) * Math.max(1, properties.getMemoryFactor()) + 1023) / 1024;
+        int permits = (int) Math.max(1L, Math.min(budgetKb, estimatedKb));
+        try {
+            if (!memoryBudget.tryAcquire(permits, properties.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("이미지 처리 대기 시간 초과 (메모리 예산 부족)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("이미지 처리 대기 중 인터럽트", e);
+        }
+        return new Reservation(permits);
+    }
+
+    public <T> CompletableFuture<T> supplyCpu(Callable<T> task) {
+        return supply(task, cpuExecutor);
+    }
+
+    public <T> CompletableFuture<T> supplyIo(Callable<T> task) {
+        return supply(task, ioExecutor);
+    }
+
+    /**
+     * 모든 작업이 끝날 때까지 기다려 입력 순서대로 결과를 돌려준다.
+     * 하나라도 실패하면 첫 번째 원인을 IOException으로 던진다.
+     */
+    public <T> List<T> awaitAll(List<CompletableFuture<T>> futures) throws IOException {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(properties.getTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("이미지 처리 대기 중 인터럽트", e);
+        } catch (TimeoutException e) {
+            throw new IOException("이미지 처리 시간 초과", e);
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * 남은 메모리 예산 (KB)
+     */
+    public int availableBudgetKb() {
+        return memoryBudget.availablePermits();
+    }
+
+    private <T> CompletableFuture<T> supply(Callable<T> task, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        return new IOException("이미지 처리 실패", cause);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 예약한 메모리 (여러 번 닫아도 한 번만 반납)
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final int permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(int permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                memoryBudget.release(permits);
+            }
+        }
+    }
+}
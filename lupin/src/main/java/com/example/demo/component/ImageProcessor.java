@@ -1,50 +1,191 @@
 package com.example.demo.component;
 
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifIFD0Directory;
+import com.example.demo.config.properties.ImageEncodingProperties;
 import com.sksamuel.scrimage.ImmutableImage;
 import com.sksamuel.scrimage.webp.WebpWriter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 이미지 처리 전용 컴포넌트
  * - 리사이징, WebP 변환 등 순수 이미지 가공 로직만 담당
  * - 저장소(S3 등)에 대한 의존성 없음 -> 단위 테스트 용이
+ * - 원본은 decode로 한 번만 디코딩하고, 같은 래스터에서 여러 크기(Rendition)를 encode로 만든다.
+ *   (encode는 서로 독립적이라 호출하는 쪽에서 병렬로 실행할 수 있다)
+ * - 파일에서 디코딩할 때는 헤더의 크기를 먼저 보고, 필요한 가장 큰 Rendition의 2배까지 건너뛰며 읽는다.
+ *   (30MB 원본을 바이트 배열이나 원본 해상도 래스터로 올리지 않는다)
+ * - 크기마다 용량 예산(결과 픽셀 수 x bitsPerPixel)을 두고, 정책 품질로 넘으면 최저 품질까지 이진 탐색으로 낮춘다.
+ *   정책 품질은 상한이라 단순한 이미지는 그대로, 노이즈가 많은 사진만 품질이 내려간다.
+ * - 메타데이터 없는 WebP가 이미 크기와 예산 안이면 다시 인코딩하지 않고 원본 바이트를 그대로 쓴다.
+ * - 크기 종류({prefix}/{크기})별로 용량/품질/인코딩 시간을 누적해 1분마다 로그로 남긴다.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class ImageProcessor {
 
     private static final int DEFAULT_WEBP_QUALITY = 60;
+    private static final int WEBP_HEADER_BYTES = 21;
+    // VP8X 플래그: 애니메이션(0x02), XMP(0x04), EXIF(0x08) - 있으면 그대로 내보내지 않는다 (GPS 등 노출 방지)
+    private static final int VP8X_UNSAFE_FLAGS = 0x02 | 0x04 | 0x08;
+
+    private final ImageEncodingProperties encodingProperties;
+    private final Map<String, RenditionCounters> counters = new ConcurrentHashMap<>();
+    // 마지막으로 로그에 남긴 지표 (바뀐 종류만 다시 남긴다)
+    private final Map<String, RenditionStats> lastLogged = new ConcurrentHashMap<>();
+
+    /**
+     * 원본 디코딩 (실패하면 원본 바이트를 들고 있다가 원본 크기 Rendition에서 그대로 돌려준다)
+     */
+    public DecodedImage decode(byte[] originalBytes) {
+        try {
+            ImmutableImage image = ImmutableImage.loader().fromStream(new ByteArrayInputStream(originalBytes));
+            // 디코딩에 성공하면 원본 바이트는 그대로 쓸 수 있는 WebP일 때만 들고 있는다
+            boolean passthrough = isPassthroughCandidate(originalBytes, originalBytes.length, image.width, image.height);
+            return new DecodedImage(image, null, passthrough ? originalBytes : null);
+        } catch (Exception e) {
+            log.warn("Image decode failed, original bytes will be kept. Error: {}", e.getMessage());
+            return new DecodedImage(null, originalBytes);
+        }
+    }
+
+    /**
+     * 파일에서 디코딩 - 만들 Rendition들에 필요한 만큼만 서브샘플링해서 읽고 EXIF 방향을 적용한다.
+     * ImageIO가 읽지 못하는 형식은 scrimage로 읽고, 그것도 실패하면 image와 fallbackBytes가 모두 null이다.
+     * (이때 원본 크기는 호출하는 쪽에서 파일 그대로 올린다)
+     */
+    public DecodedImage decode(Path source, List<Rendition> renditions) {
+        byte[] header = readHeader(source);
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers != null && readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(input, true, true);
+                    int width = reader.getWidth(0);
+                    int height = reader.getHeight(0);
+                    int orientation = readOrientation(source);
+                    // 5~8은 90도 회전이므로 회전 후 기준으로 가로/세로를 바꿔 계산
+                    int subsampling = orientation >= 5
+                            ? subsamplingFor(height, width, renditions)
+                            : subsamplingFor(width, height, renditions);
+
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                    BufferedImage raster = reader.read(0, param);
+                    log.debug("Image decoded from file: {}x{} -> {}x{} (subsampling={})",
+                            width, height, raster.getWidth(), raster.getHeight(), subsampling);
+                    // 서브샘플링했다면 원본이 모든 크기보다 2배 이상 크므로 그대로 쓸 일이 없다
+                    byte[] passthrough = subsampling == 1 ? passthroughBytes(source, header, width, height) : null;
+                    return new DecodedImage(reorient(ImmutableImage.fromAwt(raster), orientation), null, passthrough);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("ImageIO decode failed, falling back to scrimage. Error: {}", e.getMessage());
+        }
+
+        try {
+            ImmutableImage image = ImmutableImage.loader().fromPath(source);
+            return new DecodedImage(image, null, passthroughBytes(source, header, image.width, image.height));
+        } catch (Exception e) {
+            log.warn("Image decode failed, original file will be uploaded as-is. Error: {}", e.getMessage());
+            return new DecodedImage(null, null);
+        }
+    }
+
+    /**
+     * 디코딩된 이미지에서 Rendition 하나를 만들어 WebP로 인코딩
+     * 정책 품질(rendition.quality)로 예산을 넘으면 예산 안에 드는 가장 높은 품질을 찾는다.
+     *
+     * @throws IOException 인코딩 실패 또는 디코딩되지 않은 이미지에서 만들 수 없는 경우
+     */
+    public byte[] encode(DecodedImage decoded, Rendition rendition) throws IOException {
+        RenditionCounters counter = counters.computeIfAbsent(kindOf(rendition.key()), kind -> new RenditionCounters());
+        if (decoded.image() == null) {
+            if (!rendition.crop() && decoded.fallbackBytes() != null) {
+                // 원본 크기 변환 실패 시 기존처럼 원본 바이트 그대로 사용
+                counter.fallback.increment();
+                return decoded.fallbackBytes();
+            }
+            throw new IOException("Rendition creation failed: image could not be decoded");
+        }
+
+        try {
+            long startedAt = System.nanoTime();
+            ImmutableImage image = decoded.image();
+            if (rendition.crop()) {
+                // 지정된 비율로 중앙 크롭 후 리사이징
+                image = image.cover(rendition.width(), rendition.height());
+            } else if (image.width > rendition.width() || image.height > rendition.height()) {
+                // 비율 유지 리사이징
+                image = image.bound(rendition.width(), rendition.height());
+            } else if (decoded.passthroughBytes() != null) {
+                // 이미 크기/예산 안인 WebP - 다시 인코딩하면 화질만 잃고 용량은 거의 줄지 않는다
+                counter.passthrough.increment();
+                counter.bytes.add(decoded.passthroughBytes().length);
+                log.debug("Rendition passed through: {} {}x{}, {} bytes", rendition.key(),
+                        image.width, image.height, decoded.passthroughBytes().length);
+                return decoded.passthroughBytes();
+            }
+
+            long budget = budgetFor(image.width, image.height);
+            Encoded result = encodeWithinBudget(image, rendition.quality(), budget);
+            counter.record(result, System.nanoTime() - startedAt);
+            log.debug("Rendition encoded: {} {}x{} -> {}x{}, q={}, {} bytes (budget {}, probes {})", rendition.key(),
+                    decoded.image().width, decoded.image().height, image.width, image.height,
+                    result.quality(), result.bytes().length, budget, result.probes());
+            return result.bytes();
+
+        } catch (Exception e) {
+            if (!rendition.crop()) {
+                log.warn("WebP conversion failed. Error: {}", e.getMessage());
+                throw new IOException("WebP conversion failed", e);
+            }
+            log.warn("Thumbnail creation failed. Error: {}", e.getMessage());
+            throw new IOException("Thumbnail creation failed", e);
+        }
+    }
 
     /**
-     * 이미지를 리사이징하고 WebP로 변환
+     * 이미지를 리사이징하고 WebP로 변환 (단일 Rendition)
      *
      * @param originalBytes 원본 이미지 바이트
      * @param maxWidth 최대 너비
      * @param maxHeight 최대 높이
      * @param quality WebP 품질 (1-100)
-     * @return WebP 변환된 바이트 배열
+     * @return WebP 변환된 바이트 배열 (실패 시 원본)
      */
     public byte[] convertToWebp(byte[] originalBytes, int maxWidth, int maxHeight, int quality) throws IOException {
+        DecodedImage decoded = decode(originalBytes);
         try {
-            ImmutableImage image = ImmutableImage.loader().fromStream(
-                    new ByteArrayInputStream(originalBytes)
-            );
-
-            // 리사이징 필요 시 수행 (비율 유지)
-            if (image.width > maxWidth || image.height > maxHeight) {
-                image = image.bound(maxWidth, maxHeight);
-            }
-
-            byte[] result = image.bytes(WebpWriter.DEFAULT.withQ(quality));
-            log.debug("Image converted to WebP: {}x{} -> {}x{}, {} bytes",
-                    image.width, image.height, maxWidth, maxHeight, result.length);
-            return result;
-
-        } catch (Exception e) {
+            return encode(decoded, Rendition.bounded("original", maxWidth, maxHeight, quality));
+        } catch (IOException e) {
             log.warn("WebP conversion failed, returning original bytes. Error: {}", e.getMessage());
             return originalBytes;
         }
@@ -58,46 +199,248 @@ public class ImageProcessor {
     }
 
     /**
-     * 정사각형 썸네일 생성 (중앙 크롭)
+     * 크기 종류별 인코딩 지표 (누적값, 키는 {prefix}/{크기} 또는 original)
      */
-    public byte[] createSquareThumbnail(byte[] originalBytes, int size, int quality) throws IOException {
-        try {
-            ImmutableImage image = ImmutableImage.loader().fromStream(
-                    new ByteArrayInputStream(originalBytes)
-            );
+    public Map<String, RenditionStats> stats() {
+        Map<String, RenditionStats> stats = new TreeMap<>();
+        counters.forEach((kind, counter) -> stats.put(kind, counter.snapshot()));
+        return stats;
+    }
 
-            // 중앙 크롭 후 리사이징
-            image = image.cover(size, size);
-            byte[] result = image.bytes(WebpWriter.DEFAULT.withQ(quality));
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        stats().forEach((kind, stats) -> {
+            if (!stats.equals(lastLogged.put(kind, stats))) {
+                log.info("이미지 인코딩 [{}]: {}", kind, stats);
+            }
+        });
+    }
 
-            log.debug("Square thumbnail created: {}x{}, {} bytes", size, size, result.length);
-            return result;
+    /**
+     * 정책 품질로 먼저 인코딩하고, 예산을 넘으면 [minQuality, 정책 품질) 구간에서
+     * 예산 안에 드는 가장 높은 품질을 이진 탐색한다. (용량은 품질에 대해 거의 단조 증가)
+     * 탐색 횟수 안에 예산을 맞추지 못하면 가장 작은 결과를 쓴다.
+     */
+    private Encoded encodeWithinBudget(ImmutableImage image, int quality, long budget) throws IOException {
+        byte[] bytes = image.bytes(WebpWriter.DEFAULT.withQ(quality));
+        int minQuality = Math.min(encodingProperties.getMinQuality(), quality);
+        if (!encodingProperties.isAdaptive() || bytes.length <= budget || quality <= minQuality) {
+            return new Encoded(bytes, quality, 1, bytes.length <= budget);
+        }
 
-        } catch (Exception e) {
-            log.warn("Square thumbnail creation failed. Error: {}", e.getMessage());
-            throw new IOException("Thumbnail creation failed", e);
+        byte[] fitBytes = null;
+        int fitQuality = 0;
+        byte[] smallestBytes = bytes;
+        int smallestQuality = quality;
+        int probes = 1;
+        int low = minQuality;
+        int high = quality - 1;
+        while (low <= high && probes <= encodingProperties.getMaxProbes()) {
+            int mid = (low + high) >>> 1;
+            byte[] candidate = image.bytes(WebpWriter.DEFAULT.withQ(mid));
+            probes++;
+            if (candidate.length <= budget) {
+                fitBytes = candidate;
+                fitQuality = mid;
+                low = mid + 1;
+            } else {
+                if (candidate.length < smallestBytes.length) {
+                    smallestBytes = candidate;
+                    smallestQuality = mid;
+                }
+                high = mid - 1;
+            }
         }
+
+        return fitBytes != null
+                ? new Encoded(fitBytes, fitQuality, probes, true)
+                : new Encoded(smallestBytes, smallestQuality, probes, false);
     }
 
     /**
-     * 피드 썸네일 생성 (3:4 비율 크롭)
+     * 결과 크기의 용량 예산 (바이트)
      */
-    public byte[] createFeedThumbnail(byte[] originalBytes, int width, int height, int quality) throws IOException {
+    long budgetFor(int width, int height) {
+        long budget = (long) Math.ceil((long) width * height * encodingProperties.getBitsPerPixel() / 8);
+        return Math.max(encodingProperties.getMinBudgetBytes(), budget);
+    }
+
+    /**
+     * 메타데이터/애니메이션 없는 WebP인지 (RIFF 헤더와 첫 청크만 본다)
+     */
+    static boolean isPlainWebp(byte[] header) {
+        if (header == null || header.length < WEBP_HEADER_BYTES
+                || !"RIFF".equals(new String(header, 0, 4, StandardCharsets.US_ASCII))
+                || !"WEBP".equals(new String(header, 8, 4, StandardCharsets.US_ASCII))) {
+            return false;
+        }
+        String chunk = new String(header, 12, 4, StandardCharsets.US_ASCII);
+        if (chunk.equals("VP8 ") || chunk.equals("VP8L")) {
+            return true; // 단순 형식은 메타데이터 청크를 가질 수 없다
+        }
+        return chunk.equals("VP8X") && (header[20] & VP8X_UNSAFE_FLAGS) == 0;
+    }
+
+    private boolean isPassthroughCandidate(byte[] header, long size, int width, int height) {
+        return encodingProperties.isWebpPassthrough() && isPlainWebp(header) && size <= budgetFor(width, height);
+    }
+
+    private byte[] passthroughBytes(Path source, byte[] header, int width, int height) {
         try {
-            ImmutableImage image = ImmutableImage.loader().fromStream(
-                    new ByteArrayInputStream(originalBytes)
-            );
+            if (isPassthroughCandidate(header, Files.size(source), width, height)) {
+                return Files.readAllBytes(source);
+            }
+        } catch (IOException e) {
+            log.debug("WebP passthrough not available: {}", e.getMessage());
+        }
+        return null;
+    }
 
-            // 지정된 비율로 크롭 후 리사이징
-            image = image.cover(width, height);
-            byte[] result = image.bytes(WebpWriter.DEFAULT.withQ(quality));
+    private byte[] readHeader(Path source) {
+        try (InputStream in = Files.newInputStream(source)) {
+            return in.readNBytes(WEBP_HEADER_BYTES);
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
 
-            log.debug("Feed thumbnail created: {}x{}, {} bytes", width, height, result.length);
-            return result;
+    // 저장 키에서 파일 이름을 뺀 부분 (feed/thumb/a.webp → feed/thumb)
+    private static String kindOf(String key) {
+        int slash = key.lastIndexOf('/');
+        return slash < 0 ? "original" : key.substring(0, slash);
+    }
 
+    /**
+     * 모든 Rendition이 원하는 크기 이상을 유지하는 가장 큰 서브샘플링 배수의 절반 (축소 품질용 여유)
+     */
+    static int subsamplingFor(int width, int height, List<Rendition> renditions) {
+        int factor = Integer.MAX_VALUE;
+        for (Rendition rendition : renditions) {
+            int byWidth = width / Math.max(1, rendition.width());
+            int byHeight = height / Math.max(1, rendition.height());
+            // crop은 양쪽 모두 목표 이상이어야 하고, bound는 긴 쪽만 목표 이상이면 된다
+            factor = Math.min(factor, rendition.crop() ? Math.min(byWidth, byHeight) : Math.max(byWidth, byHeight));
+        }
+        return Math.max(1, factor / 2);
+    }
+
+    // EXIF 방향 (헤더만 읽는다, 없으면 1)
+    private int readOrientation(Path source) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source))) {
+            Metadata metadata = ImageMetadataReader.readMetadata(in);
+            ExifIFD0Directory directory = metadata.getFirstDirectoryOfType(ExifIFD0Directory.class);
+            if (directory != null && directory.containsTag(ExifIFD0Directory.TAG_ORIENTATION)) {
+                return directory.getInt(ExifIFD0Directory.TAG_ORIENTATION);
+            }
         } catch (Exception e) {
-            log.warn("Feed thumbnail creation failed. Error: {}", e.getMessage());
-            throw new IOException("Thumbnail creation failed", e);
+            log.debug("EXIF orientation not available: {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    private ImmutableImage reorient(ImmutableImage image, int orientation) {
+        return switch (orientation) {
+            case 2 -> image.flipX();
+            case 3 -> image.rotateRight().rotateRight();
+            case 4 -> image.flipY();
+            case 5 -> image.rotateRight().flipX();
+            case 6 -> image.rotateRight();
+            case 7 -> image.rotateRight().flipY();
+            case 8 -> image.rotateLeft();
+            default -> image;
+        };
+    }
+
+    /**
+     * 디코딩 결과 (image가 null이면 디코딩 실패, fallbackBytes는 바이트 배열 입력이 실패했을 때만 채워짐)
+     * passthroughBytes는 원본이 크기와 예산 안의 메타데이터 없는 WebP일 때만 채워짐
+     */
+    public record DecodedImage(ImmutableImage image, byte[] fallbackBytes, byte[] passthroughBytes) {
+
+        public DecodedImage(ImmutableImage image, byte[] fallbackBytes) {
+            this(image, fallbackBytes, null);
+        }
+    }
+
+    /**
+     * 크기 종류별 인코딩 지표
+     *
+     * @param encoded 인코딩한 수
+     * @param passthrough 다시 인코딩하지 않고 원본 WebP를 쓴 수
+     * @param fallback 디코딩 실패로 원본 바이트를 그대로 쓴 수
+     * @param overBudget 최저 품질까지 내려도 예산을 넘은 수
+     * @param averageBytes 결과 평균 용량 (인코딩 + 원본 WebP)
+     * @param averageQuality 인코딩 평균 품질
+     * @param averageProbes 인코딩 한 번당 평균 시도 횟수
+     * @param averageEncodeMs 인코딩 한 번당 평균 시간 (리사이징 포함)
+     */
+    public record RenditionStats(
+            long encoded,
+            long passthrough,
+            long fallback,
+            long overBudget,
+            long averageBytes,
+            double averageQuality,
+            double averageProbes,
+            double averageEncodeMs
+    ) {
+    }
+
+    private record Encoded(byte[] bytes, int quality, int probes, boolean withinBudget) {
+    }
+
+    private static final class RenditionCounters {
+
+        private final LongAdder encoded = new LongAdder();
+        private final LongAdder passthrough = new LongAdder();
+        private final LongAdder fallback = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder qualitySum = new LongAdder();
+        private final LongAdder probes = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+
+        void record(Encoded result, long elapsedNanos) {
+            encoded.increment();
+            bytes.add(result.bytes().length);
+            qualitySum.add(result.quality());
+            probes.add(result.probes());
+            encodeNanos.add(elapsedNanos);
+            if (!result.withinBudget()) {
+                overBudget.increment();
+            }
+        }
+
+        RenditionStats snapshot() {
+            long encodedCount = encoded.sum();
+            long passthroughCount = passthrough.sum();
+            long outputs = encodedCount + passthroughCount;
+            return new RenditionStats(
+                    encodedCount,
+                    passthroughCount,
+                    fallback.sum(),
+                    overBudget.sum(),
+                    outputs > 0 ? bytes.sum() / outputs : 0,
+                    encodedCount > 0 ? (double) qualitySum.sum() / encodedCount : 0,
+                    encodedCount > 0 ? (double) probes.sum() / encodedCount : 0,
+                    encodedCount > 0 ? encodeNanos.sum() / 1_000_000.0 / encodedCount : 0);
+        }
+    }
+
+    /**
+     * 만들 이미지 한 장
+     *
+     * @param key 저장 경로
+     * @param crop true면 width x height로 중앙 크롭(썸네일), false면 비율 유지 축소
+     */
+    public record Rendition(String key, boolean crop, int width, int height, int quality) {
+
+        public static Rendition bounded(String key, int maxWidth, int maxHeight, int quality) {
+            return new Rendition(key, false, maxWidth, maxHeight, quality);
+        }
+
+        public static Rendition cropped(String key, int width, int height, int quality) {
+            return new Rendition(key, true, width, height, quality);
         }
     }
 }
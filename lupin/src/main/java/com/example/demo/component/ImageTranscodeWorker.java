@@ -0,0 +1,85 @@
+package com.example.demo.component;
+
+import com.example.demo.config.properties.DirectUploadProperties;
+import com.example.demo.event.DirectUploadCompletedEvent;
+import com.example.demo.service.DirectUploadService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 저장소 직접 업로드 변환 워커 (노드 로컬 대기열)
+ * - 업로드 완료 이벤트를 받아 대기열에 넣고, 워커 스레드가 DirectUploadService.transcode를 실행한다.
+ * - 같은 원본이 대기 중이거나 변환 중이면 다시 넣지 않는다.
+ * - 대기열이 가득 차면 버리고, 업로드는 대기 상태로 남아 DirectUploadScheduler가 나중에 다시 넣는다.
+ *   (재시작으로 잃은 작업도 같은 방식으로 복구)
+ */
+@Slf4j
+@Component
+public class ImageTranscodeWorker {
+
+    private final DirectUploadService directUploadService;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ImageTranscodeWorker(DirectUploadService directUploadService, DirectUploadProperties properties) {
+        this.directUploadService = directUploadService;
+        int threads = Math.max(1, properties.getWorkerThreads());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-transcode-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @EventListener
+    public void handleDirectUploadCompleted(DirectUploadCompletedEvent event) {
+        submit(event.rawKey());
+    }
+
+    /**
+     * 변환 대기열에 추가
+     *
+     * @return 대기열에 있거나 넣었으면 true, 가득 차서 넣지 못했으면 false
+     */
+    public boolean submit(String rawKey) {
+        if (!pending.add(rawKey)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    directUploadService.transcode(rawKey);
+                } finally {
+                    pending.remove(rawKey);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(rawKey);
+            log.warn("Transcode queue full, will retry later: {}", rawKey);
+            return false;
+        }
+    }
+
+    public int backlog() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -5,6 +5,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+/**
+ * 스케줄러 풀 분리
+ * - auctionScheduler: 경매 시작/종료 타이머 (AuctionTaskScheduler)
+ * - auctionCoordinatorScheduler: 리더 리스 heartbeat와 만료 경매 sweep 전용
+ *   (야간 배치나 타이머가 풀을 잡고 있어도 리스 연장이 밀려 두 노드가 동시에 리더가 되지 않도록)
+ * - taskScheduler: 그 밖의 @Scheduled 작업 (TaskScheduler 빈이 여럿이면 이 이름의 빈을 기본으로 쓴다)
+ */
 @Configuration
 public class AuctionSchedulerConfig {
 
@@ -21,4 +28,28 @@ public class AuctionSchedulerConfig {
         scheduler.initialize();
         return scheduler;
     }
+
+    @Bean(name = "auctionCoordinatorScheduler")
+    public TaskScheduler auctionCoordinatorScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+        // heartbeat와 sweep이 한 스레드씩 (sweep이 느려도 heartbeat는 밀리지 않음)
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("Auction-Coordinator-");
+
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    @Bean(name = "taskScheduler")
+    public TaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+        // 배치/정리 작업용 (경매 타이머와 리더 heartbeat는 위의 전용 풀에서 돈다)
+        scheduler.setPoolSize(5);
+        scheduler.setThreadNamePrefix("Batch-Scheduler-");
+
+        scheduler.initialize();
+        return scheduler;
+    }
 }
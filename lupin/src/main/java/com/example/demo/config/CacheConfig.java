@@ -16,8 +16,6 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Redis 캐시 설정
@@ -26,9 +24,6 @@ import java.util.Map;
 @EnableCaching
 public class CacheConfig {
 
-    public static final String RANKING_CACHE = "ranking";
-    public static final String USER_RANKING_CONTEXT_CACHE = "userRankingContext";
-
     @Bean
     public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
         // Jackson ObjectMapper 설정 (Record 지원, 타입 정보 없이 단순 JSON)
@@ -45,18 +40,9 @@ public class CacheConfig {
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer(objectMapper)))
                 .disableCachingNullValues();
 
-        // 캐시별 TTL 설정
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-
-        // 랭킹 캐시: 10분 TTL (자주 변경되지 않음)
-        cacheConfigurations.put(RANKING_CACHE, defaultConfig.entryTtl(Duration.ofMinutes(10)));
-
-        // 사용자별 랭킹 컨텍스트 캐시: 5분 TTL
-        cacheConfigurations.put(USER_RANKING_CONTEXT_CACHE, defaultConfig.entryTtl(Duration.ofMinutes(5)));
-
+        // 랭킹 화면은 LeaderboardService의 Redis 읽기 모델(ZSet + 카드 Hash)에서 바로 응답하므로 별도 캐시를 두지 않음
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
     }
 }
@@ -2,6 +2,8 @@ package com.example.demo.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.List;
+
 /**
  * 이미지 정책 설정 (12-Factor App - 코드와 설정의 분리)
  */
@@ -9,7 +11,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public record ImagePolicyProperties(
         OriginalPolicy original,
         ThumbnailPolicy feedThumbnail,
-        ThumbnailPolicy profileThumbnail
+        ThumbnailPolicy profileThumbnail,
+        List<RenditionPolicy> additionalRenditions
 ) {
     public ImagePolicyProperties {
         // 기본값 설정
@@ -22,6 +25,9 @@ public record ImagePolicyProperties(
         if (profileThumbnail == null) {
             profileThumbnail = new ThumbnailPolicy(100, 100, 60);
         }
+        if (additionalRenditions == null) {
+            additionalRenditions = List.of();
+        }
     }
 
     /**
@@ -41,4 +47,14 @@ public record ImagePolicyProperties(
             int height,
             int quality
     ) {}
+
+    /**
+     * 추가 크기 정책 (피드/프로필 이미지에 비율 유지 축소본을 {prefix}/{name}/{uuid}.webp로 함께 저장)
+     */
+    public record RenditionPolicy(
+            String name,
+            int maxWidth,
+            int maxHeight,
+            int quality
+    ) {}
 }
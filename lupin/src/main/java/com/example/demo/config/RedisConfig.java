@@ -2,6 +2,7 @@ package com.example.demo.config;
 
 import com.example.demo.service.AuctionSseService;
 import com.example.demo.service.NotificationSseService;
+import com.example.demo.service.RankingEngine;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,10 +39,12 @@ public class RedisConfig {
             MessageListenerAdapter notificationListenerAdapter,
             MessageListenerAdapter chatListenerAdapter,
             MessageListenerAdapter notificationDeleteListenerAdapter, // [추가]
+            MessageListenerAdapter rankingListenerAdapter,
             ChannelTopic auctionTopic,
             ChannelTopic notificationTopic,
             ChannelTopic chatTopic,
-            ChannelTopic notificationDeleteTopic // [추가]
+            ChannelTopic notificationDeleteTopic, // [추가]
+            ChannelTopic rankingTopic
     ) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
@@ -53,6 +56,8 @@ public class RedisConfig {
         container.addMessageListener(notificationDeleteListenerAdapter, notificationDeleteTopic);
 
         container.addMessageListener(chatListenerAdapter, chatTopic);
+        // "ranking-update" 채널 리스너 (인메모리 랭킹 엔진 갱신)
+        container.addMessageListener(rankingListenerAdapter, rankingTopic);
         return container;
     }
 
@@ -84,6 +89,13 @@ public class RedisConfig {
         return new MessageListenerAdapter(chatWebSocketService, "handleMessage");
     }
 
+    // ▼ 랭킹 메시지 리스너 어댑터
+    @Bean
+    @ConditionalOnProperty(name="app.redis.pubsub.enabled", havingValue="true", matchIfMissing = true)
+    public MessageListenerAdapter rankingListenerAdapter(@Lazy RankingEngine rankingEngine) {
+        return new MessageListenerAdapter(rankingEngine, "handleMessage");
+    }
+
     // ▼ 경매 Pub/Sub 채널
     @Bean
     @ConditionalOnProperty(name="app.redis.pubsub.enabled", havingValue="true", matchIfMissing = true)
@@ -111,4 +123,11 @@ public class RedisConfig {
     public ChannelTopic chatTopic() {
         return new ChannelTopic("chat-update"); 
     }
+
+    // ▼ 랭킹 Pub/Sub 채널
+    @Bean
+    @ConditionalOnProperty(name="app.redis.pubsub.enabled", havingValue="true", matchIfMissing = true)
+    public ChannelTopic rankingTopic() {
+        return new ChannelTopic("ranking-update");
+    }
 }
@@ -44,7 +44,8 @@ public class SecurityConfig {
             "/*.jpg",      // [추가] jpg 이미지
             "/*.jpeg",     // [추가] jpeg 이미지
             "/images/**",  // [추가] 이미지 폴더
-            "/static/**"   // [추가] 정적 리소스
+            "/static/**",  // [추가] 정적 리소스
+            "/files/**"    // [추가] 로컬 저장소 파일 (app.storage.type=local, 업로드는 서명 확인)
     };
 
     private static final String[] AUTH_URLS = {
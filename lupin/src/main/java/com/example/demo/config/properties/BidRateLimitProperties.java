@@ -0,0 +1,42 @@
+package com.example.demo.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 경매 입찰 유량 제어 설정 프로퍼티
+ * application.yml에서 app.auction.bid-limit.* 값을 타입 안전하게 관리
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.auction.bid-limit")
+public class BidRateLimitProperties {
+
+    /**
+     * 사용자별 버킷 크기 (순간적으로 몰아서 보낼 수 있는 입찰 수)
+     */
+    private int userCapacity = 5;
+
+    /**
+     * 사용자별 초당 토큰 충전량
+     */
+    private double userRefillPerSecond = 2.0;
+
+    /**
+     * 경매별 버킷 크기
+     */
+    private int auctionCapacity = 300;
+
+    /**
+     * 경매별 초당 토큰 충전량
+     */
+    private double auctionRefillPerSecond = 150.0;
+
+    /**
+     * 이 노드에서 동시에 처리 중일 수 있는 입찰 수 (초과분은 즉시 거절)
+     */
+    private int maxInFlight = 64;
+}
@@ -0,0 +1,52 @@
+package com.example.demo.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장소 직접 업로드(presigned PUT) 및 변환 워커 설정 프로퍼티
+ * application.yml에서 app.direct-upload.* 값을 타입 안전하게 관리
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.direct-upload")
+public class DirectUploadProperties {
+
+    /**
+     * 업로드 URL 유효 시간 (분)
+     */
+    private int urlExpiryMinutes = 10;
+
+    /**
+     * 원본 최대 크기 (바이트) - 업로드 URL에 크기를 서명하고, 변환 전에도 다시 확인한다
+     */
+    private long maxUploadBytes = 30L * 1024 * 1024;
+
+    /**
+     * 변환 워커 스레드 수 (실제 변환은 ImagePipeline의 CPU/메모리 한도 안에서 진행)
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 변환 대기열 크기 (가득 차면 대기 상태로 남겨 두고 스케줄러가 다시 넣는다)
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * 변환 최대 시도 횟수
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 대기 상태가 이 시간(분) 이상 지속되면 대기열에 다시 넣는다 (재시작으로 잃은 작업 복구)
+     */
+    private int requeueAfterMinutes = 10;
+
+    /**
+     * 원본(raw/) 보관 시간 (시간) - 지나면 피드가 참조하지 않는 원본과 기록을 지운다
+     */
+    private int retentionHours = 24;
+}
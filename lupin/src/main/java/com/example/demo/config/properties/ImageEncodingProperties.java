@@ -0,0 +1,48 @@
+package com.example.demo.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이미지 인코딩 용량 설정 프로퍼티
+ * application.yml에서 app.image-encoding.* 값을 타입 안전하게 관리
+ * (각 크기의 품질은 image.policy의 quality가 상한이고, 용량 예산을 넘으면 minQuality까지 낮춘다)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.image-encoding")
+public class ImageEncodingProperties {
+
+    /**
+     * 용량 예산에 맞춰 품질을 낮출지 여부 (false면 정책 품질로 한 번만 인코딩)
+     */
+    private boolean adaptive = true;
+
+    /**
+     * 예산을 맞추려고 낮출 수 있는 최저 품질
+     */
+    private int minQuality = 35;
+
+    /**
+     * 결과 픽셀당 목표 비트 수 (예산 = 가로 x 세로 x bitsPerPixel / 8, 800x800이면 약 94KB)
+     */
+    private double bitsPerPixel = 1.2;
+
+    /**
+     * 작은 크기(프로필 썸네일 등)의 최소 예산 (바이트)
+     */
+    private int minBudgetBytes = 4096;
+
+    /**
+     * 정책 품질로 예산을 넘었을 때 더 인코딩해 볼 최대 횟수 (품질 이진 탐색)
+     */
+    private int maxProbes = 4;
+
+    /**
+     * 메타데이터 없는 WebP가 이미 크기/예산 안이면 다시 인코딩하지 않고 그대로 저장
+     */
+    private boolean webpPassthrough = true;
+}
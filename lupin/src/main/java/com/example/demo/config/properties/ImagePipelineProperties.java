@@ -0,0 +1,47 @@
+package com.example.demo.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이미지 처리 파이프라인 설정 프로퍼티
+ * application.yml에서 app.image-pipeline.* 값을 타입 안전하게 관리
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.image-pipeline")
+public class ImagePipelineProperties {
+
+    /**
+     * 디코딩/리사이징/인코딩 스레드 수 (0이면 CPU 코어 수)
+     */
+    private int cpuThreads = 0;
+
+    /**
+     * 저장소 업로드 스레드 수
+     */
+    private int ioThreads = 16;
+
+    /**
+     * 노드 전체에서 동시에 처리 중인 이미지가 쓸 수 있는 메모리 상한 (MB)
+     */
+    private int memoryBudgetMb = 256;
+
+    /**
+     * 원본 크기 대비 처리 중 메모리 사용 추정 배수 (디코딩된 픽셀 버퍼 포함)
+     */
+    private int memoryFactor = 8;
+
+    /**
+     * 메모리 여유가 생길 때까지 기다리는 최대 시간 (밀리초)
+     */
+    private long acquireTimeoutMs = 10000;
+
+    /**
+     * 요청 하나의 이미지 처리를 기다리는 최대 시간 (초)
+     */
+    private long timeoutSeconds = 60;
+}
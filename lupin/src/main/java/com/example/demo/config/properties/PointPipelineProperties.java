@@ -0,0 +1,32 @@
+package com.example.demo.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 랭킹 반영 파이프라인 설정 프로퍼티
+ * application.yml에서 app.point-pipeline.* 값을 타입 안전하게 관리
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.point-pipeline")
+public class PointPipelineProperties {
+
+    /**
+     * 레인 수 (사용자 ID로 나누며, 레인마다 스레드 1개가 순서대로 처리)
+     */
+    private int lanes = 4;
+
+    /**
+     * 레인당 대기 사용자 수 상한 (넘으면 제출하는 쪽이 잠시 기다린다)
+     */
+    private int laneCapacity = 5000;
+
+    /**
+     * 레인이 가득 찼을 때 제출하는 쪽이 기다리는 최대 시간 (밀리초)
+     */
+    private long backpressureTimeoutMs = 500;
+}
@@ -0,0 +1,46 @@
+package com.example.demo.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 파일 저장소 설정 프로퍼티
+ * application.yml에서 app.storage.* 값을 타입 안전하게 관리
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    /**
+     * 저장소 종류
+     * s3: AWS S3 + CDN (기본)
+     * local: 로컬 디스크 + /files/** 직접 서빙 (오프라인 부하 테스트, 소규모 배포)
+     */
+    private String type = "s3";
+
+    private Local local = new Local();
+
+    @Getter
+    @Setter
+    public static class Local {
+
+        /**
+         * 파일을 저장할 디렉터리
+         */
+        private String root = "./storage";
+
+        /**
+         * 공개 URL 접두사 (서빙 경로 /files 포함)
+         */
+        private String publicUrl = "http://localhost:8081/files";
+
+        /**
+         * 업로드 URL 서명 키 (비어 있으면 기동할 때마다 새로 만든다)
+         */
+        private String signingSecret = "";
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.controller;
 import com.example.demo.domain.entity.Appointment;
 import com.example.demo.dto.request.AppointmentRequest;
 import com.example.demo.dto.response.AppointmentResponse;
+import com.example.demo.dto.response.DoctorBookedTimesResponse;
 import com.example.demo.service.AppointmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -76,6 +77,23 @@ public class AppointmentController {
         return ResponseEntity.ok(bookedTimes);
     }
 
+    /**
+     * 예약 달력 API - 여러 의사(또는 진료과 전체)의 기간 내 예약 시간
+     * GET /api/appointment/booked-times/calendar?doctorIds=21,22&from=2025-12-01&to=2025-12-07
+     * GET /api/appointment/booked-times/calendar?department=내과&from=2025-12-01&to=2025-12-07
+     */
+    @GetMapping("/booked-times/calendar")
+    public ResponseEntity<List<DoctorBookedTimesResponse>> getBookedTimesCalendar(
+            @RequestParam(value = "doctorIds", required = false) List<Long> doctorIds,
+            @RequestParam(value = "department", required = false) String department,
+            @RequestParam("from") String fromStr,
+            @RequestParam("to") String toStr) {
+
+        List<DoctorBookedTimesResponse> calendar = appointmentService.getBookedTimesCalendar(
+                doctorIds, department, LocalDate.parse(fromStr), LocalDate.parse(toStr));
+        return ResponseEntity.ok(calendar);
+    }
+
     /**
      * 채팅 가능 여부 확인 API
      * GET /api/appointment/{appointmentId}/chat-available
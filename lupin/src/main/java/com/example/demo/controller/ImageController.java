@@ -1,5 +1,9 @@
 package com.example.demo.controller;
 
+import com.example.demo.domain.entity.User;
+import com.example.demo.dto.response.PresignedUploadResponse;
+import com.example.demo.security.CurrentUser;
+import com.example.demo.service.DirectUploadService;
 import com.example.demo.service.ImageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -16,6 +20,7 @@ import java.util.List;
 public class ImageController {
 
     private final ImageService imageService;
+    private final DirectUploadService directUploadService;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<String> uploadImage(@RequestParam("image") MultipartFile image) throws IOException {
@@ -41,6 +46,30 @@ public class ImageController {
         return ResponseEntity.ok(imageUrls);
     }
 
+    /**
+     * 피드 이미지 직접 업로드 URL 발급 (원본은 서버를 거치지 않고 저장소로 PUT)
+     */
+    @PostMapping("/presigned/feed")
+    public ResponseEntity<PresignedUploadResponse> createFeedUploadUrl(
+            @CurrentUser User user,
+            @RequestParam("contentType") String contentType,
+            @RequestParam("contentLength") long contentLength
+    ) {
+        return ResponseEntity.ok(directUploadService.issue(user, contentType, contentLength));
+    }
+
+    /**
+     * 직접 업로드 완료 알림 - 변환은 비동기로 진행되며, 피드 작성 시 key를 그대로 보내면 된다.
+     */
+    @PostMapping("/presigned/complete")
+    public ResponseEntity<Void> completeUpload(
+            @CurrentUser User user,
+            @RequestParam("key") String key
+    ) {
+        directUploadService.complete(user, key);
+        return ResponseEntity.accepted().build();
+    }
+
     @DeleteMapping("/{imageId}")
     public ResponseEntity<Void> deleteImage(@PathVariable String imageId) {
         imageService.deleteImage(imageId);
@@ -0,0 +1,236 @@
+package com.example.demo.controller;
+
+import com.example.demo.infrastructure.LocalFileStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 저장소 파일 서빙/직접 업로드 (app.storage.type=local)
+ *
+ * - GET/HEAD /files/{키}: ETag(크기+수정 시각), If-None-Match(304), 단일 Range(206/416)를 지원한다.
+ *   본문은 Tomcat sendfile에 넘겨 커널이 파일을 소켓으로 바로 보내고(zero-copy),
+ *   sendfile을 쓸 수 없으면 FileChannel.transferTo로 보낸다. 이 경우 응답 스트림이 소켓 채널이 아니라서
+ *   JDK가 작은 힙 버퍼로 나눠 복사한다. (파일 전체를 힙에 올리지는 않음)
+ * - PUT /files/{키}?expires=&contentType=&contentLength=&signature=: LocalFileStorage가 발급한 서명 URL로만,
+ *   서명한 크기와 같은 Content-Length로만 업로드된다.
+ * - 직접 업로드 원본(raw/)은 변환 전 원본이므로 서빙하지 않는다.
+ */
+@RestController
+@RequestMapping("/files")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalFileController {
+
+    private static final String PATH_PREFIX = "/files/";
+    private static final String RAW_PREFIX = "raw/";
+    private static final String CONTENT_TYPE_WEBP = "image/webp"; // 변환된 이미지는 모두 WebP
+    private static final String CACHE_CONTROL = "max-age=31536000, immutable"; // 1년 캐싱 (S3와 동일)
+    private static final Pattern BYTE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileStorage localFileStorage;
+
+    @RequestMapping(value = "/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = pathOf(request);
+        Path file = resolveServable(path);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(contentTypeOf(file));
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        Matcher matcher = range != null ? BYTE_RANGE.matcher(range) : null;
+        // 여러 구간 요청이나 형식이 다른 Range, 바뀐 파일의 If-Range는 전체 응답 (RFC 9110 허용)
+        if (matcher != null && matcher.matches() && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(matcher, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = bounds[0];
+            end = bounds[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        transfer(request, response, file, start, count);
+    }
+
+    /**
+     * 서명 URL 직접 업로드 (S3 presigned PUT 대체)
+     */
+    @PutMapping("/**")
+    public ResponseEntity<Void> upload(
+            HttpServletRequest request,
+            @RequestParam("expires") long expires,
+            @RequestParam("contentType") String contentType,
+            @RequestParam("contentLength") long contentLength,
+            @RequestParam("signature") String signature
+    ) throws IOException {
+        String path = pathOf(request);
+        if (!contentType.equalsIgnoreCase(request.getContentType())
+                || request.getContentLengthLong() != contentLength
+                || !localFileStorage.verifyUploadSignature(path, contentType, contentLength, expires, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        // 서명한 크기까지만 받는다
+        if (!localFileStorage.upload(path, request.getInputStream(), contentLength)) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    private String pathOf(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        return UriUtils.decode(uri.substring(PATH_PREFIX.length()), StandardCharsets.UTF_8);
+    }
+
+    // 저장소 안의 일반 파일만 (raw/, 쓰는 중인 임시 파일 제외)
+    private Path resolveServable(String path) {
+        if (path.isEmpty() || path.startsWith(RAW_PREFIX)) {
+            return null;
+        }
+        try {
+            Path file = localFileStorage.resolve(path);
+            if (!Files.isRegularFile(file) || file.getFileName().toString().startsWith(".")) {
+                return null;
+            }
+            return file;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String contentTypeOf(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".webp")) {
+            return CONTENT_TYPE_WEBP;
+        }
+        return MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * bytes=a-b, bytes=a-, bytes=-n 해석
+     *
+     * @return {시작, 끝(포함)}, 만족할 수 없는 구간이면 null
+     */
+    private long[] parseRange(Matcher matcher, long length) {
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        if (first.isEmpty() && last.isEmpty()) {
+            return null;
+        }
+        try {
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix == 0 || length == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void transfer(HttpServletRequest request, HttpServletResponse response,
+                          Path file, long start, long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count); // 끝은 포함하지 않음
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
@@ -6,11 +6,13 @@ import com.example.demo.dto.request.UserAvatarRequest;
 import com.example.demo.dto.request.UserProfileRequest;
 import com.example.demo.dto.request.UserUpdateRequest;
 import com.example.demo.dto.response.DoctorResponse;
+import com.example.demo.dto.response.UserRankingHistoryResponse;
 import com.example.demo.dto.response.UserRankingResponse;
 import com.example.demo.dto.response.UserResponse;
 import com.example.demo.dto.response.UserStatsResponse;
 import com.example.demo.security.CurrentUser;
 import com.example.demo.service.PointService;
+import com.example.demo.service.RankingArchiveService;
 import com.example.demo.service.UserPenaltyService;
 import com.example.demo.service.UserService;
 import jakarta.validation.Valid;
@@ -30,6 +32,7 @@ public class UserController {
     private final UserService userService;
     private final PointService pointService;
     private final UserPenaltyService userPenaltyService;
+    private final RankingArchiveService rankingArchiveService;
 
     @GetMapping("/me")
     public ResponseEntity<UserResponse> getMe(@CurrentUser User user) {
@@ -50,6 +53,22 @@ public class UserController {
         return ResponseEntity.ok(userService.getUserRankingContext(userId));
     }
 
+    // 지난달 최종 랭킹 (아카이브 스냅샷, 예: /ranking/archive/2025-10)
+    @GetMapping("/ranking/archive/{month}")
+    public ResponseEntity<List<UserRankingResponse>> getArchivedRanking(
+            @PathVariable YearMonth month,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(rankingArchiveService.getTop(month, Math.min(limit, 100)));
+    }
+
+    // 최근 N개월 월별 최종 등수
+    @GetMapping("/{userId}/ranking-history")
+    public ResponseEntity<List<UserRankingHistoryResponse>> getRankingHistory(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "12") int months) {
+        return ResponseEntity.ok(rankingArchiveService.getUserHistory(userId, Math.max(1, Math.min(months, 24))));
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Long>> getStatistics() {
         long totalUsers = userService.getTotalUserCount();
@@ -13,6 +13,9 @@ import java.time.LocalDateTime;
     @Index(name = "idx_appointment_doctor", columnList = "doctor_id"),
     @Index(name = "idx_appointment_date", columnList = "date"),
     @Index(name = "idx_appointment_status", columnList = "status")
+}, uniqueConstraints = {
+    // 의사 한 명은 같은 시간에 한 예약만 (취소된 예약은 active_slot이 NULL이라 제약에 걸리지 않음)
+    @UniqueConstraint(name = "uk_appointment_doctor_slot", columnNames = {"doctor_id", "date", "active_slot"})
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -44,6 +47,11 @@ public class Appointment {
     @Builder.Default
     private AppointmentStatus status = AppointmentStatus.SCHEDULED;
 
+    // 시간대를 차지하고 있으면 true, 취소되면 NULL (유니크 제약은 NULL끼리 겹쳐도 허용)
+    @Column(name = "active_slot")
+    @Builder.Default
+    private Boolean activeSlot = Boolean.TRUE;
+
     public void startConsultation() {
         if (this.status == AppointmentStatus.CANCELLED) {
             throw new BusinessException(ErrorCode.APPOINTMENT_CANCELLED, "취소된 예약은 시작할 수 없습니다.");
@@ -75,5 +83,6 @@ public class Appointment {
             throw new BusinessException(ErrorCode.APPOINTMENT_CANCELLED, "이미 취소된 예약입니다.");
         }
         this.status = AppointmentStatus.CANCELLED;
+        this.activeSlot = null;
     }
 }
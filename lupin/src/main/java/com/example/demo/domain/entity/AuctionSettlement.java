@@ -0,0 +1,64 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 경매 정산 기록 엔티티
+ * 경매 1건당 정산은 정확히 1번만 일어나야 하므로 settlementKey에 유니크 제약을 건다.
+ * 여러 노드가 동시에 같은 경매를 종료하려 해도 먼저 INSERT에 성공한 노드만 포인트를 차감한다.
+ */
+@Entity
+@Table(name = "auction_settlements", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_auction_settlement_key", columnNames = "settlement_key")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class AuctionSettlement {
+
+    private static final String KEY_PREFIX = "auction-settlement:";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 정산 멱등 키 ("auction-settlement:{auctionId}")
+     */
+    @Column(name = "settlement_key", nullable = false, length = 100)
+    private String settlementKey;
+
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+
+    /**
+     * 낙찰자 ID (유찰이면 null)
+     */
+    @Column(name = "winner_id")
+    private Long winnerId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long amount = 0L;
+
+    @Column(name = "settled_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime settledAt = LocalDateTime.now();
+
+    public static String keyOf(Long auctionId) {
+        return KEY_PREFIX + auctionId;
+    }
+
+    public static AuctionSettlement of(Long auctionId, Long winnerId, Long amount) {
+        return AuctionSettlement.builder()
+                .settlementKey(keyOf(auctionId))
+                .auctionId(auctionId)
+                .winnerId(winnerId)
+                .amount(amount != null ? amount : 0L)
+                .build();
+    }
+}
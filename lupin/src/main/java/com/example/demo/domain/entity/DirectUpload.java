@@ -0,0 +1,91 @@
+package com.example.demo.domain.entity;
+
+import com.example.demo.domain.enums.DirectUploadStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장소 직접 업로드 (presigned PUT)
+ * 클라이언트가 rawKey에 원본을 올리면 변환 워커가 WebP 크기들을 만들고 finalUrl을 채운다.
+ * 변환이 끝나기 전에는 피드가 rawKey를 그대로 참조한다.
+ */
+@Entity
+@Table(name = "direct_uploads",
+        uniqueConstraints = @UniqueConstraint(name = "uk_direct_upload_raw_key", columnNames = "raw_key"),
+        indexes = @Index(name = "idx_direct_upload_status_updated", columnList = "status, updated_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class DirectUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "raw_key", nullable = false)
+    private String rawKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private DirectUploadStatus status = DirectUploadStatus.ISSUED;
+
+    @Column(name = "final_url", columnDefinition = "TEXT")
+    private String finalUrl;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public boolean isOwnedBy(Long userId) {
+        return this.userId.equals(userId);
+    }
+
+    /**
+     * 클라이언트 업로드 완료 - 변환 대기열에 넣는다 (실패했던 업로드도 다시 요청할 수 있음)
+     */
+    public void queue() {
+        if (this.status == DirectUploadStatus.ISSUED || this.status == DirectUploadStatus.FAILED) {
+            this.status = DirectUploadStatus.QUEUED;
+            this.attempts = 0;
+            this.updatedAt = LocalDateTime.now();
+        }
+    }
+
+    public void ready(String finalUrl) {
+        this.status = DirectUploadStatus.READY;
+        this.finalUrl = finalUrl;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 다시 시도해도 소용없는 원본 (허용 크기 초과 등) - 바로 실패 상태로 둔다
+     */
+    public void reject() {
+        this.status = DirectUploadStatus.FAILED;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 변환 실패 - 최대 시도 횟수에 도달하면 FAILED, 아니면 대기 상태로 남겨 다시 시도한다.
+     */
+    public void fail(int maxAttempts) {
+        this.attempts++;
+        if (this.attempts >= maxAttempts) {
+            this.status = DirectUploadStatus.FAILED;
+        }
+        this.updatedAt = LocalDateTime.now();
+    }
+}
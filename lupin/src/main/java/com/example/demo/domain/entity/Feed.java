@@ -66,6 +66,10 @@ public class Feed {
     @Column(name = "comment_count", nullable = false)
     private int commentCount = 0;
 
+    // 점수를 계산한 강도 표 버전 (버전을 두기 전에 채점한 피드는 null)
+    @Column(name = "score_revision")
+    private Integer scoreRevision;
+
     @Column(name = "thumbnail_url", columnDefinition = "TEXT") // TEXT로 변경하여 제한 해제
     private String thumbnailUrl;
 
@@ -80,12 +84,13 @@ public class Feed {
     private LocalDateTime deletedAt;
 
     @Builder
-    public Feed(User writer, String activity, String content, long points, int calories) {
+    public Feed(User writer, String activity, String content, long points, int calories, Integer scoreRevision) {
         this.writer = writer;
         this.activity = activity;
         this.content = content;
         this.points = points;
         this.calories = calories;
+        this.scoreRevision = scoreRevision;
         this.images = new ArrayList<>();
         this.likeCount = 0;
         this.commentCount = 0;
@@ -102,6 +107,12 @@ public class Feed {
         this.calories = calories;
     }
 
+    // 점수 반영 + 계산에 쓴 강도 표 버전 기록 (같은 버전으로는 다시 재채점하지 않는다)
+    public void rescore(long points, int calories, int scoreRevision) {
+        updateScore(points, calories);
+        this.scoreRevision = scoreRevision;
+    }
+
     // 좋아요 카운트 증감 메서드
     public void incrementLikeCount() {
         this.likeCount++;
@@ -0,0 +1,37 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이미지 메타데이터 (저장 키 → EXIF 촬영 시각)
+ * 업로드할 때 원본 헤더에서 한 번 추출해 두고, 피드 작성 시 촬영 시각 검증에 쓴다.
+ * 촬영 시각이 없는 이미지도 행을 남겨 다시 추출하지 않는다.
+ */
+@Entity
+@Table(name = "image_metadata",
+        uniqueConstraints = @UniqueConstraint(name = "uk_image_metadata_s3_key", columnNames = {"s3_key"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ImageMetadata {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "s3_key", nullable = false)
+    private String s3Key;
+
+    /**
+     * EXIF 촬영 시각 (없으면 null)
+     */
+    @Column(name = "captured_at")
+    private LocalDateTime capturedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
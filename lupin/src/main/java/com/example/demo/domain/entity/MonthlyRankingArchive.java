@@ -0,0 +1,41 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 월간 랭킹 아카이브 엔티티
+ * 달이 끝나면 그 달 최종 랭킹(등수 순 사용자 ID + 점수)을 델타 인코딩한 바이너리 한 건으로 얼려 둔다.
+ * 지난달 Top N / 내 과거 등수는 point_logs를 다시 집계하지 않고 이 스냅샷에서 응답한다.
+ */
+@Entity
+@Table(name = "monthly_ranking_archives")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class MonthlyRankingArchive {
+
+    /**
+     * "yyyy-MM"
+     */
+    @Id
+    @Column(name = "ranking_month", length = 7)
+    private String rankingMonth;
+
+    @Column(name = "user_count", nullable = false)
+    private Integer userCount;
+
+    /**
+     * RankingSnapshotCodec으로 인코딩한 스냅샷
+     */
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime archivedAt = LocalDateTime.now();
+}
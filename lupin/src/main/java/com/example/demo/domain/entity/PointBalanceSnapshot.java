@@ -0,0 +1,42 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포인트 잔액 스냅샷 엔티티
+ * point_logs는 append-only 원장이므로, 사용자별로 "lastLogId까지의 합계"를 주기적으로 접어 둔다.
+ * 잔액 = balance + (id > lastLogId 인 로그 합계) 이므로 전체 이력을 다시 스캔하지 않는다.
+ */
+@Entity
+@Table(name = "point_balance_snapshots")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class PointBalanceSnapshot {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * lastLogId까지 누적된 포인트 합계
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Long balance = 0L;
+
+    /**
+     * 스냅샷에 포함된 마지막 point_logs.id
+     */
+    @Column(name = "last_log_id", nullable = false)
+    @Builder.Default
+    private Long lastLogId = 0L;
+
+    @Column(name = "snapshot_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime snapshotAt = LocalDateTime.now();
+}
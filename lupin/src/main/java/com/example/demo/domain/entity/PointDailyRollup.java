@@ -0,0 +1,49 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포인트 일별 롤업 엔티티
+ * 하루치 point_logs를 사용자별 한 행으로 접어 둔다. (PointRollupService가 매일 전날분을 갱신)
+ * 월/기간 집계는 이 테이블 + 아직 접지 않은 최근 로그만 읽으므로 비용이 로그 건수가 아니라 사용자 수에 비례한다.
+ */
+@Entity
+@Table(name = "point_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_point_daily_rollup_user_bucket", columnNames = {"user_id", "bucket_start"}),
+        indexes = @Index(name = "idx_point_daily_rollup_bucket", columnList = "bucket_start"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class PointDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * 집계한 날의 0시
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    /**
+     * 랭킹 포인트(EARN + DEDUCT) 합계
+     */
+    @Column(name = "ranked_points", nullable = false)
+    @Builder.Default
+    private Long rankedPoints = 0L;
+
+    /**
+     * 모든 유형의 로그 건수 (활동 사용자 판별용)
+     */
+    @Column(name = "log_count", nullable = false)
+    @Builder.Default
+    private Integer logCount = 0;
+}
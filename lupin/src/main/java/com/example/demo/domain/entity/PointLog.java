@@ -6,8 +6,16 @@ import lombok.*;
 import java.time.LocalDateTime;
 import com.example.demo.domain.enums.PointType;
 
+/**
+ * 포인트 원장 (append-only)
+ * 운영 DB에서는 created_at 기준 월별 RANGE 파티션 테이블이다. (V2 마이그레이션)
+ * 파티션 테이블은 외래 키를 가질 수 없으므로 users 참조 제약은 만들지 않는다.
+ */
 @Entity
-@Table(name = "point_logs")
+@Table(name = "point_logs", indexes = {
+    @Index(name = "idx_point_log_user_id", columnList = "user_id, id"),
+    @Index(name = "idx_point_log_user_created", columnList = "user_id, created_at")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -19,7 +27,7 @@ public class PointLog {
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
     @Column(nullable = false)
@@ -0,0 +1,32 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포인트 롤업 진행 위치 엔티티
+ * rolledUpBefore 이전의 로그는 point_daily_rollups에 반영되어 있고, 이후 로그만 point_logs에서 직접 합산한다.
+ */
+@Entity
+@Table(name = "point_rollup_checkpoints")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class PointRollupCheckpoint {
+
+    public static final String DAILY = "daily";
+
+    @Id
+    @Column(length = 20)
+    private String id;
+
+    @Column(name = "rolled_up_before", nullable = false)
+    private LocalDateTime rolledUpBefore;
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -0,0 +1,55 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장된 이미지 (원본 내용 해시 → 저장 키)
+ * 같은 원본을 같은 용도(prefix)로 다시 올리면 변환/업로드 없이 이 키를 돌려주고 refCount를 올린다.
+ * 썸네일 등 파생 크기의 키는 s3Key의 uuid로 정해지므로 따로 저장하지 않는다.
+ */
+@Entity
+@Table(name = "stored_images",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_stored_image_hash_prefix", columnNames = {"content_hash", "prefix"}),
+                @UniqueConstraint(name = "uk_stored_image_s3_key", columnNames = {"s3_key"})
+        })
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class StoredImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 원본 바이트의 SHA-256 (hex)
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /**
+     * 업로드 용도 (feed, profiles, 없으면 빈 문자열)
+     */
+    @Column(nullable = false, length = 20)
+    private String prefix;
+
+    @Column(name = "s3_key", nullable = false)
+    private String s3Key;
+
+    /**
+     * 이 키를 돌려준 업로드 수 - 삭제 요청마다 1씩 줄고, 0이 되면 객체를 지운다.
+     */
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    /**
+     * 마지막으로 업로드가 이 키를 받아 간 시각 (고아 정리 시 최근 것은 건너뛴다)
+     */
+    @Column(name = "last_referenced_at", nullable = false)
+    private LocalDateTime lastReferencedAt;
+}
@@ -67,7 +67,8 @@ public class User {
     @Column(name = "provider_email", length = 255)
     private String providerEmail;
 
-    @Column(name = "current_points", nullable = false)
+    // 잔액은 PointLedgerService만 UPDATE로 반영한다 (엔티티 저장 시 오래된 값으로 덮어쓰지 않도록 updatable = false)
+    @Column(name = "current_points", nullable = false, updatable = false)
     @Builder.Default
     private Long totalPoints = 0L;
 
@@ -118,16 +119,6 @@ public class User {
         this.avatar = avatarUrl;
     }
 
-    // 포인트 추가
-    public void addPoints(long amount) {
-        this.totalPoints += amount;
-    }
-
-    // 포인트 차감
-    public void deductPoints(long amount) {
-        this.totalPoints -= amount;
-    }
-
     // 의사 진료과 변경용
     public void assignDepartment(String department) {
         this.department = department;
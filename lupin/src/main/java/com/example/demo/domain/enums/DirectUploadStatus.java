@@ -0,0 +1,18 @@
+package com.example.demo.domain.enums;
+
+public enum DirectUploadStatus {
+    ISSUED("업로드 URL 발급"),
+    QUEUED("변환 대기"),
+    READY("변환 완료"),
+    FAILED("변환 실패");
+
+    private final String description;
+
+    DirectUploadStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.domain.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 운동 종류와 강도 (imageMetadata.ts와 동일)
+ * - 활동명(별칭 포함)은 클래스 로딩 시 한 번만 맵에 등록하고, 강도는 ordinal로 바로 꺼낸다.
+ * - 모르는 활동명은 OTHER(기타, 0.8)로 처리한다.
+ * - 별칭은 기존 채점표에 있던 이름과 기본값(0.8)과 강도가 같은 이름만 둔다. (별칭 추가로 기존 피드 점수가 바뀌지 않도록)
+ */
+public enum WorkoutActivity {
+    WALK("산책", 0.5),
+    YOGA("요가", 0.5),
+    STRETCHING("스트레칭", 0.6),
+    PILATES("필라테스", 0.6),
+    GOLF("골프", 0.7),
+    FAST_WALK("빠른 걷기", 0.8),
+    GYM("헬스", 0.8, "웨이트", "웨이트 트레이닝", "헬스(웨이트 트레이닝)"),
+    BADMINTON("배드민턴", 0.9),
+    TABLE_TENNIS("탁구", 0.9),
+    CYCLING("자전거 타기", 1.0, "사이클"),
+    SWIMMING("수영", 1.0),
+    HIKING("등산", 1.0),
+    TENNIS("테니스", 1.1),
+    JOGGING("조깅", 1.2),
+    SOCCER("축구", 1.4),
+    BASKETBALL("농구", 1.4),
+    RUNNING("달리기", 1.5, "런닝"),
+    BOXING("복싱", 1.5),
+    FAST_SWIMMING("수영(빠르게)", 1.7),
+    FAST_CYCLING("자전거(빠르게)", 1.7),
+    HIIT("HIIT", 1.7),
+    CROSSFIT("크로스핏", 1.7),
+    JUMP_ROPE("줄넘기", 1.8),
+    // 이전 버전 호환용 (기존 피드 점수가 바뀌지 않도록 WorkoutScoreService에서 쓰던 값 유지)
+    LEGACY_WALK("걷기", 0.6),
+    OTHER("기타", 0.8);
+
+    /**
+     * 강도 표 버전 - 강도를 바꾸면 올린다. (FeedRescoreService는 이전 버전으로 채점된 피드만 다시 채점)
+     */
+    public static final int TABLE_REVISION = 1;
+
+    private static final Map<String, WorkoutActivity> BY_LABEL = new HashMap<>();
+    private static final double[] INTENSITIES;
+
+    static {
+        WorkoutActivity[] values = values();
+        INTENSITIES = new double[values.length];
+        for (WorkoutActivity activity : values) {
+            INTENSITIES[activity.ordinal()] = activity.intensity;
+            BY_LABEL.put(activity.label, activity);
+            for (String alias : activity.aliases) {
+                BY_LABEL.put(alias, activity);
+            }
+        }
+    }
+
+    private final String label;
+    private final double intensity;
+    private final String[] aliases;
+
+    WorkoutActivity(String label, double intensity, String... aliases) {
+        this.label = label;
+        this.intensity = intensity;
+        this.aliases = aliases;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public double getIntensity() {
+        return intensity;
+    }
+
+    /**
+     * 활동명(별칭 포함)으로 조회 (null이거나 모르는 활동명이면 OTHER)
+     */
+    public static WorkoutActivity of(String label) {
+        if (label == null) {
+            return OTHER;
+        }
+        WorkoutActivity activity = BY_LABEL.get(label.strip());
+        return activity != null ? activity : OTHER;
+    }
+
+    /**
+     * ordinal로 강도 조회 (배치 계산용)
+     */
+    public static double intensityAt(int ordinal) {
+        return INTENSITIES[ordinal];
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.demo.dto;
+
+import com.example.demo.domain.entity.Auction;
+import com.example.demo.domain.enums.AuctionStatus;
+import com.example.demo.dto.response.AuctionItemResponse;
+import com.example.demo.dto.response.AuctionStatusResponse;
+import com.example.demo.dto.response.OngoingAuctionResponse;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 진행 중인 경매 읽기 모델 (Redis Hash 한 개에 평탄하게 저장)
+ * 진행 중/실시간 상태 API가 DB 없이 이 스냅샷 하나로 응답한다.
+ */
+public record ActiveAuctionView(
+        Long auctionId,
+        LocalDateTime startTime,
+        LocalDateTime regularEndTime,
+        Integer overtimeSeconds,
+        Long currentPrice,
+        String winnerName,
+        Boolean overtimeStarted,
+        LocalDateTime overtimeEndTime,
+        Integer totalBids,
+        AuctionItemResponse item
+) {
+    /**
+     * 진행 중인 경매가 없음을 나타내는 스냅샷 (캐시 미스와 구분하기 위해 사용)
+     */
+    public static final ActiveAuctionView NONE =
+            new ActiveAuctionView(null, null, null, null, null, null, null, null, null, null);
+
+    private static final String NONE_ID = "NONE";
+
+    public static ActiveAuctionView from(Auction auction) {
+        return new ActiveAuctionView(
+                auction.getId(),
+                auction.getStartTime(),
+                auction.getRegularEndTime(),
+                auction.getOvertimeSeconds(),
+                auction.getCurrentPrice(),
+                auction.getWinner() != null ? auction.getWinner().getName() : null,
+                auction.getOvertimeStarted(),
+                auction.getOvertimeEndTime(),
+                auction.getTotalBids(),
+                auction.getAuctionItem() != null ? AuctionItemResponse.from(auction.getAuctionItem()) : null
+        );
+    }
+
+    public boolean isNone() {
+        return auctionId == null;
+    }
+
+    /**
+     * Auction.getEndTime()과 같은 규칙 (초읽기 중이면 초읽기 종료 시간)
+     */
+    public LocalDateTime endTime() {
+        if (Boolean.TRUE.equals(overtimeStarted) && overtimeEndTime != null) {
+            return overtimeEndTime;
+        }
+        return regularEndTime.plusSeconds(overtimeSeconds);
+    }
+
+    public OngoingAuctionResponse toOngoingResponse() {
+        return new OngoingAuctionResponse(
+                auctionId,
+                AuctionStatus.ACTIVE.name(),
+                startTime,
+                regularEndTime,
+                currentPrice,
+                overtimeStarted,
+                overtimeEndTime,
+                overtimeSeconds,
+                totalBids,
+                item
+        );
+    }
+
+    public AuctionStatusResponse toStatusResponse() {
+        return new AuctionStatusResponse(
+                auctionId,
+                currentPrice,
+                winnerName,
+                overtimeStarted,
+                overtimeEndTime,
+                totalBids
+        );
+    }
+
+    /**
+     * 입찰 때마다 바뀌지 않는 필드
+     */
+    public Map<String, String> staticFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (isNone()) {
+            fields.put("auctionId", NONE_ID);
+            return fields;
+        }
+        fields.put("auctionId", String.valueOf(auctionId));
+        fields.put("startTime", String.valueOf(startTime));
+        fields.put("regularEndTime", String.valueOf(regularEndTime));
+        fields.put("overtimeSeconds", String.valueOf(overtimeSeconds));
+        if (item != null) {
+            fields.put("itemId", String.valueOf(item.itemId()));
+            fields.put("itemName", nullToEmpty(item.itemName()));
+            fields.put("itemDescription", nullToEmpty(item.description()));
+            fields.put("itemImage", nullToEmpty(item.imageUrl()));
+        }
+        return fields;
+    }
+
+    /**
+     * 입찰 때마다 바뀌는 필드 (더 높은 가격일 때만 덮어쓴다)
+     */
+    public Map<String, String> dynamicFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (isNone()) {
+            return fields;
+        }
+        fields.put("currentPrice", String.valueOf(currentPrice));
+        fields.put("winnerName", nullToEmpty(winnerName));
+        fields.put("overtimeStarted", String.valueOf(Boolean.TRUE.equals(overtimeStarted)));
+        fields.put("overtimeEndTime", overtimeEndTime != null ? overtimeEndTime.toString() : "");
+        fields.put("totalBids", String.valueOf(totalBids));
+        return fields;
+    }
+
+    public static ActiveAuctionView fromFields(Map<String, String> fields) {
+        String id = fields.get("auctionId");
+        if (id == null || NONE_ID.equals(id)) {
+            return NONE;
+        }
+        AuctionItemResponse item = fields.containsKey("itemId")
+                ? new AuctionItemResponse(
+                        Long.valueOf(fields.get("itemId")),
+                        emptyToNull(fields.get("itemName")),
+                        emptyToNull(fields.get("itemDescription")),
+                        emptyToNull(fields.get("itemImage")))
+                : null;
+
+        return new ActiveAuctionView(
+                Long.valueOf(id),
+                LocalDateTime.parse(fields.get("startTime")),
+                LocalDateTime.parse(fields.get("regularEndTime")),
+                Integer.valueOf(fields.get("overtimeSeconds")),
+                Long.valueOf(fields.get("currentPrice")),
+                emptyToNull(fields.get("winnerName")),
+                Boolean.valueOf(fields.get("overtimeStarted")),
+                parseNullable(fields.get("overtimeEndTime")),
+                Integer.valueOf(fields.get("totalBids")),
+                item
+        );
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static LocalDateTime parseNullable(String value) {
+        return value == null || value.isEmpty() ? null : LocalDateTime.parse(value);
+    }
+}
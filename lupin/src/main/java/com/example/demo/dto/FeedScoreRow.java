@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재채점용 피드 한 줄 (엔티티 대신 필요한 컬럼만 읽는다)
+ * startTime/endTime은 시작/끝 사진의 촬영 시간 (없으면 null)
+ */
+public record FeedScoreRow(
+        Long feedId,
+        Long writerId,
+        String activity,
+        long points,
+        int calories,
+        LocalDateTime createdAt,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,28 @@
+package com.example.demo.dto;
+
+import com.example.demo.domain.entity.User;
+import com.example.demo.dto.response.UserRankingResponse;
+
+/**
+ * 랭킹 화면에 필요한 사용자 정보만 비정규화한 카드 (Redis Hash에 JSON으로 저장)
+ * 점수/등수는 월간 ZSet에서 가져오고, 카드와 합쳐 응답을 만든다.
+ */
+public record LeaderboardCard(
+        Long id,
+        String name,
+        String avatar,
+        String department
+) {
+    public static LeaderboardCard from(User user) {
+        return new LeaderboardCard(
+                user.getId(),
+                user.getName(),
+                user.getAvatar(),
+                user.getDepartment()
+        );
+    }
+
+    public UserRankingResponse toResponse(long points, int rank) {
+        return new UserRankingResponse(id, name, avatar, department, points, rank);
+    }
+}
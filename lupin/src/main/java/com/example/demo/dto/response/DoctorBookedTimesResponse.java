@@ -0,0 +1,19 @@
+package com.example.demo.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 예약 달력 - 의사 한 명의 하루 예약 시간
+ */
+@Getter
+@Builder
+public class DoctorBookedTimesResponse {
+
+    private Long doctorId;
+    private LocalDate date;
+    private List<String> bookedTimes; // "HH:mm", 시간순
+}
@@ -0,0 +1,23 @@
+package com.example.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장소 직접 업로드 URL 응답
+ * 클라이언트는 uploadUrl로 원본을 PUT한 뒤 완료를 알리고, 피드 작성 시 key를 이미지 키로 보낸다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PresignedUploadResponse {
+
+    private String key;
+    private String uploadUrl;
+    private LocalDateTime expiresAt;
+}
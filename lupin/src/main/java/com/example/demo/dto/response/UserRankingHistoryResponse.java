@@ -0,0 +1,12 @@
+package com.example.demo.dto.response;
+
+/**
+ * 지난달 랭킹 기록 응답 DTO (월별 최종 등수)
+ */
+public record UserRankingHistoryResponse(
+        String month,
+        long points,
+        int rank,
+        int totalUsers
+) {
+}
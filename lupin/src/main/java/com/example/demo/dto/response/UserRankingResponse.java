@@ -24,19 +24,4 @@ public record UserRankingResponse(
                 rank
         );
     }
-
-    /**
-     * Native Query 결과로부터 생성 (getUserRankingContext용)
-     */
-    public static UserRankingResponse fromNativeQuery(Object[] row) {
-        return new UserRankingResponse(
-                ((Number) row[0]).longValue(),
-                (String) row[1],
-                (String) row[2],
-                (String) row[3],
-                // total_points가 NULL일 경우 0으로 처리
-                row[4] != null ? ((Number) row[4]).longValue() : 0L,
-                ((Number) row[5]).intValue()
-        );
-    }
 }
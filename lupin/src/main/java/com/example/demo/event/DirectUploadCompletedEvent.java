@@ -0,0 +1,9 @@
+package com.example.demo.event;
+
+/**
+ * 저장소 직접 업로드 완료 이벤트 - 변환 워커가 대기열에 넣는다
+ */
+public record DirectUploadCompletedEvent(
+        String rawKey
+) {
+}
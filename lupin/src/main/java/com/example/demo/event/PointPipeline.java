@@ -0,0 +1,431 @@
+package com.example.demo.event;
+
+import com.example.demo.config.properties.PointPipelineProperties;
+import com.example.demo.service.RankingEngine;
+import com.example.demo.service.RankingRebuildService;
+import com.example.demo.util.RedisKeyUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 랭킹 반영 파이프라인
+ * - 커밋된 포인트 증감을 사용자 ID로 나눈 레인에 넣고, 레인마다 스레드 1개가 순서대로 Redis에 반영한다.
+ *   (같은 사용자의 증감은 항상 같은 레인에서 처리되므로 순서가 뒤바뀌지 않는다)
+ * - 레인에 쌓인 동안 같은 사용자의 증감분은 하나로 합치고, 한 번에 꺼낸 묶음을 Lua 스크립트 한 번
+ *   (ZINCRBY * 사용자 수 + 음수 0점 보정 + 키별 EXPIRE)으로 보낸 뒤 최종 점수를 메시지 한 건으로 전파한다.
+ * - 실패한 묶음은 같은 id로 다시 보내고(스크립트가 한 번만 반영), 계속 실패하면 그 달 랭킹을 DB 기준으로 재구축한다.
+ *   재구축 중인 달은 증감분을 따로 모아 두고, 재구축이 교체 직전에 합친다. (재구축이 진행 중 증감을 덮어쓰지 않음)
+ * - 대기 사용자 수는 사용자 수 이상으로 늘지 않으며, 레인이 가득 차면 제출하는 쪽이 잠시 기다린다.
+ *   (공용 taskExecutor 큐가 차서 RejectedExecutionException이 나는 일이 없다)
+ */
+@Slf4j
+@Component
+public class PointPipeline {
+
+    private static final Duration RANKING_TTL = Duration.ofDays(40);
+    private static final Duration BATCH_MARKER_TTL = Duration.ofHours(1);
+    // 실패한 묶음을 같은 id로 다시 보내는 횟수 (넘으면 버리고 그 달 랭킹을 재구축)
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_BACKOFF_MS = 1000;
+
+    /**
+     * KEYS: 랭킹 키 n개, 재구축 진행 표시 키 n개, 재구축 증감분 키 n개, 묶음 완료 표시 키(마지막)
+     * ARGV: 랭킹 TTL(초), 완료 표시 TTL(초), (랭킹 키 번호, 사용자 ID, 증감분) * 사용자 수
+     * 점수가 음수가 되면 0점으로 보정한다. (랭킹에서 제거하지 않음 - 0점 유저 노출 보장)
+     * 그 달을 재구축 중이면 증감분을 재구축 증감분 키에도 더한다.
+     * 이미 반영한 묶음이면 증감 없이 현재 점수만 돌려준다. (재시도 시 이중 반영 방지)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> APPLY_SCRIPT = new DefaultRedisScript<>("""
+            local marker = KEYS[#KEYS]
+            local n = (#KEYS - 1) / 3
+            local applied = redis.call('EXISTS', marker) == 1
+            local scores = {}
+            for i = 3, #ARGV, 3 do
+                local index = tonumber(ARGV[i])
+                local key = KEYS[index]
+                local member = ARGV[i + 1]
+                local score
+                if applied then
+                    score = tonumber(redis.call('ZSCORE', key, member) or '0')
+                else
+                    score = tonumber(redis.call('ZINCRBY', key, ARGV[i + 2], member))
+                    if score < 0 then
+                        redis.call('ZADD', key, 0, member)
+                        score = 0
+                    end
+                    if redis.call('EXISTS', KEYS[n + index]) == 1 then
+                        redis.call('ZINCRBY', KEYS[2 * n + index], ARGV[i + 2], member)
+                        redis.call('EXPIRE', KEYS[2 * n + index], ARGV[2])
+                    end
+                end
+                scores[#scores + 1] = score
+            end
+            if not applied then
+                for k = 1, n do
+                    redis.call('EXPIRE', KEYS[k], ARGV[1])
+                end
+                redis.call('SET', marker, '1', 'EX', ARGV[2])
+            end
+            return scores
+            """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RankingEngine rankingEngine;
+    private final RankingRebuildService rankingRebuildService;
+    private final PointPipelineProperties properties;
+    private final Lane[] lanes;
+    // 재시도를 모두 실패한 묶음이 있던 달 (rebuildDroppedMonths가 재구축)
+    private final Set<YearMonth> droppedMonths = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+
+    // 지표
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder appliedUsers = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder failedUsers = new LongAdder();
+    private final AtomicInteger maxBacklog = new AtomicInteger();
+
+    public PointPipeline(
+            RedisTemplate<String, String> redisTemplate,
+            RankingEngine rankingEngine,
+            RankingRebuildService rankingRebuildService,
+            PointPipelineProperties properties
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.rankingEngine = rankingEngine;
+        this.rankingRebuildService = rankingRebuildService;
+        this.properties = properties;
+        this.lanes = new Lane[Math.max(1, properties.getLanes())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Lane lane : lanes) {
+            lane.worker = new Thread(lane::run, "point-lane-" + lane.index);
+            lane.worker.setDaemon(true);
+            lane.worker.start();
+        }
+    }
+
+    /**
+     * 종료 전 레인에 남은 증감분을 모두 반영한다.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Lane lane : lanes) {
+            synchronized (lane) {
+                lane.notifyAll();
+            }
+            if (lane.worker != null) {
+                try {
+                    lane.worker.join(5000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        flush();
+    }
+
+    /**
+     * 이번 달 랭킹에 반영할 증감분을 제출한다. (커밋 후 호출)
+     */
+    public void submit(Long userId, long delta) {
+        submit(YearMonth.now(), userId, delta);
+    }
+
+    public void submit(YearMonth month, Long userId, long delta) {
+        submitted.increment();
+        lanes[Math.floorMod(userId.hashCode(), lanes.length)].offer(new Key(month, userId), delta);
+    }
+
+    /**
+     * 모든 레인을 호출한 스레드에서 바로 비운다.
+     * @return 반영한 사용자 수
+     */
+    public int flush() {
+        int total = 0;
+        for (Lane lane : lanes) {
+            total += lane.drain();
+        }
+        return total;
+    }
+
+    public Stats stats() {
+        int backlog = 0;
+        for (Lane lane : lanes) {
+            backlog += lane.backlog();
+        }
+        return new Stats(submitted.sum(), coalesced.sum(), batches.sum(), appliedUsers.sum(),
+                throttled.sum(), failedUsers.sum(), backlog, maxBacklog.get());
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void logStats() {
+        Stats stats = stats();
+        if (stats.submitted() > 0) {
+            log.info("포인트 파이프라인: {}", stats);
+        }
+    }
+
+    /**
+     * 한 묶음을 Redis에 반영한다. (레인의 applyLock을 잡은 상태에서만 호출)
+     * 증감, 음수 보정, TTL 갱신을 스크립트 한 번으로 처리하고, 최종 점수는 메시지 한 건으로 전파한다.
+     */
+    @SuppressWarnings("unchecked")
+    private void apply(Batch batch) {
+        List<Map.Entry<Key, Long>> entries = new ArrayList<>();
+        List<YearMonth> months = new ArrayList<>();
+        for (Map.Entry<Key, Long> entry : batch.deltas().entrySet()) {
+            if (entry.getValue() != 0L) {
+                entries.add(entry);
+                if (!months.contains(entry.getKey().month())) {
+                    months.add(entry.getKey().month());
+                }
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(RANKING_TTL.toSeconds()));
+        args.add(String.valueOf(BATCH_MARKER_TTL.toSeconds()));
+        for (Map.Entry<Key, Long> entry : entries) {
+            args.add(String.valueOf(months.indexOf(entry.getKey().month()) + 1));
+            args.add(String.valueOf(entry.getKey().userId()));
+            args.add(String.valueOf(entry.getValue()));
+        }
+        List<String> keys = new ArrayList<>(months.size() * 3 + 1);
+        months.forEach(month -> keys.add(RedisKeyUtils.rankingKey(month.toString())));
+        months.forEach(month -> keys.add(RedisKeyUtils.rankingRebuildFlag(month.toString())));
+        months.forEach(month -> keys.add(RedisKeyUtils.rankingRebuildDelta(month.toString())));
+        keys.add(RedisKeyUtils.rankingBatchMarker(batch.id()));
+
+        // 1. ZINCRBY + 음수면 0점 보정 + 재구축 중이면 증감분 기록 + 키별 EXPIRE (왕복 1회, 원자적)
+        List<Long> scores = redisTemplate.execute(APPLY_SCRIPT, keys, args.toArray());
+
+        // 2. 각 노드의 인메모리 랭킹 엔진에 최종 점수 전파 (메시지 1건)
+        List<RankingEngine.ScoreUpdate> updates = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (scores != null && i < scores.size() && scores.get(i) != null) {
+                Key key = entries.get(i).getKey();
+                updates.add(new RankingEngine.ScoreUpdate(key.month(), key.userId(), scores.get(i)));
+            }
+        }
+        rankingEngine.publish(updates);
+        appliedUsers.add(entries.size());
+    }
+
+    /**
+     * 재시도를 모두 실패해 버린 묶음이 있던 달의 랭킹을 DB 기준으로 다시 만든다.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void rebuildDroppedMonths() {
+        for (YearMonth month : List.copyOf(droppedMonths)) {
+            droppedMonths.remove(month);
+            try {
+                rankingRebuildService.rebuild(month);
+                if (month.equals(YearMonth.now())) {
+                    rankingEngine.load(month);
+                }
+                log.info("반영하지 못한 포인트 묶음이 있던 달의 랭킹을 재구축했습니다. month={}", month);
+            } catch (Exception e) {
+                droppedMonths.add(month);
+                log.warn("랭킹 재구축 실패 - 다음 주기에 다시 시도합니다. month={}, {}", month, e.getMessage());
+            }
+        }
+    }
+
+    private record Key(YearMonth month, Long userId) {
+    }
+
+    /**
+     * Redis에 보내는 한 묶음 (id가 같으면 다시 보내도 한 번만 반영된다)
+     */
+    private static final class Batch {
+
+        private final String id = UUID.randomUUID().toString();
+        private final Map<Key, Long> deltas;
+        private int attempts;
+
+        private Batch(Map<Key, Long> deltas) {
+            this.deltas = deltas;
+        }
+
+        private String id() {
+            return id;
+        }
+
+        private Map<Key, Long> deltas() {
+            return deltas;
+        }
+    }
+
+    /**
+     * 파이프라인 지표 (누적값, backlog는 현재 대기 사용자 수)
+     */
+    public record Stats(
+            long submitted,
+            long coalesced,
+            long batches,
+            long appliedUsers,
+            long throttled,
+            long failedUsers,
+            int backlog,
+            int maxBacklog
+    ) {
+    }
+
+    private final class Lane {
+
+        private final int index;
+        // 묶음을 꺼내서 반영하는 동안 잡는다 (워커와 flush가 번갈아 비워도 꺼낸 순서대로 반영)
+        private final ReentrantLock applyLock = new ReentrantLock();
+        // this로 동기화
+        private Map<Key, Long> pending = new LinkedHashMap<>();
+        // 반영에 실패해 같은 id로 다시 보낼 묶음 (applyLock으로 보호, 새 묶음보다 먼저 보낸다)
+        private volatile Batch retry;
+        private Thread worker;
+
+        private Lane(int index) {
+            this.index = index;
+        }
+
+        private synchronized void offer(Key key, long delta) {
+            if (pending.containsKey(key)) {
+                pending.merge(key, delta, Long::sum);
+                coalesced.increment();
+                return;
+            }
+
+            // 가득 찼으면 워커가 비울 때까지 잠시 기다린다 (시간이 지나면 그대로 넣는다)
+            if (pending.size() >= properties.getLaneCapacity()) {
+                throttled.increment();
+                long deadline = System.currentTimeMillis() + properties.getBackpressureTimeoutMs();
+                long remaining;
+                while (pending.size() >= properties.getLaneCapacity()
+                        && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                    try {
+                        wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+
+            pending.merge(key, delta, Long::sum);
+            maxBacklog.accumulateAndGet(pending.size(), Math::max);
+            notifyAll();
+        }
+
+        private synchronized int backlog() {
+            return pending.size();
+        }
+
+        private synchronized Map<Key, Long> take() {
+            if (pending.isEmpty()) {
+                return null;
+            }
+            Map<Key, Long> batch = pending;
+            pending = new LinkedHashMap<>();
+            notifyAll();
+            return batch;
+        }
+
+        private int drain() {
+            applyLock.lock();
+            try {
+                int applied = 0;
+                if (retry != null) {
+                    Batch failed = retry;
+                    if (!tryApply(failed)) {
+                        return 0;
+                    }
+                    applied += failed.deltas().size();
+                }
+                Map<Key, Long> taken = take();
+                if (taken == null) {
+                    return applied;
+                }
+                Batch batch = new Batch(taken);
+                batches.increment();
+                if (tryApply(batch)) {
+                    applied += batch.deltas().size();
+                }
+                return applied;
+            } finally {
+                applyLock.unlock();
+            }
+        }
+
+        private boolean tryApply(Batch batch) {
+            try {
+                apply(batch);
+                retry = null;
+                return true;
+            } catch (Exception e) {
+                failedUsers.add(batch.deltas().size());
+                if (++batch.attempts < MAX_ATTEMPTS) {
+                    // 일부만 반영됐더라도 같은 id로 다시 보내면 스크립트가 한 번만 반영한다
+                    retry = batch;
+                    log.warn("랭킹 반영 실패 - 다시 시도합니다: lane={}, users={}, attempt={}, {}",
+                            index, batch.deltas().size(), batch.attempts, e.getMessage());
+                } else {
+                    retry = null;
+                    batch.deltas().keySet().forEach(key -> droppedMonths.add(key.month()));
+                    log.error("랭킹 반영 재시도 초과 - 해당 달 랭킹을 재구축합니다: lane={}, users={}",
+                            index, batch.deltas().size(), e);
+                }
+                return false;
+            }
+        }
+
+        private void run() {
+            while (running) {
+                synchronized (this) {
+                    try {
+                        while (running && pending.isEmpty() && retry == null) {
+                            wait();
+                        }
+                        if (running && retry != null) {
+                            wait(RETRY_BACKOFF_MS);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                drain();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.exception;
+
+import lombok.Getter;
+
+/**
+ * 입찰 유량 제어에 걸렸을 때 발생하는 예외
+ * 429 응답의 Retry-After 헤더로 내려줄 대기 시간(초)을 함께 담는다.
+ */
+@Getter
+public class BidRateLimitException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public BidRateLimitException(ErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -33,6 +33,10 @@ public enum ErrorCode {
     FEED_WORKOUT_TOO_LONG(HttpStatus.BAD_REQUEST, "운동 시간이 24시간을 초과합니다. 올바른 사진을 업로드해주세요."),
     FEED_PHOTO_NOT_TODAY(HttpStatus.BAD_REQUEST, "당일 촬영한 사진만 업로드할 수 있습니다. 오늘 운동한 사진을 업로드해주세요."),
 
+    // Image
+    IMAGE_UPLOAD_NOT_FOUND(HttpStatus.NOT_FOUND, "업로드 정보를 찾을 수 없습니다."),
+    IMAGE_UPLOAD_NOT_OWNER(HttpStatus.FORBIDDEN, "본인이 발급받은 업로드만 완료할 수 있습니다."),
+
     // Comment
     COMMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "댓글을 찾을 수 없습니다."),
     COMMENT_NOT_OWNER(HttpStatus.FORBIDDEN, "댓글 수정/삭제 권한이 없습니다."),
@@ -63,7 +67,9 @@ public enum ErrorCode {
     OAUTH_USER_INFO_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "소셜 사용자 정보를 가져올 수 없습니다."),
 
     // Auction
-    INVALID_BID_AMOUNT(HttpStatus.BAD_REQUEST, "입찰 금액이 유효하지 않습니다.");
+    INVALID_BID_AMOUNT(HttpStatus.BAD_REQUEST, "입찰 금액이 유효하지 않습니다."),
+    BID_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "입찰 요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+    BID_OVERLOADED(HttpStatus.TOO_MANY_REQUESTS, "입찰 요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
 
     private final HttpStatus status;
     private final String message;
@@ -1,5 +1,12 @@
 package com.example.demo.infrastructure;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.function.Consumer;
+
 /**
  * 파일 저장소 추상화 인터페이스
  * - S3, 로컬, GCP 등 다양한 저장소로 교체 가능
@@ -16,6 +23,51 @@ public interface FileStorage {
      */
     void upload(String path, byte[] content, String contentType);
 
+    /**
+     * 파일 업로드 (디스크의 파일을 메모리에 올리지 않고 스트리밍)
+     *
+     * @param path 저장 경로 (키)
+     * @param file 올릴 로컬 파일
+     * @param contentType MIME 타입
+     */
+    void upload(String path, Path file, String contentType);
+
+    /**
+     * 파일을 로컬 파일로 내려받기 (메모리에 올리지 않고 스트리밍)
+     *
+     * @param path 저장 경로 (키)
+     * @param target 저장할 로컬 파일 (있으면 덮어씀)
+     */
+    void download(String path, Path target) throws IOException;
+
+    /**
+     * 파일 앞부분만 읽기 (메타데이터 헤더 확인용 - 전체를 내려받지 않음)
+     *
+     * @param path 저장 경로 (키)
+     * @param maxBytes 읽을 최대 바이트 수
+     * @return 앞부분 바이트 (파일이 더 짧으면 파일 전체)
+     */
+    byte[] readHead(String path, int maxBytes) throws IOException;
+
+    /**
+     * 파일 크기 조회 (내려받지 않고 메타데이터만 확인)
+     *
+     * @param path 저장 경로 (키)
+     * @return 바이트 수
+     */
+    long size(String path) throws IOException;
+
+    /**
+     * 클라이언트가 서버를 거치지 않고 직접 올릴 수 있는 업로드 URL 발급
+     *
+     * @param path 저장 경로 (키)
+     * @param contentType 업로드할 MIME 타입 (요청 헤더와 일치해야 함)
+     * @param contentLength 업로드할 크기 (바이트, 서명에 포함되어 다른 크기로는 올릴 수 없음)
+     * @param expiry URL 유효 시간
+     * @return 업로드(PUT) URL
+     */
+    String createUploadUrl(String path, String contentType, long contentLength, Duration expiry);
+
     /**
      * 파일 삭제
      *
@@ -23,6 +75,22 @@ public interface FileStorage {
      */
     void delete(String path);
 
+    /**
+     * 여러 파일 일괄 삭제 (저장소가 지원하면 한 요청에 여러 개씩)
+     *
+     * @param paths 저장 경로 (키) 또는 전체 URL 목록
+     * @return 삭제에 실패한 수
+     */
+    int deleteAll(Collection<String> paths);
+
+    /**
+     * 프리픽스 아래 파일을 차례로 훑기 (목록을 한 번에 메모리에 올리지 않음)
+     *
+     * @param prefix 저장 경로 접두사 (예: feed/)
+     * @param action 파일마다 호출
+     */
+    void list(String prefix, Consumer<StoredObject> action) throws IOException;
+
     /**
      * 공개 URL 반환
      *
@@ -30,4 +98,21 @@ public interface FileStorage {
      * @return CDN 또는 공개 URL
      */
     String getPublicUrl(String path);
+
+    /**
+     * 공개 URL 또는 키를 저장 경로(키)로 변환 (getPublicUrl의 반대)
+     *
+     * @param pathOrUrl 저장 경로 (키) 또는 전체 URL
+     * @return 저장 경로 (키)
+     */
+    String resolvePath(String pathOrUrl);
+
+    /**
+     * 저장된 파일 정보
+     *
+     * @param path 저장 경로 (키)
+     * @param lastModified 마지막 수정 시각
+     */
+    record StoredObject(String path, Instant lastModified) {
+    }
 }
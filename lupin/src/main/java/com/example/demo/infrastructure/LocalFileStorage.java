@@ -0,0 +1,269 @@
+package com.example.demo.infrastructure;
+
+import com.example.demo.config.properties.StorageProperties;
+import com.example.demo.util.S3UrlUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 디스크 파일 저장소 구현체 (app.storage.type=local)
+ * - AWS 없이 이미지 기능 전체를 돌리기 위한 구현 (오프라인 부하 테스트, 소규모 배포)
+ * - 파일은 root/{키}에 저장하고, LocalFileController가 /files/{키}로 서빙한다.
+ * - 쓰기는 같은 디렉터리의 임시 파일에 쓴 뒤 이름을 바꿔서, 서빙 중인 파일이 반쯤 쓰인 상태로 보이지 않게 한다.
+ * - 직접 업로드 URL은 HMAC 서명이 붙은 /files/{키} PUT 주소다. (S3 presigned PUT 대체)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalFileStorage implements FileStorage {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final String publicUrl;
+    private final byte[] signingKey;
+
+    public LocalFileStorage(StorageProperties storageProperties) throws IOException {
+        StorageProperties.Local local = storageProperties.getLocal();
+        this.root = Path.of(local.getRoot()).toAbsolutePath().normalize();
+        this.publicUrl = local.getPublicUrl().endsWith("/")
+                ? local.getPublicUrl().substring(0, local.getPublicUrl().length() - 1)
+                : local.getPublicUrl();
+        this.signingKey = local.getSigningSecret().isEmpty()
+                ? randomKey()
+                : local.getSigningSecret().getBytes(StandardCharsets.UTF_8);
+        Files.createDirectories(root);
+        log.info("Local file storage: root={}, publicUrl={}", root, publicUrl);
+    }
+
+    @Override
+    public void upload(String path, byte[] content, String contentType) {
+        try {
+            Path target = resolve(path);
+            Path temp = tempFileFor(target);
+            Files.write(temp, content);
+            moveIntoPlace(temp, target);
+            log.debug("File stored locally: path={}, size={} bytes", path, content.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local file upload failed: " + path, e);
+        }
+    }
+
+    @Override
+    public void upload(String path, Path file, String contentType) {
+        try {
+            Path target = resolve(path);
+            Path temp = tempFileFor(target);
+            Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(temp, target);
+            log.debug("File stored locally: path={}, file={}", path, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local file upload failed: " + path, e);
+        }
+    }
+
+    /**
+     * 직접 업로드(PUT) 본문 저장 - 서명 확인은 호출하는 쪽에서 한다
+     * maxBytes를 넘는 순간 쓰기를 멈추고 임시 파일을 지운다. (Content-Length를 속여도 디스크를 채울 수 없음)
+     *
+     * @return 저장했으면 true, 크기를 넘어 버렸으면 false
+     */
+    public boolean upload(String path, InputStream content, long maxBytes) throws IOException {
+        Path target = resolve(path);
+        Path temp = tempFileFor(target);
+        long written = 0;
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                written += read;
+                if (written > maxBytes) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        if (written > maxBytes) {
+            Files.deleteIfExists(temp);
+            log.warn("Direct upload exceeded signed size, discarded: path={}, limit={} bytes", path, maxBytes);
+            return false;
+        }
+        moveIntoPlace(temp, target);
+        log.debug("File stored locally (direct upload): path={}, size={} bytes", path, written);
+        return true;
+    }
+
+    @Override
+    public void download(String path, Path target) throws IOException {
+        Files.copy(resolve(path), target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public byte[] readHead(String path, int maxBytes) throws IOException {
+        try (InputStream in = Files.newInputStream(resolve(path))) {
+            return in.readNBytes(maxBytes);
+        }
+    }
+
+    @Override
+    public long size(String path) throws IOException {
+        return Files.size(resolve(path));
+    }
+
+    @Override
+    public String createUploadUrl(String path, String contentType, long contentLength, Duration expiry) {
+        resolve(path); // 저장소 밖 경로 거부
+        long expires = Instant.now().plus(expiry).getEpochSecond();
+        return publicUrl + "/" + path
+                + "?expires=" + expires
+                + "&contentType=" + URLEncoder.encode(contentType, StandardCharsets.UTF_8)
+                + "&contentLength=" + contentLength
+                + "&signature=" + sign(path, contentType, contentLength, expires);
+    }
+
+    /**
+     * 직접 업로드 URL 서명 확인 (만료 시각, 경로, Content-Type, 크기가 발급할 때와 같아야 함)
+     */
+    public boolean verifyUploadSignature(String path, String contentType, long contentLength, long expires, String signature) {
+        if (signature == null || contentType == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        byte[] expected = sign(path, contentType, contentLength, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public void delete(String pathOrUrl) {
+        String path = resolvePath(pathOrUrl);
+        try {
+            Files.deleteIfExists(resolve(path));
+            log.debug("File deleted locally: {}", path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local file delete failed: " + path, e);
+        }
+    }
+
+    @Override
+    public int deleteAll(Collection<String> pathsOrUrls) {
+        int failed = 0;
+        for (String pathOrUrl : pathsOrUrls) {
+            try {
+                delete(pathOrUrl);
+            } catch (RuntimeException e) {
+                log.warn("File delete failed: {} - {}", pathOrUrl, e.getMessage());
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 디렉터리를 따라 내려가며 파일만 (임시 파일 제외)
+     */
+    @Override
+    public void list(String prefix, Consumer<StoredObject> action) throws IOException {
+        Path start = resolve(prefix);
+        if (!Files.isDirectory(start)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(start)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .forEach(file -> {
+                        try {
+                            action.accept(new StoredObject(keyOf(file), Files.getLastModifiedTime(file).toInstant()));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public String getPublicUrl(String path) {
+        return publicUrl + "/" + path;
+    }
+
+    @Override
+    public String resolvePath(String pathOrUrl) {
+        if (pathOrUrl != null && pathOrUrl.startsWith(publicUrl + "/")) {
+            return pathOrUrl.substring(publicUrl.length() + 1);
+        }
+        return S3UrlUtils.extractUrlPath(pathOrUrl);
+    }
+
+    /**
+     * 키에 해당하는 파일 경로 (저장소 밖으로 나가는 키는 거부)
+     */
+    public Path resolve(String path) {
+        Path resolved = root.resolve(path).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("Path outside storage root: " + path);
+        }
+        return resolved;
+    }
+
+    private String keyOf(Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    private Path tempFileFor(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private String sign(String path, String contentType, long contentLength, long expires) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(signingKey, HMAC_ALGORITHM));
+            byte[] digest = mac.doFinal((path + "\n" + contentType + "\n" + contentLength + "\n" + expires)
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Upload URL signing failed", e);
+        }
+    }
+}
@@ -1,27 +1,54 @@
 package com.example.demo.infrastructure;
 
 import com.example.demo.util.S3UrlUtils;
+import io.awspring.cloud.s3.ObjectMetadata;
 import io.awspring.cloud.s3.S3Template;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * S3 파일 저장소 구현체
  * - AWS S3에 파일 업로드/삭제 담당
  * - CDN URL 생성 담당
+ * - app.storage.type이 s3이거나 없을 때 사용
  */
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
 @RequiredArgsConstructor
 public class S3FileStorage implements FileStorage {
 
     private static final String CACHE_CONTROL = "max-age=31536000, immutable"; // 1년 캐싱
     private static final String CDN_URL_PREFIX = "https://cdn.lupin-care.com";
+    private static final int DELETE_BATCH_SIZE = 1000; // DeleteObjects 한 요청의 최대 키 수
+    private static final int LIST_PAGE_SIZE = 1000;
 
     private final S3Client s3Client;
     private final S3Template s3Template;
@@ -42,16 +69,147 @@ public class S3FileStorage implements FileStorage {
         log.debug("File uploaded to S3: path={}, size={} bytes", path, content.length);
     }
 
+    @Override
+    public void upload(String path, Path file, String contentType) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(path)
+                .contentType(contentType)
+                .cacheControl(CACHE_CONTROL)
+                .build();
+
+        s3Client.putObject(request, RequestBody.fromFile(file));
+        log.debug("File uploaded to S3: path={}, file={}", path, file);
+    }
+
+    @Override
+    public void download(String path, Path target) throws IOException {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(path)
+                .build();
+
+        try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        log.debug("File downloaded from S3: path={}, file={}", path, target);
+    }
+
+    /**
+     * Range 요청으로 앞부분만 받는다
+     */
+    @Override
+    public byte[] readHead(String path, int maxBytes) throws IOException {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(path)
+                .range("bytes=0-" + (maxBytes - 1))
+                .build();
+
+        try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+            return in.readNBytes(maxBytes);
+        }
+    }
+
+    /**
+     * HEAD 요청으로 크기만 확인
+     */
+    @Override
+    public long size(String path) {
+        HeadObjectRequest request = HeadObjectRequest.builder()
+                .bucket(bucket)
+                .key(path)
+                .build();
+
+        return s3Client.headObject(request).contentLength();
+    }
+
+    /**
+     * Content-Length를 서명에 넣어 발급한 크기와 다른 본문은 S3가 거부한다
+     */
+    @Override
+    public String createUploadUrl(String path, String contentType, long contentLength, Duration expiry) {
+        ObjectMetadata metadata = ObjectMetadata.builder()
+                .contentLength(contentLength)
+                .build();
+        return s3Template.createSignedPutURL(bucket, path, expiry, metadata, contentType).toString();
+    }
+
     @Override
     public void delete(String pathOrUrl) {
         // URL인 경우 S3 키만 추출
-        String s3Key = S3UrlUtils.extractPath(pathOrUrl, bucket);
+        String s3Key = resolvePath(pathOrUrl);
         s3Template.deleteObject(bucket, s3Key);
         log.debug("File deleted from S3: {}", s3Key);
     }
 
+    /**
+     * 다중 객체 삭제 (1000개씩 한 요청, 없는 키는 S3가 성공으로 처리)
+     */
+    @Override
+    public int deleteAll(Collection<String> pathsOrUrls) {
+        List<ObjectIdentifier> objects = pathsOrUrls.stream()
+                .map(this::resolvePath)
+                .distinct()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .toList();
+
+        int failed = 0;
+        for (int from = 0; from < objects.size(); from += DELETE_BATCH_SIZE) {
+            List<ObjectIdentifier> batch = objects.subList(from, Math.min(objects.size(), from + DELETE_BATCH_SIZE));
+            DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                    .bucket(bucket)
+                    .delete(Delete.builder().objects(batch).quiet(true).build())
+                    .build();
+
+            DeleteObjectsResponse response = s3Client.deleteObjects(request);
+            if (response.hasErrors()) {
+                for (S3Error error : response.errors()) {
+                    log.warn("File delete failed: {} - {} {}", error.key(), error.code(), error.message());
+                }
+                failed += response.errors().size();
+            }
+        }
+        log.debug("Files deleted from S3: {} (failed: {})", objects.size() - failed, failed);
+        return failed;
+    }
+
+    /**
+     * 키 순서로 1000개씩 목록 조회
+     */
+    @Override
+    public void list(String prefix, Consumer<StoredObject> action) {
+        String continuationToken = null;
+        do {
+            ListObjectsV2Request.Builder requestBuilder = ListObjectsV2Request.builder()
+                    .bucket(bucket)
+                    .prefix(prefix)
+                    .maxKeys(LIST_PAGE_SIZE);
+
+            if (continuationToken != null) {
+                requestBuilder.continuationToken(continuationToken);
+            }
+
+            ListObjectsV2Response response = s3Client.listObjectsV2(requestBuilder.build());
+            for (S3Object s3Object : response.contents()) {
+                action.accept(new StoredObject(s3Object.key(), s3Object.lastModified()));
+            }
+
+            continuationToken = response.isTruncated() ? response.nextContinuationToken() : null;
+        } while (continuationToken != null);
+    }
+
     @Override
     public String getPublicUrl(String path) {
         return String.format("%s/%s", CDN_URL_PREFIX, path);
     }
+
+    // S3 URL은 버킷 이후 경로, CDN URL은 호스트 이후 경로가 키
+    @Override
+    public String resolvePath(String pathOrUrl) {
+        if (pathOrUrl != null && pathOrUrl.startsWith(CDN_URL_PREFIX + "/")) {
+            return S3UrlUtils.extractUrlPath(pathOrUrl);
+        }
+        return S3UrlUtils.extractPath(pathOrUrl, bucket);
+    }
 }
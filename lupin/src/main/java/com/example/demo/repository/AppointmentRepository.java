@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,14 +47,15 @@ List<Appointment> findByPatientIdOrderByDateDesc(@Param("patientId") Long patien
            "WHERE a.id = :id")
     Optional<Appointment> findByIdWithPatientAndDoctor(@Param("id") Long id);
 
-    // 특정 의사의 특정 날짜 범위 내 예약 목록 조회
-    @Query("SELECT a FROM Appointment a " +
-           "WHERE a.doctor.id = :doctorId " +
-           "AND a.date BETWEEN :startDate AND :endDate")
-    List<Appointment> findByDoctorIdAndDateBetween(
-            @Param("doctorId") Long doctorId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate
+    // 여러 의사의 기간 내 취소되지 않은 예약 (의사 ID, 예약 시각) - 예약 가능 시간 비트맵 적재용, [start, end)
+    @Query("SELECT a.doctor.id, a.date FROM Appointment a " +
+           "WHERE a.doctor.id IN :doctorIds " +
+           "AND a.date >= :start AND a.date < :end " +
+           "AND a.status != com.example.demo.domain.enums.AppointmentStatus.CANCELLED")
+    List<Object[]> findBookedSlots(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
     );
 
     // 특정 상태와 날짜 범위 내 예약 목록 조회 (리마인더용)
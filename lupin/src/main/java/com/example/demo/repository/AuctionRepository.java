@@ -17,7 +17,8 @@ import java.util.Optional;
 
 public interface AuctionRepository extends JpaRepository<Auction, Long> {
 
-
+    // 경매 종료/정산 시 비관적 락 (여러 노드가 같은 경매를 동시에 닫지 못하게 함)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select a from Auction a where a.id = :id")
     Optional<Auction> findByIdForUpdate(@Param("id") Long id);
 
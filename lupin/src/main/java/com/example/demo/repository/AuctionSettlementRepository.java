@@ -0,0 +1,9 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.AuctionSettlement;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AuctionSettlementRepository extends JpaRepository<AuctionSettlement, Long> {
+
+    boolean existsBySettlementKey(String settlementKey);
+}
@@ -0,0 +1,33 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.DirectUpload;
+import com.example.demo.domain.enums.DirectUploadStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DirectUploadRepository extends JpaRepository<DirectUpload, Long> {
+
+    Optional<DirectUpload> findByRawKey(String rawKey);
+
+    List<DirectUpload> findByRawKeyInAndStatus(Collection<String> rawKeys, DirectUploadStatus status);
+
+    List<DirectUpload> findByStatusAndUpdatedAtBefore(DirectUploadStatus status, LocalDateTime before, Pageable pageable);
+
+    // [동시성] 오래 대기 중인 업로드를 이 노드가 다시 넣겠다고 선점 (updatedAt을 옮겨 다른 노드의 조건을 깨뜨림)
+    @Modifying
+    @Query("""
+        UPDATE DirectUpload d SET d.updatedAt = :now
+        WHERE d.id = :id AND d.status = com.example.demo.domain.enums.DirectUploadStatus.QUEUED AND d.updatedAt < :before
+    """)
+    int claimStale(@Param("id") Long id, @Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+}
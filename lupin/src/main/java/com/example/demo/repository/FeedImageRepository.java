@@ -19,9 +19,18 @@ public interface FeedImageRepository extends JpaRepository<FeedImage, Long> {
     @Query("DELETE FROM FeedImage fi WHERE fi.feed = :feed")
     void deleteByFeed(@Param("feed") Feed feed);
 
+    boolean existsByS3Key(String s3Key);
+
+    /**
+     * 직접 업로드 원본(raw/) 키를 참조 중인 이미지 키 조회 (변환 완료 후 교체용)
+     */
+    @Query("SELECT DISTINCT fi.s3Key FROM FeedImage fi WHERE fi.s3Key LIKE 'raw/%'")
+    List<String> findRawS3Keys();
+
     /**
-     * 모든 S3 키 조회 (고아 이미지 정리용)
+     * 이미지 키 일괄 교체 (원본 키 → 변환된 URL)
      */
-    @Query("SELECT fi.s3Key FROM FeedImage fi")
-    List<String> findAllS3Keys();
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE FeedImage fi SET fi.s3Key = :to WHERE fi.s3Key = :from")
+    int replaceS3Key(@Param("from") String from, @Param("to") String to);
 }
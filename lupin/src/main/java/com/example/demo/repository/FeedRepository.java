@@ -2,16 +2,20 @@ package com.example.demo.repository;
 
 import com.example.demo.domain.entity.Feed;
 import com.example.demo.domain.entity.User;
+import com.example.demo.dto.FeedScoreRow;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,9 +37,10 @@ public interface FeedRepository extends JpaRepository<Feed, Long>, FeedRepositor
     // [최적화] 오늘 글 존재 여부 - exists 사용 (writerId만 사용하여 detached entity 문제 방지)
     boolean existsByWriter_IdAndCreatedAtBetween(Long writerId, LocalDateTime start, LocalDateTime end);
 
-    // [최적화] 상세 조회 - writer만 페치
+    // [동시성] 수정용 조회 - writer만 페치, 재채점과 겹치지 않도록 비관적 락
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT f FROM Feed f JOIN FETCH f.writer WHERE f.id = :id")
-    Optional<Feed> findByIdWithWriter(@Param("id") Long id);
+    Optional<Feed> findByIdWithWriterForUpdate(@Param("id") Long id);
 
     // [최적화] 상세 조회 - writer와 images 함께 페치 (EntityGraph 사용)
     @EntityGraph(attributePaths = {"writer", "images"})
@@ -67,6 +72,35 @@ public interface FeedRepository extends JpaRepository<Feed, Long>, FeedRepositor
     @Query("UPDATE Feed f SET f.commentCount = CASE WHEN f.commentCount >= :count THEN f.commentCount - :count ELSE 0 END WHERE f.id = :feedId")
     void decrementCommentCountBy(@Param("feedId") Long feedId, @Param("count") int count);
 
+    // [재채점] 기간 내 피드를 id 순서로 끊어 읽기 - 점수 계산에 필요한 컬럼과 시작/끝 사진 촬영 시간만 조회
+    @Query("""
+        SELECT new com.example.demo.dto.FeedScoreRow(
+            f.id, f.writer.id, f.activity, f.points, f.calories, f.createdAt, s.capturedAt, e.capturedAt
+        )
+        FROM Feed f
+        LEFT JOIN f.images s ON s.imgType = com.example.demo.domain.enums.ImageType.START
+        LEFT JOIN f.images e ON e.imgType = com.example.demo.domain.enums.ImageType.END
+        WHERE f.id > :afterId AND f.createdAt >= :start AND f.createdAt < :end
+          AND (f.scoreRevision IS NULL OR f.scoreRevision < :revision)
+        ORDER BY f.id
+    """)
+    List<FeedScoreRow> findScoreRowsAfter(@Param("afterId") Long afterId,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end,
+                                          @Param("revision") int revision,
+                                          Pageable pageable);
+
+    // [재채점] 점수가 그대로인 피드에 강도 표 버전만 한 번에 기록 (다음 실행부터 읽지 않도록)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Feed f SET f.scoreRevision = :revision " +
+           "WHERE f.id IN :ids AND (f.scoreRevision IS NULL OR f.scoreRevision < :revision)")
+    int markScoreRevision(@Param("ids") Collection<Long> ids, @Param("revision") int revision);
+
+    // [재채점] 점수를 바꿀 피드를 id 순서로 잠가서 조회 (다른 노드의 재채점/사용자 수정과 겹치지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Feed f JOIN FETCH f.writer WHERE f.id IN :ids ORDER BY f.id")
+    List<Feed> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     // 사용자별 피드 수 조회
     long countByWriterId(Long writerId);
 
@@ -79,5 +113,9 @@ public interface FeedRepository extends JpaRepository<Feed, Long>, FeedRepositor
     @Modifying(clearAutomatically = true)
     @Query("UPDATE Feed f SET f.commentCount = :count WHERE f.id = :feedId")
     void updateCommentCount(@Param("feedId") Long feedId, @Param("count") int count);
+
+    // [직접 업로드] 썸네일이 변환 전 원본 키를 가리키면 변환된 URL로 교체
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Feed f SET f.thumbnailUrl = :to WHERE f.thumbnailUrl = :from")
+    int replaceThumbnailUrl(@Param("from") String from, @Param("to") String to);
 }
-    
@@ -0,0 +1,15 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.ImageMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImageMetadataRepository extends JpaRepository<ImageMetadata, Long> {
+
+    Optional<ImageMetadata> findByS3Key(String s3Key);
+
+    boolean existsByS3Key(String s3Key);
+}
@@ -13,125 +13,77 @@ import java.util.List;
 @Repository
 public interface PointLogRepository extends JpaRepository<PointLog, Long> {
 
-    // ... (기존 sumPointsByUserId 등은 유지) ...
-    @Query("SELECT COALESCE(SUM(p.points), 0) FROM PointLog p WHERE p.user.id = :userId")
-    Long sumPointsByUserId(@Param("userId") Long userId);
-
-    @Query("SELECT COALESCE(SUM(p.points), 0) FROM PointLog p " +
-            "WHERE p.user.id = :userId " +
-            "AND p.type IN (com.example.demo.domain.enums.PointType.EARN, com.example.demo.domain.enums.PointType.DEDUCT) " +
-            "AND p.createdAt BETWEEN :startDateTime AND :endDateTime")
-    Long sumPointsByUserIdAndMonth(
-            @Param("userId") Long userId,
-            @Param("startDateTime") LocalDateTime startDateTime,
-            @Param("endDateTime") LocalDateTime endDateTime
-    );
-
-    // [수정 1] 랭킹 조회 (페이징 포함)
-    // User.totalPoints 대신 PointLog에서 EARN, DEDUCT만 합산하여 정렬
-    @Query("SELECT u, COALESCE(SUM(p.points), 0) as rankingScore " +
-            "FROM User u " +
-            "LEFT JOIN PointLog p ON u.id = p.user.id " +
-            "AND p.type IN (com.example.demo.domain.enums.PointType.EARN, com.example.demo.domain.enums.PointType.DEDUCT) " +
-            "GROUP BY u.id " +
-            "ORDER BY rankingScore DESC, u.id ASC")
-    List<Object[]> findUsersRankedByPoints(Pageable pageable);
+    /*
+     * 월/기간 집계 = 일별 롤업 합계(롤업 진행 위치 이전) + 진행 위치 이후 로그 합계
+     * - 롤업이 아직 없으면 진행 위치가 NULL이므로 전부 point_logs에서 합산한다.
+     * - 롤업은 하루 단위이므로 기간 시작(:start)은 0시여야 한다. (월 단위 집계만 사용)
+     */
+    String ROLLED_UP_BEFORE =
+            "(SELECT c.rolled_up_before FROM point_rollup_checkpoints c WHERE c.id = 'daily')";
 
-    // [수정 2] 전체 랭킹 조회
-    @Query("SELECT u, COALESCE(SUM(p.points), 0) as rankingScore " +
-            "FROM User u " +
-            "LEFT JOIN PointLog p ON u.id = p.user.id " +
-            "AND p.type IN (com.example.demo.domain.enums.PointType.EARN, com.example.demo.domain.enums.PointType.DEDUCT) " +
-            "GROUP BY u.id " +
-            "ORDER BY rankingScore DESC, u.id ASC")
-    List<Object[]> findAllUsersRankedByPoints();
-
-    // [수정 3] 기간별 랭킹 조회 (이번 달 기준)
-    @Query("SELECT u, COALESCE(SUM(p.points), 0) as rankingScore " +
-            "FROM User u " +
-            "LEFT JOIN PointLog p ON u.id = p.user.id " +
-            "AND p.type IN (com.example.demo.domain.enums.PointType.EARN, com.example.demo.domain.enums.PointType.DEDUCT) " +
-            "AND p.createdAt BETWEEN :start AND :end " + // [추가] 기간 필터링
-            "GROUP BY u.id " +
-            "ORDER BY rankingScore DESC, u.id ASC")
-    List<Object[]> findAllUsersWithPointsRanked(
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end,
-            Pageable pageable
-    );
+    String ROLLUP_IN_RANGE =
+            "r.bucket_start BETWEEN :start AND :end AND r.bucket_start < " + ROLLED_UP_BEFORE;
 
-    // [수정 4] 중복된 메서드도 동일하게 수정
-    @Query("SELECT u, COALESCE(SUM(p.points), 0) as rankingScore " +
-            "FROM User u " +
-            "LEFT JOIN PointLog p ON u.id = p.user.id " +
-            "AND p.type IN (com.example.demo.domain.enums.PointType.EARN, com.example.demo.domain.enums.PointType.DEDUCT) " +
-            "GROUP BY u.id " +
-            "ORDER BY rankingScore DESC, u.id ASC")
-    List<Object[]> findAllUsersWithPointsRankedAll();
+    String LOG_TAIL_IN_RANGE =
+            "p.created_at BETWEEN :start AND :end AND p.created_at >= COALESCE(" + ROLLED_UP_BEFORE + ", :start)";
 
-    // 이번 달 활동한 유저 수
-    @Query("SELECT COUNT(DISTINCT p.user) FROM PointLog p WHERE p.createdAt BETWEEN :startDateTime AND :endDateTime")
-    Long countActiveUsersThisMonth(@Param("startDateTime") LocalDateTime startDateTime, @Param("endDateTime") LocalDateTime endDateTime);
+    String RANKED_TYPES = "p.type IN ('EARN', 'DEDUCT')";
 
-    // [수정 5] 기간별 전체 유저 평균 포인트
+    // 잔액 = 스냅샷 합계 + 스냅샷 이후 로그 합계 (전체 이력을 스캔하지 않음, idx_point_log_user_id 사용)
     @Query(value = """
-        SELECT COALESCE(AVG(sub.score), 0) 
-        FROM (
-            SELECT COALESCE(SUM(CASE WHEN pl.type IN ('EARN', 'DEDUCT') AND pl.created_at BETWEEN :start AND :end THEN pl.points ELSE 0 END), 0) as score
-            FROM users u 
-            LEFT JOIN point_logs pl ON u.id = pl.user_id 
-            GROUP BY u.id
-        ) sub
+        SELECT COALESCE((SELECT s.balance FROM point_balance_snapshots s WHERE s.user_id = :userId), 0)
+             + COALESCE((
+                   SELECT SUM(p.points)
+                   FROM point_logs p
+                   WHERE p.user_id = :userId
+                     AND p.id > COALESCE((SELECT s.last_log_id FROM point_balance_snapshots s WHERE s.user_id = :userId), 0)
+               ), 0)
         """, nativeQuery = true)
-    Double getAveragePointsPerUser(
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end
-    );
+    Long sumPointsByUserId(@Param("userId") Long userId);
 
-    // [수정 6] 기간별 내 랭킹 및 앞뒤 유저 조회
-    @Query(value = """
-        WITH ranking_calc AS (
-            SELECT
-                u.id,
-                COALESCE(SUM(CASE WHEN pl.type IN ('EARN', 'DEDUCT') AND pl.created_at BETWEEN :start AND :end THEN pl.points ELSE 0 END), 0) as score
-            FROM users u
-            LEFT JOIN point_logs pl ON u.id = pl.user_id
-            GROUP BY u.id
-        ),
-        ranked_users AS (
-            SELECT
-                u.id,
-                u.name,
-                u.avatar,
-                u.department,
-                GREATEST(rc.score, 0) as total_points,
-                ROW_NUMBER() OVER (ORDER BY rc.score DESC, u.id ASC) as user_rank
-            FROM users u
-            JOIN ranking_calc rc ON u.id = rc.id
-        )
-        SELECT r.id, r.name, r.avatar, r.department, r.total_points, r.user_rank
-        FROM ranked_users r
-        CROSS JOIN (
-            SELECT COALESCE(MAX(user_rank), 1) as target_rank
-            FROM ranked_users
-            WHERE id = :userId
-        ) t
-        WHERE r.user_rank BETWEEN GREATEST(1, t.target_rank - 1) AND t.target_rank + 1
-        ORDER BY r.user_rank
-        """, nativeQuery = true)
-    List<Object[]> findUserRankingContext(
+    // 사용자 월간 랭킹 포인트(EARN + DEDUCT)
+    @Query(value = "SELECT COALESCE((SELECT SUM(r.ranked_points) FROM point_daily_rollups r " +
+                   "                 WHERE r.user_id = :userId AND " + ROLLUP_IN_RANGE + "), 0) " +
+                   "     + COALESCE((SELECT SUM(p.points) FROM point_logs p " +
+                   "                 WHERE p.user_id = :userId AND " + RANKED_TYPES + " AND " + LOG_TAIL_IN_RANGE + "), 0)",
+           nativeQuery = true)
+    Long sumPointsByUserIdAndMonth(
             @Param("userId") Long userId,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end
+            @Param("start") LocalDateTime startDateTime,
+            @Param("end") LocalDateTime endDateTime
     );
 
-    // [추가] 랭킹 복구를 위한 월간 포인트 집계 쿼리 (User 기준 LEFT JOIN으로 변경하여 0점 유저도 포함)
-    @Query("SELECT u.id, COALESCE(SUM(pl.points), 0) " +
-           "FROM User u " +
-           "LEFT JOIN PointLog pl ON u.id = pl.user.id " +
-           "AND pl.createdAt BETWEEN :start AND :end " +
-           "AND pl.type IN (com.example.demo.domain.enums.PointType.EARN, com.example.demo.domain.enums.PointType.DEDUCT) " +
-           "GROUP BY u.id")
-    List<Object[]> sumPointsPerUser(@Param("start") LocalDateTime start, 
-                                    @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+    // 기간 내 활동한 사용자 ID (통계 재계산용, 사용자 ID 기준 keyset 페이지)
+    @Query(value = "SELECT u.id FROM users u " +
+                   "WHERE u.id > :afterUserId " +
+                   "AND (EXISTS (SELECT 1 FROM point_daily_rollups r WHERE r.user_id = u.id AND " + ROLLUP_IN_RANGE + ") " +
+                   "     OR EXISTS (SELECT 1 FROM point_logs p WHERE p.user_id = u.id AND " + LOG_TAIL_IN_RANGE + ")) " +
+                   "ORDER BY u.id ASC",
+           nativeQuery = true)
+    List<Long> findActiveUserIdsAfter(@Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("afterUserId") Long afterUserId,
+                                      Pageable pageable);
+
+    // 기간 내 랭킹 포인트(EARN + DEDUCT) 전체 합계 (평균 포인트 재계산용)
+    @Query(value = "SELECT COALESCE((SELECT SUM(r.ranked_points) FROM point_daily_rollups r WHERE " + ROLLUP_IN_RANGE + "), 0) " +
+                   "     + COALESCE((SELECT SUM(p.points) FROM point_logs p WHERE " + RANKED_TYPES + " AND " + LOG_TAIL_IN_RANGE + "), 0)",
+           nativeQuery = true)
+    Long sumRankedPointsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // 랭킹 재구축을 위한 월간 포인트 집계 (users 기준이라 0점 유저도 포함)
+    // 사용자 ID 기준 keyset 페이지로 끊어서 조회 (전체 결과를 한 번에 메모리에 올리지 않음)
+    @Query(value = "SELECT u.id, " +
+                   "       COALESCE((SELECT SUM(r.ranked_points) FROM point_daily_rollups r " +
+                   "                 WHERE r.user_id = u.id AND " + ROLLUP_IN_RANGE + "), 0) " +
+                   "     + COALESCE((SELECT SUM(p.points) FROM point_logs p " +
+                   "                 WHERE p.user_id = u.id AND " + RANKED_TYPES + " AND " + LOG_TAIL_IN_RANGE + "), 0) " +
+                   "FROM users u " +
+                   "WHERE u.id > :afterUserId " +
+                   "ORDER BY u.id ASC",
+           nativeQuery = true)
+    List<Object[]> sumPointsPerUserAfter(@Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end,
+                                         @Param("afterUserId") Long afterUserId,
+                                         Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, Long> {
+
+    Optional<StoredImage> findByContentHashAndPrefix(String contentHash, String prefix);
+
+    boolean existsByS3Key(String s3Key);
+
+    // [동시성] 참조 수 원자적 증가 (행이 없으면 0 반환)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount + 1, s.lastReferencedAt = :now " +
+            "WHERE s.contentHash = :hash AND s.prefix = :prefix")
+    int incrementRefCount(@Param("hash") String contentHash, @Param("prefix") String prefix, @Param("now") LocalDateTime now);
+
+    // [동시성] 참조 수 원자적 감소 (0 아래로 내려가지 않음)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount - 1 WHERE s.s3Key = :s3Key AND s.refCount > 0")
+    int decrementRefCount(@Param("s3Key") String s3Key);
+
+    // 참조가 모두 사라진 행만 삭제 (그 사이 다시 참조되면 0 반환)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM StoredImage s WHERE s.s3Key = :s3Key AND s.refCount = 0")
+    int deleteIfUnreferenced(@Param("s3Key") String s3Key);
+
+    // 한동안 새 업로드가 받아 가지 않은 행만 삭제 (고아 정리용)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM StoredImage s WHERE s.s3Key = :s3Key AND s.lastReferencedAt < :cutoff")
+    int deleteIfIdleSince(@Param("s3Key") String s3Key, @Param("cutoff") LocalDateTime cutoff);
+}
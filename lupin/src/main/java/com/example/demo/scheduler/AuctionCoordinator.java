@@ -0,0 +1,193 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.domain.entity.Auction;
+import com.example.demo.domain.enums.AuctionStatus;
+import com.example.demo.repository.AuctionRepository;
+import com.example.demo.service.AuctionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 경매 코디네이터 (리더 선출)
+ * - 여러 인스턴스 중 Redis 리스(lease)를 쥔 한 노드만 경매 시작/종료 타이머를 실행한다.
+ * - 리더가 죽으면 리스가 만료되고, 다른 노드가 다음 heartbeat에서 리더가 되어 DB 기준으로 타이머를 복구한다.
+ * - 다른 노드에서 입찰로 연장된 종료 시간은 리더의 sweep이 주기적으로 확인해서 닫는다.
+ */
+@Slf4j
+@Component
+public class AuctionCoordinator {
+
+    private static final String LEADER_KEY = "auction:coordinator:leader";
+    private static final long LEASE_MILLIS = 10_000L;
+
+    // 내가 리더면 리스 연장, 비어 있으면 획득, 남이 쥐고 있으면 실패
+    private static final String ACQUIRE_OR_RENEW_SCRIPT =
+            "local owner = redis.call('get', KEYS[1]); " +
+                    "if owner == ARGV[1] then " +
+                    "   redis.call('pexpire', KEYS[1], ARGV[2]); " +
+                    "   return 1; " +
+                    "elseif owner == false then " +
+                    "   redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]); " +
+                    "   return 1; " +
+                    "else " +
+                    "   return 0; " +
+                    "end";
+
+    // 내가 쥔 리스일 때만 삭제 (다른 노드의 리스를 지우지 않도록)
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "   return redis.call('del', KEYS[1]); " +
+                    "else " +
+                    "   return 0; " +
+                    "end";
+
+    private static final List<Object> LEADER_KEYS = Collections.singletonList(LEADER_KEY);
+
+    private final RedissonClient redissonClient;
+    private final AuctionRepository auctionRepository;
+    private final AuctionTaskScheduler auctionTaskScheduler;
+    private final AuctionService auctionService;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicBoolean leader = new AtomicBoolean(false);
+
+    public AuctionCoordinator(
+            RedissonClient redissonClient,
+            AuctionRepository auctionRepository,
+            AuctionTaskScheduler auctionTaskScheduler,
+            @Lazy AuctionService auctionService) {
+        this.redissonClient = redissonClient;
+        this.auctionRepository = auctionRepository;
+        this.auctionTaskScheduler = auctionTaskScheduler;
+        this.auctionService = auctionService;
+    }
+
+    public boolean isLeader() {
+        return leader.get();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 리스 획득/연장 (리스 만료 시간의 1/3 주기, 배치 작업과 섞이지 않도록 전용 스케줄러에서 실행)
+     * Redis에 닿지 못하면 리스를 보장할 수 없으므로 리더 자리에서 내려온다.
+     */
+    @Scheduled(fixedDelay = 3000, scheduler = "auctionCoordinatorScheduler")
+    public void heartbeat() {
+        boolean acquired;
+        try {
+            Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE,
+                    ACQUIRE_OR_RENEW_SCRIPT,
+                    RScript.ReturnType.INTEGER,
+                    LEADER_KEYS,
+                    nodeId, String.valueOf(LEASE_MILLIS)
+            );
+            acquired = result != null && result == 1L;
+        } catch (Exception e) {
+            log.warn("경매 리더 리스 갱신 실패: {}", e.getMessage());
+            acquired = false;
+        }
+
+        if (acquired && leader.compareAndSet(false, true)) {
+            log.info("[경매 코디네이터] 리더로 선출되었습니다. (node: {})", nodeId);
+            try {
+                onElected();
+            } catch (Exception e) {
+                // 복구에 실패하면 리더 플래그만 내려서 다음 heartbeat에서 다시 복구를 시도한다
+                log.error("경매 타이머 복구 실패 - 다음 heartbeat에서 재시도합니다.", e);
+                leader.set(false);
+            }
+        } else if (!acquired && leader.compareAndSet(true, false)) {
+            log.warn("[경매 코디네이터] 리더 자격을 잃었습니다. (node: {})", nodeId);
+            auctionTaskScheduler.cancelAll();
+        }
+    }
+
+    /**
+     * 다른 노드에서 연장된 종료 시간이나, 이전 리더가 닫지 못한 경매를 정리한다.
+     * 정산은 AuctionService 쪽의 행 잠금 + 정산 멱등 키로 한 번만 일어난다.
+     */
+    @Scheduled(fixedDelay = 1000, scheduler = "auctionCoordinatorScheduler")
+    public void sweepExpiredAuctions() {
+        if (!isLeader()) {
+            return;
+        }
+        try {
+            auctionService.closeExpiredAuctions(LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("만료 경매 정리 중 오류 발생", e);
+        }
+    }
+
+    @PreDestroy
+    public void resign() {
+        if (!leader.getAndSet(false)) {
+            return;
+        }
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE,
+                    RELEASE_SCRIPT,
+                    RScript.ReturnType.INTEGER,
+                    LEADER_KEYS,
+                    nodeId
+            );
+            log.info("[경매 코디네이터] 종료 전 리더 리스를 반납했습니다. (node: {})", nodeId);
+        } catch (Exception e) {
+            log.warn("리더 리스 반납 실패 (만료로 자동 해제됨): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 리더가 되면 DB에 있는 경매들을 기준으로 타이머를 다시 맞춘다. (서버 시작 + 장애 조치 공통)
+     */
+    private void onElected() {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. '진행 중(ACTIVE)'인 경매 -> 종료 알람 다시 맞추기
+        List<Auction> activeAuctions = auctionRepository.findAllByStatus(AuctionStatus.ACTIVE);
+        boolean hasExpired = false;
+        for (Auction auction : activeAuctions) {
+            if (auction.getEndTime().isAfter(now)) {
+                auctionTaskScheduler.scheduleAuctionEnd(auction.getId(), auction.getEndTime());
+
+                // 이미 입찰가가 올라가 있을 수 있으므로 키가 없을 때만 DB 가격으로 채운다
+                RBucket<String> bucket = redissonClient.getBucket("auction_price:" + auction.getId(), StringCodec.INSTANCE);
+                bucket.trySet(String.valueOf(auction.getCurrentPrice()));
+            } else {
+                hasExpired = true;
+            }
+        }
+        log.info("진행 중인 경매 {}건 복구 완료", activeAuctions.size());
+
+        // 2. '예정(SCHEDULED)'인 경매 -> 시작 알람 다시 맞추기
+        List<Auction> scheduledAuctions = auctionRepository.findAllByStatus(AuctionStatus.SCHEDULED);
+        for (Auction auction : scheduledAuctions) {
+            if (auction.getStartTime().isAfter(now)) {
+                auctionTaskScheduler.scheduleAuctionStart(auction.getId(), auction.getStartTime());
+            }
+        }
+        log.info("예정된 경매 {}건 예약 완료", scheduledAuctions.size());
+
+        // 3. 이전 리더가 죽는 사이 종료 시간이 지난 경매는 즉시 종료 처리
+        if (hasExpired) {
+            auctionService.closeExpiredAuctions(now);
+        }
+    }
+}
@@ -19,6 +19,7 @@ public class AuctionTaskScheduler {
 
     private final TaskScheduler taskScheduler;
     private final AuctionService auctionService;
+    private final AuctionCoordinator auctionCoordinator;
 
     // '종료 예약증'들을 보관하는 다이어리 (취소할 때 필요해요!)
     // Key: 경매 ID, Value: 예약된 작업(ScheduledFuture)
@@ -26,9 +27,11 @@ public class AuctionTaskScheduler {
 
     public AuctionTaskScheduler(
             @Qualifier("auctionScheduler") TaskScheduler taskScheduler,
-            @Lazy AuctionService auctionService) {
+            @Lazy AuctionService auctionService,
+            @Lazy AuctionCoordinator auctionCoordinator) {
         this.taskScheduler = taskScheduler;
         this.auctionService = auctionService;
+        this.auctionCoordinator = auctionCoordinator;
     }
 
     /**
@@ -37,6 +40,11 @@ public class AuctionTaskScheduler {
      */
     public void scheduleAuctionStart(Long auctionId, LocalDateTime startTime) {
         Runnable task = () -> {
+            // 리더 노드에서만 실행
+            if (!auctionCoordinator.isLeader()) {
+                log.debug("리더가 아니므로 경매 오픈 알람을 건너뜁니다. (Auction ID: {})", auctionId);
+                return;
+            }
             log.info("경매 오픈 알람 실행! (Auction ID: {})", auctionId);
             // 해당 시간이 되면 '예정' 상태인 경매들을 '진행 중'으로 바꿔주는 서비스 호출
             auctionService.activateScheduledAuctions(LocalDateTime.now());
@@ -62,6 +70,11 @@ public class AuctionTaskScheduler {
 
         // 2. 새로운 종료 할 일(Task) 정의
         Runnable task = () -> {
+            // 리더 노드에서만 실행 (다른 노드에서 연장된 시간은 리더의 sweep이 처리)
+            if (!auctionCoordinator.isLeader()) {
+                scheduledEndTasks.remove(auctionId);
+                return;
+            }
             log.info("경매 종료 알람 실행! (Auction ID: {})", auctionId);
             // 종료 시간이 된 경매들을 찾아서 닫아주는 서비스 호출
             // (초읽기 대상인지 확인하는 로직도 서비스 안에 있으면 같이 처리됨)
@@ -82,4 +95,13 @@ public class AuctionTaskScheduler {
 
         log.info("경매 종료 예약 완료: ID {}, 시간 {}", auctionId, endTime);
     }
+
+    /**
+     * 리더 자격을 잃었을 때 보관 중인 종료 알람을 모두 취소하는 메소드
+     */
+    public void cancelAll() {
+        scheduledEndTasks.forEach((auctionId, task) -> task.cancel(false));
+        scheduledEndTasks.clear();
+        log.info("보관 중인 경매 종료 예약을 모두 취소했습니다.");
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.service.DirectUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장소 직접 업로드 정리 스케줄러
+ * - 1분마다: 변환이 끝났는데 원본 키를 참조 중인 피드 이미지 교체, 오래 대기 중인 변환 다시 넣기
+ * - 매시 30분: 보관 시간이 지난 원본(raw/)과 기록 삭제
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test") // 테스트 환경에서는 스케줄러 실행 방지
+public class DirectUploadScheduler {
+
+    private final DirectUploadService directUploadService;
+
+    @Scheduled(fixedDelay = 60000)
+    public void reconcileAndRequeue() {
+        try {
+            int reconciled = directUploadService.reconcile();
+            int requeued = directUploadService.requeueStale();
+            if (reconciled > 0 || requeued > 0) {
+                log.info("직접 업로드 정리 - 이미지 교체: {}건, 변환 재시도: {}건", reconciled, requeued);
+            }
+        } catch (Exception e) {
+            log.error("직접 업로드 정리 중 오류 발생", e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 * * * *")
+    public void purgeExpired() {
+        try {
+            int purged = directUploadService.purgeExpired();
+            if (purged > 0) {
+                log.info("만료된 직접 업로드 원본 삭제: {}건", purged);
+            }
+        } catch (Exception e) {
+            log.error("직접 업로드 원본 삭제 중 오류 발생", e);
+        }
+    }
+}
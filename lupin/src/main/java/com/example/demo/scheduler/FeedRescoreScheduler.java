@@ -0,0 +1,47 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.service.FeedRescoreService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * 피드 재채점 실행기
+ * - app.workout-rescore.since(yyyy-MM)가 설정되어 있으면 서버 시작 후 그 달부터 오늘까지 피드를 다시 채점한다.
+ * - 강도 표를 바꿔 배포할 때만 설정하고, 끝나면 비운다. (다시 돌아도 이미 맞는 피드는 건너뛴다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test") // 테스트 환경에서는 스케줄러 실행 방지
+public class FeedRescoreScheduler {
+
+    private final FeedRescoreService feedRescoreService;
+
+    @Value("${app.workout-rescore.since:}")
+    private String since;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescoreOnStartup() {
+        if (since == null || since.isBlank()) {
+            return;
+        }
+        try {
+            feedRescoreService.rescore(
+                    YearMonth.parse(since.strip()).atDay(1).atStartOfDay(),
+                    LocalDate.now().plusDays(1).atStartOfDay()
+            );
+        } catch (Exception e) {
+            log.error("피드 재채점 실패: since={}", since, e);
+        }
+    }
+}
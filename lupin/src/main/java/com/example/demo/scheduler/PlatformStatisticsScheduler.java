@@ -0,0 +1,32 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.service.PlatformStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * 대시보드 통계 보정 스케줄러
+ * - 쓰기 시점에 누적한 통계(HyperLogLog, 누적 합계)를 매일 새벽 DB 기준으로 다시 계산한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test") // 테스트 환경에서는 스케줄러 실행 방지
+public class PlatformStatisticsScheduler {
+
+    private final PlatformStatisticsService platformStatisticsService;
+
+    @Scheduled(cron = "0 0 4 * * *") // 매일 새벽 4시에 실행
+    public void recomputeStatistics() {
+        try {
+            platformStatisticsService.recompute(YearMonth.now());
+        } catch (Exception e) {
+            log.error("플랫폼 통계 재계산 실패", e);
+        }
+    }
+}
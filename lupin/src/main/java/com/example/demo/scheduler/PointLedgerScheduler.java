@@ -0,0 +1,51 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.service.PointLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 원장 스케줄러
+ * - 1초마다 사용자별로 합쳐 둔 증감분을 users.current_points에 배치 반영
+ * - 매일 새벽 잔액 스냅샷 갱신 후 users.current_points를 원장 합계에 맞춤
+ * - 서버 시작 시에도 한 번 맞춤 (이전 실행에서 반영하지 못하고 잃은 증감분 복구)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test") // 테스트 환경에서는 스케줄러 실행 방지
+public class PointLedgerScheduler {
+
+    private final PointLedgerService pointLedgerService;
+
+    @Scheduled(fixedDelay = 1000)
+    public void flushPointDeltas() {
+        pointLedgerService.flushPendingDeltas();
+    }
+
+    @Scheduled(cron = "0 30 3 * * *") // 매일 새벽 3시 30분에 실행
+    public void foldBalanceSnapshots() {
+        try {
+            pointLedgerService.foldSnapshots();
+        } catch (Exception e) {
+            log.error("포인트 잔액 스냅샷 갱신 실패", e);
+        }
+        reconcileBalances();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileBalances() {
+        try {
+            pointLedgerService.reconcileBalances();
+        } catch (Exception e) {
+            log.error("포인트 잔액 보정 실패", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.service.PointLogPartitionService;
+import com.example.demo.service.PointRollupService;
+import com.example.demo.util.RedisKeyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * point_logs 유지보수 스케줄러
+ * - 매일 0시 10분에 전날 로그를 사용자별 일별 롤업으로 접는다. (밀린 날이 있으면 함께)
+ * - 서버 시작 시와 매일 새벽에 다음 달 이후 월 파티션을 미리 만든다.
+ * - 모든 노드에서 스케줄이 돌므로 작업마다 분산 락을 잡은 노드 한 곳만 실행한다. (나머지는 건너뜀)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test") // 테스트 환경에서는 스케줄러 실행 방지
+public class PointLogMaintenanceScheduler {
+
+    private final PointRollupService pointRollupService;
+    private final PointLogPartitionService pointLogPartitionService;
+    private final RedissonClient redissonClient;
+
+    @Scheduled(cron = "0 10 0 * * *") // 매일 0시 10분에 실행
+    public void rollUpDailyPoints() {
+        runExclusively("rollup", () -> {
+            try {
+                pointRollupService.catchUp();
+            } catch (Exception e) {
+                log.error("포인트 일별 롤업 실패 - 집계는 point_logs에서 계속 응답합니다.", e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 40 3 * * *") // 매일 새벽 3시 40분에 실행
+    public void ensurePartitions() {
+        runExclusively("partition", () -> {
+            try {
+                pointLogPartitionService.ensureFuturePartitions();
+            } catch (Exception e) {
+                log.error("point_logs 파티션 추가 실패", e);
+            }
+        });
+    }
+
+    private void runExclusively(String job, Runnable task) {
+        RLock lock = redissonClient.getLock(RedisKeyUtils.pointLogMaintenanceLock(job));
+        boolean acquired;
+        try {
+            acquired = lock.tryLock();
+        } catch (Exception e) {
+            log.error("point_logs 유지보수 락 획득 실패 - 이번 실행은 건너뜁니다. job={}", job, e);
+            return;
+        }
+        if (!acquired) {
+            log.info("다른 노드가 point_logs 유지보수 작업을 실행 중입니다. job={}", job);
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+}
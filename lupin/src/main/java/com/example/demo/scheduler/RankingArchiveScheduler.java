@@ -0,0 +1,54 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.service.RankingArchiveService;
+import com.example.demo.util.RedisKeyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * 월간 랭킹 아카이브 스케줄러
+ * - 매월 1일 새벽, 막 끝난 지난달 최종 랭킹을 스냅샷으로 저장한다.
+ * - 모든 노드에서 같은 시각에 돌기 때문에 락을 잡은 한 곳만 아카이브한다. (나머지는 건너뜀)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test") // 테스트 환경에서는 스케줄러 실행 방지
+public class RankingArchiveScheduler {
+
+    private final RankingArchiveService rankingArchiveService;
+    private final RedissonClient redissonClient;
+
+    @Scheduled(cron = "0 5 0 1 * *") // 매월 1일 0시 5분에 실행
+    public void archiveLastMonth() {
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        RLock lock = redissonClient.getLock(RedisKeyUtils.rankingArchiveLock(lastMonth.toString()));
+        boolean acquired;
+        try {
+            acquired = lock.tryLock();
+        } catch (Exception e) {
+            log.error("월간 랭킹 아카이브 락 획득 실패 - 이번 실행은 건너뜁니다. month={}", lastMonth, e);
+            return;
+        }
+        if (!acquired) {
+            log.info("다른 노드가 월간 랭킹을 아카이브하고 있습니다. month={}", lastMonth);
+            return;
+        }
+        try {
+            rankingArchiveService.archive(lastMonth);
+        } catch (Exception e) {
+            log.error("월간 랭킹 아카이브 실패: month={}", lastMonth, e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.service.RankingEngine;
+import com.example.demo.service.RankingRebuildService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * 월간 랭킹 사전 구축 스케줄러
+ * - 매월 1일 0시에 새 달 랭킹 키를 미리 만들어, 그 달 첫 랭킹 요청이 재구축을 떠안지 않게 한다.
+ * - 서버 시작 시, 매월 1일, 매일 새벽에 인메모리 랭킹 엔진을 ZSet 기준으로 다시 적재한다.
+ *   (Pub/Sub 메시지 유실/순서 뒤바뀜으로 생긴 오차 보정)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test") // 테스트 환경에서는 스케줄러 실행 방지
+public class RankingRebuildScheduler {
+
+    private final RankingRebuildService rankingRebuildService;
+    private final RankingEngine rankingEngine;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        prepare("서버 시작");
+    }
+
+    @Scheduled(cron = "0 0 0 1 * *") // 매월 1일 0시에 실행
+    public void prebuildMonthlyRanking() {
+        prepare("월 전환");
+    }
+
+    @Scheduled(cron = "0 20 4 * * *") // 매일 새벽 4시 20분에 실행
+    public void reloadRankingEngine() {
+        prepare("일일 보정");
+    }
+
+    private void prepare(String reason) {
+        YearMonth currentMonth = YearMonth.now();
+        try {
+            rankingRebuildService.rebuildIfAbsent(currentMonth);
+            rankingEngine.load(currentMonth);
+        } catch (Exception e) {
+            log.error("월간 랭킹 준비 실패 ({}) - 첫 조회 시 Redis에서 응답합니다.", reason, e);
+        }
+    }
+}
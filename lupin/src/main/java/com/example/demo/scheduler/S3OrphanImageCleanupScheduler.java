@@ -1,41 +1,50 @@
 package com.example.demo.scheduler;
 
-import com.example.demo.repository.FeedImageRepository;
-import io.awspring.cloud.s3.S3Template;
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.service.ImageDedupService;
+import com.example.demo.service.ImageReferenceService;
+import com.example.demo.util.BloomFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
-import software.amazon.awssdk.services.s3.model.S3Object;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * S3 고아 이미지 정리 스케줄러
- * DB에 참조가 없는 오래된 S3 이미지를 정리
+ * DB에 참조가 없는 오래된 S3 이미지를 정리 (피드 이미지/썸네일, 프로필 이미지)
+ * 중복 제거로 공유되는 이미지는 24시간 안에 새 업로드가 받아 간 경우 남긴다. (아직 피드에 연결 중일 수 있음)
+ *
+ * - 모든 참조(피드 이미지, 피드 썸네일, 프로필 등)를 블룸 필터 하나로 만든 뒤 프리픽스별 저장소 목록을 훑는다.
+ *   (참조 수 x 약 1.2바이트, 목록 한 줄당 DB 조회 없음, 목록은 FileStorage.list라 S3/로컬 저장소 모두 동일)
+ * - 썸네일/추가 크기는 원본 키로 바꿔 판단하므로, 원본이 먼저 지워져 남은 썸네일도 함께 정리된다.
+ * - 필터에 없는 키만 후보가 되고, 삭제 직전에 DB에서 한 번 더 확인한 뒤 다중 삭제로 지운다.
+ *   오탐(참조 없는데 필터에 있음)은 이번에는 남지만, 실행마다 시드를 바꾸므로 다음 실행에서 걸러진다.
+ * - raw/(직접 업로드 원본)는 DirectUploadService가 정리한다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class S3OrphanImageCleanupScheduler {
 
-    private static final String FEED_PREFIX = "feed/";
+    private static final List<String> SCAN_PREFIXES = List.of("feed/", "profiles/");
     private static final int ORPHAN_AGE_HOURS = 24; // 24시간 이상 된 고아 이미지만 삭제
+    private static final double FILTER_FPP = 0.01;
+    private static final int DELETE_BATCH_SIZE = 200; // 원본 기준
 
-    private final FeedImageRepository feedImageRepository;
-    private final S3Template s3Template;
-    private final S3Client s3Client;
-
-    @Value("${spring.cloud.aws.s3.bucket}")
-    private String bucket;
+    private final ImageReferenceService imageReferenceService;
+    private final FileStorage fileStorage;
+    private final ImageDedupService imageDedupService;
 
     /**
      * 매일 새벽 5시에 고아 이미지 정리 실행
@@ -45,51 +54,42 @@ public class S3OrphanImageCleanupScheduler {
         log.info("S3 고아 이미지 정리 시작");
 
         try {
-            // 1. DB에 저장된 모든 S3 키 조회
-            Set<String> dbS3Keys = new HashSet<>(feedImageRepository.findAllS3Keys());
-            log.info("DB에 등록된 이미지 수: {}", dbS3Keys.size());
+            BloomFilter references = imageReferenceService.buildReferenceFilter(
+                    FILTER_FPP, ThreadLocalRandom.current().nextLong());
 
-            // 2. S3에서 feed/ 프리픽스의 모든 객체 조회
-            int orphanCount = 0;
-            int checkedCount = 0;
+            AtomicInteger checkedCount = new AtomicInteger();
+            AtomicInteger orphanCount = new AtomicInteger();
             Instant cutoffTime = Instant.now().minus(ORPHAN_AGE_HOURS, ChronoUnit.HOURS);
+            LocalDateTime referenceCutoff = LocalDateTime.now().minusHours(ORPHAN_AGE_HOURS);
 
-            String continuationToken = null;
-            do {
-                ListObjectsV2Request.Builder requestBuilder = ListObjectsV2Request.builder()
-                        .bucket(bucket)
-                        .prefix(FEED_PREFIX)
-                        .maxKeys(1000);
-
-                if (continuationToken != null) {
-                    requestBuilder.continuationToken(continuationToken);
-                }
+            // 원본 키 → 지울 객체 키 (원본/썸네일/추가 크기)
+            Map<String, List<String>> candidates = new LinkedHashMap<>();
 
-                ListObjectsV2Response response = s3Client.listObjectsV2(requestBuilder.build());
-                List<S3Object> objects = response.contents();
+            for (String prefix : SCAN_PREFIXES) {
+                fileStorage.list(prefix, object -> {
+                    checkedCount.incrementAndGet();
 
-                for (S3Object s3Object : objects) {
-                    String key = s3Object.key();
-                    checkedCount++;
+                    // 24시간 이상 된 파일만 (업로드 중인 파일 보호)
+                    if (!object.lastModified().isBefore(cutoffTime)) {
+                        return;
+                    }
 
-                    // 썸네일은 원본과 함께 관리되므로 스킵
-                    if (key.contains("/thumb/")) {
-                        continue;
+                    String original = ImageReferenceService.originalKey(object.path());
+                    if (references.mightContain(original)) {
+                        return;
                     }
 
-                    // DB에 없고, 24시간 이상 된 파일만 삭제 (업로드 중인 파일 보호)
-                    if (!dbS3Keys.contains(key) && !isUrlFormat(key, dbS3Keys)) {
-                        if (s3Object.lastModified().isBefore(cutoffTime)) {
-                            deleteWithThumbnail(key);
-                            orphanCount++;
-                        }
+                    candidates.computeIfAbsent(original, key -> new ArrayList<>()).add(object.path());
+                    if (candidates.size() >= DELETE_BATCH_SIZE) {
+                        orphanCount.addAndGet(deleteOrphans(candidates, referenceCutoff));
+                        candidates.clear();
                     }
-                }
+                });
+            }
 
-                continuationToken = response.isTruncated() ? response.nextContinuationToken() : null;
-            } while (continuationToken != null);
+            orphanCount.addAndGet(deleteOrphans(candidates, referenceCutoff));
 
-            if (orphanCount > 0) {
+            if (orphanCount.get() > 0) {
                 log.info("S3 고아 이미지 정리 완료 - 검사: {}개, 삭제: {}개", checkedCount, orphanCount);
             } else {
                 log.info("S3 고아 이미지 정리 완료 - 검사: {}개, 삭제할 이미지 없음", checkedCount);
@@ -101,34 +101,37 @@ public class S3OrphanImageCleanupScheduler {
     }
 
     /**
-     * URL 형식으로 DB에 저장되어 있는지 확인
-     * (s3Key가 URL 형태로 저장된 경우 대응)
+     * 후보를 DB에서 한 번 더 확인한 뒤 객체를 함께 삭제
+     * (필터를 만든 뒤 새로 저장된 피드/프로필을 여기서 걸러낸다)
+     *
+     * @return 삭제한 객체 수
      */
-    private boolean isUrlFormat(String s3Key, Set<String> dbS3Keys) {
-        // URL 형식: https://cdn.lupin-care.com/feed/xxx.webp
-        String urlFormat = "https://cdn.lupin-care.com/" + s3Key;
-        return dbS3Keys.contains(urlFormat);
-    }
+    private int deleteOrphans(Map<String, List<String>> candidates, LocalDateTime referenceCutoff) {
+        if (candidates.isEmpty()) {
+            return 0;
+        }
 
-    /**
-     * 이미지와 해당 썸네일을 함께 삭제
-     */
-    private void deleteWithThumbnail(String key) {
-        try {
-            // 원본 삭제
-            s3Template.deleteObject(bucket, key);
-            log.debug("고아 이미지 삭제: {}", key);
-
-            // 썸네일도 삭제 (존재하는 경우)
-            String thumbKey = key.replace(FEED_PREFIX, FEED_PREFIX + "thumb/");
-            try {
-                s3Template.deleteObject(bucket, thumbKey);
-                log.debug("썸네일 삭제: {}", thumbKey);
-            } catch (Exception ignored) {
-                // 썸네일이 없을 수 있음
+        Set<String> referenced = imageReferenceService.findReferenced(candidates.keySet());
+
+        List<String> paths = new ArrayList<>();
+        for (Map.Entry<String, List<String>> candidate : candidates.entrySet()) {
+            if (referenced.contains(candidate.getKey())
+                    || !imageDedupService.forgetIfIdle(candidate.getKey(), referenceCutoff)) {
+                continue;
             }
+            paths.addAll(candidate.getValue());
+        }
+
+        if (paths.isEmpty()) {
+            return 0;
+        }
+        try {
+            int failed = fileStorage.deleteAll(paths);
+            log.debug("고아 이미지 삭제: {}개 (실패 {}개)", paths.size(), failed);
+            return paths.size() - failed;
         } catch (Exception e) {
-            log.warn("이미지 삭제 실패: {} - {}", key, e.getMessage());
+            log.warn("고아 이미지 삭제 실패: {}개 - {}", paths.size(), e.getMessage());
+            return 0;
         }
     }
 }
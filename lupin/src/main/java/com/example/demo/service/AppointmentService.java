@@ -4,6 +4,7 @@ import com.example.demo.domain.entity.User;
 import com.example.demo.domain.enums.Role;
 import com.example.demo.domain.enums.AppointmentStatus;
 import com.example.demo.dto.request.AppointmentRequest;
+import com.example.demo.dto.response.DoctorBookedTimesResponse;
 import com.example.demo.repository.AppointmentRepository;
 import com.example.demo.repository.UserRepository;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,21 +12,22 @@ import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 
 import com.example.demo.exception.BusinessException;
 import com.example.demo.exception.ErrorCode;
 import com.example.demo.util.AppointmentTimeUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.time.format.DateTimeFormatter;
-import java.util.stream.Collectors;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -36,16 +38,28 @@ public class AppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final ChatService chatService;
-    private final RedissonClient redissonClient;
+    private final DoctorAvailabilityService doctorAvailabilityService;
     private final RedisTemplate<String, String> redisTemplate;
     private final org.springframework.messaging.simp.SimpMessageSendingOperations messagingTemplate;
 
-    private static final String APPOINTMENT_LOCK_PREFIX = "appointment:lock:doctor:";
-    private static final String BOOKED_TIMES_CACHE_PREFIX = "appointment:booked:";
-    private static final long LOCK_WAIT_TIME = 3L;
-    private static final long LOCK_LEASE_TIME = 5L;
-    private static final long CACHE_TTL = 300L; // 5분
+    private static final String SLOT_CLAIM_PREFIX = "appointment:claim:doctor:";
+    private static final Duration SLOT_CLAIM_TTL = Duration.ofSeconds(10); // 트랜잭션이 끝나지 못해도 자동 해제
+    private static final String NO_CLAIM = ""; // Redis 장애로 선점 없이 진행 (DB 유니크 제약이 보호)
+    private static final int CALENDAR_MAX_DAYS = 31;
+    private static final int CALENDAR_MAX_DOCTORS = 50;
 
+    // 내가 잡은 선점만 해제 (TTL로 풀린 뒤 다른 요청이 잡은 선점은 지우지 않음)
+    private static final DefaultRedisScript<Long> RELEASE_CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]); end; return 0;",
+            Long.class);
+
+    /**
+     * 예약 생성 (락 없이 시간대 선점)
+     * - Redis SET NX로 의사+시간대를 선점한다. 다른 요청이 선점 중이면 기다리지 않고 바로 실패하고,
+     *   서로 다른 시간대 예약은 전혀 겹치지 않는다.
+     * - 이미 예약된 시간대는 DB 조회로 거르고, (doctor_id, date, active_slot) 유니크 제약이 최종 보호다.
+     * - 선점은 트랜잭션이 끝나면(커밋/롤백 모두) 해제한다. 커밋된 예약은 이후 DB 조회/유니크 제약이 막는다.
+     */
     @Transactional
     public Long createAppointment(AppointmentRequest request) {
         // 1. 환자 & 의사 존재 여부 확인
@@ -59,18 +73,16 @@ public class AppointmentService {
             throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "해당 사용자는 의사가 아닙니다.");
         }
 
-        // Redis 분산 락을 사용하여 동시성 제어
-        String lockKey = APPOINTMENT_LOCK_PREFIX + doctor.getId() + ":" + request.getDate();
-        RLock lock = redissonClient.getLock(lockKey);
+        // 의사+시간대 선점 (왕복 1회, 대기 없음)
+        String claimKey = SLOT_CLAIM_PREFIX + doctor.getId() + ":" + request.getDate();
+        String claimToken = claimSlot(claimKey);
+        if (claimToken == null) {
+            throw new BusinessException(ErrorCode.APPOINTMENT_ALREADY_EXISTS,
+                "다른 사용자가 예약 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        boolean releaseDeferred = releaseClaimAfterCompletion(claimKey, claimToken);
 
         try {
-            // 락 획득 시도 (최대 3초 대기, 5초 후 자동 해제)
-            boolean isLocked = lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS);
-            if (!isLocked) {
-                throw new BusinessException(ErrorCode.APPOINTMENT_ALREADY_EXISTS,
-                    "다른 사용자가 예약 중입니다. 잠시 후 다시 시도해주세요.");
-            }
-
             // 의사의 해당 시간대 예약 여부 확인 (한 명의 의사는 같은 시간에 한 명만 진료 가능)
             if (appointmentRepository.existsByDoctorIdAndDate(doctor.getId(), request.getDate())) {
                 throw new BusinessException(ErrorCode.APPOINTMENT_ALREADY_EXISTS, "해당 의사의 해당 시간에 예약이 이미 꽉 찼습니다.");
@@ -86,42 +98,93 @@ public class AppointmentService {
                     .departmentName(doctor.getDepartment())
                     .build();
 
-            Appointment savedAppointment = appointmentRepository.save(appointment);
+            Appointment savedAppointment;
+            try {
+                savedAppointment = appointmentRepository.save(appointment);
+            } catch (DataIntegrityViolationException e) {
+                // 선점이 풀린 사이(Redis 장애, TTL 만료) 같은 시간대가 먼저 저장된 경우
+                throw new BusinessException(ErrorCode.APPOINTMENT_ALREADY_EXISTS, "해당 의사의 해당 시간에 예약이 이미 꽉 찼습니다.");
+            }
 
             // 예약 생성 시 자동으로 채팅방 생성 (메시지 없이)
             String roomId = chatService.createChatRoomForAppointment(savedAppointment.getId());
             log.info("예약 ID {}에 대한 채팅방 생성 완료: {}", savedAppointment.getId(), roomId);
 
-            // 트랜잭션 커밋 후 Redis 캐시 무효화 (트랜잭션이 성공적으로 완료된 후에만 캐시 무효화)
+            // 트랜잭션 커밋 후 예약 시간 비트맵에 반영 (트랜잭션이 성공적으로 완료된 후에만 반영)
             Long doctorIdFinal = doctor.getId();
-            LocalDate dateFinal = request.getDate().toLocalDate();
+            LocalDateTime dateFinal = request.getDate();
 
             if (TransactionSynchronizationManager.isSynchronizationActive()) {
                 // 트랜잭션이 활성화된 경우 (실제 운영 환경)
                 TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                     @Override
                     public void afterCommit() {
-                        invalidateBookedTimesCache(doctorIdFinal, dateFinal);
-                        log.info("트랜잭션 커밋 후 캐시 무효화 완료: doctorId={}, date={}", doctorIdFinal, dateFinal);
+                        doctorAvailabilityService.markBooked(doctorIdFinal, dateFinal);
+                        log.info("트랜잭션 커밋 후 예약 시간 반영 완료: doctorId={}, date={}", doctorIdFinal, dateFinal);
                     }
                 });
             } else {
                 // 트랜잭션이 없는 경우 (단위 테스트 환경) 즉시 실행
-                invalidateBookedTimesCache(doctorIdFinal, dateFinal);
-                log.debug("트랜잭션 없음 - 캐시 즉시 무효화: doctorId={}, date={}", doctorIdFinal, dateFinal);
+                doctorAvailabilityService.markBooked(doctorIdFinal, dateFinal);
+                log.debug("트랜잭션 없음 - 예약 시간 즉시 반영: doctorId={}, date={}", doctorIdFinal, dateFinal);
             }
 
             return savedAppointment.getId();
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new BusinessException(ErrorCode.APPOINTMENT_ALREADY_EXISTS,
-                "예약 처리 중 오류가 발생했습니다. 다시 시도해주세요.");
         } finally {
-            // 락 해제
-            if (lock.isHeldByCurrentThread()) {
-                lock.unlock();
+            // 트랜잭션이 없는 경우 (단위 테스트 환경) 즉시 선점 해제
+            if (!releaseDeferred) {
+                releaseClaim(claimKey, claimToken);
+            }
+        }
+    }
+
+    /**
+     * 시간대 선점 (SET NX PX)
+     *
+     * @return 선점 토큰, 다른 요청이 선점 중이면 null, Redis를 쓸 수 없으면 NO_CLAIM
+     */
+    private String claimSlot(String claimKey) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(claimKey, token, SLOT_CLAIM_TTL);
+            if (claimed == null) {
+                return NO_CLAIM;
+            }
+            return claimed ? token : null;
+        } catch (Exception e) {
+            log.warn("예약 시간대 선점 실패, DB 제약으로 진행: {} - {}", claimKey, e.getMessage());
+            return NO_CLAIM;
+        }
+    }
+
+    /**
+     * 트랜잭션이 끝나면(커밋/롤백 모두) 선점 해제
+     *
+     * @return 해제를 트랜잭션 종료 시점으로 미뤘으면 true
+     */
+    private boolean releaseClaimAfterCompletion(String claimKey, String claimToken) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                releaseClaim(claimKey, claimToken);
             }
+        });
+        return true;
+    }
+
+    private void releaseClaim(String claimKey, String claimToken) {
+        if (NO_CLAIM.equals(claimToken)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_CLAIM_SCRIPT, List.of(claimKey), claimToken);
+        } catch (Exception e) {
+            // 해제하지 못해도 TTL이 지나면 풀린다
+            log.warn("예약 시간대 선점 해제 실패: {} - {}", claimKey, e.getMessage());
         }
     }
 
@@ -141,23 +204,22 @@ public class AppointmentService {
         // 엔티티 내부의 비즈니스 로직 호출 (상태 변경 검증 포함)
         appointment.cancel();
 
-        // 트랜잭션 커밋 후 Redis 캐시 무효화 (예약 취소 시 예약 가능 시간이 변경됨)
+        // 트랜잭션 커밋 후 예약 시간 비트맵에서 해제 (예약 취소 시 예약 가능 시간이 변경됨)
         Long doctorId = appointment.getDoctor().getId();
-        LocalDate date = appointment.getDate().toLocalDate();
-        
+        LocalDateTime date = appointment.getDate();
+
         if (TransactionSynchronizationManager.isSynchronizationActive()) {
-        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-            @Override
-            public void afterCommit() {
-                invalidateBookedTimesCache(doctorId, date);
-                log.info("예약 취소 후 캐시 무효화 완료: doctorId={}, date={}", doctorId, date);
-            }
-        });
-        
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doctorAvailabilityService.markFree(doctorId, date);
+                    log.info("예약 취소 후 예약 시간 해제 완료: doctorId={}, date={}", doctorId, date);
+                }
+            });
         } else {
-        // 트랜잭션이 없는 테스트 환경 등에서는 즉시 캐시 무효화
-        invalidateBookedTimesCache(doctorId, date);
-        log.debug("트랜잭션 없음 - 예약 취소 후 캐시 즉시 무효화: doctorId={}, date={}", doctorId, date);
+            // 트랜잭션이 없는 테스트 환경 등에서는 즉시 해제
+            doctorAvailabilityService.markFree(doctorId, date);
+            log.debug("트랜잭션 없음 - 예약 취소 후 예약 시간 즉시 해제: doctorId={}, date={}", doctorId, date);
         }
     }
 
@@ -203,84 +265,42 @@ public class AppointmentService {
         }
     }
 
-    public List<String> getBookedTimesByDoctorAndDate(Long doctorId, LocalDate date) {
-        // Redis 캐시 키 생성
-        String cacheKey = BOOKED_TIMES_CACHE_PREFIX + doctorId + ":" + date;
-
-        // 캐시에서 조회
-        List<String> cachedTimes = getCachedBookedTimes(cacheKey);
-        if (cachedTimes != null) {
-            log.debug("캐시에서 예약 시간 조회: doctorId={}, date={}", doctorId, date);
-            return cachedTimes;
-        }
-
-        // 캐시 미스 시 DB에서 조회
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-
-        List<Appointment> appointments = appointmentRepository.findByDoctorIdAndDateBetween(
-                doctorId, startOfDay, endOfDay
-        );
-
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-        List<String> bookedTimes = appointments.stream()
-                .filter(apt -> apt.getStatus() != AppointmentStatus.CANCELLED)
-                .map(apt -> apt.getDate().format(timeFormatter))
-                .collect(Collectors.toList());
-
-        // Redis 캐시에 저장 (5분 TTL)
-        cacheBookedTimes(cacheKey, bookedTimes);
-        log.debug("DB에서 예약 시간 조회 및 캐시 저장: doctorId={}, date={}", doctorId, date);
-
-        return bookedTimes;
-    }
-
     /**
-     * Redis 캐시에서 예약 시간 목록 조회
+     * 의사 한 명의 하루 예약 시간 ("HH:mm", 취소 제외)
      */
-    private List<String> getCachedBookedTimes(String cacheKey) {
-        try {
-            Long size = redisTemplate.opsForList().size(cacheKey);
-            if (size == null || size == 0) {
-                return null;
-            }
-            return redisTemplate.opsForList().range(cacheKey, 0, -1);
-        } catch (Exception e) {
-            log.warn("Redis 캐시 조회 실패: {}", e.getMessage());
-            return null;
-        }
+    public List<String> getBookedTimesByDoctorAndDate(Long doctorId, LocalDate date) {
+        return doctorAvailabilityService.getBookedTimes(doctorId, date);
     }
 
     /**
-     * Redis 캐시에 예약 시간 목록 저장
+     * 예약 달력 - 여러 의사(또는 진료과 전체)의 여러 날 예약 시간을 한 번에 조회
      */
-    private void cacheBookedTimes(String cacheKey, List<String> bookedTimes) {
-        try {
-            redisTemplate.delete(cacheKey);
-            if (!bookedTimes.isEmpty()) {
-                redisTemplate.opsForList().rightPushAll(cacheKey, bookedTimes);
-            } else {
-                // 빈 리스트도 캐싱 (불필요한 DB 조회 방지)
-                redisTemplate.opsForList().rightPush(cacheKey, "EMPTY");
-            }
-            redisTemplate.expire(cacheKey, CACHE_TTL, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            log.warn("Redis 캐시 저장 실패: {}", e.getMessage());
+    public List<DoctorBookedTimesResponse> getBookedTimesCalendar(
+            List<Long> doctorIds, String department, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= CALENDAR_MAX_DAYS) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
+                    "조회 기간은 " + CALENDAR_MAX_DAYS + "일 이내여야 합니다.");
         }
-    }
 
-    /**
-     * 예약 시간 캐시 무효화
-     */
-    private void invalidateBookedTimesCache(Long doctorId, LocalDate date) {
-        String cacheKey = BOOKED_TIMES_CACHE_PREFIX + doctorId + ":" + date;
-        try {
-            redisTemplate.delete(cacheKey);
-            log.debug("예약 시간 캐시 무효화: doctorId={}, date={}", doctorId, date);
-        } catch (Exception e) {
-            log.warn("Redis 캐시 무효화 실패: {}", e.getMessage());
+        List<Long> targetDoctorIds = department != null && !department.isBlank()
+                ? userRepository.findByRoleAndDepartment(Role.DOCTOR, department).stream().map(User::getId).toList()
+                : (doctorIds != null ? doctorIds.stream().distinct().toList() : List.of());
+        if (targetDoctorIds.size() > CALENDAR_MAX_DOCTORS) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
+                    "한 번에 조회할 수 있는 의사는 " + CALENDAR_MAX_DOCTORS + "명까지입니다.");
         }
+        if (targetDoctorIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<DoctorBookedTimesResponse> responses = new ArrayList<>();
+        doctorAvailabilityService.getBookedTimes(targetDoctorIds, from, to).forEach((doctorId, byDay) ->
+                byDay.forEach((day, times) -> responses.add(DoctorBookedTimesResponse.builder()
+                        .doctorId(doctorId)
+                        .date(day)
+                        .bookedTimes(times)
+                        .build())));
+        return responses;
     }
 
     /**
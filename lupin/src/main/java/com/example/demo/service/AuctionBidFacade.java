@@ -18,8 +18,23 @@ public class AuctionBidFacade {
 
     private final RedissonClient redissonClient;
     private final AuctionService auctionService;
+    private final BidRateLimiter bidRateLimiter;
 
+    /**
+     * 입찰 진입점
+     * 동시 처리 상한 -> 사용자/경매 토큰 버킷 순으로 먼저 걸러낸 뒤에만 가격 스크립트와 DB 입찰을 실행한다.
+     */
     public boolean bid(Long auctionId, Long userId, Long bidAmount, LocalDateTime bidTime) {
+        bidRateLimiter.enter();
+        try {
+            bidRateLimiter.acquire(auctionId, userId);
+            return placeBid(auctionId, userId, bidAmount, bidTime);
+        } finally {
+            bidRateLimiter.exit();
+        }
+    }
+
+    private boolean placeBid(Long auctionId, Long userId, Long bidAmount, LocalDateTime bidTime) {
 
         String redisKey = "auction_price:" + auctionId;
 
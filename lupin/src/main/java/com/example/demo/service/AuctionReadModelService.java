@@ -0,0 +1,332 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.Auction;
+import com.example.demo.domain.entity.AuctionBid;
+import com.example.demo.domain.enums.BidStatus;
+import com.example.demo.dto.ActiveAuctionView;
+import com.example.demo.dto.response.AuctionBidResponse;
+import com.example.demo.dto.response.ScheduledAuctionResponse;
+import com.example.demo.util.RedisKeyUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 경매 읽기 모델 (Redis)
+ * - 진행 중 경매 / 실시간 상태 / 상위 입찰 / 예정 경매 API를 DB 없이 응답
+ * - 입찰 경로에서 Lua Script로 원자적 갱신 (더 높은 가격일 때만 덮어씀)
+ * - 경매 시작/종료 시에는 통째로 비우고, 다음 조회에서 DB 기준으로 다시 채움
+ *   비울 때마다 세대 번호를 올리고, 적재는 DB를 읽기 전의 세대 번호가 그대로일 때만 반영한다.
+ *   (종료 전에 읽은 스냅샷이 무효화 뒤에 적재되어 끝난 경매가 TTL 동안 진행 중으로 보이는 것을 막음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuctionReadModelService {
+
+    public static final int TOP_BIDS_SIZE = 5;
+
+    // 리더보드에는 응답 개수보다 조금 더 보관 (동시 입찰 순서가 뒤섞여도 상위 N개가 유지되도록)
+    private static final int LEADERBOARD_CAPACITY = 20;
+    private static final Duration VIEW_TTL = Duration.ofHours(1);
+    // '진행 중 경매 없음' 스냅샷은 곧 시작될 경매를 가리지 않도록 짧게 유지
+    private static final Duration NONE_TTL = Duration.ofSeconds(10);
+    private static final Duration SCHEDULED_TTL = Duration.ofMinutes(10);
+    private static final String LOADED_FIELD = "loaded";
+
+    /**
+     * 입찰 반영 (다른 경매의 스냅샷이 남아 있으면 지워서 다음 조회 때 다시 적재되게 함)
+     * KEYS[1] = 진행 중 경매 Hash, KEYS[2] = 리더보드 ZSet
+     * ARGV[1] = 경매 ID, ARGV[2] = 입찰가, ARGV[3] = 입찰자 이름, ARGV[4] = 초읽기 여부,
+     * ARGV[5] = 초읽기 종료 시간, ARGV[6] = 총 입찰 수, ARGV[7] = 리더보드 멤버, ARGV[8] = 리더보드 용량, ARGV[9] = TTL(초)
+     */
+    private static final String APPLY_BID_SCRIPT =
+            "local id = redis.call('hget', KEYS[1], 'auctionId'); " +
+            "if id and id ~= ARGV[1] then " +
+            "   redis.call('del', KEYS[1], KEYS[2]); " +
+            "   return 0; " +
+            "end; " +
+            "local curr = tonumber(redis.call('hget', KEYS[1], 'currentPrice')); " +
+            "local price = tonumber(ARGV[2]); " +
+            "if curr == nil or price > curr then " +
+            "   redis.call('hset', KEYS[1], 'auctionId', ARGV[1], 'currentPrice', ARGV[2], 'winnerName', ARGV[3], " +
+            "       'overtimeStarted', ARGV[4], 'overtimeEndTime', ARGV[5], 'totalBids', ARGV[6]); " +
+            "end; " +
+            "redis.call('zadd', KEYS[2], price, ARGV[7]); " +
+            "redis.call('zremrangebyrank', KEYS[2], 0, -(tonumber(ARGV[8]) + 1)); " +
+            "redis.call('expire', KEYS[1], ARGV[9]); " +
+            "redis.call('expire', KEYS[2], ARGV[9]); " +
+            "return 1;";
+
+    /**
+     * DB 스냅샷으로 채우기 (조회 중 들어온 입찰을 덮어쓰지 않도록 가격 비교 후 반영)
+     * KEYS[3] = 세대 번호
+     * ARGV[1] = DB를 읽기 전의 세대 번호 (그 사이 무효화됐으면 적재하지 않음),
+     * ARGV[2] = 경매 ID, ARGV[3] = 스냅샷 가격, ARGV[4] = 리더보드 용량, ARGV[5] = TTL(초),
+     * ARGV[6] = 고정 필드 인자 수, 이어서 고정 필드 (이름, 값) 쌍,
+     * 다음 인자 = 변동 필드 인자 수, 이어서 변동 필드 (이름, 값) 쌍, 나머지는 리더보드 (점수, 멤버) 쌍
+     */
+    private static final String WARM_SCRIPT =
+            "if (redis.call('get', KEYS[3]) or '0') ~= ARGV[1] then return 0; end; " +
+            "local existing = redis.call('hget', KEYS[1], 'auctionId'); " +
+            "if existing and existing ~= ARGV[2] then " +
+            "   redis.call('del', KEYS[1], KEYS[2]); " +
+            "end; " +
+            "local idx = 7; " +
+            "local n = tonumber(ARGV[6]); " +
+            "for i = idx, idx + n - 1, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]); end; " +
+            "idx = idx + n; " +
+            "local m = tonumber(ARGV[idx]); " +
+            "idx = idx + 1; " +
+            "local curr = tonumber(redis.call('hget', KEYS[1], 'currentPrice')); " +
+            "if curr == nil or tonumber(ARGV[3]) >= curr then " +
+            "   for i = idx, idx + m - 1, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]); end; " +
+            "end; " +
+            "idx = idx + m; " +
+            "for i = idx, #ARGV, 2 do redis.call('zadd', KEYS[2], ARGV[i], ARGV[i + 1]); end; " +
+            "redis.call('zremrangebyrank', KEYS[2], 0, -(tonumber(ARGV[4]) + 1)); " +
+            "redis.call('hset', KEYS[1], 'loaded', '1'); " +
+            "redis.call('expire', KEYS[1], ARGV[5]); " +
+            "redis.call('expire', KEYS[2], ARGV[5]); " +
+            "return 1;";
+
+    /**
+     * 예정 경매 스냅샷 저장 (세대 번호가 그대로일 때만)
+     * KEYS[1] = 예정 경매 키, KEYS[2] = 세대 번호, ARGV[1] = 읽기 전 세대 번호, ARGV[2] = JSON, ARGV[3] = TTL(초)
+     */
+    private static final String WARM_SCHEDULED_SCRIPT =
+            "if (redis.call('get', KEYS[2]) or '0') ~= ARGV[1] then return 0; end; " +
+            "redis.call('set', KEYS[1], ARGV[2], 'EX', ARGV[3]); " +
+            "return 1;";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 리더보드 멤버 (입찰 ID를 포함하므로 같은 입찰은 항상 같은 문자열)
+     */
+    record BidEntry(Long id, Long userId, String userName, Long bidAmount, String bidTime) {
+
+        static BidEntry from(AuctionBid bid) {
+            return new BidEntry(
+                    bid.getId(),
+                    bid.getUser().getId(),
+                    bid.getUser().getName(),
+                    bid.getBidAmount(),
+                    bid.getBidTime().toString()
+            );
+        }
+    }
+
+    /**
+     * 진행 중인 경매 스냅샷 조회
+     * @return 캐시 미스면 Optional.empty(), 진행 중 경매가 없으면 ActiveAuctionView.NONE
+     */
+    public Optional<ActiveAuctionView> getActive() {
+        try {
+            Map<String, String> fields = redisTemplate.<String, String>opsForHash().entries(RedisKeyUtils.auctionActiveView());
+            if (fields == null || !fields.containsKey(LOADED_FIELD)) {
+                return Optional.empty();
+            }
+            return Optional.of(ActiveAuctionView.fromFields(fields));
+        } catch (Exception e) {
+            log.warn("경매 읽기 모델 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 상위 입찰 조회 (Pipeline으로 적재 여부 + 리더보드를 한 번에 조회)
+     * 진행 중 경매에서 1등은 ACTIVE, 나머지는 OUTBID 상태이므로 순위로 상태를 만든다.
+     */
+    public Optional<List<AuctionBidResponse>> getTopBids(int limit) {
+        try {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForHash().get(RedisKeyUtils.auctionActiveView(), LOADED_FIELD);
+                    operations.opsForZSet().reverseRangeWithScores(RedisKeyUtils.auctionActiveBids(), 0, limit - 1);
+                    return null;
+                }
+            });
+
+            if (results.get(0) == null) {
+                return Optional.empty();
+            }
+
+            @SuppressWarnings("unchecked")
+            Set<ZSetOperations.TypedTuple<String>> tuples = (Set<ZSetOperations.TypedTuple<String>>) results.get(1);
+            List<AuctionBidResponse> responses = new ArrayList<>();
+            if (tuples != null) {
+                for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                    BidEntry entry = objectMapper.readValue(tuple.getValue(), BidEntry.class);
+                    BidStatus status = responses.isEmpty() ? BidStatus.ACTIVE : BidStatus.OUTBID;
+                    responses.add(AuctionBidResponse.builder()
+                            .id(entry.id())
+                            .userId(entry.userId())
+                            .userName(entry.userName())
+                            .bidAmount(entry.bidAmount())
+                            .bidTime(LocalDateTime.parse(entry.bidTime()))
+                            .status(status.name())
+                            .bidderId(entry.userId())
+                            .build());
+                }
+            }
+            return Optional.of(responses);
+        } catch (Exception e) {
+            log.warn("경매 리더보드 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Optional<List<ScheduledAuctionResponse>> getScheduled() {
+        try {
+            String json = redisTemplate.opsForValue().get(RedisKeyUtils.auctionScheduledView());
+            if (json == null) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(json, new TypeReference<List<ScheduledAuctionResponse>>() {}));
+        } catch (Exception e) {
+            log.warn("예정 경매 읽기 모델 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 현재 세대 번호 (캐시 미스로 DB를 읽기 전에 조회해 적재 시 넘긴다)
+     * @return Redis 장애 시 null (적재하지 않음)
+     */
+    public String currentGeneration() {
+        try {
+            String generation = redisTemplate.opsForValue().get(RedisKeyUtils.auctionViewGeneration());
+            return generation != null ? generation : "0";
+        } catch (Exception e) {
+            log.warn("경매 읽기 모델 세대 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * DB에서 읽은 진행 중 경매 + 상위 입찰로 읽기 모델을 채운다.
+     * @param generation DB를 읽기 전에 조회한 세대 번호 (그 사이 무효화됐으면 버림)
+     */
+    public void warmActive(ActiveAuctionView view, List<AuctionBid> topBids, String generation) {
+        if (generation == null) {
+            return;
+        }
+        try {
+            List<String> args = new ArrayList<>();
+            args.add(generation);
+            args.add(view.isNone() ? "NONE" : String.valueOf(view.auctionId()));
+            args.add(view.isNone() ? "0" : String.valueOf(view.currentPrice()));
+            args.add(String.valueOf(LEADERBOARD_CAPACITY));
+            args.add(String.valueOf((view.isNone() ? NONE_TTL : VIEW_TTL).toSeconds()));
+            appendPairs(args, view.staticFields());
+            appendPairs(args, view.dynamicFields());
+            if (!view.isNone()) {
+                for (AuctionBid bid : topBids) {
+                    args.add(String.valueOf(bid.getBidAmount()));
+                    args.add(objectMapper.writeValueAsString(BidEntry.from(bid)));
+                }
+            }
+
+            redisTemplate.execute(
+                    new DefaultRedisScript<>(WARM_SCRIPT, Long.class),
+                    List.of(RedisKeyUtils.auctionActiveView(), RedisKeyUtils.auctionActiveBids(),
+                            RedisKeyUtils.auctionViewGeneration()),
+                    args.toArray()
+            );
+        } catch (Exception e) {
+            log.warn("경매 읽기 모델 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    public void warmScheduled(List<ScheduledAuctionResponse> scheduled, String generation) {
+        if (generation == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(
+                    new DefaultRedisScript<>(WARM_SCHEDULED_SCRIPT, Long.class),
+                    List.of(RedisKeyUtils.auctionScheduledView(), RedisKeyUtils.auctionViewGeneration()),
+                    generation,
+                    objectMapper.writeValueAsString(scheduled),
+                    String.valueOf(SCHEDULED_TTL.toSeconds())
+            );
+        } catch (Exception e) {
+            log.warn("예정 경매 읽기 모델 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 입찰 반영 (Lua Script 1회 = 네트워크 1번)
+     */
+    public void applyBid(Auction auction, AuctionBid bid) {
+        try {
+            redisTemplate.execute(
+                    new DefaultRedisScript<>(APPLY_BID_SCRIPT, Long.class),
+                    List.of(RedisKeyUtils.auctionActiveView(), RedisKeyUtils.auctionActiveBids()),
+                    String.valueOf(auction.getId()),
+                    String.valueOf(bid.getBidAmount()),
+                    bid.getUser().getName() != null ? bid.getUser().getName() : "",
+                    String.valueOf(Boolean.TRUE.equals(auction.getOvertimeStarted())),
+                    auction.getOvertimeEndTime() != null ? auction.getOvertimeEndTime().toString() : "",
+                    String.valueOf(auction.getTotalBids()),
+                    objectMapper.writeValueAsString(BidEntry.from(bid)),
+                    String.valueOf(LEADERBOARD_CAPACITY),
+                    String.valueOf(VIEW_TTL.toSeconds())
+            );
+        } catch (Exception e) {
+            // 읽기 모델 갱신 실패는 입찰 자체를 실패시키지 않고, 다음 적재 때 DB 기준으로 복구된다
+            log.warn("경매 읽기 모델 입찰 반영 실패: auctionId={}, {}", auction.getId(), e.getMessage());
+            evict();
+        }
+    }
+
+    /**
+     * 경매 시작/종료 등 생명주기 변경 시 읽기 모델 전체 무효화 (Pipeline)
+     * 세대 번호를 먼저 올려 이미 DB를 읽고 있던 적재가 뒤늦게 반영되지 않게 한다.
+     */
+    public void evict() {
+        try {
+            redisTemplate.executePipelined(new SessionCallback<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForValue().increment(RedisKeyUtils.auctionViewGeneration());
+                    operations.delete(RedisKeyUtils.auctionActiveView());
+                    operations.delete(RedisKeyUtils.auctionActiveBids());
+                    operations.delete(RedisKeyUtils.auctionScheduledView());
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("경매 읽기 모델 무효화 실패: {}", e.getMessage());
+        }
+    }
+
+    private void appendPairs(List<String> args, Map<String, String> fields) {
+        args.add(String.valueOf(fields.size() * 2));
+        fields.forEach((name, value) -> {
+            args.add(name);
+            args.add(value);
+        });
+    }
+}
@@ -2,17 +2,18 @@ package com.example.demo.service;
 
 import com.example.demo.domain.entity.Auction;
 import com.example.demo.domain.entity.AuctionBid;
-import com.example.demo.domain.entity.PointLog;
+import com.example.demo.domain.entity.AuctionSettlement;
 import com.example.demo.domain.entity.User;
 import com.example.demo.domain.enums.AuctionStatus;
 import com.example.demo.domain.enums.BidStatus;
 import com.example.demo.domain.enums.PointType;
+import com.example.demo.dto.ActiveAuctionView;
 import com.example.demo.dto.AuctionSseMessage;
 import com.example.demo.dto.response.*;
 import com.example.demo.event.NotificationEvent;
 import com.example.demo.repository.AuctionBidRepository;
 import com.example.demo.repository.AuctionRepository;
-import com.example.demo.repository.PointLogRepository;
+import com.example.demo.repository.AuctionSettlementRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.scheduler.AuctionTaskScheduler;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -40,12 +43,14 @@ public class AuctionService {
     private final AuctionRepository auctionRepository;
     private final UserRepository userRepository;
     private final AuctionBidRepository auctionBidRepository;
+    private final AuctionSettlementRepository auctionSettlementRepository;
 
-    private final PointLogRepository pointLogRepository;
+    private final PointLedgerService pointLedgerService;
     private final AuctionTaskScheduler auctionTaskScheduler;
     private final ApplicationEventPublisher eventPublisher;
 
     private final AuctionSseService auctionSseService;
+    private final AuctionReadModelService auctionReadModelService;
     private final RedissonClient redissonClient;
     @Lazy
     @Autowired
@@ -77,6 +82,9 @@ public class AuctionService {
         AuctionBid bid = auction.createBid(user, bidAmount, bidTime);
         auctionBidRepository.save(bid);
 
+        // 읽기 모델(Redis) 갱신은 커밋 이후에 (롤백된 입찰이 화면에 보이지 않도록)
+        runAfterCommit(() -> auctionReadModelService.applyBid(auction, bid));
+
         // 스케줄러 업데이트 (마감 시간이 변경되었을 수 있으므로)
         auctionTaskScheduler.scheduleAuctionEnd(auction.getId(), auction.getEndTime());
 
@@ -106,6 +114,10 @@ public class AuctionService {
             RBucket<Long> bucket = redissonClient.getBucket("auction_price:" + auction.getId());
             bucket.set(auction.getCurrentPrice());
         }
+
+        if (!auctions.isEmpty()) {
+            runAfterCommit(auctionReadModelService::evict);
+        }
     }
 
     // 종료된 경매 ended 시켜주는 메소드
@@ -126,14 +138,34 @@ public class AuctionService {
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void processSingleAuctionClose(Auction auction) {
         // [중요 수정 1] 넘어온 auction 객체는 '남의 것'이므로, ID로 이 트랜잭션용 객체를 다시 찾습니다.
-        Auction currentAuction = auctionRepository.findById(auction.getId())
+        // 여러 노드가 동시에 종료를 시도할 수 있으므로 행 잠금(SELECT ... FOR UPDATE)으로 직렬화합니다.
+        Auction currentAuction = auctionRepository.findByIdForUpdate(auction.getId())
                 .orElseThrow(() -> new IllegalArgumentException("경매를 찾을 수 없습니다."));
 
+        // 잠금을 기다리는 사이 다른 노드가 이미 종료했다면 건너뜁니다.
+        if (!currentAuction.isActive()) {
+            log.info("경매 ID {} 는 이미 종료 처리되었습니다. (status: {})", currentAuction.getId(), currentAuction.getStatus());
+            return;
+        }
+
         List<AuctionBid> auctionBids = auctionBidRepository.findByAuctionId(currentAuction.getId());
 
         // 여기서 조회한 currentAuction을 변경합니다.
         currentAuction.deactivate(auctionBids);
 
+        // 정산 멱등 키: 이미 정산 기록이 있으면 포인트는 다시 차감하지 않고 종료 상태만 맞춥니다.
+        if (auctionSettlementRepository.existsBySettlementKey(AuctionSettlement.keyOf(currentAuction.getId()))) {
+            log.warn("경매 ID {} 는 이미 정산되었습니다. 차감 없이 종료 상태만 반영합니다.", currentAuction.getId());
+            auctionRepository.saveAndFlush(currentAuction);
+            runAfterCommit(auctionReadModelService::evict);
+            return;
+        }
+
+        // 정산 기록을 먼저 INSERT (유니크 제약 위반 시 트랜잭션 전체가 롤백되어 포인트도 차감되지 않음)
+        Long winnerId = currentAuction.getWinner() != null ? currentAuction.getWinner().getId() : null;
+        auctionSettlementRepository.saveAndFlush(
+                AuctionSettlement.of(currentAuction.getId(), winnerId, winnerId != null ? currentAuction.getCurrentPrice() : 0L));
+
         if (currentAuction.getWinner() != null) {
             // [중요 수정 2] Winner 객체도 여기서 다시 조회해야 안전합니다.
             // (currentAuction.getWinner()로 가져와도 되지만, 명시적으로 ID로 찾는 게 확실합니다)
@@ -142,16 +174,8 @@ public class AuctionService {
 
             Long price = currentAuction.getCurrentPrice();
 
-            // 새로 조회한 winner 객체를 수정
-            winner.deductPoints(price);
-            userRepository.save(winner); // 이제 정상 저장됩니다.
-
-            PointLog pointLog = PointLog.builder()
-                    .user(winner)
-                    .points(-price)
-                    .type(PointType.USE)
-                    .build();
-            pointLogRepository.save(pointLog);
+            // 원장에 차감 기록 (users 행은 잠그지 않고, 커밋 후 원장 서비스가 배치로 반영)
+            pointLedgerService.append(winner, -price, PointType.USE);
 
             eventPublisher.publishEvent(NotificationEvent.auctionWin(
                     winner.getId(),
@@ -164,6 +188,8 @@ public class AuctionService {
         // 마지막에 저장
         auctionRepository.saveAndFlush(currentAuction);
 
+        runAfterCommit(auctionReadModelService::evict);
+
         AuctionSseMessage message = AuctionSseMessage.builder()
                 .auctionId(currentAuction.getId())
                 .currentPrice(currentAuction.getCurrentPrice()) // 최종 낙찰가
@@ -177,56 +203,94 @@ public class AuctionService {
 
 
 
-    // 현재 진행중인 경매정보와 경매물품조회
+    // 현재 진행중인 경매정보와 경매물품조회 (읽기 모델 우선, 미스일 때만 DB)
+    @Transactional(readOnly = true)
     public OngoingAuctionResponse getOngoingAuctionWithItem() {
-        // 1. 일단 진행 중인 경매를 가져옵니다.
-        Auction auction = auctionRepository.findFirstWithItemByStatus(AuctionStatus.ACTIVE)
-                .orElse(null);
+        ActiveAuctionView view = auctionReadModelService.getActive()
+                .orElseGet(this::loadActiveView);
 
         // 경매가 없으면 null 반환
-        if (auction == null) {
+        if (view.isNone()) {
             return null;
         }
 
-        // 2. [핵심 로직 추가] 가져온 경매가 이미 시간이 지났는지 확인합니다.
-        if (auction.getEndTime().isBefore(LocalDateTime.now())) {
-            log.info("조회 시점 경매 만료 감지! 강제 종료 처리 진행 (ID: {})", auction.getId());
-
-            // 시간이 지났다면 스케줄러를 기다리지 않고 '지금 당장' 종료 처리를 수행합니다.
-            // (이 메서드 안에서 상태 변경 + 포인트 차감이 모두 일어납니다)
-            closeExpiredAuctions(LocalDateTime.now());
-
-            // 종료되었으므로 '없음'을 반환합니다.
+        // 종료 시간이 지났다면 '없음'으로 응답합니다.
+        // (종료 처리는 조회 요청이 아니라 리더 노드의 코디네이터가 담당합니다)
+        if (view.endTime().isBefore(LocalDateTime.now())) {
             return null;
         }
 
-        return OngoingAuctionResponse.from(auction);
+        return view.toOngoingResponse();
     }
 
     // 예정인 경매 정보와 경매 물품 조회
+    @Transactional(readOnly = true)
     public List<ScheduledAuctionResponse> scheduledAuctionWithItem() {
-        List<Auction> auctions = auctionRepository.findAllByStatusOrderByStartTimeAscWithItem(AuctionStatus.SCHEDULED);
-
-        return auctions.stream()
-                .map(ScheduledAuctionResponse::from)
-                .toList();
+        return auctionReadModelService.getScheduled().orElseGet(() -> {
+            String generation = auctionReadModelService.currentGeneration();
+            List<ScheduledAuctionResponse> scheduled = auctionRepository
+                    .findAllByStatusOrderByStartTimeAscWithItem(AuctionStatus.SCHEDULED)
+                    .stream()
+                    .map(ScheduledAuctionResponse::from)
+                    .toList();
+            auctionReadModelService.warmScheduled(scheduled, generation);
+            return scheduled;
+        });
     }
 
     // 현재 경매 정보 업데이트 내용 조회
+    @Transactional(readOnly = true)
     public AuctionStatusResponse getRealtimeStatus(){
-        return auctionRepository.findAuctionStatus()
-                .orElseThrow(() -> new IllegalStateException("진행 중인 경매가 없습니다."));
+        ActiveAuctionView view = auctionReadModelService.getActive()
+                .orElseGet(this::loadActiveView);
+
+        if (view.isNone()) {
+            throw new IllegalStateException("진행 중인 경매가 없습니다.");
+        }
+        return view.toStatusResponse();
     }
 
-    // 현재 경매 정보 내역 리스트 조회
+    // 현재 경매 정보 내역 리스트 조회 (리더보드 ZSet 우선)
+    @Transactional(readOnly = true)
     public List<AuctionBidResponse> getAuctionStatus(){
-        // 1. 엔티티 리스트 조회 (User 정보 포함됨)
-        List<AuctionBid> bids = auctionBidRepository.findTop5ByAuction_StatusOrderByBidAmountDesc(AuctionStatus.ACTIVE);
+        return auctionReadModelService.getTopBids(AuctionReadModelService.TOP_BIDS_SIZE)
+                .orElseGet(() -> loadActiveSnapshot().topBids().stream()
+                        .map(AuctionBidResponse::from)
+                        .toList());
+    }
+
+    // 읽기 모델 미스: DB에서 진행 중 경매 + 상위 입찰을 읽어 Redis에 채운다
+    // (세대 번호는 DB를 읽기 전에 받아 둔다 - 그 사이 종료되어 무효화됐으면 적재되지 않음)
+    private ActiveAuctionSnapshot loadActiveSnapshot() {
+        String generation = auctionReadModelService.currentGeneration();
+        ActiveAuctionView view = auctionRepository.findFirstWithItemByStatus(AuctionStatus.ACTIVE)
+                .map(ActiveAuctionView::from)
+                .orElse(ActiveAuctionView.NONE);
+
+        List<AuctionBid> topBids = auctionBidRepository.findTop5ByAuction_StatusOrderByBidAmountDesc(AuctionStatus.ACTIVE);
+        auctionReadModelService.warmActive(view, topBids, generation);
+        return new ActiveAuctionSnapshot(view, topBids);
+    }
+
+    private ActiveAuctionView loadActiveView() {
+        return loadActiveSnapshot().view();
+    }
 
-        // 2. DTO로 변환
-        return bids.stream()
-                .map(AuctionBidResponse::from)
-                .toList();
+    private record ActiveAuctionSnapshot(ActiveAuctionView view, List<AuctionBid> topBids) {
+    }
+
+    // 트랜잭션이 있으면 커밋 후, 없으면(단위 테스트 등) 즉시 실행
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     // 초읽기 모드 전환
@@ -248,6 +312,7 @@ public class AuctionService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<AuctionResponse> getMonthlyWinners() {
         // 1. 이번 달의 시작(1일)과 끝 계산
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,183 @@
+package com.example.demo.service;
+
+import com.example.demo.config.properties.BidRateLimitProperties;
+import com.example.demo.exception.BidRateLimitException;
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.util.RedisKeyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 입찰 유량 제어 (Admission Control)
+ * - 노드 전체 동시 처리 수 상한: 초과분은 Redis/DB까지 가지 않고 즉시 거절한다.
+ * - 토큰 버킷: 사용자별 + 경매별 버킷을 Redis Lua 스크립트 하나로 원자적으로 검사/차감한다. (클러스터 공통)
+ * - 로컬 버킷: 같은 설정의 사용자 버킷을 메모리에도 두어, 이미 소진된 사용자는 Redis 왕복 없이 거절한다.
+ *   로컬 토큰은 클러스터 버킷이 통과시킨 요청만 쓰고, 클러스터에서 거절되면 되돌려 준다.
+ *   (이 노드에서 쓴 토큰은 클러스터 버킷에서도 빠지므로 로컬이 비었으면 클러스터도 비어 있다)
+ * - 충전 시각은 Redis 서버 시계(TIME)를 쓴다. (노드 간 시계 차이로 토큰이 더 충전되지 않도록)
+ */
+@Slf4j
+@Component
+public class BidRateLimiter {
+
+    // 두 버킷을 모두 충전한 뒤, 둘 다 토큰이 있을 때만 함께 차감한다.
+    // 반환값: 0 = 통과, 그 외 = 다시 시도할 수 있을 때까지 남은 밀리초
+    private static final String TAKE_SCRIPT =
+            "local t = redis.call('time'); " +
+                    "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000); " +
+                    "local function refill(key, cap, rate) " +
+                    "   local b = redis.call('hmget', key, 'tokens', 'ts'); " +
+                    "   local tokens = tonumber(b[1]); " +
+                    "   local ts = tonumber(b[2]); " +
+                    "   if tokens == nil then return cap end " +
+                    "   return math.min(cap, tokens + math.max(0, now - ts) * rate / 1000); " +
+                    "end " +
+                    "local function waitMs(tokens, rate) " +
+                    "   if tokens >= 1 then return 0 end " +
+                    "   return math.ceil((1 - tokens) * 1000 / rate); " +
+                    "end " +
+                    "local userCap = tonumber(ARGV[1]); local userRate = tonumber(ARGV[2]); " +
+                    "local auctionCap = tonumber(ARGV[3]); local auctionRate = tonumber(ARGV[4]); " +
+                    "local userTokens = refill(KEYS[1], userCap, userRate); " +
+                    "local auctionTokens = refill(KEYS[2], auctionCap, auctionRate); " +
+                    "local wait = math.max(waitMs(userTokens, userRate), waitMs(auctionTokens, auctionRate)); " +
+                    "if wait > 0 then return wait end " +
+                    "redis.call('hset', KEYS[1], 'tokens', tostring(userTokens - 1), 'ts', tostring(now)); " +
+                    "redis.call('pexpire', KEYS[1], math.ceil(userCap * 1000 / userRate) + 1000); " +
+                    "redis.call('hset', KEYS[2], 'tokens', tostring(auctionTokens - 1), 'ts', tostring(now)); " +
+                    "redis.call('pexpire', KEYS[2], math.ceil(auctionCap * 1000 / auctionRate) + 1000); " +
+                    "return 0;";
+
+    private final RedissonClient redissonClient;
+    private final BidRateLimitProperties properties;
+    private final Semaphore inFlight;
+    private final Map<Long, LocalBucket> localBuckets = new ConcurrentHashMap<>();
+
+    public BidRateLimiter(RedissonClient redissonClient, BidRateLimitProperties properties) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+    }
+
+    /**
+     * 동시 처리 슬롯 획득 (실패 시 429)
+     * 성공했다면 반드시 finally에서 exit()를 호출해야 한다.
+     */
+    public void enter() {
+        if (!inFlight.tryAcquire()) {
+            log.warn("입찰 동시 처리 상한 초과 - 요청을 거절합니다. (max: {})", properties.getMaxInFlight());
+            throw new BidRateLimitException(ErrorCode.BID_OVERLOADED, 1);
+        }
+    }
+
+    public void exit() {
+        inFlight.release();
+    }
+
+    /**
+     * 사용자별/경매별 토큰 차감 (실패 시 429 + Retry-After)
+     */
+    public void acquire(Long auctionId, Long userId) {
+        long now = System.currentTimeMillis();
+
+        // 1. 로컬 fast path: 이미 소진된 사용자는 Redis까지 가지 않는다
+        LocalBucket local = localBuckets.computeIfAbsent(userId,
+                id -> new LocalBucket(properties.getUserCapacity(), properties.getUserRefillPerSecond(), now));
+        long localWait = local.tryTake(now);
+        if (localWait > 0) {
+            throw rejected(localWait);
+        }
+
+        // 2. 클러스터 공통 버킷 (사용자 + 경매)
+        Long wait;
+        try {
+            wait = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE,
+                    TAKE_SCRIPT,
+                    RScript.ReturnType.INTEGER,
+                    List.of(RedisKeyUtils.bidLimitUser(userId), RedisKeyUtils.bidLimitAuction(auctionId)),
+                    String.valueOf(properties.getUserCapacity()),
+                    String.valueOf(properties.getUserRefillPerSecond()),
+                    String.valueOf(properties.getAuctionCapacity()),
+                    String.valueOf(properties.getAuctionRefillPerSecond())
+            );
+        } catch (Exception e) {
+            // Redis 장애 시에는 로컬 버킷과 동시 처리 상한만으로 보호하고 입찰은 막지 않는다
+            log.warn("입찰 토큰 버킷 확인 실패 (로컬 제한만 적용): {}", e.getMessage());
+            return;
+        }
+
+        if (wait != null && wait > 0) {
+            // 클러스터에서 거절된 요청은 로컬 토큰을 쓰지 않은 것으로 되돌린다
+            local.refund();
+            throw rejected(wait);
+        }
+    }
+
+    /**
+     * 다 충전된(=한동안 입찰이 없던) 로컬 버킷 정리
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        long now = System.currentTimeMillis();
+        localBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private BidRateLimitException rejected(long waitMillis) {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        return new BidRateLimitException(ErrorCode.BID_RATE_LIMITED, retryAfterSeconds);
+    }
+
+    /**
+     * 메모리 토큰 버킷 (사용자 1명당 1개)
+     */
+    static final class LocalBucket {
+        private final double capacity;
+        private final double refillPerMilli;
+        private double tokens;
+        private long lastRefill;
+
+        LocalBucket(double capacity, double refillPerSecond, long now) {
+            this.capacity = capacity;
+            this.refillPerMilli = refillPerSecond / 1000.0;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        /**
+         * @return 0이면 토큰 차감 성공, 아니면 다음 토큰까지 남은 밀리초
+         */
+        synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerMilli);
+        }
+
+        synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            long elapsed = Math.max(0, now - lastRefill);
+            tokens = Math.min(capacity, tokens + elapsed * refillPerMilli);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.demo.service;
+
+import com.example.demo.config.properties.DirectUploadProperties;
+import com.example.demo.domain.entity.DirectUpload;
+import com.example.demo.domain.entity.User;
+import com.example.demo.domain.enums.DirectUploadStatus;
+import com.example.demo.dto.response.PresignedUploadResponse;
+import com.example.demo.event.DirectUploadCompletedEvent;
+import com.example.demo.exception.BusinessException;
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.repository.DirectUploadRepository;
+import com.example.demo.repository.FeedImageRepository;
+import com.example.demo.repository.FeedRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 저장소 직접 업로드 서비스 (presigned PUT + 비동기 변환)
+ *
+ * - 클라이언트는 발급받은 URL로 원본을 raw/feed/{uuid}에 직접 올리고 완료를 알린다. (앱 서버는 원본 바이트를 받지 않음)
+ * - 변환 워커(ImageTranscodeWorker)가 원본을 내려받아 ImageService와 같은 경로로 WebP 크기들을 만들고 EXIF를 캐시한다.
+ * - 변환이 끝나기 전에 작성된 피드는 raw 키를 그대로 참조하고(촬영 시각은 원본에서 추출), 변환이 끝나면 URL로 교체한다.
+ *   변환 완료와 피드 작성이 엇갈린 경우는 DirectUploadScheduler의 reconcile이 마저 교체한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectUploadService {
+
+    private static final String FEED_PREFIX = "feed";
+    private static final String RAW_FEED_PREFIX = "raw/" + FEED_PREFIX + "/";
+    private static final int BATCH_SIZE = 100;
+
+    private final DirectUploadRepository directUploadRepository;
+    private final FeedImageRepository feedImageRepository;
+    private final FeedRepository feedRepository;
+    private final FileStorage fileStorage;
+    private final ImageService imageService;
+    private final DirectUploadProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 피드 이미지 업로드 URL 발급
+     */
+    public PresignedUploadResponse issue(User user, String contentType, long contentLength) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "이미지 형식만 업로드할 수 있습니다.");
+        }
+        if (contentLength <= 0 || contentLength > properties.getMaxUploadBytes()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "업로드할 수 있는 이미지 크기를 넘었습니다.");
+        }
+
+        String rawKey = RAW_FEED_PREFIX + UUID.randomUUID();
+        Duration expiry = Duration.ofMinutes(properties.getUrlExpiryMinutes());
+        String uploadUrl = fileStorage.createUploadUrl(rawKey, contentType, contentLength, expiry);
+
+        LocalDateTime now = LocalDateTime.now();
+        directUploadRepository.save(DirectUpload.builder()
+                .rawKey(rawKey)
+                .userId(user.getId())
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        return PresignedUploadResponse.builder()
+                .key(rawKey)
+                .uploadUrl(uploadUrl)
+                .expiresAt(now.plus(expiry))
+                .build();
+    }
+
+    /**
+     * 클라이언트 업로드 완료 - 변환 대기열에 넣는다
+     */
+    public void complete(User user, String rawKey) {
+        DirectUpload upload = directUploadRepository.findByRawKey(rawKey)
+                .orElseThrow(() -> new BusinessException(ErrorCode.IMAGE_UPLOAD_NOT_FOUND));
+        if (!upload.isOwnedBy(user.getId())) {
+            throw new BusinessException(ErrorCode.IMAGE_UPLOAD_NOT_OWNER);
+        }
+
+        upload.queue();
+        directUploadRepository.save(upload);
+        if (upload.getStatus() == DirectUploadStatus.QUEUED) {
+            eventPublisher.publishEvent(new DirectUploadCompletedEvent(rawKey));
+        }
+    }
+
+    /**
+     * 원본 하나 변환 (워커 스레드에서 호출)
+     * 변환된 URL을 기록하고, 이미 원본 키를 참조 중인 피드 이미지/썸네일을 교체한다.
+     */
+    public void transcode(String rawKey) {
+        Path source = null;
+        try {
+            // 서명한 크기를 넘는 원본은 내려받지 않는다 (다시 시도하지 않음)
+            long size = fileStorage.size(rawKey);
+            if (size > properties.getMaxUploadBytes()) {
+                log.warn("Direct upload too large, rejected: {} ({} bytes)", rawKey, size);
+                transactionTemplate.executeWithoutResult(status ->
+                        directUploadRepository.findByRawKey(rawKey).ifPresent(DirectUpload::reject));
+                return;
+            }
+
+            source = Files.createTempFile("direct-upload-", ".tmp");
+            fileStorage.download(rawKey, source);
+            String url = imageService.importImage(source, FEED_PREFIX);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                // 벌크 UPDATE가 영속성 컨텍스트를 비우므로 교체를 먼저 하고 기록을 갱신
+                int replaced = replaceReferences(rawKey, url);
+                directUploadRepository.findByRawKey(rawKey).ifPresent(upload -> upload.ready(url));
+                log.info("Direct upload transcoded: {} -> {} (feed images replaced: {})", rawKey, url, replaced);
+            });
+        } catch (Exception e) {
+            log.warn("Direct upload transcode failed: {}", rawKey, e);
+            transactionTemplate.executeWithoutResult(status ->
+                    directUploadRepository.findByRawKey(rawKey)
+                            .ifPresent(upload -> upload.fail(properties.getMaxAttempts())));
+        } finally {
+            deleteQuietly(source);
+        }
+    }
+
+    /**
+     * 변환이 끝났는데 아직 원본 키를 참조 중인 피드 이미지 교체 (변환 완료 직후 커밋된 피드)
+     *
+     * @return 교체한 업로드 수
+     */
+    public int reconcile() {
+        List<String> rawKeys = feedImageRepository.findRawS3Keys();
+        if (rawKeys.isEmpty()) {
+            return 0;
+        }
+
+        List<DirectUpload> ready = directUploadRepository.findByRawKeyInAndStatus(rawKeys, DirectUploadStatus.READY);
+        for (DirectUpload upload : ready) {
+            transactionTemplate.executeWithoutResult(status -> replaceReferences(upload.getRawKey(), upload.getFinalUrl()));
+        }
+        return ready.size();
+    }
+
+    /**
+     * 오래 대기 중인 업로드를 다시 대기열에 넣는다 (재시작으로 잃었거나 대기열이 가득 찼던 작업)
+     * 스케줄러가 모든 노드에서 돌므로 조건부 UPDATE로 선점한 노드만 다시 넣는다.
+     * (선점하면 updatedAt이 옮겨져 requeueAfterMinutes 동안은 다른 노드가 다시 넣지 않음)
+     *
+     * @return 다시 넣은 업로드 수
+     */
+    public int requeueStale() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime before = now.minusMinutes(properties.getRequeueAfterMinutes());
+        List<DirectUpload> stale = directUploadRepository.findByStatusAndUpdatedAtBefore(
+                DirectUploadStatus.QUEUED, before, PageRequest.of(0, BATCH_SIZE));
+        int requeued = 0;
+        for (DirectUpload upload : stale) {
+            Integer claimed = transactionTemplate.execute(status ->
+                    directUploadRepository.claimStale(upload.getId(), before, now));
+            if (claimed != null && claimed > 0) {
+                eventPublisher.publishEvent(new DirectUploadCompletedEvent(upload.getRawKey()));
+                requeued++;
+            }
+        }
+        return requeued;
+    }
+
+    /**
+     * 보관 시간이 지난 원본과 기록 정리 (피드가 아직 원본을 참조하면 남긴다)
+     *
+     * @return 정리한 업로드 수
+     */
+    public int purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minusHours(properties.getRetentionHours());
+        int purged = 0;
+        for (DirectUploadStatus status : List.of(DirectUploadStatus.READY, DirectUploadStatus.FAILED, DirectUploadStatus.ISSUED)) {
+            for (DirectUpload upload : directUploadRepository.findByStatusAndUpdatedAtBefore(
+                    status, before, PageRequest.of(0, BATCH_SIZE))) {
+                if (feedImageRepository.existsByS3Key(upload.getRawKey())) {
+                    continue;
+                }
+                try {
+                    fileStorage.delete(upload.getRawKey());
+                    directUploadRepository.delete(upload);
+                    purged++;
+                } catch (Exception e) {
+                    log.warn("Direct upload purge failed: {} - {}", upload.getRawKey(), e.getMessage());
+                }
+            }
+        }
+        return purged;
+    }
+
+    private int replaceReferences(String rawKey, String url) {
+        feedRepository.replaceThumbnailUrl(rawKey, url);
+        return feedImageRepository.replaceS3Key(rawKey, url);
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Temp image file delete failed: {}", path, e);
+        }
+    }
+}
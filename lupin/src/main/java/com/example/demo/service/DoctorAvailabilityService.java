@@ -0,0 +1,305 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * 의사별 예약 시간 비트맵 (Redis)
+ *
+ * - 의사 x 날짜마다 하루를 10분 단위 슬롯 144개로 나눈 18바이트 비트맵을 둔다. (비트 1 = 예약됨)
+ *   예약 시각은 슬롯 시작 시각으로 내려서 다룬다. (화면의 예약 시간은 정시라 그대로 맞음)
+ * - 예약 생성 커밋 후 SETBIT으로 해당 비트만 켠다. 비트맵이 없으면 고치지 않고 다음 조회 때 DB에서 만든다.
+ * - 취소 커밋 후에는 비트를 끄지 않고 그날 비트맵을 지운다. 같은 10분 슬롯에 다른 예약(09:00과 09:05 등)이
+ *   남아 있을 수 있고, 확인하는 사이에 새 예약이 들어올 수 있으므로 다음 조회 때 DB 기준으로 다시 만든다. (취소는 드묾)
+ * - 조회는 여러 의사 x 여러 날을 MGET 한 번으로 읽고, 없는 것만 DB 한 번으로 모아 만든 뒤 스크립트 한 번으로 저장한다.
+ *   (진료과 달력을 처음 열어도 의사 x 날짜만큼 DB를 조회하지 않음)
+ * - 비트맵마다 세대 키를 두고 예약/취소 때마다 올린다. 적재는 DB를 읽기 전에 세대를 읽어 두고,
+ *   저장 시점에 세대가 그대로이고 비트맵이 아직 없을 때만 쓴다. (적재 중 커밋된 예약/취소를 덮어쓰지 않음)
+ * - 갱신이 빠져도 TTL이 지나면 DB 기준으로 다시 만들어진다. (중복 예약은 선점과 DB 제약이 막는다)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DoctorAvailabilityService {
+
+    static final int SLOT_MINUTES = 10;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int BITMAP_BYTES = SLOTS_PER_DAY / 8;
+
+    private static final String KEY_PREFIX = "appointment:slots:";
+    private static final String GENERATION_KEY_PREFIX = "appointment:slots:gen:";
+    private static final Duration BITMAP_TTL = Duration.ofMinutes(30);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * KEYS[1] = 비트맵, KEYS[2] = 세대, ARGV[1] = 슬롯 번호, ARGV[2] = 세대 TTL(ms)
+     * 세대는 항상 올리고(진행 중인 적재를 무효화), 적재된 비트맵만 고친다 (없는 키에 SETBIT하면 일부만 채워진 비트맵이 생김)
+     */
+    private static final DefaultRedisScript<Long> BOOK_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('incr', KEYS[2]); " +
+            "redis.call('pexpire', KEYS[2], ARGV[2]); " +
+            "if redis.call('exists', KEYS[1]) == 0 then return 0; end; " +
+            "redis.call('setbit', KEYS[1], ARGV[1], 1); " +
+            "return 1;",
+            Long.class);
+
+    /**
+     * KEYS[1] = 비트맵, KEYS[2] = 세대, ARGV[1] = 세대 TTL(ms)
+     * 세대를 올리고(진행 중인 적재를 무효화) 비트맵을 지운다
+     */
+    private static final DefaultRedisScript<Long> FREE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('incr', KEYS[2]); " +
+            "redis.call('pexpire', KEYS[2], ARGV[1]); " +
+            "return redis.call('del', KEYS[1]);",
+            Long.class);
+
+    /**
+     * KEYS = 비트맵 n개 + 세대 n개, ARGV[1] = 비트맵 TTL(ms), ARGV[2] = 마지막 슬롯 번호,
+     * ARGV[2 + i] = 읽어 둔 세대, ARGV[2 + n + i] = 켤 슬롯 번호 (쉼표 구분)
+     * 세대가 그대로이고 비트맵이 없을 때만 쓴다 (SET NX와 같은 효과)
+     */
+    private static final DefaultRedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>(
+            "local n = #KEYS / 2; " +
+            "local written = 0; " +
+            "for i = 1, n do " +
+            "  local generation = redis.call('get', KEYS[n + i]) or '0'; " +
+            "  if generation == ARGV[2 + i] and redis.call('exists', KEYS[i]) == 0 then " +
+            "    redis.call('setbit', KEYS[i], ARGV[2], 0); " +
+            "    for slot in string.gmatch(ARGV[2 + n + i], '%d+') do " +
+            "      redis.call('setbit', KEYS[i], slot, 1); " +
+            "    end; " +
+            "    redis.call('pexpire', KEYS[i], ARGV[1]); " +
+            "    written = written + 1; " +
+            "  end; " +
+            "end; " +
+            "return written;",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * 의사 한 명의 하루 예약 시간 ("HH:mm", 시간순)
+     */
+    public List<String> getBookedTimes(Long doctorId, LocalDate date) {
+        return getBookedTimes(List.of(doctorId), date, date).get(doctorId).get(date);
+    }
+
+    /**
+     * 여러 의사의 여러 날 예약 시간 (의사 ID → 날짜 → "HH:mm" 목록, from~to 포함)
+     */
+    public Map<Long, Map<LocalDate, List<String>>> getBookedTimes(List<Long> doctorIds, LocalDate from, LocalDate to) {
+        List<LocalDate> days = from.datesUntil(to.plusDays(1)).toList();
+        List<String> keys = new ArrayList<>(doctorIds.size() * days.size());
+        for (Long doctorId : doctorIds) {
+            for (LocalDate day : days) {
+                keys.add(keyOf(doctorId, day));
+            }
+        }
+
+        // 비트맵과 세대를 함께 읽는다 (세대는 DB 조회 전에 읽어야 적재 중 커밋된 변경을 알아챈다)
+        List<byte[]> cached = readBitmaps(keys);
+
+        // 캐시에 없는 (의사, 날짜)만 모아 DB 한 번으로 채운다
+        Map<String, byte[]> bitmaps = new HashMap<>();
+        Map<String, String> generations = new HashMap<>();
+        Set<Long> missedDoctors = new LinkedHashSet<>();
+        LocalDate missedFrom = null;
+        LocalDate missedTo = null;
+        int index = 0;
+        for (Long doctorId : doctorIds) {
+            for (LocalDate day : days) {
+                byte[] bitmap = cached.get(index);
+                byte[] generation = cached.get(keys.size() + index++);
+                if (bitmap != null) {
+                    bitmaps.put(keyOf(doctorId, day), bitmap);
+                    continue;
+                }
+                generations.put(keyOf(doctorId, day),
+                        generation != null ? new String(generation, StandardCharsets.UTF_8) : "0");
+                missedDoctors.add(doctorId);
+                missedFrom = missedFrom == null || day.isBefore(missedFrom) ? day : missedFrom;
+                missedTo = missedTo == null || day.isAfter(missedTo) ? day : missedTo;
+            }
+        }
+        if (!missedDoctors.isEmpty()) {
+            bitmaps.putAll(loadBitmaps(missedDoctors, missedFrom, missedTo, bitmaps.keySet(), generations));
+        }
+
+        Map<Long, Map<LocalDate, List<String>>> result = new LinkedHashMap<>();
+        for (Long doctorId : doctorIds) {
+            Map<LocalDate, List<String>> byDay = new LinkedHashMap<>();
+            for (LocalDate day : days) {
+                byDay.put(day, decode(bitmaps.get(keyOf(doctorId, day))));
+            }
+            result.put(doctorId, byDay);
+        }
+        return result;
+    }
+
+    /**
+     * 예약 생성 커밋 후 호출 - 해당 슬롯을 예약됨으로
+     */
+    public void markBooked(Long doctorId, LocalDateTime time) {
+        String key = keyOf(doctorId, time.toLocalDate());
+        update(key, () -> redisTemplate.execute(BOOK_SCRIPT, List.of(key, generationKeyOf(key)),
+                String.valueOf(slotOf(time)), String.valueOf(BITMAP_TTL.toMillis())));
+    }
+
+    /**
+     * 예약 취소 커밋 후 호출 - 그날 비트맵을 지워 다음 조회 때 DB에서 다시 만든다
+     */
+    public void markFree(Long doctorId, LocalDateTime time) {
+        String key = keyOf(doctorId, time.toLocalDate());
+        update(key, () -> redisTemplate.execute(FREE_SCRIPT, List.of(key, generationKeyOf(key)),
+                String.valueOf(BITMAP_TTL.toMillis())));
+    }
+
+    private void update(String key, Runnable script) {
+        try {
+            script.run();
+            log.debug("예약 시간 비트맵 갱신: {}", key);
+        } catch (Exception e) {
+            // 갱신하지 못하면 비트맵을 지워 다음 조회 때 DB에서 다시 만든다
+            log.warn("예약 시간 비트맵 갱신 실패: {} - {}", key, e.getMessage());
+            try {
+                redisTemplate.delete(key);
+            } catch (Exception ignored) {
+                // TTL이 지나면 다시 만들어진다
+            }
+        }
+    }
+
+    // MGET 한 번으로 비트맵 n개 + 세대 n개 (비트맵은 바이너리라 직렬화 없이 읽는다), 실패하면 전부 없는 것으로
+    private List<byte[]> readBitmaps(List<String> keys) {
+        try {
+            byte[][] rawKeys = new byte[keys.size() * 2][];
+            for (int i = 0; i < keys.size(); i++) {
+                rawKeys[i] = raw(keys.get(i));
+                rawKeys[keys.size() + i] = raw(generationKeyOf(keys.get(i)));
+            }
+            List<byte[]> values = redisTemplate.execute(
+                    (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+            if (values != null && values.size() == rawKeys.length) {
+                return values;
+            }
+        } catch (Exception e) {
+            log.warn("예약 시간 비트맵 조회 실패: {}", e.getMessage());
+        }
+        return Collections.nCopies(keys.size() * 2, null);
+    }
+
+    /**
+     * 캐시에 없던 (의사, 날짜) 비트맵을 DB에서 만들고 저장
+     *
+     * @param cachedKeys 이미 캐시에 있던 키 (덮어쓰지 않음)
+     * @param generations DB 조회 전에 읽어 둔 키별 세대
+     */
+    private Map<String, byte[]> loadBitmaps(Set<Long> doctorIds, LocalDate from, LocalDate to,
+                                            Set<String> cachedKeys, Map<String, String> generations) {
+        Map<String, byte[]> loaded = new LinkedHashMap<>();
+        for (Long doctorId : doctorIds) {
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                String key = keyOf(doctorId, day);
+                if (!cachedKeys.contains(key)) {
+                    loaded.put(key, new byte[BITMAP_BYTES]);
+                }
+            }
+        }
+
+        Map<String, StringJoiner> slots = new HashMap<>();
+        List<Object[]> rows = appointmentRepository.findBookedSlots(
+                doctorIds, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        for (Object[] row : rows) {
+            LocalDateTime time = (LocalDateTime) row[1];
+            String key = keyOf((Long) row[0], time.toLocalDate());
+            byte[] bitmap = loaded.get(key);
+            if (bitmap != null) {
+                int slot = slotOf(time);
+                bitmap[slot >> 3] |= (byte) (0x80 >>> (slot & 7)); // SETBIT과 같은 비트 순서 (바이트 안에서 상위 비트부터)
+                slots.computeIfAbsent(key, k -> new StringJoiner(",")).add(String.valueOf(slot));
+            }
+        }
+
+        writeBitmaps(loaded.keySet(), generations, slots);
+        log.debug("예약 시간 비트맵 적재: doctors={}, {}~{}, {}개", doctorIds.size(), from, to, loaded.size());
+        return loaded;
+    }
+
+    // 스크립트 한 번으로 저장 (세대가 바뀐 키는 버리고 다음 조회 때 다시 만든다)
+    private void writeBitmaps(Set<String> keys, Map<String, String> generations, Map<String, StringJoiner> slots) {
+        List<String> scriptKeys = new ArrayList<>(keys.size() * 2);
+        List<String> args = new ArrayList<>(keys.size() * 2 + 2);
+        args.add(String.valueOf(BITMAP_TTL.toMillis()));
+        args.add(String.valueOf(SLOTS_PER_DAY - 1));
+        scriptKeys.addAll(keys);
+        for (String key : keys) {
+            scriptKeys.add(generationKeyOf(key));
+            args.add(generations.getOrDefault(key, "0"));
+        }
+        for (String key : keys) {
+            StringJoiner joined = slots.get(key);
+            args.add(joined != null ? joined.toString() : "");
+        }
+        try {
+            Long written = redisTemplate.execute(FILL_SCRIPT, scriptKeys, args.toArray());
+            if (written != null && written < keys.size()) {
+                log.debug("예약 시간 비트맵 적재 중 변경되어 {}개는 저장하지 않음", keys.size() - written);
+            }
+        } catch (Exception e) {
+            log.warn("예약 시간 비트맵 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // 켜진 비트 → "HH:mm" (시간순)
+    static List<String> decode(byte[] bitmap) {
+        List<String> times = new ArrayList<>();
+        if (bitmap == null) {
+            return times;
+        }
+        int slots = Math.min(SLOTS_PER_DAY, bitmap.length * 8);
+        for (int slot = 0; slot < slots; slot++) {
+            if ((bitmap[slot >> 3] & (0x80 >>> (slot & 7))) != 0) {
+                times.add(LocalTime.MIN.plusMinutes((long) slot * SLOT_MINUTES).format(TIME_FORMATTER));
+            }
+        }
+        return times;
+    }
+
+    static int slotOf(LocalDateTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    private String keyOf(Long doctorId, LocalDate date) {
+        return KEY_PREFIX + doctorId + ":" + date;
+    }
+
+    private String generationKeyOf(String key) {
+        return GENERATION_KEY_PREFIX + key.substring(KEY_PREFIX.length());
+    }
+
+    private byte[] raw(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.Feed;
+import com.example.demo.domain.entity.User;
+import com.example.demo.domain.enums.WorkoutActivity;
+import com.example.demo.dto.FeedScoreRow;
+import com.example.demo.repository.FeedRepository;
+import com.example.demo.service.WorkoutScoreService.WorkoutResult;
+import com.example.demo.service.WorkoutScoreService.WorkoutSample;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 피드 재채점 (강도 표가 바뀌었을 때 과거 피드 점수를 다시 계산)
+ * - 피드를 id 순서로 CHUNK_SIZE개씩 필요한 컬럼만 읽고(잠금 없음), WorkoutScoreService.calculateAll로 한 번에 채점한다.
+ * - 점수/칼로리가 달라진 피드만 묶음마다 짧은 트랜잭션에서 비관적 락으로 다시 읽어 Feed.rescore 하고,
+ *   포인트 차이는 작성자별로 합쳐 EARN/DEDUCT 한 건씩 남긴다. (랭킹은 커밋 후 PointPipeline이 반영)
+ * - 재채점한 피드와 점수가 그대로인 피드(묶음마다 UPDATE 한 번) 모두 강도 표 버전(WorkoutActivity.TABLE_REVISION)을
+ *   남기고 다음 실행부터 읽지 않는다. (새로 쓰거나 수정한 피드는 작성 시점에 버전을 남긴다)
+ *   여러 노드가 동시에 돌아도 잠근 뒤 다시 비교하므로 포인트 차이는 한 번만 반영된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedRescoreService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final FeedRepository feedRepository;
+    private final WorkoutScoreService workoutScoreService;
+    private final PointService pointService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * [start, end) 기간에 작성된 피드를 다시 채점한다.
+     * @return 점수가 바뀐 피드 수
+     */
+    public int rescore(LocalDateTime start, LocalDateTime end) {
+        long afterId = 0L;
+        int scanned = 0;
+        int changed = 0;
+
+        while (true) {
+            List<FeedScoreRow> rows = feedRepository.findScoreRowsAfter(
+                    afterId, start, end, WorkoutActivity.TABLE_REVISION, PageRequest.of(0, CHUNK_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).feedId();
+            scanned += rows.size();
+            changed += rescoreChunk(rows);
+            if (rows.size() < CHUNK_SIZE) {
+                break;
+            }
+        }
+
+        log.info("피드 재채점 완료: 기간=[{} ~ {}), 검사={}건, 변경={}건", start, end, scanned, changed);
+        return changed;
+    }
+
+    private int rescoreChunk(List<FeedScoreRow> rows) {
+        List<WorkoutSample> samples = rows.stream()
+                .map(row -> new WorkoutSample(row.activity(), row.startTime(), row.endTime(), row.createdAt().toLocalDate()))
+                .toList();
+        WorkoutResult[] results = workoutScoreService.calculateAll(samples);
+
+        Map<Long, FeedScoreRow> staleRows = new LinkedHashMap<>();
+        Map<Long, WorkoutResult> newResults = new HashMap<>();
+        List<Long> unchangedIds = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            FeedScoreRow row = rows.get(i);
+            if (row.points() != results[i].score() || row.calories() != results[i].calories()) {
+                staleRows.put(row.feedId(), row);
+                newResults.put(row.feedId(), results[i]);
+            } else {
+                unchangedIds.add(row.feedId());
+            }
+        }
+
+        Integer updated = transactionTemplate.execute(status -> {
+            // 점수가 그대로인 피드는 버전만 기록 (영속성 컨텍스트를 비우므로 잠금 조회보다 먼저)
+            if (!unchangedIds.isEmpty()) {
+                feedRepository.markScoreRevision(unchangedIds, WorkoutActivity.TABLE_REVISION);
+            }
+            if (staleRows.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, User> writers = new HashMap<>();
+            Map<Long, Long> deltaByWriter = new LinkedHashMap<>();
+            int count = 0;
+
+            for (Feed feed : feedRepository.findAllByIdForUpdate(staleRows.keySet())) {
+                FeedScoreRow row = staleRows.get(feed.getId());
+                // 읽은 뒤 사용자가 수정했거나 다른 노드가 먼저 재채점했으면 건너뛴다
+                if (feed.getPoints() != row.points() || !feed.getActivity().equals(row.activity())
+                        || Integer.valueOf(WorkoutActivity.TABLE_REVISION).equals(feed.getScoreRevision())) {
+                    continue;
+                }
+                WorkoutResult result = newResults.get(feed.getId());
+                feed.rescore(result.score(), result.calories(), WorkoutActivity.TABLE_REVISION);
+                count++;
+
+                long delta = result.score() - row.points();
+                if (delta != 0) {
+                    User writer = feed.getWriter();
+                    writers.putIfAbsent(writer.getId(), writer);
+                    deltaByWriter.merge(writer.getId(), delta, Long::sum);
+                }
+            }
+
+            deltaByWriter.forEach((writerId, delta) -> {
+                if (delta > 0) {
+                    pointService.earnPoints(writers.get(writerId), delta);
+                } else if (delta < 0) {
+                    pointService.deductPoints(writers.get(writerId), -delta);
+                }
+            });
+            return count;
+        });
+        return updated != null ? updated : 0;
+    }
+}
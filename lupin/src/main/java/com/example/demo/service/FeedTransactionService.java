@@ -4,6 +4,7 @@ import com.example.demo.domain.entity.Feed;
 import com.example.demo.domain.entity.FeedImage;
 import com.example.demo.domain.entity.User;
 import com.example.demo.domain.enums.ImageType;
+import com.example.demo.domain.enums.WorkoutActivity;
 import com.example.demo.exception.BusinessException;
 import com.example.demo.exception.ErrorCode;
 import com.example.demo.repository.FeedRepository;
@@ -56,6 +57,7 @@ public class FeedTransactionService {
                 .content(content)
                 .points((long) workoutResult.score())
                 .calories(workoutResult.calories())
+                .scoreRevision(WorkoutActivity.TABLE_REVISION)
                 .build();
 
         Feed savedFeed = feedRepository.save(feed);
@@ -82,7 +84,7 @@ public class FeedTransactionService {
                            Optional<LocalDateTime> startTimeOpt, Optional<LocalDateTime> endTimeOpt,
                            boolean imagesChanged) {
 
-        Feed feed = feedRepository.findByIdWithWriter(feedId)
+        Feed feed = feedRepository.findByIdWithWriterForUpdate(feedId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.FEED_NOT_FOUND));
         feed.validateOwner(user);
 
@@ -127,18 +129,18 @@ public class FeedTransactionService {
                 if (workoutResult.valid()) {
                     // 조건 충족: 점수/칼로리 업데이트
                     log.info(">>> [Score Update] Valid workout. Score: {}, Calories: {}", workoutResult.score(), workoutResult.calories());
-                    feed.updateScore((long) workoutResult.score(), workoutResult.calories());
+                    feed.rescore((long) workoutResult.score(), workoutResult.calories(), WorkoutActivity.TABLE_REVISION);
                     pointService.adjustFeedPoints(user, oldPoints, workoutResult.score());
                 } else {
                     // 조건 미충족 (시간 역전, 오차 범위 초과 등): 0점 처리 (데이터는 저장됨)
                     log.warn(">>> [Score Reset] Invalid range/order. Setting score to 0.");
-                    feed.updateScore(0L, 0);
+                    feed.rescore(0L, 0, WorkoutActivity.TABLE_REVISION);
                     pointService.adjustFeedPoints(user, oldPoints, 0L);
                 }
             } else {
                 // 시간 정보 부족 (하나라도 null): 0점 처리 (데이터는 null인 상태로 저장됨)
                 log.warn(">>> [Score Reset] Missing time info. Start: {}, End: {}", resolvedStartTime, resolvedEndTime);
-                feed.updateScore(0L, 0);
+                feed.rescore(0L, 0, WorkoutActivity.TABLE_REVISION);
                 pointService.adjustFeedPoints(user, oldPoints, 0L);
             }
         } else {
@@ -0,0 +1,113 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.StoredImage;
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.repository.StoredImageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 이미지 중복 제거 서비스 (원본 내용 해시 → 저장 키, 참조 수)
+ *
+ * - 같은 원본을 같은 용도로 다시 올리면 acquire가 기존 키를 돌려주고 참조 수를 올린다.
+ * - 삭제 요청은 release로 참조 수를 내리고, 마지막 참조일 때만 객체를 지워도 된다고 알려준다.
+ * - 인덱스에 없는 키(도입 전 업로드, 등록 경합에서 진 업로드)는 예전처럼 바로 지운다.
+ * - 인덱스는 최적화일 뿐이므로 조회/등록 실패는 업로드를 막지 않고, 해제 실패 시에는 객체를 남긴다.
+ *   (남은 피드 이미지는 S3OrphanImageCleanupScheduler가 정리)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageDedupService {
+
+    private final StoredImageRepository storedImageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final FileStorage fileStorage;
+
+    /**
+     * 같은 내용의 저장된 이미지가 있으면 참조 수를 올리고 그 키를 반환
+     */
+    public Optional<String> acquire(String contentHash, String prefix) {
+        try {
+            return transactionTemplate.execute(status -> {
+                if (storedImageRepository.incrementRefCount(contentHash, normalize(prefix), LocalDateTime.now()) == 0) {
+                    return Optional.<String>empty();
+                }
+                return storedImageRepository.findByContentHashAndPrefix(contentHash, normalize(prefix))
+                        .map(StoredImage::getS3Key);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Image dedup lookup failed, uploading as new image: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 새로 올린 이미지 등록 (참조 수 1)
+     * 같은 내용이 동시에 올라와 먼저 등록된 것이 있으면 이 키는 인덱스 밖에 두고 예전처럼 관리한다.
+     */
+    public void register(String contentHash, String prefix, String s3Key) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            storedImageRepository.save(StoredImage.builder()
+                    .contentHash(contentHash)
+                    .prefix(normalize(prefix))
+                    .s3Key(s3Key)
+                    .refCount(1)
+                    .lastReferencedAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Image already registered by concurrent upload, keeping {} unindexed", s3Key);
+        } catch (DataAccessException e) {
+            log.warn("Image dedup register failed: {} - {}", s3Key, e.getMessage());
+        }
+    }
+
+    /**
+     * 참조 하나 해제
+     *
+     * @return 객체를 지워도 되면 true (마지막 참조였거나 인덱스에 없는 키)
+     */
+    public boolean release(String keyOrUrl) {
+        String s3Key = fileStorage.resolvePath(keyOrUrl);
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                storedImageRepository.decrementRefCount(s3Key);
+                if (storedImageRepository.deleteIfUnreferenced(s3Key) > 0) {
+                    return true;
+                }
+                return !storedImageRepository.existsByS3Key(s3Key);
+            }));
+        } catch (DataAccessException e) {
+            log.warn("Image dedup release failed, keeping object: {} - {}", s3Key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 고아 객체 정리 전 확인 - cutoff 이후 업로드가 받아 간 키는 아직 피드에 연결 중일 수 있으므로 남긴다.
+     *
+     * @return 객체를 지워도 되면 true (인덱스 행도 함께 삭제됨)
+     */
+    public boolean forgetIfIdle(String s3Key, LocalDateTime cutoff) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    storedImageRepository.deleteIfIdleSince(s3Key, cutoff) > 0
+                            || !storedImageRepository.existsByS3Key(s3Key)));
+        } catch (DataAccessException e) {
+            log.warn("Image dedup check failed, keeping object: {} - {}", s3Key, e.getMessage());
+            return false;
+        }
+    }
+
+    private String normalize(String prefix) {
+        return prefix != null ? prefix : "";
+    }
+}
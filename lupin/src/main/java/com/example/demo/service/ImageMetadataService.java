@@ -1,62 +1,117 @@
 package com.example.demo.service;
 
 import com.drew.imaging.ImageMetadataReader;
+import com.drew.imaging.jpeg.JpegMetadataReader;
 import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifReader;
 import com.drew.metadata.exif.ExifSubIFDDirectory;
+import com.example.demo.domain.entity.ImageMetadata;
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.repository.ImageMetadataRepository;
 import com.example.demo.util.S3UrlUtils;
-import io.awspring.cloud.s3.S3Template;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Date;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 이미지 EXIF 촬영 시각 추출/조회
+ *
+ * - 업로드 시 원본 앞부분(HEADER_BYTES)만 읽어 추출한다. JPEG은 APP1(EXIF) 세그먼트만 보고 이미지 데이터 전에 멈춘다.
+ * - 결과는 저장 키 기준으로 image_metadata에 남기고(촬영 시각이 없어도 남김), Redis에는 24시간 임시 보관한다.
+ * - 조회는 Redis → DB 순서이고, 둘 다 없는 예전 이미지만 저장소에서 앞부분을 Range로 받아 추출한 뒤 DB에 남긴다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ImageMetadataService {
 
-    private final S3Template s3Template;
-    private final StringRedisTemplate redisTemplate; // Redis 추가
+    // EXIF(APP1)는 최대 64KB이고 파일 맨 앞에 있으므로 여유를 두고 128KB만 읽는다
+    private static final int HEADER_BYTES = 128 * 1024;
 
-    @Value("${spring.cloud.aws.s3.bucket}")
-    private String bucket;
+    private final FileStorage fileStorage;
+    private final StringRedisTemplate redisTemplate; // Redis 추가
+    private final ImageMetadataRepository imageMetadataRepository;
 
     /**
-     * 바이트 배열에서 EXIF 추출 후 Redis에 임시 저장 (업로드 시 호출)
+     * 바이트 배열에서 EXIF 추출 후 저장 (업로드 시 호출)
      */
     public Optional<LocalDateTime> extractAndCache(byte[] imageBytes, String fileName) {
+        byte[] header = imageBytes.length > HEADER_BYTES ? Arrays.copyOf(imageBytes, HEADER_BYTES) : imageBytes;
+        return cache(extractFromHeader(header), fileName);
+    }
+
+    /**
+     * 파일에서 EXIF 추출 후 저장 (스트리밍 업로드 시 호출 - 앞부분만 읽음)
+     */
+    public Optional<LocalDateTime> extractAndCache(Path imageFile, String fileName) {
+        byte[] header;
+        try (InputStream inputStream = Files.newInputStream(imageFile)) {
+            header = inputStream.readNBytes(HEADER_BYTES);
+        } catch (Exception e) {
+            log.warn("Failed to extract EXIF for caching: {}", e.getMessage());
+            return Optional.empty();
+        }
+        return cache(extractFromHeader(header), fileName);
+    }
+
+    private Optional<LocalDateTime> cache(Optional<LocalDateTime> result, String fileName) {
+        persist(fileStorage.resolvePath(fileName), result);
         try {
-            Optional<LocalDateTime> result = extractFromStream(new ByteArrayInputStream(imageBytes));
-            
             if (result.isPresent()) {
                 String cacheKey = fileName.contains("/") ? fileName.substring(fileName.lastIndexOf('/') + 1) : fileName;
                 // [임시 저장] Redis에 24시간 동안 보관 (작성 취소하면 자동 만료됨)
                 redisTemplate.opsForValue().set("img:meta:" + cacheKey, result.get().toString(), 24, TimeUnit.HOURS);
                 log.info("EXIF saved to Redis (Temp) for {}: {}", cacheKey, result.get());
             }
-            
+
             return result;
         } catch (Exception e) {
             log.warn("Failed to extract EXIF for caching: {}", e.getMessage());
-            return Optional.empty();
+            return result;
+        }
+    }
+
+    // 같은 키가 이미 있으면(중복 업로드 재사용, 동시 조회) 그대로 둔다
+    private void persist(String s3Key, Optional<LocalDateTime> capturedAt) {
+        try {
+            if (imageMetadataRepository.existsByS3Key(s3Key)) {
+                return;
+            }
+            imageMetadataRepository.save(ImageMetadata.builder()
+                    .s3Key(s3Key)
+                    .capturedAt(capturedAt.orElse(null))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Image metadata already saved: {}", s3Key);
+        } catch (DataAccessException e) {
+            log.warn("Failed to save image metadata: {} - {}", s3Key, e.getMessage());
         }
     }
 
     /**
-     * InputStream에서 촬영 시간 추출 (내부 사용)
+     * 파일 앞부분에서 촬영 시간 추출 (내부 사용)
      */
-    private Optional<LocalDateTime> extractFromStream(InputStream inputStream) {
+    private Optional<LocalDateTime> extractFromHeader(byte[] header) {
         try {
-            Metadata metadata = ImageMetadataReader.readMetadata(inputStream);
+            Metadata metadata = isJpeg(header)
+                    ? JpegMetadataReader.readMetadata(new ByteArrayInputStream(header), List.of(new ExifReader()))
+                    : ImageMetadataReader.readMetadata(new ByteArrayInputStream(header));
             ExifSubIFDDirectory directory = metadata.getFirstDirectoryOfType(ExifSubIFDDirectory.class);
 
             if (directory != null) {
@@ -69,33 +124,46 @@ public class ImageMetadataService {
             }
             return Optional.empty();
         } catch (Exception e) {
-            log.warn("Failed to extract EXIF from stream: {}", e.getMessage());
+            log.warn("Failed to extract EXIF from header: {}", e.getMessage());
             return Optional.empty();
         }
     }
 
+    private boolean isJpeg(byte[] header) {
+        return header.length >= 2 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8;
+    }
+
     /**
-     * 이미지 촬영 시간 조회 (피드 저장 시 호출 - Redis 우선 확인)
+     * 이미지 촬영 시간 조회 (피드 저장 시 호출 - Redis, DB 순서로 확인)
      */
     public Optional<LocalDateTime> extractPhotoDateTime(String s3KeyOrUrl) {
-        String s3Key = S3UrlUtils.extractFilename(s3KeyOrUrl);
+        String cacheKey = S3UrlUtils.extractFilename(s3KeyOrUrl);
 
         // 1. Redis(임시 저장소) 확인
-        String cachedTime = redisTemplate.opsForValue().get("img:meta:" + s3Key);
+        String cachedTime = redisTemplate.opsForValue().get("img:meta:" + cacheKey);
         if (cachedTime != null) {
-            log.info("EXIF Redis hit for {}: {}", s3Key, cachedTime);
+            log.info("EXIF Redis hit for {}: {}", cacheKey, cachedTime);
             // 저장 완료 후에는 Redis에서 지워도 되지만, 24시간 뒤 자동 삭제되니 둬도 무방함
             return Optional.of(LocalDateTime.parse(cachedTime));
         }
 
-        // 2. Redis 미스 - S3에서 다운로드하여 추출 (WebP 변환된 경우 실패 확률 높음)
-        log.info("EXIF cache miss, downloading from S3: {}", s3Key);
+        // 2. 업로드 시 남긴 기록 확인
+        String s3Key = fileStorage.resolvePath(s3KeyOrUrl);
         try {
-            var s3Resource = s3Template.download(bucket, s3Key);
-
-            try (InputStream inputStream = s3Resource.getInputStream()) {
-                return extractFromStream(inputStream);
+            Optional<ImageMetadata> saved = imageMetadataRepository.findByS3Key(s3Key);
+            if (saved.isPresent()) {
+                return Optional.ofNullable(saved.get().getCapturedAt());
             }
+        } catch (DataAccessException e) {
+            log.warn("Failed to read image metadata: {} - {}", s3Key, e.getMessage());
+        }
+
+        // 3. 기록 이전 이미지 - 저장소에서 앞부분만 받아 추출하고 기록
+        log.info("EXIF cache miss, reading header from storage: {}", s3Key);
+        try {
+            Optional<LocalDateTime> result = extractFromHeader(fileStorage.readHead(s3Key, HEADER_BYTES));
+            persist(s3Key, result);
+            return result;
         } catch (Exception e) {
             log.error("Failed to extract metadata from image: {}", s3KeyOrUrl, e);
             return Optional.empty();
@@ -0,0 +1,137 @@
+package com.example.demo.service;
+
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 이미지 참조 조회 서비스 (고아 이미지 정리용)
+ *
+ * - 이미지를 참조하는 모든 컬럼(피드 이미지, 피드 썸네일, 프로필, 알림의 프로필 사본, 경매 상품)을
+ *   id 순으로 나눠 읽으며 블룸 필터에 넣는다. (키/URL 형식 모두 저장 키로 바꿔서 넣음)
+ * - 썸네일/추가 크기({prefix}/{크기}/{파일})는 원본 키({prefix}/{파일})로 바꿔서 다룬다.
+ * - 필터에 없으면 확실히 참조되지 않은 것이고, 삭제 직전에 findReferenced로 한 번 더 정확히 확인한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageReferenceService {
+
+    private static final Set<String> RENDITION_PREFIXES = Set.of("feed", "profiles");
+    private static final int PAGE_SIZE = 5000;
+
+    /**
+     * 이미지를 참조하는 테이블/컬럼 (id는 모두 BIGINT 자동 증가 키)
+     */
+    private static final List<Source> SOURCES = List.of(
+            new Source("feed_images", "s3_key"),
+            new Source("feeds", "thumbnail_url"),
+            new Source("users", "avatar"),
+            new Source("notifications", "actor_profile_image"),
+            new Source("auction_items", "item_image")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FileStorage fileStorage;
+
+    /**
+     * 모든 참조를 담은 블룸 필터 생성 (메모리는 참조 수 x 약 1.2바이트, 1% 기준)
+     */
+    public BloomFilter buildReferenceFilter(double fpp, long seed) {
+        long expected = 0;
+        for (Source source : SOURCES) {
+            Long count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + source.table() + " WHERE " + source.column() + " IS NOT NULL", Long.class);
+            expected += count != null ? count : 0;
+        }
+
+        BloomFilter filter = BloomFilter.create(expected, fpp, seed);
+        long inserted = 0;
+        for (Source source : SOURCES) {
+            inserted += stream(source, value -> filter.put(toKey(value)));
+        }
+        log.info("Image reference filter built: {} references, {} KB", inserted, filter.sizeInBytes() / 1024);
+        return filter;
+    }
+
+    /**
+     * 주어진 저장 키 중 실제로 참조 중인 것 (키 형식과 공개 URL 형식 모두 확인)
+     */
+    public Set<String> findReferenced(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<String> values = new ArrayList<>(keys.size() * 2);
+        for (String key : keys) {
+            values.add(key);
+            values.add(fileStorage.getPublicUrl(key));
+        }
+        String placeholders = String.join(",", Collections.nCopies(values.size(), "?"));
+
+        Set<String> referenced = new HashSet<>();
+        for (Source source : SOURCES) {
+            jdbcTemplate.query(
+                    "SELECT " + source.column() + " FROM " + source.table()
+                            + " WHERE " + source.column() + " IN (" + placeholders + ")",
+                    rs -> {
+                        referenced.add(toKey(rs.getString(1)));
+                    },
+                    values.toArray());
+        }
+        return referenced;
+    }
+
+    // id 순으로 PAGE_SIZE씩 읽는다 (큰 결과를 한 번에 올리지 않음)
+    private long stream(Source source, Consumer<String> consumer) {
+        String sql = "SELECT id, " + source.column() + " FROM " + source.table()
+                + " WHERE id > ? AND " + source.column() + " IS NOT NULL ORDER BY id LIMIT " + PAGE_SIZE;
+        long lastId = 0;
+        long total = 0;
+        while (true) {
+            long[] last = {lastId};
+            int[] rows = {0};
+            jdbcTemplate.query(sql, rs -> {
+                last[0] = rs.getLong(1);
+                rows[0]++;
+                consumer.accept(rs.getString(2));
+            }, lastId);
+            total += rows[0];
+            if (rows[0] < PAGE_SIZE) {
+                return total;
+            }
+            lastId = last[0];
+        }
+    }
+
+    /**
+     * 저장 키를 원본 키로 (feed/thumb/a.webp → feed/a.webp, 원본/그 외 키는 그대로)
+     */
+    public static String originalKey(String key) {
+        int first = key.indexOf('/');
+        int last = key.lastIndexOf('/');
+        if (first < 0 || first == last || !RENDITION_PREFIXES.contains(key.substring(0, first))) {
+            return key;
+        }
+        return key.substring(0, first) + key.substring(last);
+    }
+
+    // 참조 값(키 또는 URL)을 원본 키로
+    private String toKey(String value) {
+        return originalKey(fileStorage.resolvePath(value.strip()));
+    }
+
+    private record Source(String table, String column) {
+    }
+}
@@ -1,24 +1,36 @@
 package com.example.demo.service;
 
+import com.example.demo.component.ImagePipeline;
 import com.example.demo.component.ImageProcessor;
 import com.example.demo.config.ImagePolicyProperties;
 import com.example.demo.infrastructure.FileStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationContext;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 이미지 서비스 (Orchestrator)
  * - ImageProcessor와 FileStorage를 조율하여 이미지 업로드 흐름 관리
  * - 비즈니스 정책은 ImagePolicyProperties에서 주입 (12-Factor App)
+ * - 여러 파일은 ImagePipeline에서 동시에 처리 (변환은 CPU 스레드, 업로드는 I/O 스레드)
+ * - 같은 원본(SHA-256)을 같은 용도로 다시 올리면 변환/업로드 없이 기존 URL을 돌려준다. (ImageDedupService 참조 수)
  */
 @Slf4j
 @Service
@@ -32,7 +44,8 @@ public class ImageService {
     private final ImageProcessor imageProcessor;
     private final ImageMetadataService imageMetadataService;
     private final ImagePolicyProperties imagePolicy;
-    private final ApplicationContext applicationContext;
+    private final ImagePipeline imagePipeline;
+    private final ImageDedupService imageDedupService;
 
     public String uploadImage(MultipartFile file) throws IOException {
         return uploadImage(file, null);
@@ -42,85 +55,247 @@ public class ImageService {
      * 이미지 업로드 (메인 흐름)
      */
     public String uploadImage(MultipartFile file, String prefix) throws IOException {
-        byte[] originalBytes = file.getBytes();
-        String uuid = UUID.randomUUID().toString();
+        return uploadImages(List.of(file), prefix).get(0);
+    }
 
-        String fileName = buildFileName(prefix, uuid, EXTENSION_WEBP);
+    public List<String> uploadImages(List<MultipartFile> files) throws IOException {
+        return uploadImages(files, null);
+    }
 
-        if ("feed".equals(prefix)) {
-            imageMetadataService.extractAndCache(originalBytes, fileName);
+    /**
+     * 여러 이미지 업로드 - 파일마다 메모리를 예약한 뒤 변환/업로드를 동시에 진행하고, 입력 순서대로 URL 반환
+     * 업로드 파일은 바이트 배열로 읽지 않고 임시 파일로 옮긴 뒤 파일에서 읽는다. (처리가 끝나면 삭제)
+     * 옮기면서 계산한 해시로 이미 저장된 이미지를 찾으면 그 URL을 그대로 쓴다.
+     * 한 장이라도 실패하면 이미 넘긴 파일은 끝나는 대로 되돌린다. (호출한 쪽이 URL을 받지 못해 남는 객체/참조 수 방지)
+     */
+    public List<String> uploadImages(List<MultipartFile> files, String prefix) throws IOException {
+        List<CompletableFuture<String>> futures = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                ImagePipeline.Reservation reservation = imagePipeline.reserve(file.getSize());
+                Path spooled = null;
+                try {
+                    spooled = Files.createTempFile("image-upload-", ".tmp");
+                    Path source = spooled;
+                    String contentHash = spool(file, source);
+                    futures.add(submit(source, contentHash, file.getOriginalFilename(), prefix)
+                            .whenComplete((url, e) -> {
+                                reservation.close();
+                                deleteQuietly(source);
+                            }));
+                } catch (IOException | RuntimeException e) {
+                    reservation.close();
+                    deleteQuietly(spooled);
+                    throw e;
+                }
+            }
+            return imagePipeline.awaitAll(futures);
+        } catch (IOException | RuntimeException e) {
+            // 끝난 작업은 바로, 아직 도는 작업(시간 초과)은 끝나는 대로 참조 수를 내리고 객체를 지운다
+            futures.forEach(future -> future.thenAccept(this::discardUploaded));
+            throw e;
         }
+    }
 
-        var original = imagePolicy.original();
-        byte[] processedBytes = imageProcessor.convertToWebp(
-                originalBytes, original.maxWidth(), original.maxHeight(), original.quality());
-        log.info("Image converted: {} -> {} bytes", file.getOriginalFilename(), processedBytes.length);
-
-        fileStorage.upload(fileName, processedBytes, CONTENT_TYPE_WEBP);
+    /**
+     * 이미 로컬 파일로 받아 둔 원본 변환 (저장소 직접 업로드 변환 워커용)
+     * 업로드와 같은 경로(중복 제거, 모든 크기 생성, EXIF 캐시)를 타며, 파일은 호출한 쪽에서 지운다.
+     *
+     * @return 변환된 원본 축소본의 공개 URL
+     */
+    public String importImage(Path source, String prefix) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String contentHash = HexFormat.of().formatHex(digest.digest());
 
-        if ("feed".equals(prefix) || "profiles".equals(prefix)) {
-            applicationContext.getBean(ImageService.class).generateThumbnailAsync(originalBytes, prefix, uuid);
+        try (ImagePipeline.Reservation ignored = imagePipeline.reserve(Files.size(source))) {
+            return imagePipeline.awaitAll(List.of(
+                    submit(source, contentHash, source.getFileName().toString(), prefix))).get(0);
         }
+    }
 
-        return fileStorage.getPublicUrl(fileName);
+    // 같은 원본이 이미 있으면 재사용하고, 없으면 변환/업로드
+    private CompletableFuture<String> submit(Path source, String contentHash, String originalFilename, String prefix) {
+        Optional<String> existing = imageDedupService.acquire(contentHash, prefix);
+        return existing.isPresent()
+                ? reuse(source, existing.get(), prefix)
+                : process(source, contentHash, originalFilename, prefix);
     }
 
-    @Async
-    public void generateThumbnailAsync(byte[] originalBytes, String prefix, String uuid) {
-        try {
-            byte[] thumbBytes;
+    /**
+     * 원본을 한 번만 디코딩하고, 모든 크기(원본 축소본/썸네일/추가 크기)를 CPU 스레드에서 병렬로 인코딩한다.
+     * 원본 축소본 업로드가 끝나고 모든 인코딩이 끝나면 완료 (그 전까지 메모리 예약과 임시 파일 유지)
+     * 썸네일/추가 크기 업로드는 기다리지 않고, 실패하면 로그만 남긴다.
+     */
+    private CompletableFuture<String> process(Path source, String contentHash, String originalFilename, String prefix) {
+        String uuid = UUID.randomUUID().toString();
+        String fileName = buildFileName(prefix, uuid, EXTENSION_WEBP);
+        List<ImageProcessor.Rendition> renditions = renditionsFor(prefix, uuid, fileName);
 
+        return imagePipeline.supplyCpu(() -> {
             if ("feed".equals(prefix)) {
-                var feedThumb = imagePolicy.feedThumbnail();
-                thumbBytes = imageProcessor.createFeedThumbnail(
-                        originalBytes, feedThumb.width(), feedThumb.height(), feedThumb.quality());
-                log.info("Feed thumbnail created async: {}x{}", feedThumb.width(), feedThumb.height());
-            } else {
-                var profileThumb = imagePolicy.profileThumbnail();
-                thumbBytes = imageProcessor.createSquareThumbnail(
-                        originalBytes, profileThumb.width(), profileThumb.quality());
-                log.info("Profile thumbnail created async: {}x{}", profileThumb.width(), profileThumb.width());
+                imageMetadataService.extractAndCache(source, fileName);
+            }
+            return imageProcessor.decode(source, renditions);
+        }).thenCompose(decoded -> {
+            List<CompletableFuture<byte[]>> encoded = new ArrayList<>(renditions.size());
+            for (ImageProcessor.Rendition rendition : renditions) {
+                encoded.add(imagePipeline.supplyCpu(() -> imageProcessor.encode(decoded, rendition)));
             }
 
-            String thumbFileName = prefix + "/thumb/" + uuid + EXTENSION_WEBP;
-            fileStorage.upload(thumbFileName, thumbBytes, CONTENT_TYPE_WEBP);
-            log.info("Thumbnail uploaded async: {}", thumbFileName);
+            for (int i = 1; i < renditions.size(); i++) {
+                ImageProcessor.Rendition rendition = renditions.get(i);
+                encoded.get(i)
+                        .thenCompose(bytes -> imagePipeline.supplyIo(() -> {
+                            fileStorage.upload(rendition.key(), bytes, CONTENT_TYPE_WEBP);
+                            return rendition.key();
+                        }))
+                        .whenComplete((key, e) -> {
+                            if (e != null) {
+                                log.error("Rendition upload failed: {}", rendition.key(), e);
+                            } else {
+                                log.info("Rendition uploaded: {}", key);
+                            }
+                        });
+            }
 
-        } catch (Exception e) {
-            log.error("Async thumbnail generation failed: prefix={}, uuid={}", prefix, uuid, e);
-        }
+            CompletableFuture<String> mainUpload;
+            if (decoded.image() == null && decoded.fallbackBytes() == null) {
+                // 디코딩할 수 없는 형식: 기존처럼 원본을 그대로 올리되, 임시 파일에서 스트리밍
+                mainUpload = imagePipeline.supplyIo(() -> {
+                    fileStorage.upload(fileName, source, CONTENT_TYPE_WEBP);
+                    imageDedupService.register(contentHash, prefix, fileName);
+                    return fileStorage.getPublicUrl(fileName);
+                });
+            } else {
+                mainUpload = encoded.get(0).thenCompose(bytes -> {
+                    log.info("Image converted: {} -> {} bytes", originalFilename, bytes.length);
+                    return imagePipeline.supplyIo(() -> {
+                        fileStorage.upload(fileName, bytes, CONTENT_TYPE_WEBP);
+                        imageDedupService.register(contentHash, prefix, fileName);
+                        return fileStorage.getPublicUrl(fileName);
+                    });
+                });
+            }
+            CompletableFuture<Void> allEncoded = CompletableFuture.allOf(encoded.toArray(CompletableFuture[]::new))
+                    .exceptionally(e -> null);
+            return mainUpload.thenCombine(allEncoded, (url, ignored) -> url);
+        });
     }
 
-    public List<String> uploadImages(List<MultipartFile> files) throws IOException {
-        return uploadImages(files, null);
+    /**
+     * 이미 저장된 같은 이미지 재사용 - 디코딩/인코딩/업로드 없이 기존 URL 반환
+     * 피드 이미지는 촬영 시각 검증이 키 기준 EXIF 캐시를 보므로 기존 키로 다시 캐시해 둔다.
+     */
+    private CompletableFuture<String> reuse(Path source, String s3Key, String prefix) {
+        log.info("Duplicate image reused: {}", s3Key);
+        if (!"feed".equals(prefix)) {
+            return CompletableFuture.completedFuture(fileStorage.getPublicUrl(s3Key));
+        }
+        return imagePipeline.supplyCpu(() -> {
+            imageMetadataService.extractAndCache(source, s3Key);
+            return fileStorage.getPublicUrl(s3Key);
+        });
     }
 
-    public List<String> uploadImages(List<MultipartFile> files, String prefix) throws IOException {
-        List<String> urls = new ArrayList<>();
-        for (MultipartFile file : files) {
-            urls.add(uploadImage(file, prefix));
+    /**
+     * 만들 크기 목록 (첫 번째가 원본 축소본)
+     */
+    private List<ImageProcessor.Rendition> renditionsFor(String prefix, String uuid, String fileName) {
+        var original = imagePolicy.original();
+        List<ImageProcessor.Rendition> renditions = new ArrayList<>();
+        renditions.add(ImageProcessor.Rendition.bounded(
+                fileName, original.maxWidth(), original.maxHeight(), original.quality()));
+
+        if (!"feed".equals(prefix) && !"profiles".equals(prefix)) {
+            return renditions;
         }
-        return urls;
+
+        String thumbFileName = prefix + "/thumb/" + uuid + EXTENSION_WEBP;
+        if ("feed".equals(prefix)) {
+            var feedThumb = imagePolicy.feedThumbnail();
+            renditions.add(ImageProcessor.Rendition.cropped(
+                    thumbFileName, feedThumb.width(), feedThumb.height(), feedThumb.quality()));
+        } else {
+            var profileThumb = imagePolicy.profileThumbnail();
+            renditions.add(ImageProcessor.Rendition.cropped(
+                    thumbFileName, profileThumb.width(), profileThumb.width(), profileThumb.quality()));
+        }
+
+        for (ImagePolicyProperties.RenditionPolicy policy : imagePolicy.additionalRenditions()) {
+            renditions.add(ImageProcessor.Rendition.bounded(
+                    prefix + "/" + policy.name() + "/" + uuid + EXTENSION_WEBP,
+                    policy.maxWidth(), policy.maxHeight(), policy.quality()));
+        }
+        return renditions;
     }
 
     /**
      * 이미지 삭제 (FileStorage에 위임)
+     * 같은 이미지를 다른 업로드가 아직 참조하고 있으면 참조 수만 내리고 객체는 남긴다.
      */
     public void deleteImage(String imageIdOrUrl) {
+        if (!imageDedupService.release(imageIdOrUrl)) {
+            log.debug("Image still referenced, keeping object: {}", imageIdOrUrl);
+            return;
+        }
         fileStorage.delete(imageIdOrUrl);
     }
 
     /**
-     * [추가] 여러 이미지 일괄 삭제
+     * [추가] 여러 이미지 일괄 삭제 (FileStorage 다중 삭제)
      */
     public void deleteImages(List<String> imageIdsOrUrls) {
         if (imageIdsOrUrls == null || imageIdsOrUrls.isEmpty()) {
             return;
         }
-        for (String url : imageIdsOrUrls) {
+        // 참조가 남지 않은 것만 모아 한 번에 삭제
+        List<String> deletable = imageIdsOrUrls.stream()
+                .filter(imageDedupService::release)
+                .toList();
+        if (!deletable.isEmpty()) {
+            fileStorage.deleteAll(deletable);
+        }
+        log.info("Deleted {} images ({} still referenced)", deletable.size(), imageIdsOrUrls.size() - deletable.size());
+    }
+
+    private void discardUploaded(String url) {
+        try {
             deleteImage(url);
+            log.info("Discarded image of failed batch upload: {}", url);
+        } catch (Exception e) {
+            log.warn("Failed to discard image of failed batch upload: {}", url, e);
+        }
+    }
+
+    // 업로드 파일을 임시 파일로 복사하면서 원본 SHA-256을 계산한다 (해시를 위해 한 번은 읽어야 하므로 이동 대신 스트림 복사)
+    private String spool(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Temp image file delete failed: {}", path, e);
         }
-        log.info("Deleted {} images", imageIdsOrUrls.size());
     }
 
     private String buildFileName(String prefix, String uuid, String extension) {
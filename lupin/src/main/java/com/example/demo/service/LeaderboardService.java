@@ -0,0 +1,238 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.User;
+import com.example.demo.dto.LeaderboardCard;
+import com.example.demo.dto.response.UserRankingResponse;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.RankingTree;
+import com.example.demo.util.RedisKeyUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 랭킹 화면 읽기 모델 (Redis)
+ * - 점수/등수는 인메모리 RankingEngine, 사용자 정보는 카드 Hash에 비정규화해 두고
+ *   Top N / 내 주변 등수를 Redis 호출 한 번(HMGET)으로 응답한다. (DB 조회 없음)
+ * - 엔진이 아직 적재되지 않았으면 Lua Script 한 번으로 (ZSet 범위 조회 + 카드 조회) 응답한다.
+ * - 카드는 프로필/아바타 변경 커밋 후 갱신하고, 카드가 없는 사용자만 DB에서 채워 넣는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private static final String MODE_TOP = "top";
+    private static final String MODE_AROUND = "around";
+
+    /**
+     * KEYS[1] = 월간 랭킹 ZSet, KEYS[2] = 카드 Hash
+     * ARGV[1] = 조회 방식 (top | around), ARGV[2] = top이면 개수, around면 사용자 ID
+     * 반환: { 시작 등수 인덱스, (사용자 ID, 점수, 카드 JSON) ... } - 카드가 없으면 빈 문자열
+     */
+    private static final String VIEW_SCRIPT =
+            "local first, last; " +
+            "if ARGV[1] == 'around' then " +
+            "   local r = redis.call('zrevrank', KEYS[1], ARGV[2]); " +
+            "   if not r then return {}; end; " +
+            "   first = math.max(0, r - 1); last = r + 1; " +
+            "else " +
+            "   first = 0; last = tonumber(ARGV[2]) - 1; " +
+            "end; " +
+            "local range = redis.call('zrevrange', KEYS[1], first, last, 'WITHSCORES'); " +
+            "if #range == 0 then return {}; end; " +
+            "local ids = {}; " +
+            "for i = 1, #range, 2 do ids[#ids + 1] = range[i]; end; " +
+            "local cards = redis.call('hmget', KEYS[2], unpack(ids)); " +
+            "local out = { tostring(first) }; " +
+            "for i = 1, #ids do " +
+            "   out[#out + 1] = ids[i]; out[#out + 1] = range[i * 2]; out[#out + 1] = cards[i] or ''; " +
+            "end; " +
+            "return out;";
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final DefaultRedisScript<List<String>> VIEW = new DefaultRedisScript(VIEW_SCRIPT, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final RankingEngine rankingEngine;
+
+    /**
+     * 상위 N명 조회
+     */
+    public List<UserRankingResponse> getTop(YearMonth month, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (rankingEngine.isReady(month)) {
+            return hydrate(rankingEngine.top(limit));
+        }
+        return view(month, MODE_TOP, String.valueOf(limit));
+    }
+
+    /**
+     * 내 앞뒤 등수 조회 (랭킹에 없으면 빈 목록)
+     */
+    public List<UserRankingResponse> getAround(YearMonth month, Long userId) {
+        if (rankingEngine.isReady(month)) {
+            return hydrate(rankingEngine.neighbors(userId, 1));
+        }
+        return view(month, MODE_AROUND, String.valueOf(userId));
+    }
+
+    /**
+     * 사용자 카드 갱신 (프로필/아바타 변경 시, 현재 트랜잭션 커밋 후 반영)
+     */
+    public void refreshCard(User user) {
+        LeaderboardCard card = LeaderboardCard.from(user);
+        runAfterCommit(() -> {
+            try {
+                putCards(List.of(card));
+            } catch (Exception e) {
+                // 카드 갱신 실패 시 지워 두면 다음 조회에서 DB 기준으로 다시 채워진다
+                log.warn("랭킹 카드 갱신 실패: userId={}, {}", card.id(), e.getMessage());
+                evictCard(card.id());
+            }
+        });
+    }
+
+    /**
+     * 이미 구한 등수 구간(인메모리 엔진, 지난달 아카이브)에 카드만 HMGET 한 번으로 붙인다.
+     */
+    public List<UserRankingResponse> hydrate(List<RankingTree.Entry> entries) {
+        if (entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> fields = entries.stream().<Object>map(entry -> String.valueOf(entry.userId())).toList();
+        List<Object> cardJsons = redisTemplate.opsForHash().multiGet(RedisKeyUtils.rankingCards(), fields);
+
+        List<Long> userIds = new ArrayList<>();
+        List<Long> scores = new ArrayList<>();
+        List<String> cards = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            userIds.add(entries.get(i).userId());
+            scores.add(entries.get(i).score());
+            Object json = cardJsons != null && i < cardJsons.size() ? cardJsons.get(i) : null;
+            cards.add(json != null ? json.toString() : null);
+        }
+        return assemble(entries.get(0).rank(), userIds, scores, cards);
+    }
+
+    /**
+     * 엔진이 아직 적재되지 않았으면 Lua Script 한 번으로 (범위 조회 + 카드 조회) 응답한다.
+     */
+    private List<UserRankingResponse> view(YearMonth month, String mode, String arg) {
+        List<String> result = redisTemplate.execute(VIEW,
+                List.of(RedisKeyUtils.rankingKey(month.toString()), RedisKeyUtils.rankingCards()),
+                mode, arg);
+        if (result == null || result.size() < 4) {
+            return new ArrayList<>();
+        }
+
+        List<Long> userIds = new ArrayList<>();
+        List<Long> scores = new ArrayList<>();
+        List<String> cards = new ArrayList<>();
+        for (int i = 1; i + 2 < result.size(); i += 3) {
+            userIds.add(Long.parseLong(result.get(i)));
+            scores.add((long) Double.parseDouble(result.get(i + 1)));
+            cards.add(result.get(i + 2));
+        }
+        return assemble(Integer.parseInt(result.get(0)) + 1, userIds, scores, cards);
+    }
+
+    private List<UserRankingResponse> assemble(int firstRank, List<Long> userIds, List<Long> scores, List<String> cardJsons) {
+        Map<Long, LeaderboardCard> cards = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            LeaderboardCard card = parseCard(cardJsons.get(i));
+            if (card != null) {
+                cards.put(userIds.get(i), card);
+            } else {
+                missing.add(userIds.get(i));
+            }
+        }
+
+        // 카드가 없는 사용자만 DB에서 조회해 채워 둔다 (다음 조회부터는 Redis에서 끝남)
+        if (!missing.isEmpty()) {
+            Map<Long, LeaderboardCard> loaded = userRepository.findAllById(missing).stream()
+                    .map(LeaderboardCard::from)
+                    .collect(Collectors.toMap(LeaderboardCard::id, Function.identity()));
+            cards.putAll(loaded);
+            try {
+                putCards(loaded.values());
+            } catch (Exception e) {
+                log.warn("랭킹 카드 적재 실패: {}", e.getMessage());
+            }
+        }
+
+        List<UserRankingResponse> responses = new ArrayList<>();
+        int rank = firstRank;
+        for (int i = 0; i < userIds.size(); i++) {
+            LeaderboardCard card = cards.get(userIds.get(i));
+            if (card != null) {
+                // 포인트가 음수일 경우 0으로 표기
+                responses.add(card.toResponse(Math.max(0, scores.get(i)), rank));
+            }
+            rank++;
+        }
+        return responses;
+    }
+
+    private void putCards(Iterable<LeaderboardCard> cards) throws JsonProcessingException {
+        Map<String, String> fields = new HashMap<>();
+        for (LeaderboardCard card : cards) {
+            fields.put(String.valueOf(card.id()), objectMapper.writeValueAsString(card));
+        }
+        if (!fields.isEmpty()) {
+            redisTemplate.opsForHash().putAll(RedisKeyUtils.rankingCards(), fields);
+        }
+    }
+
+    private void evictCard(Long userId) {
+        try {
+            redisTemplate.opsForHash().delete(RedisKeyUtils.rankingCards(), String.valueOf(userId));
+        } catch (Exception e) {
+            log.warn("랭킹 카드 삭제 실패: userId={}, {}", userId, e.getMessage());
+        }
+    }
+
+    private LeaderboardCard parseCard(String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, LeaderboardCard.class);
+        } catch (JsonProcessingException e) {
+            log.warn("랭킹 카드 역직렬화 실패 - DB에서 다시 채웁니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.enums.PointType;
+import com.example.demo.repository.PointLogRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.RedisKeyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 관리자 대시보드 통계 (Redis에 쓰기 시점마다 누적)
+ * - 월간 활동 사용자: HyperLogLog (PFADD / PFCOUNT, 오차 약 0.81%)
+ * - 평균 포인트: 월간 랭킹 포인트(EARN + DEDUCT) 누적 합계 / 전체 사용자 수
+ * - 누적 통계 조회는 O(1)이고, 키가 없을 때와 매일 새벽에만 DB 기준으로 정확히 다시 계산한다.
+ *   증분은 이미 있는 키에만 반영한다. (배포/플러시/만료 직후 첫 증분이 일부만 담긴 키를 만들면 재계산이 일어나지 않음)
+ * - 전체 사용자 수는 가입/탈퇴가 바로 보이도록 캐시하지 않고 매번 COUNT한다. (PK 인덱스만 읽음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlatformStatisticsService {
+
+    private static final int CHUNK_SIZE = 5000;
+    private static final Duration STATS_TTL = Duration.ofDays(40);
+
+    /**
+     * KEYS[1] = 활동 사용자 HLL, KEYS[2] = 랭킹 포인트 합계
+     * ARGV[1] = 사용자 ID, ARGV[2] = 포인트, ARGV[3] = TTL(초), ARGV[4] = 1이면 랭킹 포인트 반영
+     * 키가 없으면 건드리지 않는다 (다음 조회 때 DB 기준으로 다시 만든다)
+     */
+    private static final DefaultRedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then " +
+            "  redis.call('pfadd', KEYS[1], ARGV[1]); " +
+            "  redis.call('expire', KEYS[1], ARGV[3]); " +
+            "end; " +
+            "if ARGV[4] == '1' and redis.call('exists', KEYS[2]) == 1 then " +
+            "  redis.call('incrby', KEYS[2], ARGV[2]); " +
+            "  redis.call('expire', KEYS[2], ARGV[3]); " +
+            "end; " +
+            "return 1;",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final PointLogRepository pointLogRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * 포인트 로그 1건을 통계에 반영한다. (원장 커밋 후 호출)
+     * 실패해도 원장에는 영향이 없고, 야간 재계산에서 보정된다.
+     */
+    public void recordPointLog(Long userId, long points, PointType type, YearMonth month) {
+        String activeKey = RedisKeyUtils.statsActiveUsers(month.toString());
+        String pointsKey = RedisKeyUtils.statsRankedPoints(month.toString());
+        boolean ranked = type == PointType.EARN || type == PointType.DEDUCT;
+
+        try {
+            redisTemplate.execute(RECORD_SCRIPT, List.of(activeKey, pointsKey), String.valueOf(userId),
+                    String.valueOf(points), String.valueOf(STATS_TTL.toSeconds()), ranked ? "1" : "0");
+        } catch (Exception e) {
+            log.warn("통계 누적 실패 (야간 재계산에서 보정): userId={}, {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 해당 월 활동 사용자 수 (근사값)
+     */
+    public long getActiveUsers(YearMonth month) {
+        String key = RedisKeyUtils.statsActiveUsers(month.toString());
+        if (Boolean.FALSE.equals(redisTemplate.hasKey(key))) {
+            recomputeActiveUsers(month);
+        }
+        Long count = redisTemplate.opsForHyperLogLog().size(key);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * 해당 월 사용자 1인당 평균 랭킹 포인트 (활동하지 않은 사용자도 0점으로 포함)
+     */
+    public long getAveragePoints(YearMonth month) {
+        String value = redisTemplate.opsForValue().get(RedisKeyUtils.statsRankedPoints(month.toString()));
+        long sum = value != null ? Long.parseLong(value) : recomputeRankedPoints(month);
+        long users = getTotalUsers();
+        return users > 0 ? Math.round((double) sum / users) : 0L;
+    }
+
+    /**
+     * 전체 사용자 수
+     */
+    public long getTotalUsers() {
+        return userRepository.count();
+    }
+
+    /**
+     * 해당 월 통계를 DB 기준으로 정확히 다시 계산한다. (야간 보정)
+     * 재계산 도중 들어온 증분 일부는 빠질 수 있으나 다음 재계산에서 다시 맞춰진다.
+     */
+    public void recompute(YearMonth month) {
+        long startedAt = System.currentTimeMillis();
+        long activeUsers = recomputeActiveUsers(month);
+        long rankedPoints = recomputeRankedPoints(month);
+        long totalUsers = getTotalUsers();
+        log.info("플랫폼 통계 재계산 완료: month={}, activeUsers={}, rankedPoints={}, totalUsers={}, elapsed={}ms",
+                month, activeUsers, rankedPoints, totalUsers, System.currentTimeMillis() - startedAt);
+    }
+
+    private long recomputeActiveUsers(YearMonth month) {
+        String key = RedisKeyUtils.statsActiveUsers(month.toString());
+        String tempKey = RedisKeyUtils.statsActiveUsersRebuild(month.toString(), UUID.randomUUID().toString());
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.atEndOfMonth().atTime(23, 59, 59);
+
+        long total = 0;
+        long afterUserId = 0L;
+        try {
+            while (true) {
+                List<Long> userIds = pointLogRepository.findActiveUserIdsAfter(
+                        start, end, afterUserId, PageRequest.of(0, CHUNK_SIZE));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                redisTemplate.opsForHyperLogLog().add(tempKey,
+                        userIds.stream().map(String::valueOf).toArray(String[]::new));
+                if (total == 0) {
+                    redisTemplate.expire(tempKey, STATS_TTL);
+                }
+                total += userIds.size();
+                afterUserId = userIds.get(userIds.size() - 1);
+                if (userIds.size() < CHUNK_SIZE) {
+                    break;
+                }
+            }
+            // 활동 사용자가 없는 달은 키를 만들지 않는다 (PFCOUNT는 없는 키를 0으로 센다)
+            if (total > 0) {
+                redisTemplate.rename(tempKey, key);
+            }
+        } catch (RuntimeException e) {
+            redisTemplate.delete(tempKey);
+            throw e;
+        }
+        return total;
+    }
+
+    private long recomputeRankedPoints(YearMonth month) {
+        Long sum = pointLogRepository.sumRankedPointsBetween(
+                month.atDay(1).atStartOfDay(), month.atEndOfMonth().atTime(23, 59, 59));
+        long value = sum != null ? sum : 0L;
+        redisTemplate.opsForValue().set(RedisKeyUtils.statsRankedPoints(month.toString()), String.valueOf(value), STATS_TTL);
+        return value;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.PointLog;
+import com.example.demo.domain.entity.User;
+import com.example.demo.domain.enums.PointType;
+import com.example.demo.repository.PointLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 포인트 원장 서비스
+ * - point_logs에 증감분을 append-only로 기록한다. (원장이 진실의 원천)
+ * - users.current_points는 커밋된 증감분을 사용자별로 합쳐 두었다가 한 번에 반영한다.
+ *   (사용자당 flush 1회에 UPDATE 1건, 행 잠금을 잡은 채 엔티티를 읽고 쓰지 않음)
+ *   User 엔티티의 current_points는 updatable = false라 엔티티 저장이 반영분을 덮어쓰지 않는다.
+ * - 반영 전 증감분은 메모리에만 있으므로, 시작 시와 스냅샷 갱신 후 원장 합계로 users.current_points를 맞춘다.
+ *   (최근 로그가 있는 사용자는 다른 노드가 아직 반영 중일 수 있어 건너뛰고, 조용해진 뒤 다음 실행에서 맞춘다)
+ * - 주기적으로 잔액 스냅샷을 접어 두어 잔액 조회가 전체 이력을 스캔하지 않게 한다.
+ * - 커밋된 로그는 대시보드 통계(활동 사용자 / 포인트 합계)에도 누적한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointLedgerService {
+
+    private static final int BATCH_SIZE = 500;
+
+    // 스냅샷은 이 시간보다 오래된 로그까지만 접는다 (늦게 커밋되는 작은 ID의 로그를 건너뛰지 않도록)
+    private static final long SNAPSHOT_GRACE_SECONDS = 60;
+
+    // 이 시간 안에 로그가 있는 사용자는 맞추지 않는다 (다른 노드의 flush 대기분과 겹치지 않도록)
+    private static final long RECONCILE_QUIET_MINUTES = 5;
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE users SET current_points = current_points + ? WHERE id = ?";
+
+    private static final String FOLD_SNAPSHOT_SQL = """
+            INSERT INTO point_balance_snapshots (user_id, balance, last_log_id, snapshot_at)
+            SELECT pl.user_id, SUM(pl.points), MAX(pl.id), ?
+            FROM point_logs pl
+            LEFT JOIN point_balance_snapshots s ON s.user_id = pl.user_id
+            WHERE pl.id > ? AND pl.id <= ?
+              AND pl.id > COALESCE(s.last_log_id, 0)
+            GROUP BY pl.user_id
+            ON DUPLICATE KEY UPDATE
+                balance = balance + VALUES(balance),
+                last_log_id = VALUES(last_log_id),
+                snapshot_at = VALUES(snapshot_at)
+            """;
+
+    // 스냅샷 잔액 + 이후 로그 합계와 다른 사용자만 원장 기준으로 덮어쓴다
+    private static final String RECONCILE_SQL = """
+            UPDATE users u
+            JOIN (
+                SELECT t.user_id, SUM(t.points) AS balance, MAX(t.created_at) AS last_at
+                FROM (
+                    SELECT s.user_id, s.balance AS points, NULL AS created_at
+                    FROM point_balance_snapshots s
+                    UNION ALL
+                    SELECT pl.user_id, pl.points, pl.created_at
+                    FROM point_logs pl
+                    LEFT JOIN point_balance_snapshots s ON s.user_id = pl.user_id
+                    WHERE pl.id > COALESCE(s.last_log_id, 0)
+                ) t
+                GROUP BY t.user_id
+            ) l ON l.user_id = u.id
+            SET u.current_points = l.balance
+            WHERE u.current_points <> l.balance
+              AND (l.last_at IS NULL OR l.last_at < ?)
+            """;
+
+    private final PointLogRepository pointLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlatformStatisticsService platformStatisticsService;
+
+    // 커밋됐지만 아직 users에 반영되지 않은 사용자별 증감분
+    private final Map<Long, Long> pendingDeltas = new ConcurrentHashMap<>();
+
+    /**
+     * 원장에 증감분을 기록한다. users 반영은 현재 트랜잭션 커밋 후 배치로 이루어진다.
+     * @param points 증가면 양수, 차감이면 음수
+     */
+    public PointLog append(User user, long points, PointType type) {
+        PointLog pointLog = pointLogRepository.save(PointLog.builder()
+                .user(user)
+                .points(points)
+                .type(type)
+                .build());
+
+        Long userId = user.getId();
+        YearMonth month = YearMonth.now();
+        runAfterCommit(() -> {
+            pendingDeltas.merge(userId, points, Long::sum);
+            platformStatisticsService.recordPointLog(userId, points, type, month);
+        });
+        return pointLog;
+    }
+
+    /**
+     * 원장 기준 잔액 (스냅샷 + 이후 로그)
+     */
+    public long getBalance(Long userId) {
+        Long balance = pointLogRepository.sumPointsByUserId(userId);
+        return balance != null ? balance : 0L;
+    }
+
+    /**
+     * 쌓인 증감분을 사용자별 UPDATE 1건씩 배치로 반영한다.
+     * 실패하면 꺼낸 증감분을 다시 합쳐 두고 다음 flush에서 재시도한다.
+     */
+    public int flushPendingDeltas() {
+        if (pendingDeltas.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Long userId : new ArrayList<>(pendingDeltas.keySet())) {
+            Long delta = pendingDeltas.remove(userId);
+            if (delta != null && delta != 0L) {
+                batchArgs.add(new Object[]{delta, userId});
+            }
+        }
+        if (batchArgs.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < batchArgs.size(); from += BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(APPLY_DELTA_SQL,
+                            batchArgs.subList(from, Math.min(from + BATCH_SIZE, batchArgs.size())));
+                }
+            });
+            log.debug("포인트 증감분 반영 완료: users={}", batchArgs.size());
+            return batchArgs.size();
+        } catch (Exception e) {
+            log.error("포인트 증감분 반영 실패 - 다음 주기에 재시도합니다. users={}", batchArgs.size(), e);
+            for (Object[] args : batchArgs) {
+                pendingDeltas.merge((Long) args[1], (Long) args[0], Long::sum);
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 직전 스냅샷 이후 ~ (현재 - 유예 시간) 사이의 로그를 사용자별 스냅샷에 접어 넣는다.
+     */
+    public int foldSnapshots() {
+        LocalDateTime now = LocalDateTime.now();
+        Long from = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(last_log_id), 0) FROM point_balance_snapshots", Long.class);
+        Long to = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM point_logs WHERE created_at < ?", Long.class,
+                now.minusSeconds(SNAPSHOT_GRACE_SECONDS));
+
+        if (from == null || to == null || to <= from) {
+            return 0;
+        }
+
+        int updated = jdbcTemplate.update(FOLD_SNAPSHOT_SQL, now, from, to);
+        log.info("포인트 잔액 스냅샷 갱신 완료: logId ({}, {}], rows={}", from, to, updated);
+        return updated;
+    }
+
+    /**
+     * users.current_points를 원장 합계에 맞춘다. (반영 전에 노드가 죽어 잃어버린 증감분 복구)
+     * @return 맞춘 사용자 수
+     */
+    public int reconcileBalances() {
+        int updated = jdbcTemplate.update(RECONCILE_SQL, LocalDateTime.now().minusMinutes(RECONCILE_QUIET_MINUTES));
+        if (updated > 0) {
+            log.warn("포인트 잔액을 원장 기준으로 보정했습니다: users={}", updated);
+        }
+        return updated;
+    }
+
+    /**
+     * 종료 전 남은 증감분을 반영한다.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPendingDeltas();
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
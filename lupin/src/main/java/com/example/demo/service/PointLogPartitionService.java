@@ -0,0 +1,62 @@
+package com.example.demo.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * point_logs 월별 파티션 관리
+ * - 마지막 월 파티션 이후 달을 p_future에서 쪼개어 몇 달 앞까지 미리 만들어 둔다.
+ *   (p_future가 비어 있을 때 쪼개므로 데이터 이동 없이 끝난다)
+ * - 파티션이 없는 테이블(V2 마이그레이션 전, 로컬 H2 등)이면 아무것도 하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointLogPartitionService {
+
+    private static final int MONTHS_AHEAD = 3;
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 이번 달부터 MONTHS_AHEAD달 뒤까지 파티션이 있도록 보장한다.
+     * @return 새로 만든 파티션 수
+     */
+    public int ensureFuturePartitions() {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions " +
+                "WHERE table_schema = DATABASE() AND table_name = 'point_logs' AND partition_name IS NOT NULL",
+                String.class);
+        if (!partitions.contains(FUTURE_PARTITION)) {
+            log.info("point_logs가 월별 파티션 테이블이 아니므로 파티션 관리를 건너뜁니다.");
+            return 0;
+        }
+
+        // 파티션은 끝에만 붙일 수 있으므로 마지막 월 파티션 다음 달부터 만든다
+        YearMonth last = partitions.stream()
+                .filter(name -> name.matches("p\\d{6}"))
+                .map(name -> YearMonth.parse(name.substring(1), PARTITION_SUFFIX))
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+        YearMonth until = YearMonth.now().plusMonths(MONTHS_AHEAD);
+
+        int created = 0;
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(until); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("ALTER TABLE point_logs REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                    "PARTITION p" + month.format(PARTITION_SUFFIX) +
+                    " VALUES LESS THAN (TO_DAYS('" + month.plusMonths(1).atDay(1) + "')), " +
+                    "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            log.info("point_logs 파티션 추가: p{}", month.format(PARTITION_SUFFIX));
+            created++;
+        }
+        return created;
+    }
+}
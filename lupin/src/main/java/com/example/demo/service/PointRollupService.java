@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.PointRollupCheckpoint;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 포인트 일별 롤업 서비스
+ * - 하루치 point_logs를 사용자별 한 행(point_daily_rollups)으로 접고, 진행 위치(rolled_up_before)를 그 다음 날 0시로 옮긴다.
+ * - 월/기간 집계 쿼리는 진행 위치 이전은 롤업, 이후는 point_logs를 읽으므로 롤업이 늦어져도 결과는 같다.
+ * - 하루 단위로 지우고 다시 채우므로 여러 번 실행해도 결과가 같다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointRollupService {
+
+    private static final String DELETE_DAY_SQL =
+            "DELETE FROM point_daily_rollups WHERE bucket_start = ?";
+
+    private static final String ROLL_UP_DAY_SQL = """
+            INSERT INTO point_daily_rollups (user_id, bucket_start, ranked_points, log_count)
+            SELECT p.user_id, ?,
+                   SUM(CASE WHEN p.type IN ('EARN', 'DEDUCT') THEN p.points ELSE 0 END),
+                   COUNT(*)
+            FROM point_logs p
+            WHERE p.created_at >= ? AND p.created_at < ?
+            GROUP BY p.user_id
+            """;
+
+    // 진행 위치는 앞으로만 움직인다 (이미 접은 날을 다시 접어도 되돌리지 않음)
+    private static final String ADVANCE_CHECKPOINT_SQL = """
+            INSERT INTO point_rollup_checkpoints (id, rolled_up_before, updated_at)
+            VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                rolled_up_before = GREATEST(rolled_up_before, VALUES(rolled_up_before)),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 진행 위치부터 어제까지 하루씩 접는다.
+     * 늦게 커밋된 로그를 놓치지 않도록 마지막으로 접은 날은 한 번 더 접는다.
+     * @return 접은 날 수
+     */
+    public int catchUp() {
+        LocalDate lastClosedDay = LocalDate.now().minusDays(1);
+        LocalDate from = nextDayToRollUp();
+        if (from == null) {
+            return 0;
+        }
+
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(lastClosedDay); day = day.plusDays(1)) {
+            rollUp(day);
+            days++;
+        }
+        return days;
+    }
+
+    /**
+     * 하루치 로그를 사용자별로 접고 진행 위치를 다음 날 0시로 옮긴다. (한 트랜잭션)
+     * @return 롤업 행 수 (그날 활동한 사용자 수)
+     */
+    public int rollUp(LocalDate day) {
+        LocalDateTime bucketStart = day.atStartOfDay();
+        LocalDateTime bucketEnd = day.plusDays(1).atStartOfDay();
+        long startedAt = System.currentTimeMillis();
+
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(DELETE_DAY_SQL, bucketStart);
+            int inserted = jdbcTemplate.update(ROLL_UP_DAY_SQL, bucketStart, bucketStart, bucketEnd);
+            jdbcTemplate.update(ADVANCE_CHECKPOINT_SQL, PointRollupCheckpoint.DAILY, bucketEnd, LocalDateTime.now());
+            return inserted;
+        });
+
+        log.info("포인트 일별 롤업 완료: day={}, users={}, elapsed={}ms", day, rows, System.currentTimeMillis() - startedAt);
+        return rows != null ? rows : 0;
+    }
+
+    private LocalDate nextDayToRollUp() {
+        List<LocalDateTime> checkpoint = jdbcTemplate.queryForList(
+                "SELECT rolled_up_before FROM point_rollup_checkpoints WHERE id = ?",
+                LocalDateTime.class, PointRollupCheckpoint.DAILY);
+        if (!checkpoint.isEmpty()) {
+            return checkpoint.get(0).toLocalDate().minusDays(1);
+        }
+
+        // 처음 실행이면 가장 오래된 로그가 있는 날부터 채운다 (PK 순서로 첫 행만 읽음)
+        List<LocalDateTime> firstLog = jdbcTemplate.queryForList(
+                "SELECT created_at FROM point_logs ORDER BY id ASC LIMIT 1", LocalDateTime.class);
+        return firstLog.isEmpty() ? null : firstLog.get(0).toLocalDate();
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.demo.service;
 
-import com.example.demo.domain.entity.PointLog;
 import com.example.demo.domain.entity.User;
 import com.example.demo.domain.enums.PointType;
 import com.example.demo.event.PointChangedEvent;
@@ -20,6 +19,7 @@ import java.time.YearMonth;
 public class PointService {
 
     private final PointLogRepository pointLogRepository;
+    private final PointLedgerService pointLedgerService;
     private final ApplicationEventPublisher eventPublisher;
 
     public long getTotalPoints(User user) {
@@ -78,12 +78,8 @@ public class PointService {
         }
     }
 
+    // 원장에 기록 (users.current_points는 커밋 후 원장 서비스가 배치로 반영)
     private void savePointLog(User user, long points, PointType type) {
-        PointLog pointLog = PointLog.builder()
-                .user(user)
-                .points(points)
-                .type(type)
-                .build();
-        pointLogRepository.save(pointLog);
+        pointLedgerService.append(user, points, type);
     }
 }
\ No newline at end of file
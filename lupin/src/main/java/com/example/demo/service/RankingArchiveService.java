@@ -0,0 +1,183 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.MonthlyRankingArchive;
+import com.example.demo.dto.response.UserRankingHistoryResponse;
+import com.example.demo.dto.response.UserRankingResponse;
+import com.example.demo.repository.MonthlyRankingArchiveRepository;
+import com.example.demo.repository.PointLogRepository;
+import com.example.demo.util.RankingSnapshotCodec;
+import com.example.demo.util.RankingTree;
+import com.example.demo.util.RedisKeyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 월간 랭킹 아카이브 서비스
+ * - 달이 끝나면 그 달 최종 랭킹을 델타 인코딩 스냅샷 한 건으로 저장한다. (ZSet이 있으면 ZSet 기준, 만료됐으면 DB 집계)
+ * - 지난달 Top N / 사용자 과거 등수는 스냅샷만 풀어서 응답하며 point_logs는 건드리지 않는다.
+ * - 지난달 스냅샷은 바뀌지 않으므로 풀어 둔 결과를 노드 메모리에 몇 달치 들고 있는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RankingArchiveService {
+
+    private static final int CHUNK_SIZE = 5000;
+    // 노드 메모리에 들고 있는 달 수 (1년치 + 여유)
+    private static final int CACHED_MONTHS = 13;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final PointLogRepository pointLogRepository;
+    private final MonthlyRankingArchiveRepository archiveRepository;
+    private final LeaderboardService leaderboardService;
+
+    private final Map<String, RankingSnapshotCodec.Snapshot> snapshots = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, RankingSnapshotCodec.Snapshot> eldest) {
+                    return size() > CACHED_MONTHS;
+                }
+            });
+
+    /**
+     * 해당 월 최종 랭킹을 아카이브한다. (이미 있으면 건너뜀)
+     * @return 새로 저장했으면 true
+     */
+    @Transactional
+    public boolean archive(YearMonth month) {
+        String key = month.toString();
+        if (archiveRepository.existsById(key)) {
+            log.info(">>> [RankingArchive] 이미 아카이브된 달입니다. month={}", month);
+            return false;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        List<long[]> rows = readFromRanking(month);
+        if (rows.isEmpty()) {
+            // 랭킹 ZSet이 만료됐으면 DB 집계로 대신한다 (0점 사용자 포함)
+            rows = readFromPointLogs(month);
+        }
+
+        // 실시간 랭킹(ZSet)과 같은 순서
+        rows.sort((a, b) -> RankingTree.compare(a[0], a[1], b[0], b[1]));
+        long[] userIds = new long[rows.size()];
+        long[] scores = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            userIds[i] = rows.get(i)[0];
+            scores[i] = rows.get(i)[1];
+        }
+
+        byte[] payload = RankingSnapshotCodec.encode(userIds, scores);
+        archiveRepository.save(MonthlyRankingArchive.builder()
+                .rankingMonth(key)
+                .userCount(userIds.length)
+                .payload(payload)
+                .build());
+        snapshots.remove(key);
+
+        log.info(">>> [RankingArchive] 아카이브 완료. month={}, users={}, bytes={}, elapsed={}ms",
+                month, userIds.length, payload.length, System.currentTimeMillis() - startedAt);
+        return true;
+    }
+
+    /**
+     * 지난달 상위 N명 (아카이브가 없으면 빈 목록)
+     */
+    @Transactional(readOnly = true)
+    public List<UserRankingResponse> getTop(YearMonth month, int limit) {
+        RankingSnapshotCodec.Snapshot snapshot = snapshot(month);
+        if (snapshot == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return leaderboardService.hydrate(snapshot.range(1, limit));
+    }
+
+    /**
+     * 최근 months개월(이번 달 제외) 동안 사용자의 월별 최종 등수 (아카이브가 없거나 랭킹에 없던 달은 제외)
+     */
+    @Transactional(readOnly = true)
+    public List<UserRankingHistoryResponse> getUserHistory(Long userId, int months) {
+        List<UserRankingHistoryResponse> history = new ArrayList<>();
+        YearMonth month = YearMonth.now().minusMonths(1);
+        for (int i = 0; i < months; i++, month = month.minusMonths(1)) {
+            RankingSnapshotCodec.Snapshot snapshot = snapshot(month);
+            if (snapshot == null) {
+                continue;
+            }
+            int rank = snapshot.rankOf(userId);
+            if (rank > 0) {
+                history.add(new UserRankingHistoryResponse(month.toString(), snapshot.scoreAt(rank), rank, snapshot.size()));
+            }
+        }
+        return history;
+    }
+
+    private RankingSnapshotCodec.Snapshot snapshot(YearMonth month) {
+        String key = month.toString();
+        RankingSnapshotCodec.Snapshot cached = snapshots.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return archiveRepository.findById(key)
+                .map(archive -> {
+                    RankingSnapshotCodec.Snapshot decoded = RankingSnapshotCodec.decode(archive.getPayload());
+                    snapshots.put(key, decoded);
+                    return decoded;
+                })
+                .orElse(null);
+    }
+
+    private List<long[]> readFromRanking(YearMonth month) {
+        String key = RedisKeyUtils.rankingKey(month.toString());
+        List<long[]> rows = new ArrayList<>();
+        for (long start = 0; ; start += CHUNK_SIZE) {
+            Set<ZSetOperations.TypedTuple<String>> chunk = redisTemplate.opsForZSet()
+                    .reverseRangeWithScores(key, start, start + CHUNK_SIZE - 1);
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            for (ZSetOperations.TypedTuple<String> tuple : chunk) {
+                long score = tuple.getScore() != null ? tuple.getScore().longValue() : 0L;
+                // 포인트가 음수일 경우 0점으로 기록
+                rows.add(new long[]{Long.parseLong(tuple.getValue()), Math.max(0, score)});
+            }
+            if (chunk.size() < CHUNK_SIZE) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    private List<long[]> readFromPointLogs(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.atEndOfMonth().atTime(23, 59, 59);
+        List<long[]> rows = new ArrayList<>();
+        long afterUserId = 0L;
+        while (true) {
+            List<Object[]> chunk = pointLogRepository.sumPointsPerUserAfter(
+                    start, end, afterUserId, PageRequest.of(0, CHUNK_SIZE));
+            for (Object[] row : chunk) {
+                rows.add(new long[]{(Long) row[0], Math.max(0, ((Number) row[1]).longValue())});
+            }
+            if (chunk.size() < CHUNK_SIZE) {
+                break;
+            }
+            afterUserId = (Long) chunk.get(chunk.size() - 1)[0];
+        }
+        return rows;
+    }
+}
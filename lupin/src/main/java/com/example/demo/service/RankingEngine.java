@@ -0,0 +1,252 @@
+package com.example.demo.service;
+
+import com.example.demo.util.RankingTree;
+import com.example.demo.util.RedisKeyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 인메모리 월간 랭킹 엔진
+ * - 이번 달 랭킹 ZSet을 노드 메모리의 순위 트리로 들고 있어 등수/점수/주변 사용자를 O(log n)으로 응답한다.
+ * - 시작 시(와 매일 새벽) ZSet에서 통째로 적재하고, 이후에는 포인트 이벤트가 Pub/Sub으로 보내는 최신 점수로 갱신한다.
+ * - 메시지는 증감분이 아니라 ZSet에 반영된 최종 점수를 담으므로 여러 번 받아도 결과가 같다.
+ */
+@Slf4j
+@Component
+public class RankingEngine {
+
+    private static final int LOAD_CHUNK_SIZE = 5000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ChannelTopic topic;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private RankingTree tree = new RankingTree();
+    private Map<Long, Long> scores = new HashMap<>();
+    private volatile YearMonth loadedMonth;
+
+    // 적재 중에 들어온 갱신 (적재가 끝나면 새 트리에 덮어쓴다)
+    private volatile YearMonth loadingMonth;
+    private final Map<Long, Long> pendingDuringLoad = new ConcurrentHashMap<>();
+
+    public RankingEngine(
+            RedisTemplate<String, String> redisTemplate,
+            @Qualifier("rankingTopic") ChannelTopic topic
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.topic = topic;
+    }
+
+    /**
+     * 해당 월 랭킹이 적재되어 있는지 (아니면 호출하는 쪽이 Redis로 폴백)
+     */
+    public boolean isReady(YearMonth month) {
+        return month.equals(loadedMonth);
+    }
+
+    /**
+     * 해당 월 랭킹 ZSet을 청크로 읽어 새 트리를 만든 뒤 교체한다.
+     * @return 적재한 사용자 수
+     */
+    public synchronized int load(YearMonth month) {
+        String key = RedisKeyUtils.rankingKey(month.toString());
+        long startedAt = System.currentTimeMillis();
+        loadingMonth = month;
+        pendingDuringLoad.clear();
+
+        RankingTree newTree = new RankingTree();
+        Map<Long, Long> newScores = new HashMap<>();
+        try {
+            for (long start = 0; ; start += LOAD_CHUNK_SIZE) {
+                Set<ZSetOperations.TypedTuple<String>> chunk = redisTemplate.opsForZSet()
+                        .reverseRangeWithScores(key, start, start + LOAD_CHUNK_SIZE - 1);
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                for (ZSetOperations.TypedTuple<String> tuple : chunk) {
+                    long userId = Long.parseLong(tuple.getValue());
+                    long score = tuple.getScore() != null ? tuple.getScore().longValue() : 0L;
+                    if (newScores.put(userId, score) == null) {
+                        newTree.insert(userId, score);
+                    }
+                }
+                if (chunk.size() < LOAD_CHUNK_SIZE) {
+                    break;
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                tree = newTree;
+                scores = newScores;
+                loadingMonth = null;
+                loadedMonth = month;
+                pendingDuringLoad.forEach(this::put);
+                pendingDuringLoad.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            loadingMonth = null;
+        }
+
+        log.info(">>> [RankingEngine] 랭킹 적재 완료. month={}, users={}, elapsed={}ms",
+                month, newScores.size(), System.currentTimeMillis() - startedAt);
+        return newScores.size();
+    }
+
+    /**
+     * ZSet에 반영된 최종 점수를 모든 노드에 알린다.
+     */
+    public void publish(YearMonth month, Long userId, long score) {
+        publish(List.of(new ScoreUpdate(month, userId, score)));
+    }
+
+    /**
+     * 여러 사용자의 최종 점수를 메시지 한 건으로 모든 노드에 알린다. ("yyyy-MM:userId:score"를 ','로 연결)
+     */
+    public void publish(List<ScoreUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        for (ScoreUpdate update : updates) {
+            if (!message.isEmpty()) {
+                message.append(',');
+            }
+            message.append(update.month()).append(':').append(update.userId()).append(':').append(update.score());
+        }
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), message.toString());
+        } catch (Exception e) {
+            log.warn("랭킹 갱신 메시지 발행 실패 (다음 재적재에서 보정): users={}, {}", updates.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Pub/Sub 수신 ("yyyy-MM:userId:score"를 ','로 연결)
+     */
+    public void handleMessage(String message) {
+        String clean = message.startsWith("\"") && message.endsWith("\"")
+                ? message.substring(1, message.length() - 1)
+                : message;
+        for (String entry : clean.split(",")) {
+            try {
+                String[] parts = entry.split(":");
+                apply(YearMonth.parse(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            } catch (Exception e) {
+                log.warn("랭킹 갱신 메시지 처리 실패: entry={}, {}", entry, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 사용자 점수 갱신 (적재된 달이 아니면 무시)
+     */
+    public void apply(YearMonth month, Long userId, long score) {
+        if (month.equals(loadingMonth)) {
+            pendingDuringLoad.put(userId, score);
+        }
+        if (!isReady(month)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (isReady(month)) {
+                put(userId, score);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 사용자 점수 (랭킹에 없으면 empty)
+     */
+    public OptionalLong scoreOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Long score = scores.get(userId);
+            return score != null ? OptionalLong.of(score) : OptionalLong.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 사용자 등수 (1부터, 랭킹에 없으면 0)
+     */
+    public int rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Long score = scores.get(userId);
+            return score != null ? tree.rankOf(userId, score) : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 등수 구간 조회 (양 끝 포함)
+     */
+    public List<RankingTree.Entry> range(int fromRank, int toRank) {
+        lock.readLock().lock();
+        try {
+            return tree.range(fromRank, toRank);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 상위 N명
+     */
+    public List<RankingTree.Entry> top(int limit) {
+        return range(1, limit);
+    }
+
+    /**
+     * 사용자 앞뒤 radius명씩 (랭킹에 없으면 빈 목록)
+     */
+    public List<RankingTree.Entry> neighbors(Long userId, int radius) {
+        lock.readLock().lock();
+        try {
+            Long score = scores.get(userId);
+            if (score == null) {
+                return List.of();
+            }
+            int rank = tree.rankOf(userId, score);
+            return tree.range(rank - radius, rank + radius);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 노드 간에 전파하는 사용자 최종 점수
+     */
+    public record ScoreUpdate(YearMonth month, Long userId, long score) {
+    }
+
+    // 쓰기 잠금을 잡은 상태에서만 호출
+    private void put(Long userId, long score) {
+        Long previous = scores.put(userId, score);
+        if (previous != null) {
+            tree.remove(userId, previous);
+        }
+        tree.insert(userId, score);
+    }
+}
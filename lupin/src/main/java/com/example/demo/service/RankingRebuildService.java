@@ -0,0 +1,225 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.PointLogRepository;
+import com.example.demo.util.RedisKeyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 월간 랭킹 ZSet 재구축 서비스
+ * - DB 집계를 사용자 ID 기준 keyset 페이지로 끊어 읽고, 청크마다 ZADD 여러 건을 파이프라인 한 번으로 보낸다.
+ * - 임시 키에 모두 채운 뒤 RENAME으로 교체하므로, 재구축 중에도 조회 쪽은 빈/반쪽 랭킹을 보지 않는다.
+ * - DB를 읽기 전에 진행 표시 키를 세워 두면 PointPipeline이 그동안의 증감분을 따로 모으고,
+ *   교체 스크립트가 그 증감분을 임시 키에 합친 뒤 RENAME한다. (스냅샷 이후 반영된 증감을 덮어쓰지 않음)
+ *   표시 직전에 커밋되어 표시 후 반영된 증감은 양쪽에 잡힐 수 있으나, 그 폭은 레인 지연(수 ms) 정도다.
+ * - 같은 달 재구축은 분산 락으로 한 번에 하나만 돈다. (증감분 키를 함께 쓰므로)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RankingRebuildService {
+
+    // DB에서 한 번에 읽는 사용자 수
+    private static final int CHUNK_SIZE = 2000;
+    // ZADD 1건에 담는 멤버 수 (청크당 CHUNK_SIZE / ZADD_BATCH_SIZE 건을 파이프라인으로 전송)
+    private static final int ZADD_BATCH_SIZE = 500;
+
+    private static final Duration RANKING_TTL = Duration.ofDays(40);
+    // 재구축이 중간에 실패해도 임시 키가 남지 않도록 짧은 TTL을 먼저 건다
+    private static final Duration TEMP_KEY_TTL = Duration.ofMinutes(10);
+
+    // 다른 요청이 재구축 중이면 끝날 때까지 기다렸다가 결과를 그대로 쓴다 (leaseTime은 watchdog 연장)
+    private static final long LOCK_WAIT_TIME = 10L;
+
+    /**
+     * KEYS[1] = 임시 키, KEYS[2] = 재구축 증감분, KEYS[3] = 랭킹 키, KEYS[4] = 진행 표시, ARGV[1] = 랭킹 TTL(초)
+     * 재구축 중 들어온 증감분을 합치고(음수는 0점), 랭킹 키로 교체한 뒤 진행 표시를 내린다.
+     */
+    private static final DefaultRedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                redis.call('ZUNIONSTORE', KEYS[1], 2, KEYS[1], KEYS[2])
+                for _, member in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', '(0')) do
+                    redis.call('ZADD', KEYS[1], 0, member)
+                end
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            redis.call('RENAME', KEYS[1], KEYS[3])
+            redis.call('DEL', KEYS[2], KEYS[4])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedissonClient redissonClient;
+    private final PointLogRepository pointLogRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 해당 월 랭킹 키가 없을 때만 재구축한다. (캐시 미스 복구용)
+     */
+    public void rebuildIfAbsent(YearMonth month) {
+        String key = RedisKeyUtils.rankingKey(month.toString());
+        if (!Boolean.FALSE.equals(redisTemplate.hasKey(key))) {
+            return;
+        }
+
+        RLock lock = redissonClient.getLock(RedisKeyUtils.rankingRebuildLock(month.toString()));
+        try {
+            if (!lock.tryLock(LOCK_WAIT_TIME, TimeUnit.SECONDS)) {
+                log.warn(">>> [Ranking] 랭킹 재구축 락 획득 실패 - 기존 데이터로 응답합니다. month={}", month);
+                return;
+            }
+            try {
+                // 락을 기다리는 동안 다른 요청이 이미 재구축했을 수 있다
+                if (Boolean.FALSE.equals(redisTemplate.hasKey(key))) {
+                    rebuild(month);
+                }
+            } finally {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn(">>> [Ranking] 랭킹 재구축 대기 중 인터럽트 발생. month={}", month);
+        }
+    }
+
+    /**
+     * 해당 월 랭킹을 DB 기준으로 다시 만들어 원자적으로 교체한다.
+     * rebuildIfAbsent에서 내부 호출되므로 @Transactional 대신 TransactionTemplate으로 읽기 전용 트랜잭션을 연다.
+     * (청크를 모두 같은 스냅샷에서 읽음, 재구축 락은 재진입 가능)
+     * @return 랭킹에 반영된 사용자 수
+     * @throws IllegalStateException 다른 노드의 재구축이 끝나기를 기다리다 시간이 지난 경우
+     */
+    public int rebuild(YearMonth month) {
+        RLock lock = redissonClient.getLock(RedisKeyUtils.rankingRebuildLock(month.toString()));
+        try {
+            if (!lock.tryLock(LOCK_WAIT_TIME, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("랭킹 재구축 락 획득 실패: month=" + month);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("랭킹 재구축 락 대기 중 인터럽트: month=" + month, e);
+        }
+        String flagKey = RedisKeyUtils.rankingRebuildFlag(month.toString());
+        String deltaKey = RedisKeyUtils.rankingRebuildDelta(month.toString());
+        try {
+            // 스냅샷(첫 조회)보다 먼저 진행 표시를 세워야 그 이후 증감분이 빠짐없이 모인다
+            // (이전 재구축이 남긴 증감분은 이미 DB에 있으므로 버린다)
+            redisTemplate.delete(deltaKey);
+            redisTemplate.opsForValue().set(flagKey, "1", TEMP_KEY_TTL);
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            Integer total = readOnly.execute(status -> rebuildInTransaction(month, flagKey, deltaKey));
+            return total != null ? total : 0;
+        } catch (RuntimeException e) {
+            // 증감분은 랭킹 키에도 반영되어 있으므로 표시와 함께 버린다
+            redisTemplate.delete(List.of(flagKey, deltaKey));
+            throw e;
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int rebuildInTransaction(YearMonth month, String flagKey, String deltaKey) {
+        String key = RedisKeyUtils.rankingKey(month.toString());
+        String tempKey = RedisKeyUtils.rankingRebuildTemp(month.toString(), UUID.randomUUID().toString());
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.atEndOfMonth().atTime(23, 59, 59);
+
+        log.info(">>> [Ranking] 랭킹 재구축 시작. month={}", month);
+        long startedAt = System.currentTimeMillis();
+
+        int total = 0;
+        long afterUserId = 0L;
+        try {
+            while (true) {
+                List<Object[]> chunk = pointLogRepository.sumPointsPerUserAfter(
+                        start, end, afterUserId, PageRequest.of(0, CHUNK_SIZE));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                writeChunk(tempKey, flagKey, chunk, total == 0);
+                total += chunk.size();
+                afterUserId = (Long) chunk.get(chunk.size() - 1)[0];
+
+                if (chunk.size() < CHUNK_SIZE) {
+                    break;
+                }
+            }
+
+            if (total == 0) {
+                // 그동안의 증감분은 랭킹 키에도 그대로 반영되어 있다
+                redisTemplate.delete(List.of(flagKey, deltaKey));
+                log.info(">>> [Ranking] 집계할 사용자가 없습니다. month={}", month);
+                return 0;
+            }
+
+            // 증감분 합치기 + 최종 TTL(RENAME 후에도 유지) + 교체 + 진행 표시 해제를 한 번에
+            redisTemplate.execute(SWAP_SCRIPT, List.of(tempKey, deltaKey, key, flagKey),
+                    String.valueOf(RANKING_TTL.toSeconds()));
+        } catch (RuntimeException e) {
+            redisTemplate.delete(tempKey);
+            throw e;
+        }
+
+        log.info(">>> [Ranking] 랭킹 재구축 완료. month={}, users={}, elapsed={}ms",
+                month, total, System.currentTimeMillis() - startedAt);
+        return total;
+    }
+
+    /**
+     * 청크 하나를 ZADD 여러 건으로 나누어 파이프라인 한 번에 보낸다. (진행 표시 TTL도 함께 연장)
+     */
+    private void writeChunk(String tempKey, String flagKey, List<Object[]> chunk, boolean firstChunk) {
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                Set<ZSetOperations.TypedTuple<String>> batch = new HashSet<>();
+                for (Object[] row : chunk) {
+                    // 합계가 음수면 0점으로 처리하여 랭킹에 포함 (경매 USE는 쿼리에서 이미 제외됨)
+                    long score = Math.max(0, ((Number) row[1]).longValue());
+                    batch.add(new DefaultTypedTuple<>(String.valueOf(row[0]), (double) score));
+                    if (batch.size() == ZADD_BATCH_SIZE) {
+                        operations.opsForZSet().add(tempKey, batch);
+                        batch = new HashSet<>();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    operations.opsForZSet().add(tempKey, batch);
+                }
+                if (firstChunk) {
+                    operations.expire(tempKey, TEMP_KEY_TTL);
+                }
+                operations.expire(flagKey, TEMP_KEY_TTL);
+                return null;
+            }
+        });
+    }
+}
@@ -1,12 +1,13 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.enums.WorkoutActivity;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -16,40 +17,7 @@ public class WorkoutScoreService {
     private static final int MAX_WORKOUT_HOURS = 24;
     private static final int PHOTO_TIME_TOLERANCE_HOURS = 6;
 
-    // 운동 종류별 강도 (imageMetadata.ts와 동일)
-    private static final Map<String, Double> INTENSITY_VALUES = Map.ofEntries(
-            Map.entry("산책", 0.5),
-            Map.entry("요가", 0.5),
-            Map.entry("스트레칭", 0.6),
-            Map.entry("필라테스", 0.6),
-            Map.entry("골프", 0.7),
-            Map.entry("빠른 걷기", 0.8),
-            Map.entry("헬스", 0.8),
-            Map.entry("웨이트", 0.8),
-            Map.entry("배드민턴", 0.9),
-            Map.entry("탁구", 0.9),
-            Map.entry("자전거 타기", 1.0),
-            Map.entry("사이클", 1.0),
-            Map.entry("수영", 1.0),
-            Map.entry("등산", 1.0),
-            Map.entry("테니스", 1.1),
-            Map.entry("조깅", 1.2),
-            Map.entry("축구", 1.4),
-            Map.entry("농구", 1.4),
-            Map.entry("달리기", 1.5),
-            Map.entry("런닝", 1.5),
-            Map.entry("복싱", 1.5),
-            Map.entry("수영(빠르게)", 1.7),
-            Map.entry("자전거(빠르게)", 1.7),
-            Map.entry("HIIT", 1.7),
-            Map.entry("크로스핏", 1.7),
-            Map.entry("줄넘기", 1.8),
-            Map.entry("걷기", 0.6),
-            Map.entry("기타", 0.8)
-    );
-
     private static final int MAX_SCORE = 30;
-    private static final double DEFAULT_INTENSITY = 0.8;
     private static final double BASE_WEIGHT_KG = 65.0;
 
     /**
@@ -59,9 +27,7 @@ public class WorkoutScoreService {
     public int calculateScore(String activity, LocalDateTime startTime, LocalDateTime endTime) {
         long durationMinutes = Duration.between(startTime, endTime).toMinutes();
         double intensity = getIntensity(activity);
-
-        double rawScore = durationMinutes * intensity;
-        int score = (int) Math.min(MAX_SCORE, Math.round(rawScore));
+        int score = score(durationMinutes, intensity);
 
         log.debug("Calculated score: {} (activity={}, duration={}min, intensity={})",
                 score, activity, durationMinutes, intensity);
@@ -76,11 +42,8 @@ public class WorkoutScoreService {
      */
     public int calculateCalories(String activity, LocalDateTime startTime, LocalDateTime endTime) {
         long durationMinutes = Duration.between(startTime, endTime).toMinutes();
-        double durationHours = durationMinutes / 60.0;
         double intensity = getIntensity(activity);
-        double baseMET = intensity * 8;
-
-        int calories = (int) Math.round(baseMET * BASE_WEIGHT_KG * durationHours);
+        int calories = calories(durationMinutes, intensity);
 
         log.debug("Calculated calories: {} (activity={}, duration={}min)",
                 calories, activity, durationMinutes);
@@ -99,7 +62,7 @@ public class WorkoutScoreService {
      * 운동 종류별 강도 조회
      */
     public double getIntensity(String activity) {
-        return INTENSITY_VALUES.getOrDefault(activity, DEFAULT_INTENSITY);
+        return WorkoutActivity.of(activity).getIntensity();
     }
 
     /**
@@ -149,19 +112,77 @@ public class WorkoutScoreService {
             return false;
         }
 
+        if (!isWithinPhotoTolerance(startTime, endTime, feedDate)) {
+            log.warn("Photo time outside allowed range: start={}, end={}, feedDate={} (±{}h)",
+                    startTime, endTime, feedDate, PHOTO_TIME_TOLERANCE_HOURS);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * 여러 운동을 한 번에 검증하고 점수/칼로리를 계산한다. (재채점 배치용, 건별 로그 없음)
+     * 활동명과 시간을 먼저 ordinal/분 배열로 풀어 둔 뒤, 강도 표를 인덱스로 읽으며 한 번에 계산한다.
+     * 결과는 건별로 validateAndCalculate를 호출한 것과 같다.
+     */
+    public WorkoutResult[] calculateAll(List<WorkoutSample> samples) {
+        int size = samples.size();
+        int[] ordinals = new int[size];
+        long[] minutes = new long[size];
+        boolean[] valid = new boolean[size];
+
+        // 1. 해석: 활동명 -> ordinal, 시간 -> 분, 유효성
+        for (int i = 0; i < size; i++) {
+            WorkoutSample sample = samples.get(i);
+            ordinals[i] = WorkoutActivity.of(sample.activity()).ordinal();
+            if (sample.startTime() == null || sample.endTime() == null) {
+                continue;
+            }
+            minutes[i] = Duration.between(sample.startTime(), sample.endTime()).toMinutes();
+            valid[i] = sample.startTime().isBefore(sample.endTime())
+                    && Duration.between(sample.startTime(), sample.endTime()).toHours() <= MAX_WORKOUT_HOURS
+                    && isWithinPhotoTolerance(sample.startTime(), sample.endTime(), sample.feedDate());
+        }
+
+        // 2. 계산
+        WorkoutResult[] results = new WorkoutResult[size];
+        for (int i = 0; i < size; i++) {
+            if (!valid[i]) {
+                results[i] = WorkoutResult.empty();
+                continue;
+            }
+            double intensity = WorkoutActivity.intensityAt(ordinals[i]);
+            results[i] = new WorkoutResult(score(minutes[i], intensity), calories(minutes[i], intensity), true);
+        }
+        return results;
+    }
+
+    // 점수 = 시간(분) × 강도, 최대 30점
+    private static int score(long durationMinutes, double intensity) {
+        return (int) Math.min(MAX_SCORE, Math.round(durationMinutes * intensity));
+    }
+
+    // 칼로리 = (강도 × 8) × 체중(kg) × 시간(hours)
+    private static int calories(long durationMinutes, double intensity) {
+        double baseMET = intensity * 8;
+        return (int) Math.round(baseMET * BASE_WEIGHT_KG * (durationMinutes / 60.0));
+    }
+
+    // 사진 시간이 피드 날짜 ± 허용 오차 안에 있는지
+    private static boolean isWithinPhotoTolerance(LocalDateTime startTime, LocalDateTime endTime, LocalDate feedDate) {
         LocalDateTime allowedStart = feedDate.atStartOfDay().minusHours(PHOTO_TIME_TOLERANCE_HOURS);
         LocalDateTime allowedEnd = feedDate.atTime(23, 59, 59).plusHours(PHOTO_TIME_TOLERANCE_HOURS);
 
         boolean startTimeValid = !startTime.isBefore(allowedStart) && !startTime.isAfter(allowedEnd);
         boolean endTimeValid = !endTime.isBefore(allowedStart) && !endTime.isAfter(allowedEnd);
+        return startTimeValid && endTimeValid;
+    }
 
-        if (!startTimeValid || !endTimeValid) {
-            log.warn("Photo time outside allowed range: start={}, end={}, allowed=[{} ~ {}]",
-                    startTime, endTime, allowedStart, allowedEnd);
-            return false;
-        }
-
-        return true;
+    /**
+     * 배치 계산 입력 (시작/종료 시간이 없으면 0점)
+     */
+    public record WorkoutSample(String activity, LocalDateTime startTime, LocalDateTime endTime, LocalDate feedDate) {
     }
 
     /**
@@ -0,0 +1,95 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 문자열 블룸 필터
+ * - 넣은 값은 항상 mightContain이 true (거짓 음성 없음), 넣지 않은 값은 약 fpp 확률로 true
+ * - 크기는 예상 원소 수와 오탐률로 정해지고 이후 늘어나지 않는다. (1% 기준 원소당 약 1.2바이트)
+ * - 시드가 다르면 오탐되는 값도 달라진다. (실행마다 시드를 바꾸면 같은 값이 계속 오탐되지 않음)
+ * - 스레드 안전하지 않음
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long seed;
+
+    private BloomFilter(long bitCount, int hashCount, long seed) {
+        this.bits = new long[(int) ((bitCount + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = hashCount;
+        this.seed = seed;
+    }
+
+    /**
+     * @param expectedInsertions 예상 원소 수
+     * @param fpp 목표 오탐률 (0 초과 1 미만)
+     * @param seed 해시 시드
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp, long seed) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        if (m > Integer.MAX_VALUE * 64L) {
+            throw new IllegalArgumentException("Bloom filter too large: " + m + " bits");
+        }
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, m), k, seed);
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value, seed);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, seed);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 필터가 쓰는 메모리 (바이트)
+     */
+    public long sizeInBytes() {
+        return bits.length * 8L;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // FNV-1a 64 + 최종 섞기
+    private static long hash(String value, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e87cbL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
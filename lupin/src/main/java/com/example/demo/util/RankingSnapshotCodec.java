@@ -0,0 +1,183 @@
+package com.example.demo.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 월간 랭킹 스냅샷 직렬화
+ * - 등수 순서대로 (사용자 ID, 점수)를 담는다.
+ * - 사용자 ID는 직전 ID와의 차이를 zigzag varint로, 점수는 내림차순이므로 직전 점수와의 차이(0 이상)를 varint로 기록한다.
+ * - 기록한 바이트를 Deflate로 한 번 더 압축한다. (같은 점수대가 몰려 있어 차이값이 대부분 0~1 바이트)
+ *
+ * 형식: [버전(1)] [인원수 varint] ([ID 차이 zigzag varint] [점수 차이 varint]) * 인원수
+ */
+public final class RankingSnapshotCodec {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private RankingSnapshotCodec() {
+    }
+
+    /**
+     * @param userIds 등수 순서의 사용자 ID
+     * @param scores  등수 순서의 점수 (내림차순, 0 이상)
+     */
+    public static byte[] encode(long[] userIds, long[] scores) {
+        if (userIds.length != scores.length) {
+            throw new IllegalArgumentException("사용자 ID와 점수 개수가 다릅니다.");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_COMPRESSION))) {
+            out.write(FORMAT_VERSION);
+            writeVarLong(out, userIds.length);
+            long previousId = 0L;
+            long previousScore = userIds.length > 0 ? scores[0] : 0L;
+            writeVarLong(out, previousScore);
+            for (int i = 0; i < userIds.length; i++) {
+                long scoreGap = previousScore - scores[i];
+                if (scores[i] < 0 || scoreGap < 0) {
+                    throw new IllegalArgumentException("점수는 0 이상 내림차순이어야 합니다. index=" + i);
+                }
+                writeVarLong(out, zigzag(userIds[i] - previousId));
+                writeVarLong(out, scoreGap);
+                previousId = userIds[i];
+                previousScore = scores[i];
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Snapshot decode(byte[] payload) {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(payload))) {
+            int version = in.read();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("지원하지 않는 랭킹 스냅샷 버전입니다: " + version);
+            }
+            int size = (int) readVarLong(in);
+            long[] userIds = new long[size];
+            long[] scores = new long[size];
+            long previousId = 0L;
+            long previousScore = readVarLong(in);
+            for (int i = 0; i < size; i++) {
+                previousId += unzigzag(readVarLong(in));
+                previousScore -= readVarLong(in);
+                userIds[i] = previousId;
+                scores[i] = previousScore;
+            }
+            return new Snapshot(userIds, scores);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("랭킹 스냅샷이 중간에 끊겼습니다.");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint가 너무 깁니다.");
+    }
+
+    /**
+     * 복원된 스냅샷 (인덱스 + 1 = 등수)
+     * 복원할 때 사용자 ID 정렬 색인을 한 번 만들어 두어 등수 조회는 이진 탐색 O(log n)이다.
+     */
+    public static final class Snapshot {
+
+        private final long[] userIds;
+        private final long[] scores;
+        // 사용자 ID 오름차순과, 그 위치의 등수
+        private final long[] sortedUserIds;
+        private final int[] sortedRanks;
+
+        Snapshot(long[] userIds, long[] scores) {
+            this.userIds = userIds;
+            this.scores = scores;
+
+            Integer[] order = new Integer[userIds.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(userIds[a], userIds[b]));
+            this.sortedUserIds = new long[order.length];
+            this.sortedRanks = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedUserIds[i] = userIds[order[i]];
+                sortedRanks[i] = order[i] + 1;
+            }
+        }
+
+        public long[] userIds() {
+            return userIds;
+        }
+
+        public long[] scores() {
+            return scores;
+        }
+
+        public int size() {
+            return userIds.length;
+        }
+
+        /**
+         * 사용자 등수 (1부터, 없으면 0)
+         */
+        public int rankOf(long userId) {
+            int index = Arrays.binarySearch(sortedUserIds, userId);
+            return index >= 0 ? sortedRanks[index] : 0;
+        }
+
+        public long scoreAt(int rank) {
+            return scores[rank - 1];
+        }
+
+        /**
+         * 등수 구간 조회 (양 끝 포함, 범위를 벗어난 부분은 잘라낸다)
+         */
+        public List<RankingTree.Entry> range(int fromRank, int toRank) {
+            int from = Math.max(1, fromRank);
+            int to = Math.min(userIds.length, toRank);
+            List<RankingTree.Entry> entries = new ArrayList<>();
+            for (int rank = from; rank <= to; rank++) {
+                entries.add(new RankingTree.Entry(userIds[rank - 1], scores[rank - 1], rank));
+            }
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 순위 트리 (Order-Statistic Treap)
+ * - 정렬 기준: 점수 내림차순, 같은 점수면 멤버 문자열(사용자 ID) 내림차순 (ZREVRANGE / ZREVRANK와 같은 순서)
+ *   ZSet은 같은 점수를 멤버 바이트 사전순으로 두므로 숫자 크기가 아니라 10진 문자열 순서로 비교한다. (9가 10보다 앞)
+ * - 노드마다 서브트리 크기를 들고 있어 삽입/삭제/등수/k번째 조회가 모두 O(log n)
+ * - 스레드 안전하지 않음 (호출하는 쪽에서 잠금)
+ */
+public final class RankingTree {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    /**
+     * 트리 원소 (등수는 1부터)
+     */
+    public record Entry(long userId, long score, int rank) {
+    }
+
+    private static final class Node {
+        final long userId;
+        final long score;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long userId, long score, int priority) {
+            this.userId = userId;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * 원소 추가 (같은 사용자가 이미 있으면 호출 전에 remove 해야 한다)
+     */
+    public void insert(long userId, long score) {
+        Node[] parts = split(root, userId, score, false);
+        root = merge(merge(parts[0], new Node(userId, score, random.nextInt())), parts[1]);
+    }
+
+    /**
+     * 원소 삭제
+     * @return 삭제했으면 true
+     */
+    public boolean remove(long userId, long score) {
+        Node[] lower = split(root, userId, score, false);
+        Node[] upper = split(lower[1], userId, score, true);
+        boolean removed = upper[0] != null;
+        root = merge(lower[0], upper[1]);
+        return removed;
+    }
+
+    /**
+     * 등수 조회 (1부터, 트리에 없는 원소면 들어갈 자리의 등수)
+     */
+    public int rankOf(long userId, long score) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(userId, score, node) <= 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return before + 1;
+    }
+
+    /**
+     * 등수 구간 조회 (양 끝 포함, 범위를 벗어난 부분은 잘라낸다)
+     */
+    public List<Entry> range(int fromRank, int toRank) {
+        int from = Math.max(1, fromRank);
+        int to = Math.min(size(), toRank);
+        List<Entry> entries = new ArrayList<>(Math.max(0, to - from + 1));
+        if (from <= to) {
+            collect(root, 0, from, to, entries);
+        }
+        return entries;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    // 중위 순회하며 [from, to] 구간에 걸치는 서브트리만 내려간다
+    private void collect(Node node, int offset, int from, int to, List<Entry> out) {
+        if (node == null) {
+            return;
+        }
+        int rank = offset + size(node.left) + 1;
+        if (from < rank) {
+            collect(node.left, offset, from, to, out);
+        }
+        if (from <= rank && rank <= to) {
+            out.add(new Entry(node.userId, node.score, rank));
+        }
+        if (rank < to) {
+            collect(node.right, rank, from, to, out);
+        }
+    }
+
+    /**
+     * 기준 원소 앞쪽(왼쪽)과 나머지로 나눈다.
+     * inclusive가 true면 기준 원소도 왼쪽에 포함한다.
+     */
+    private Node[] split(Node node, long userId, long score, boolean inclusive) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        int cmp = compare(node.userId, node.score, userId, score);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            Node[] parts = split(node.right, userId, score, inclusive);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, userId, score, inclusive);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int compare(long userId, long score, Node node) {
+        return compare(userId, score, node.userId, node.score);
+    }
+
+    /**
+     * 랭킹 순서 비교 (음수면 A가 앞 등수)
+     */
+    public static int compare(long userIdA, long scoreA, long userIdB, long scoreB) {
+        if (scoreA != scoreB) {
+            return Long.compare(scoreB, scoreA);
+        }
+        return compareMembers(userIdB, userIdA);
+    }
+
+    // 음이 아닌 두 ID의 10진 문자열 사전순 비교 (문자열을 만들지 않음)
+    private static int compareMembers(long a, long b) {
+        int digitsA = digits(a);
+        int digitsB = digits(b);
+        if (digitsA == digitsB) {
+            return Long.compare(a, b);
+        }
+        // 짧은 쪽과 긴 쪽의 같은 길이 앞부분을 비교하고, 같으면 짧은 쪽(접두사)이 앞
+        if (digitsA < digitsB) {
+            long prefix = b / POWERS_OF_TEN[digitsB - digitsA];
+            return a != prefix ? Long.compare(a, prefix) : -1;
+        }
+        long prefix = a / POWERS_OF_TEN[digitsA - digitsB];
+        return prefix != b ? Long.compare(prefix, b) : 1;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+}
@@ -11,6 +11,17 @@ public final class RedisKeyUtils {
     private static final String FEED_LIKE_COUNT_PREFIX = "feed:like:";
     private static final String FEED_LIKE_DIRTY_SET = "feed:like:dirty";
     private static final String RANKING_MONTHLY_PREFIX = "ranking:monthly:";
+    private static final String RANKING_CARDS = "ranking:cards";
+    private static final String RANKING_BATCH_PREFIX = "ranking:batch:";
+    private static final String AUCTION_ACTIVE_VIEW = "auction:view:active";
+    private static final String AUCTION_ACTIVE_BIDS = "auction:view:active:bids";
+    private static final String AUCTION_SCHEDULED_VIEW = "auction:view:scheduled";
+    private static final String AUCTION_VIEW_GENERATION = "auction:view:generation";
+    private static final String BID_LIMIT_USER_PREFIX = "auction:bid-limit:user:";
+    private static final String BID_LIMIT_AUCTION_PREFIX = "auction:bid-limit:auction:";
+    private static final String STATS_ACTIVE_USERS_PREFIX = "stats:active:";
+    private static final String STATS_RANKED_POINTS_PREFIX = "stats:points:";
+    private static final String POINT_LOG_MAINTENANCE_LOCK_PREFIX = "point-log:maintenance-lock:";
 
     private RedisKeyUtils() {
     }
@@ -24,6 +35,69 @@ public final class RedisKeyUtils {
         return RANKING_MONTHLY_PREFIX + yearMonth;
     }
 
+    /**
+     * 랭킹 화면용 사용자 카드 Hash 키 (field = 사용자 ID, value = 카드 JSON)
+     * @return "ranking:cards"
+     */
+    public static String rankingCards() {
+        return RANKING_CARDS;
+    }
+
+    /**
+     * 월간 랭킹 재구축 락 키 생성
+     * @param yearMonth "yyyy-MM" 형식의 문자열
+     * @return "ranking:monthly:{yearMonth}:rebuild-lock"
+     */
+    public static String rankingRebuildLock(String yearMonth) {
+        return RANKING_MONTHLY_PREFIX + yearMonth + ":rebuild-lock";
+    }
+
+    /**
+     * 월간 랭킹 아카이브 락 키 생성 - 여러 노드 중 한 곳에서만 아카이브
+     * @param yearMonth "yyyy-MM" 형식의 문자열
+     * @return "ranking:monthly:{yearMonth}:archive-lock"
+     */
+    public static String rankingArchiveLock(String yearMonth) {
+        return RANKING_MONTHLY_PREFIX + yearMonth + ":archive-lock";
+    }
+
+    /**
+     * 월간 랭킹 재구축용 임시 ZSet 키 생성 (완성 후 RENAME으로 교체)
+     * @param yearMonth "yyyy-MM" 형식의 문자열
+     * @param token 재구축 작업마다 고유한 값
+     * @return "ranking:monthly:{yearMonth}:rebuild:{token}"
+     */
+    public static String rankingRebuildTemp(String yearMonth, String token) {
+        return RANKING_MONTHLY_PREFIX + yearMonth + ":rebuild:" + token;
+    }
+
+    /**
+     * 월간 랭킹 재구축 진행 표시 키 (있는 동안 포인트 파이프라인이 증감분을 따로 모은다)
+     * @param yearMonth "yyyy-MM" 형식의 문자열
+     * @return "ranking:monthly:{yearMonth}:rebuilding"
+     */
+    public static String rankingRebuildFlag(String yearMonth) {
+        return RANKING_MONTHLY_PREFIX + yearMonth + ":rebuilding";
+    }
+
+    /**
+     * 월간 랭킹 재구축 중 들어온 증감분 ZSet 키 (교체 직전에 임시 키에 합친다)
+     * @param yearMonth "yyyy-MM" 형식의 문자열
+     * @return "ranking:monthly:{yearMonth}:rebuild-delta"
+     */
+    public static String rankingRebuildDelta(String yearMonth) {
+        return RANKING_MONTHLY_PREFIX + yearMonth + ":rebuild-delta";
+    }
+
+    /**
+     * 포인트 파이프라인 묶음 반영 완료 표시 키 (같은 묶음을 다시 보내도 한 번만 반영)
+     * @param batchId 묶음마다 고유한 값
+     * @return "ranking:batch:{batchId}"
+     */
+    public static String rankingBatchMarker(String batchId) {
+        return RANKING_BATCH_PREFIX + batchId;
+    }
+
     /**
      * Refresh Token 저장용 키 생성
      * @param userId 사용자 ID
@@ -59,4 +133,91 @@ public final class RedisKeyUtils {
     public static String feedLikeDirtySet() {
         return FEED_LIKE_DIRTY_SET;
     }
+
+    /**
+     * 진행 중인 경매 읽기 모델 Hash 키 반환
+     * @return "auction:view:active" 키
+     */
+    public static String auctionActiveView() {
+        return AUCTION_ACTIVE_VIEW;
+    }
+
+    /**
+     * 진행 중인 경매 상위 입찰 리더보드 ZSet 키 반환
+     * @return "auction:view:active:bids" 키
+     */
+    public static String auctionActiveBids() {
+        return AUCTION_ACTIVE_BIDS;
+    }
+
+    /**
+     * 예정된 경매 목록 읽기 모델 키 반환
+     * @return "auction:view:scheduled" 키
+     */
+    public static String auctionScheduledView() {
+        return AUCTION_SCHEDULED_VIEW;
+    }
+
+    /**
+     * 경매 읽기 모델 세대 번호 키 반환 (무효화할 때마다 증가)
+     * @return "auction:view:generation" 키
+     */
+    public static String auctionViewGeneration() {
+        return AUCTION_VIEW_GENERATION;
+    }
+
+    /**
+     * 사용자별 입찰 토큰 버킷 키 생성
+     * @param userId 사용자 ID
+     * @return "auction:bid-limit:user:{userId}" 형식의 키
+     */
+    public static String bidLimitUser(Long userId) {
+        return BID_LIMIT_USER_PREFIX + userId;
+    }
+
+    /**
+     * 경매별 입찰 토큰 버킷 키 생성
+     * @param auctionId 경매 ID
+     * @return "auction:bid-limit:auction:{auctionId}" 형식의 키
+     */
+    public static String bidLimitAuction(Long auctionId) {
+        return BID_LIMIT_AUCTION_PREFIX + auctionId;
+    }
+
+    /**
+     * 월간 활동 사용자 HyperLogLog 키 생성
+     * @param yearMonth "yyyy-MM" 형식의 문자열
+     * @return "stats:active:{yearMonth}"
+     */
+    public static String statsActiveUsers(String yearMonth) {
+        return STATS_ACTIVE_USERS_PREFIX + yearMonth;
+    }
+
+    /**
+     * 월간 활동 사용자 HyperLogLog 재계산용 임시 키 생성 (완성 후 RENAME으로 교체)
+     * @param yearMonth "yyyy-MM" 형식의 문자열
+     * @param token 재계산 작업마다 고유한 값
+     * @return "stats:active:{yearMonth}:rebuild:{token}"
+     */
+    public static String statsActiveUsersRebuild(String yearMonth, String token) {
+        return STATS_ACTIVE_USERS_PREFIX + yearMonth + ":rebuild:" + token;
+    }
+
+    /**
+     * 월간 랭킹 포인트(EARN + DEDUCT) 누적 합계 키 생성
+     * @param yearMonth "yyyy-MM" 형식의 문자열
+     * @return "stats:points:{yearMonth}"
+     */
+    public static String statsRankedPoints(String yearMonth) {
+        return STATS_RANKED_POINTS_PREFIX + yearMonth;
+    }
+
+    /**
+     * point_logs 유지보수 작업(롤업, 파티션 추가) 락 키 생성 - 여러 노드 중 한 곳에서만 실행
+     * @param job 작업 이름 (예: "rollup", "partition")
+     * @return "point-log:maintenance-lock:{job}"
+     */
+    public static String pointLogMaintenanceLock(String job) {
+        return POINT_LOG_MAINTENANCE_LOCK_PREFIX + job;
+    }
 }
@@ -69,4 +69,24 @@ public final class S3UrlUtils {
         // fallback: 마지막 슬래시 이후 반환
         return extractFilename(s3KeyOrUrl);
     }
+
+    /**
+     * URL 또는 S3 키에서 호스트 이후 경로 추출 (CDN URL 포함)
+     * 예: https://cdn.lupin-care.com/feed/abc123.webp → feed/abc123.webp
+     *
+     * @param s3KeyOrUrl URL 또는 키
+     * @return 경로 또는 원본 값
+     */
+    public static String extractUrlPath(String s3KeyOrUrl) {
+        if (s3KeyOrUrl == null || !s3KeyOrUrl.startsWith("http")) {
+            return s3KeyOrUrl;
+        }
+
+        int schemeEnd = s3KeyOrUrl.indexOf("://");
+        int pathStart = s3KeyOrUrl.indexOf('/', schemeEnd >= 0 ? schemeEnd + 3 : 0);
+        if (pathStart >= 0 && pathStart < s3KeyOrUrl.length() - 1) {
+            return s3KeyOrUrl.substring(pathStart + 1);
+        }
+        return s3KeyOrUrl;
+    }
 }
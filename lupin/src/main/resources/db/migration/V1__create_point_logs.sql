@@ -0,0 +1,17 @@
+-- =====================================================
+-- Flyway Versioned Migration: point_logs 기준 테이블
+-- - Flyway는 Hibernate(ddl-auto)보다 먼저 실행되므로, 새 DB에서는 이 단계에서 point_logs를 만들어야
+--   V2가 파티션 테이블로 바꿀 수 있다. (엔티티 PointLog와 같은 컬럼)
+-- - 기존 DB는 baseline-on-migrate로 V1 기준선이 잡혀 이 파일을 건너뛴다.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS point_logs (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT      NOT NULL,
+    points     BIGINT      NOT NULL,
+    type       VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_point_log_user_id (user_id, id),
+    KEY idx_point_log_user_created (user_id, created_at)
+);
@@ -0,0 +1,71 @@
+-- =====================================================
+-- Flyway Versioned Migration: point_logs 월 단위 파티셔닝 + 일별 롤업
+-- - point_logs를 created_at 기준 월별 RANGE 파티션으로 나눈다. (기간 조회 시 해당 월 파티션만 스캔)
+-- - 사용자별 일별 합계(point_daily_rollups)를 두고, 월/기간 집계는 롤업 + 아직 접지 않은 로그만 읽는다.
+-- - 다음 달 이후 파티션은 PointLogPartitionService가 미리 추가한다.
+-- =====================================================
+
+-- 1. 일별 롤업 (PointRollupService가 매일 전날분을 접어 넣는다)
+CREATE TABLE IF NOT EXISTS point_daily_rollups (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id       BIGINT      NOT NULL,
+    bucket_start  DATETIME(6) NOT NULL,
+    ranked_points BIGINT      NOT NULL DEFAULT 0,
+    log_count     INT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_point_daily_rollup_user_bucket (user_id, bucket_start),
+    KEY idx_point_daily_rollup_bucket (bucket_start)
+);
+
+-- 2. 롤업 진행 위치 (rolled_up_before 이전 로그는 롤업에 반영되어 있다)
+CREATE TABLE IF NOT EXISTS point_rollup_checkpoints (
+    id               VARCHAR(20) NOT NULL,
+    rolled_up_before DATETIME(6) NOT NULL,
+    updated_at       DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- 3. point_logs 파티셔닝 (테이블이 있고 아직 파티션이 없을 때만)
+SET @has_table := (SELECT COUNT(*) FROM information_schema.tables
+                   WHERE table_schema = DATABASE() AND table_name = 'point_logs');
+SET @partitioned := (SELECT COUNT(*) FROM information_schema.partitions
+                     WHERE table_schema = DATABASE() AND table_name = 'point_logs' AND partition_name IS NOT NULL);
+
+-- 3-1. 파티션 테이블은 외래 키를 가질 수 없으므로 users 참조 키를 제거한다 (엔티티도 NO_CONSTRAINT)
+SET @fk := (SELECT constraint_name FROM information_schema.referential_constraints
+            WHERE constraint_schema = DATABASE() AND table_name = 'point_logs' LIMIT 1);
+SET @sql := IF(@has_table = 0 OR @fk IS NULL, 'DO 0',
+               CONCAT('ALTER TABLE point_logs DROP FOREIGN KEY ', @fk));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 3-2. 사용자별 기간 조회용 인덱스 (롤업 이후 꼬리 구간 집계)
+SET @has_index := (SELECT COUNT(*) FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = 'point_logs'
+                     AND index_name = 'idx_point_log_user_created');
+SET @sql := IF(@has_table = 0 OR @has_index > 0, 'DO 0',
+               'ALTER TABLE point_logs ADD INDEX idx_point_log_user_created (user_id, created_at)');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 3-3. 파티션 키는 모든 유니크 키에 포함되어야 하므로 PK를 (id, created_at)으로 바꾼다
+SET @sql := IF(@has_table = 0 OR @partitioned > 0, 'DO 0',
+               'ALTER TABLE point_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at)');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 3-4. 월별 RANGE 파티션 (이번 달 이전은 p_history 하나로 묶고, 이번 달 파티션과 p_future만 만든다)
+--      다음 달 이후 파티션은 PointLogPartitionService가 서버 시작 시와 매일 몇 달 앞까지 채운다.
+SET @this_month := DATE_FORMAT(CURRENT_DATE, '%Y-%m-01');
+SET @next_month := DATE_FORMAT(CURRENT_DATE + INTERVAL 1 MONTH, '%Y-%m-01');
+SET @sql := IF(@has_table = 0 OR @partitioned > 0, 'DO 0', CONCAT(
+    'ALTER TABLE point_logs PARTITION BY RANGE (TO_DAYS(created_at)) (',
+    'PARTITION p_history VALUES LESS THAN (TO_DAYS(''', @this_month, ''')), ',
+    'PARTITION p', DATE_FORMAT(CURRENT_DATE, '%Y%m'), ' VALUES LESS THAN (TO_DAYS(''', @next_month, ''')), ',
+    'PARTITION p_future VALUES LESS THAN MAXVALUE)'));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
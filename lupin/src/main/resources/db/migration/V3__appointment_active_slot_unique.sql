@@ -0,0 +1,42 @@
+-- =====================================================
+-- Flyway Versioned Migration: 예약 시간대 중복 방지 유니크 키
+-- - 의사 한 명은 같은 시각에 예약 하나만 가질 수 있도록 (doctor_id, date, active_slot) 유니크 키를 둔다.
+-- - 시간대를 차지하는 예약은 active_slot = TRUE, 취소된 예약은 NULL이다. (NULL끼리는 유니크 제약에 걸리지 않음)
+-- - 새 DB에서는 appointments가 아직 없으므로 건너뛰고, 엔티티 기준으로 Hibernate가 키까지 만든다.
+-- =====================================================
+
+SET @has_table := (SELECT COUNT(*) FROM information_schema.tables
+                   WHERE table_schema = DATABASE() AND table_name = 'appointments');
+
+-- 1. active_slot 컬럼 (ddl-auto가 아직 추가하지 않은 DB)
+SET @has_column := (SELECT COUNT(*) FROM information_schema.columns
+                    WHERE table_schema = DATABASE() AND table_name = 'appointments'
+                      AND column_name = 'active_slot');
+SET @sql := IF(@has_table = 0 OR @has_column > 0, 'DO 0',
+               'ALTER TABLE appointments ADD COLUMN active_slot BIT(1) NULL');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. 기존 예약 채우기: 취소되지 않은 예약은 TRUE, 취소된 예약은 NULL
+--    제약이 없던 동안 같은 시각에 겹친 예약이 있으면 가장 먼저 잡힌 예약(id 최소)만 시간대를 차지한다.
+SET @sql := IF(@has_table = 0, 'DO 0',
+               'UPDATE appointments a
+                LEFT JOIN (SELECT MIN(id) AS keep_id
+                           FROM appointments
+                           WHERE status <> ''CANCELLED''
+                           GROUP BY doctor_id, date) k ON k.keep_id = a.id
+                SET a.active_slot = IF(k.keep_id IS NULL, NULL, TRUE)');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 3. 유니크 키 (없을 때만)
+SET @has_index := (SELECT COUNT(*) FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = 'appointments'
+                     AND index_name = 'uk_appointment_doctor_slot');
+SET @sql := IF(@has_table = 0 OR @has_index > 0, 'DO 0',
+               'ALTER TABLE appointments ADD UNIQUE KEY uk_appointment_doctor_slot (doctor_id, date, active_slot)');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,322 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.entity.Auction;
+import com.example.demo.domain.entity.User;
+import com.example.demo.domain.enums.AuctionStatus;
+import com.example.demo.domain.enums.Role;
+import com.example.demo.dto.AuctionSseMessage;
+import com.example.demo.exception.BidRateLimitException;
+import com.example.demo.repository.AuctionRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.AuctionBidFacade;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * 경매 입찰 부하/지연 벤치마크
+ * - 실제 MySQL + Redis(Testcontainers) 위에서 수천 명의 입찰자가 AuctionBidFacade.bid를 동시에 호출한다.
+ * - 정규 시간 종료 후에도 입찰을 계속 넣어 초읽기 연장 -> 코디네이터 종료/정산까지 한 번에 돈다.
+ * - 입찰 성공 처리량, 성공 지연 p50/p99/p999, SSE 전달 지연, 정합성(최종가 == 최고 성공 입찰가)을 보고한다.
+ *
+ * 실행: ./gradlew benchmark (Docker 필요, 기본 test 태스크에서는 제외)
+ * 파라미터: -Dbenchmark.bidders=2000 -Dbenchmark.threads=200 -Dbenchmark.regular-seconds=10
+ *          -Dbenchmark.overtime-seconds=3 -Dbenchmark.overtime-bidding-seconds=5
+ *          입찰 유량 제어 설정도 -Dapp.auction.bid-limit.*로 덮어쓸 수 있다.
+ * 결과는 build/reports/benchmark/auction-bid.txt에도 남겨 변경 전/후를 비교한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@Testcontainers
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuctionBidBenchmark {
+
+    private static final int BIDDERS = Integer.getInteger("benchmark.bidders", 2000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 200);
+    private static final int REGULAR_SECONDS = Integer.getInteger("benchmark.regular-seconds", 10);
+    private static final int OVERTIME_SECONDS = Integer.getInteger("benchmark.overtime-seconds", 3);
+    private static final int OVERTIME_BIDDING_SECONDS = Integer.getInteger("benchmark.overtime-bidding-seconds", 5);
+    private static final int MAX_THINK_MILLIS = Integer.getInteger("benchmark.max-think-millis", 50);
+
+    private static final Path REPORT_PATH = Path.of("build", "reports", "benchmark", "auction-bid.txt");
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+            .withDatabaseName("lupin");
+
+    @Container
+    static final RedisContainer REDIS = new RedisContainer(DockerImageName.parse("redis:7-alpine"));
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", REDIS::getFirstMappedPort);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuctionBidFacade auctionBidFacade;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("동시 입찰자 부하에서 처리량/지연/SSE 지연/정합성 측정")
+    void bidUnderLoad() throws Exception {
+        List<Long> bidderIds = createBidders();
+        Auction auction = createActiveAuction();
+        Long auctionId = auction.getId();
+
+        // SSE 구독 (실제 HTTP 스트림으로 받아서 전달 지연 측정)
+        ConcurrentLinkedQueue<Long> sseLagMillis = new ConcurrentLinkedQueue<>();
+        AtomicLong lastSsePrice = new AtomicLong();
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest sseRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auction/stream/" + auctionId))
+                .header("Accept", "text/event-stream")
+                .build();
+        httpClient.sendAsync(sseRequest, HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body()
+                        .filter(line -> line.startsWith("data:") && line.contains("auctionId"))
+                        .forEach(line -> recordSse(line.substring(5), sseLagMillis, lastSsePrice)));
+
+        // 입찰 부하
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong highestAccepted = new AtomicLong();
+        AtomicReference<Long> highestBidder = new AtomicReference<>();
+        ConcurrentLinkedQueue<Long> acceptLatencyNanos = new ConcurrentLinkedQueue<>();
+        LongAdder attempted = new LongAdder();
+        LongAdder rejectedByPrice = new LongAdder();
+        LongAdder rejectedByLimiter = new LongAdder();
+        LongAdder rejectedByState = new LongAdder();
+        LongAdder errors = new LongAdder();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startNanos = System.nanoTime();
+        // 워커 스레드 수만큼 동시에 입찰하고, 매 입찰마다 입찰자를 무작위로 골라 수천 명의 입찰자를 흉내 낸다
+        for (int worker = 0; worker < THREADS; worker++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    Long bidderId = bidderIds.get(random.nextInt(bidderIds.size()));
+                    long amount = highestAccepted.get() + 1 + random.nextInt(10);
+                    attempted.increment();
+                    long begin = System.nanoTime();
+                    try {
+                        if (auctionBidFacade.bid(auctionId, bidderId, amount, LocalDateTime.now())) {
+                            acceptLatencyNanos.add(System.nanoTime() - begin);
+                            synchronized (highestAccepted) {
+                                if (amount > highestAccepted.get()) {
+                                    highestAccepted.set(amount);
+                                    highestBidder.set(bidderId);
+                                }
+                            }
+                        } else {
+                            rejectedByPrice.increment();
+                        }
+                    } catch (BidRateLimitException e) {
+                        rejectedByLimiter.increment();
+                    } catch (IllegalStateException e) {
+                        rejectedByState.increment();
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    think(random);
+                }
+            });
+        }
+
+        // 정규 시간 + 초읽기 구간까지 입찰을 밀어 넣고 멈춘다
+        TimeUnit.SECONDS.sleep(REGULAR_SECONDS + OVERTIME_BIDDING_SECONDS);
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        double biddingSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        // 코디네이터가 마지막 초읽기 만료 후 경매를 닫을 때까지 대기
+        FinalState closed = awaitClose(auctionId);
+        TimeUnit.SECONDS.sleep(1); // 마지막 SSE 수신 여유
+
+        long[] latencies = acceptLatencyNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] lags = sseLagMillis.stream().mapToLong(Long::longValue).sorted().toArray();
+        Long settlements = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM auction_settlements WHERE auction_id = ?", Long.class, auctionId);
+        Long maxStoredBid = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(bid_amount), 0) FROM auction_bids WHERE auction_id = ?", Long.class, auctionId);
+
+        String report = String.join(System.lineSeparator(),
+                "=== Auction bid benchmark (" + LocalDateTime.now() + ") ===",
+                String.format("bidders=%d threads=%d regular=%ds overtime=%ds overtimeBidding=%ds",
+                        BIDDERS, THREADS, REGULAR_SECONDS, OVERTIME_SECONDS, OVERTIME_BIDDING_SECONDS),
+                String.format("attempted=%d accepted=%d rejected(price)=%d rejected(limit)=%d rejected(state)=%d errors=%d",
+                        attempted.sum(), latencies.length, rejectedByPrice.sum(), rejectedByLimiter.sum(),
+                        rejectedByState.sum(), errors.sum()),
+                String.format("accepted bids/sec=%.1f (over %.1fs)", latencies.length / biddingSeconds, biddingSeconds),
+                String.format("accept latency ms: p50=%.2f p99=%.2f p999=%.2f max=%.2f",
+                        percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                        percentile(latencies, 0.999) / 1e6, percentile(latencies, 1.0) / 1e6),
+                String.format("sse lag ms: received=%d p50=%d p99=%d p999=%d max=%d",
+                        lags.length, percentile(lags, 0.50), percentile(lags, 0.99),
+                        percentile(lags, 0.999), percentile(lags, 1.0)),
+                String.format("final: status=%s price=%d winner=%s highestAccepted=%d(by %s) maxStoredBid=%d lastSse=%d settlements=%d",
+                        closed.status(), closed.price(), closed.winnerId(),
+                        highestAccepted.get(), highestBidder.get(), maxStoredBid, lastSsePrice.get(), settlements)
+        );
+        log.info("\n{}", report);
+        writeReport(report);
+
+        // 정합성 검사: 최종가 == 최고 성공 입찰가, 정산은 정확히 1번
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(closed.status()).as("경매 종료 상태").isEqualTo(AuctionStatus.ENDED.name());
+            softly.assertThat(closed.price()).as("최종가 == 최고 성공 입찰가").isEqualTo(highestAccepted.get());
+            softly.assertThat(maxStoredBid).as("저장된 최고 입찰가 == 최고 성공 입찰가").isEqualTo(highestAccepted.get());
+            softly.assertThat(closed.winnerId()).as("낙찰자 == 최고가 입찰자").isEqualTo(highestBidder.get());
+            softly.assertThat(settlements).as("정산 횟수").isEqualTo(1L);
+            softly.assertThat(lastSsePrice.get()).as("마지막 SSE 가격 == 최고 성공 입찰가").isEqualTo(highestAccepted.get());
+            softly.assertThat(errors.sum()).as("예상하지 못한 오류 수").isZero();
+        });
+    }
+
+    private List<Long> createBidders() {
+        List<User> users = IntStream.range(0, BIDDERS)
+                .mapToObj(i -> User.builder()
+                        .userId("bench-bidder-" + i)
+                        .password("password")
+                        .name("입찰자" + i)
+                        .role(Role.MEMBER)
+                        .build())
+                .toList();
+        List<Long> ids = new ArrayList<>(BIDDERS);
+        userRepository.saveAll(users).forEach(user -> ids.add(user.getId()));
+        return ids;
+    }
+
+    private Auction createActiveAuction() {
+        LocalDateTime now = LocalDateTime.now();
+        Auction auction = auctionRepository.save(Auction.builder()
+                .status(AuctionStatus.ACTIVE)
+                .startTime(now)
+                .regularEndTime(now.plusSeconds(REGULAR_SECONDS))
+                .overtimeSeconds(OVERTIME_SECONDS)
+                .build());
+        jdbcTemplate.update("INSERT INTO auction_items (item_name, auction_id) VALUES (?, ?)",
+                "벤치마크 경매물품", auction.getId());
+
+        // 서버 기동/활성화 때와 같이 가격 키를 먼저 채워 둔다
+        redissonClient.getBucket("auction_price:" + auction.getId(), StringCodec.INSTANCE).set("0");
+        return auction;
+    }
+
+    private FinalState awaitClose(Long auctionId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(OVERTIME_SECONDS + 30L);
+        FinalState state = loadFinalState(auctionId);
+        while (!AuctionStatus.ENDED.name().equals(state.status()) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(200);
+            state = loadFinalState(auctionId);
+        }
+        return state;
+    }
+
+    private FinalState loadFinalState(Long auctionId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status, current_price, winner_id FROM auctions WHERE auction_id = ?",
+                (rs, rowNum) -> new FinalState(rs.getString("status"), rs.getLong("current_price"),
+                        rs.getObject("winner_id", Long.class)),
+                auctionId);
+    }
+
+    private void recordSse(String json, ConcurrentLinkedQueue<Long> lagMillis, AtomicLong lastPrice) {
+        try {
+            AuctionSseMessage message = objectMapper.readValue(json.trim(), AuctionSseMessage.class);
+            long lag = Duration.between(LocalDateTime.parse(message.getBidTime()), LocalDateTime.now()).toMillis();
+            lagMillis.add(lag);
+            lastPrice.accumulateAndGet(message.getCurrentPrice(), Math::max);
+        } catch (Exception e) {
+            log.debug("SSE 메시지 파싱 실패: {}", json);
+        }
+    }
+
+    private void think(ThreadLocalRandom random) {
+        if (MAX_THINK_MILLIS <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(random.nextInt(MAX_THINK_MILLIS + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.min(sorted.length - 1, Math.max(0, index))];
+    }
+
+    private static void writeReport(String report) throws IOException {
+        Files.createDirectories(REPORT_PATH.getParent());
+        Files.writeString(REPORT_PATH, report + System.lineSeparator());
+        log.info("벤치마크 결과 저장: {}", REPORT_PATH.toAbsolutePath());
+    }
+
+    private record FinalState(String status, long price, Long winnerId) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.component;
+
+import com.example.demo.config.properties.ImageEncodingProperties;
+import com.sksamuel.scrimage.ImmutableImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageProcessorTest {
+
+    private ImageEncodingProperties properties;
+    private ImageProcessor imageProcessor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ImageEncodingProperties();
+        imageProcessor = new ImageProcessor(properties);
+    }
+
+    @Test
+    @DisplayName("용량 예산은 결과 픽셀 수에 비례하고 최소 예산 아래로 내려가지 않는다")
+    void budgetForScalesWithPixels() {
+        // when & then
+        assertThat(imageProcessor.budgetFor(800, 800)).isEqualTo(96_000L);
+        assertThat(imageProcessor.budgetFor(100, 100)).isEqualTo(4096L);
+    }
+
+    @Test
+    @DisplayName("메타데이터 없는 WebP만 그대로 쓸 수 있는 WebP로 판단한다")
+    void isPlainWebp() {
+        // when & then
+        assertThat(ImageProcessor.isPlainWebp(webpHeader("VP8 ", 0))).isTrue();
+        assertThat(ImageProcessor.isPlainWebp(webpHeader("VP8L", 0))).isTrue();
+        assertThat(ImageProcessor.isPlainWebp(webpHeader("VP8X", 0x10))).isTrue(); // 알파만
+        assertThat(ImageProcessor.isPlainWebp(webpHeader("VP8X", 0x08))).isFalse(); // EXIF
+        assertThat(ImageProcessor.isPlainWebp(webpHeader("VP8X", 0x04))).isFalse(); // XMP
+        assertThat(ImageProcessor.isPlainWebp(webpHeader("VP8X", 0x02))).isFalse(); // 애니메이션
+        assertThat(ImageProcessor.isPlainWebp("not an image at all".getBytes(StandardCharsets.US_ASCII))).isFalse();
+    }
+
+    @Test
+    @DisplayName("크기 안의 작은 WebP는 다시 인코딩하지 않고 원본 바이트를 그대로 돌려준다")
+    void encodePassesThroughSmallWebp() throws Exception {
+        // given
+        byte[] webp = webpHeader("VP8 ", 0);
+        ImageProcessor.DecodedImage decoded = new ImageProcessor.DecodedImage(ImmutableImage.create(400, 300), null, webp);
+
+        // when
+        byte[] result = imageProcessor.encode(decoded, ImageProcessor.Rendition.bounded("feed/a.webp", 800, 800, 60));
+
+        // then
+        assertThat(result).isSameAs(webp);
+        ImageProcessor.RenditionStats stats = imageProcessor.stats().get("feed");
+        assertThat(stats.passthrough()).isEqualTo(1);
+        assertThat(stats.encoded()).isZero();
+        assertThat(stats.averageBytes()).isEqualTo(webp.length);
+    }
+
+    @Test
+    @DisplayName("디코딩에 실패한 원본은 그대로 돌려주고 크기 종류별 fallback으로 센다")
+    void encodeFallbackIsCounted() throws Exception {
+        // given
+        byte[] original = "broken".getBytes(StandardCharsets.US_ASCII);
+        ImageProcessor.DecodedImage decoded = new ImageProcessor.DecodedImage(null, original);
+
+        // when
+        byte[] result = imageProcessor.encode(decoded, ImageProcessor.Rendition.bounded("original", 800, 800, 60));
+
+        // then
+        assertThat(result).isSameAs(original);
+        assertThat(imageProcessor.stats().get("original").fallback()).isEqualTo(1);
+    }
+
+    // RIFF....WEBP + 첫 청크 이름 + 크기 4바이트 + VP8X 플래그 1바이트
+    private byte[] webpHeader(String chunk, int flags) {
+        byte[] header = new byte[32];
+        System.arraycopy("RIFF".getBytes(StandardCharsets.US_ASCII), 0, header, 0, 4);
+        System.arraycopy("WEBP".getBytes(StandardCharsets.US_ASCII), 0, header, 8, 4);
+        System.arraycopy(chunk.getBytes(StandardCharsets.US_ASCII), 0, header, 12, 4);
+        header[20] = (byte) flags;
+        return header;
+    }
+}
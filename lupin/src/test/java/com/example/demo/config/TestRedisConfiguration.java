@@ -60,6 +60,11 @@ public class TestRedisConfiguration {
     public ChannelTopic notificationTopic() {
         return new ChannelTopic("test-notification-topic");
     }
+
+    @Bean
+    public ChannelTopic rankingTopic() {
+        return new ChannelTopic("test-ranking-topic");
+    }
     @Bean
     public RedissonClient redissonClient() {
         RedissonClient client = mock(RedissonClient.class);
@@ -0,0 +1,118 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.properties.StorageProperties;
+import com.example.demo.infrastructure.LocalFileStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * LocalFileController 테스트 (sendfile이 없는 MockMvc에서는 FileChannel.transferTo 경로로 응답)
+ */
+@DisplayName("LocalFileController 테스트")
+class LocalFileControllerTest {
+
+    @TempDir
+    private Path root;
+
+    private LocalFileStorage storage;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StorageProperties properties = new StorageProperties();
+        properties.getLocal().setRoot(root.toString());
+        properties.getLocal().setPublicUrl("http://localhost/files");
+        storage = new LocalFileStorage(properties);
+        storage.upload("feed/a.webp", "0123456789".getBytes(StandardCharsets.UTF_8), "image/webp");
+        mockMvc = MockMvcBuilders.standaloneSetup(new LocalFileController(storage)).build();
+    }
+
+    @Test
+    @DisplayName("파일 전체를 ETag, 캐시 헤더와 함께 응답하고, 같은 ETag로 다시 요청하면 304를 응답한다")
+    void serveWithEtag() throws Exception {
+        // when
+        MvcResult result = mockMvc.perform(get("/files/feed/a.webp"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/webp"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().string("0123456789"))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        assertThat(etag).isNotBlank();
+        mockMvc.perform(get("/files/feed/a.webp").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("단일 Range 요청은 해당 구간만 206으로 응답한다")
+    void serveRange() throws Exception {
+        mockMvc.perform(get("/files/feed/a.webp").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get("/files/feed/a.webp").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    @DisplayName("파일 크기를 벗어난 Range는 416으로 응답한다")
+    void rangeNotSatisfiable() throws Exception {
+        mockMvc.perform(get("/files/feed/a.webp").header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    @DisplayName("없는 파일과 직접 업로드 원본(raw/)은 404로 응답한다")
+    void notFound() throws Exception {
+        storage.upload("raw/feed/x", new byte[1], "image/jpeg");
+
+        mockMvc.perform(get("/files/feed/missing.webp")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/files/raw/feed/x")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("서명된 업로드 URL로만 PUT 업로드를 받는다")
+    void signedUpload() throws Exception {
+        // given
+        String url = storage.createUploadUrl("raw/feed/x", "image/jpeg", 3L, Duration.ofMinutes(10));
+
+        // when & then
+        mockMvc.perform(put(URI.create(url)).contentType("image/jpeg").content(new byte[]{1, 2, 3}))
+                .andExpect(status().isOk());
+        assertThat(Files.readAllBytes(root.resolve("raw/feed/x"))).containsExactly(1, 2, 3);
+
+        mockMvc.perform(put(URI.create(url.replace("raw/feed/x", "raw/feed/y"))).contentType("image/jpeg").content(new byte[]{1}))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put(URI.create(url)).contentType("image/png").content(new byte[]{1, 2, 3}))
+                .andExpect(status().isForbidden());
+        // 서명한 크기와 다른 본문
+        mockMvc.perform(put(URI.create(url)).contentType("image/jpeg").content(new byte[]{1, 2, 3, 4}))
+                .andExpect(status().isForbidden());
+    }
+}
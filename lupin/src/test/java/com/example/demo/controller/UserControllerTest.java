@@ -4,8 +4,11 @@ import com.example.demo.config.TestRedisConfiguration;
 import com.example.demo.domain.entity.User;
 import com.example.demo.domain.enums.PenaltyType;
 import com.example.demo.domain.enums.Role;
+import com.example.demo.dto.response.UserRankingHistoryResponse;
+import com.example.demo.dto.response.UserRankingResponse;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.service.PointService;
+import com.example.demo.service.RankingArchiveService;
 import com.example.demo.service.UserPenaltyService;
 import com.example.demo.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,6 +28,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -61,6 +65,9 @@ class UserControllerTest {
     @MockitoBean
     private UserRepository userRepository;
 
+    @MockitoBean
+    private RankingArchiveService rankingArchiveService;
+
     private User testUser;
 
     @BeforeEach
@@ -195,6 +202,32 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.monthlyPoints").value(500L));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    @DisplayName("GET /api/users/ranking/archive/{month} - 지난달 랭킹 조회 성공")
+    void getArchivedRanking_Success() throws Exception {
+        given(rankingArchiveService.getTop(YearMonth.of(2025, 10), 3))
+                .willReturn(List.of(new UserRankingResponse(5L, "지난달1등", null, "내과", 300L, 1)));
+
+        mockMvc.perform(get("/api/users/ranking/archive/2025-10").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("지난달1등"))
+                .andExpect(jsonPath("$[0].rank").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    @DisplayName("GET /api/users/{userId}/ranking-history - 월별 과거 등수 조회 성공")
+    void getRankingHistory_Success() throws Exception {
+        given(rankingArchiveService.getUserHistory(1L, 6))
+                .willReturn(List.of(new UserRankingHistoryResponse("2025-10", 40L, 2, 120)));
+
+        mockMvc.perform(get("/api/users/1/ranking-history").param("months", "6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].month").value("2025-10"))
+                .andExpect(jsonPath("$[0].totalUsers").value(120));
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     @DisplayName("GET /api/users/penalty - 활성 제재 확인 성공")
@@ -81,6 +81,25 @@ class AppointmentTest {
         assertThat(appointment.getStatus()).isEqualTo(AppointmentStatus.CANCELLED);
     }
 
+    @Test
+    @DisplayName("예약 취소 시 시간대 점유가 해제되어 같은 시간대에 다시 예약할 수 있다")
+    void cancelReleasesSlotTest() {
+        // given
+        Appointment appointment = Appointment.builder()
+                .patient(User.builder().id(1L).build())
+                .doctor(User.builder().id(21L).build())
+                .date(LocalDateTime.now())
+                .status(AppointmentStatus.SCHEDULED)
+                .build();
+        assertThat(appointment.getActiveSlot()).isTrue();
+
+        // when
+        appointment.cancel();
+
+        // then
+        assertThat(appointment.getActiveSlot()).isNull();
+    }
+
     @Test
     @DisplayName("취소된 예약은 시작할 수 없다")
     void cannotStartCancelledAppointmentTest() {
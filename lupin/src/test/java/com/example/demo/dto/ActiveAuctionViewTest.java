@@ -0,0 +1,69 @@
+package com.example.demo.dto;
+
+import com.example.demo.dto.response.AuctionItemResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ActiveAuctionView 테스트")
+class ActiveAuctionViewTest {
+
+    @Test
+    @DisplayName("Hash 필드로 저장했다가 다시 읽으면 같은 스냅샷이 복원된다")
+    void fields_RoundTrip() {
+        // Given
+        ActiveAuctionView view = new ActiveAuctionView(
+                1L,
+                LocalDateTime.of(2025, 12, 1, 10, 0),
+                LocalDateTime.of(2025, 12, 1, 11, 0),
+                30,
+                5000L,
+                "홍길동",
+                true,
+                LocalDateTime.of(2025, 12, 1, 11, 0, 20),
+                12,
+                new AuctionItemResponse(3L, "경매물품", null, "image.webp")
+        );
+
+        Map<String, String> fields = new HashMap<>(view.staticFields());
+        fields.putAll(view.dynamicFields());
+
+        // When
+        ActiveAuctionView restored = ActiveAuctionView.fromFields(fields);
+
+        // Then
+        assertThat(restored).isEqualTo(view);
+    }
+
+    @Test
+    @DisplayName("진행 중인 경매가 없다는 스냅샷은 NONE으로 복원된다")
+    void none_RoundTrip() {
+        // When
+        ActiveAuctionView restored = ActiveAuctionView.fromFields(ActiveAuctionView.NONE.staticFields());
+
+        // Then
+        assertThat(restored.isNone()).isTrue();
+        assertThat(ActiveAuctionView.NONE.dynamicFields()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("초읽기 중이면 초읽기 종료 시간이 종료 시간이 된다")
+    void endTime_Overtime() {
+        // Given
+        LocalDateTime regularEnd = LocalDateTime.of(2025, 12, 1, 11, 0);
+        LocalDateTime overtimeEnd = regularEnd.plusSeconds(10);
+        ActiveAuctionView normal = new ActiveAuctionView(1L, regularEnd.minusHours(1), regularEnd, 30,
+                1000L, null, false, null, 0, null);
+        ActiveAuctionView overtime = new ActiveAuctionView(1L, regularEnd.minusHours(1), regularEnd, 30,
+                1000L, null, true, overtimeEnd, 3, null);
+
+        // Then
+        assertThat(normal.endTime()).isEqualTo(regularEnd.plusSeconds(30));
+        assertThat(overtime.endTime()).isEqualTo(overtimeEnd);
+    }
+}
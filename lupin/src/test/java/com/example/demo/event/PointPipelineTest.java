@@ -0,0 +1,151 @@
+package com.example.demo.event;
+
+import com.example.demo.config.properties.PointPipelineProperties;
+import com.example.demo.service.RankingEngine;
+import com.example.demo.service.RankingRebuildService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PointPipeline 테스트")
+class PointPipelineTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RankingEngine rankingEngine;
+
+    @Mock
+    private RankingRebuildService rankingRebuildService;
+
+    private PointPipeline pointPipeline;
+
+    @BeforeEach
+    void setUp() {
+        PointPipelineProperties properties = new PointPipelineProperties();
+        properties.setLanes(1);
+        properties.setLaneCapacity(2);
+        properties.setBackpressureTimeoutMs(10);
+        // 워커 스레드를 띄우지 않고 flush()로 직접 비운다
+        pointPipeline = new PointPipeline(redisTemplate, rankingEngine, rankingRebuildService, properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenScript(Object result, Object... more) {
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willReturn(result, more);
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 증감분은 합쳐서 스크립트 한 번으로 반영하고 최종 점수를 메시지 한 건으로 전파한다")
+    @SuppressWarnings("unchecked")
+    void coalescesAndAppliesInOneScript() {
+        // given
+        givenScript(List.of(107L, 5L));
+        pointPipeline.submit(MONTH, 1L, 10L);
+        pointPipeline.submit(MONTH, 1L, -3L);
+        pointPipeline.submit(MONTH, 2L, 5L);
+
+        // when
+        int applied = pointPipeline.flush();
+
+        // then
+        assertThat(applied).isEqualTo(2);
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), keys.capture(), args.capture());
+        assertThat(keys.getValue()).hasSize(4)
+                .startsWith("ranking:monthly:2025-11", "ranking:monthly:2025-11:rebuilding",
+                        "ranking:monthly:2025-11:rebuild-delta");
+        assertThat(keys.getValue().get(3)).startsWith("ranking:batch:");
+        assertThat(args.getValue()).containsSequence("1", "1", "7", "1", "2", "5");
+        verify(rankingEngine).publish(List.of(
+                new RankingEngine.ScoreUpdate(MONTH, 1L, 107L),
+                new RankingEngine.ScoreUpdate(MONTH, 2L, 5L)));
+        assertThat(pointPipeline.stats().coalesced()).isEqualTo(1);
+        assertThat(pointPipeline.stats().backlog()).isZero();
+    }
+
+    @Test
+    @DisplayName("레인이 가득 차면 잠시 기다린 뒤 받아들이고, 예외 없이 대기 횟수만 기록한다")
+    void backpressureInsteadOfRejection() {
+        // given
+        pointPipeline.submit(MONTH, 1L, 1L);
+        pointPipeline.submit(MONTH, 2L, 1L);
+
+        // when
+        pointPipeline.submit(MONTH, 3L, 1L);
+
+        // then
+        PointPipeline.Stats stats = pointPipeline.stats();
+        assertThat(stats.throttled()).isEqualTo(1);
+        assertThat(stats.backlog()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Redis 반영에 실패한 묶음은 버리지 않고 같은 묶음 ID로 새 묶음보다 먼저 다시 보낸다")
+    @SuppressWarnings("unchecked")
+    void failedBatchIsRetriedWithSameId() {
+        // given
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willThrow(new IllegalStateException("redis down"))
+                .willReturn(List.of(1L), List.of(1L));
+        pointPipeline.submit(MONTH, 1L, 1L);
+        pointPipeline.flush();
+
+        // when
+        pointPipeline.submit(MONTH, 2L, 1L);
+        int applied = pointPipeline.flush();
+
+        // then
+        assertThat(applied).isEqualTo(2);
+        assertThat(pointPipeline.stats().failedUsers()).isEqualTo(1);
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), keys.capture(), any(Object[].class));
+        assertThat(keys.getAllValues().get(1).get(3)).isEqualTo(keys.getAllValues().get(0).get(3));
+        assertThat(keys.getAllValues().get(2).get(3)).isNotEqualTo(keys.getAllValues().get(0).get(3));
+        verify(rankingEngine).publish(List.of(new RankingEngine.ScoreUpdate(MONTH, 1L, 1L)));
+        verify(rankingEngine).publish(List.of(new RankingEngine.ScoreUpdate(MONTH, 2L, 1L)));
+    }
+
+    @Test
+    @DisplayName("재시도를 모두 실패하면 묶음을 버리고 그 달 랭킹을 DB 기준으로 재구축한다")
+    @SuppressWarnings("unchecked")
+    void exhaustedBatchTriggersRebuild() {
+        // given
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willThrow(new IllegalStateException("redis down"));
+        pointPipeline.submit(MONTH, 1L, 1L);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            pointPipeline.flush();
+        }
+        pointPipeline.rebuildDroppedMonths();
+
+        // then
+        assertThat(pointPipeline.stats().failedUsers()).isEqualTo(5);
+        verify(rankingRebuildService).rebuild(MONTH);
+        verify(rankingEngine, never()).publish(anyList());
+        assertThat(pointPipeline.flush()).isZero();
+    }
+}
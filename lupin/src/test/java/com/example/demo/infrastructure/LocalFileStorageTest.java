@@ -0,0 +1,125 @@
+package com.example.demo.infrastructure;
+
+import com.example.demo.config.properties.StorageProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LocalFileStorage 테스트")
+class LocalFileStorageTest {
+
+    private static final String PUBLIC_URL = "http://localhost:8081/files";
+
+    @TempDir
+    private Path root;
+
+    private LocalFileStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StorageProperties properties = new StorageProperties();
+        properties.getLocal().setRoot(root.toString());
+        properties.getLocal().setPublicUrl(PUBLIC_URL + "/");
+        properties.getLocal().setSigningSecret("test-secret");
+        storage = new LocalFileStorage(properties);
+    }
+
+    @Test
+    @DisplayName("올린 파일을 키 경로에 저장하고, 공개 URL과 키를 서로 바꿀 수 있다")
+    void uploadAndResolve() throws Exception {
+        // when
+        storage.upload("feed/a.webp", "image".getBytes(StandardCharsets.UTF_8), "image/webp");
+        String url = storage.getPublicUrl("feed/a.webp");
+
+        // then
+        assertThat(Files.readString(root.resolve("feed/a.webp"))).isEqualTo("image");
+        assertThat(url).isEqualTo(PUBLIC_URL + "/feed/a.webp");
+        assertThat(storage.resolvePath(url)).isEqualTo("feed/a.webp");
+        assertThat(storage.resolvePath("feed/a.webp")).isEqualTo("feed/a.webp");
+    }
+
+    @Test
+    @DisplayName("앞부분 읽기는 요청한 길이까지만 돌려준다")
+    void readHead() throws Exception {
+        // given
+        storage.upload("feed/a.webp", new byte[1000], "image/webp");
+
+        // when & then
+        assertThat(storage.readHead("feed/a.webp", 100)).hasSize(100);
+        assertThat(storage.readHead("feed/a.webp", 4096)).hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("하위 경로까지 파일만 훑고, URL로도 일괄 삭제할 수 있다")
+    void listAndDeleteAll() throws Exception {
+        // given
+        storage.upload("feed/a.webp", new byte[1], "image/webp");
+        storage.upload("feed/thumb/a.webp", new byte[1], "image/webp");
+        storage.upload("profiles/p.webp", new byte[1], "image/webp");
+
+        // when
+        List<String> listed = new ArrayList<>();
+        storage.list("feed/", object -> listed.add(object.path()));
+        int failed = storage.deleteAll(List.of(PUBLIC_URL + "/feed/a.webp", "feed/thumb/a.webp", "feed/missing.webp"));
+
+        // then
+        assertThat(listed).containsExactlyInAnyOrder("feed/a.webp", "feed/thumb/a.webp");
+        assertThat(failed).isZero();
+        assertThat(root.resolve("feed/a.webp")).doesNotExist();
+        assertThat(root.resolve("feed/thumb/a.webp")).doesNotExist();
+        assertThat(root.resolve("profiles/p.webp")).exists();
+    }
+
+    @Test
+    @DisplayName("저장소 밖으로 나가는 키는 거부한다")
+    void rejectsTraversal() {
+        assertThatThrownBy(() -> storage.resolve("../outside.txt"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("직접 업로드 본문은 제한 크기까지만 저장하고, 넘으면 임시 파일까지 지운다")
+    void directUploadBounded() throws Exception {
+        // when
+        boolean stored = storage.upload("raw/feed/x", new ByteArrayInputStream(new byte[3]), 3L);
+        boolean overflowed = storage.upload("raw/feed/y", new ByteArrayInputStream(new byte[4]), 3L);
+
+        // then
+        assertThat(stored).isTrue();
+        assertThat(Files.size(root.resolve("raw/feed/x"))).isEqualTo(3L);
+        assertThat(overflowed).isFalse();
+        try (var files = Files.list(root.resolve("raw/feed"))) {
+            assertThat(files.map(file -> file.getFileName().toString()).toList()).containsExactly("x");
+        }
+    }
+
+    @Test
+    @DisplayName("업로드 URL 서명은 경로, Content-Type, 크기가 같고 만료 전일 때만 통과한다")
+    void uploadSignature() {
+        // given
+        String url = storage.createUploadUrl("raw/feed/x", "image/jpeg", 3L, Duration.ofMinutes(10));
+        String query = url.substring(url.indexOf('?') + 1);
+        long expires = Long.parseLong(query.replaceAll(".*expires=(\\d+).*", "$1"));
+        String signature = query.replaceAll(".*signature=([0-9a-f]+).*", "$1");
+
+        // when & then
+        assertThat(url).startsWith(PUBLIC_URL + "/raw/feed/x?");
+        assertThat(storage.verifyUploadSignature("raw/feed/x", "image/jpeg", 3L, expires, signature)).isTrue();
+        assertThat(storage.verifyUploadSignature("raw/feed/y", "image/jpeg", 3L, expires, signature)).isFalse();
+        assertThat(storage.verifyUploadSignature("raw/feed/x", "image/png", 3L, expires, signature)).isFalse();
+        assertThat(storage.verifyUploadSignature("raw/feed/x", "image/jpeg", 4L, expires, signature)).isFalse();
+        assertThat(storage.verifyUploadSignature("raw/feed/x", "image/jpeg", 3L, 0, signature)).isFalse();
+    }
+}
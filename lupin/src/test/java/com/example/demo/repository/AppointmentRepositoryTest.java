@@ -0,0 +1,54 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.Appointment;
+import com.example.demo.domain.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AppointmentRepositoryTest extends BaseRepositoryTest {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    @DisplayName("예약 시간 비트맵 적재 - 기간 안의 취소되지 않은 예약만 (의사 ID, 예약 시각)으로 조회")
+    void findBookedSlotsExcludesCancelledAndOutOfRange() {
+        // given
+        User patient = createAndSaveUser("patient1");
+        User doctor = createAndSaveUser("doctor1");
+        User otherDoctor = createAndSaveUser("doctor2");
+        LocalDateTime dayStart = LocalDateTime.of(2025, 12, 16, 0, 0);
+
+        saveAppointment(patient, doctor, dayStart.withHour(9));
+        saveAppointment(patient, otherDoctor, dayStart.withHour(10));
+        Appointment cancelled = saveAppointment(patient, doctor, dayStart.withHour(16));
+        cancelled.cancel();
+        saveAppointment(patient, doctor, dayStart.plusDays(1)); // 다음 날 0시는 포함하지 않음
+
+        // when
+        List<Object[]> rows = appointmentRepository.findBookedSlots(
+                List.of(doctor.getId(), otherDoctor.getId()), dayStart, dayStart.plusDays(1));
+
+        // then
+        assertThat(rows)
+                .extracting(row -> row[0], row -> row[1])
+                .containsExactlyInAnyOrder(
+                        tuple(doctor.getId(), dayStart.withHour(9)),
+                        tuple(otherDoctor.getId(), dayStart.withHour(10)));
+    }
+
+    private Appointment saveAppointment(User patient, User doctor, LocalDateTime date) {
+        return appointmentRepository.saveAndFlush(Appointment.builder()
+                .patient(patient)
+                .doctor(doctor)
+                .date(date)
+                .build());
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.entity.PointBalanceSnapshot;
+import com.example.demo.domain.entity.PointDailyRollup;
 import com.example.demo.domain.entity.PointLog;
+import com.example.demo.domain.entity.PointRollupCheckpoint;
 import com.example.demo.domain.entity.User;
 import com.example.demo.domain.enums.PointType;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -50,6 +54,26 @@ class PointLogRepositoryTest extends BaseRepositoryTest {
         assertThat(totalPoints).isEqualTo(0L);
     }
 
+    @Test
+    @DisplayName("잔액 스냅샷이 있으면 스냅샷 합계에 이후 로그만 더한다")
+    void sumPointsByUserIdUsesSnapshotTest() {
+        // given
+        User user = createAndSaveUser("snapshotUser");
+        PointLog folded = pointLogRepository.save(PointLog.builder().user(user).points(100L).type(PointType.EARN).build());
+        entityManager.persist(PointBalanceSnapshot.builder()
+                .userId(user.getId())
+                .balance(1000L) // 스냅샷 합계만 믿는지 확인하기 위해 실제 로그 합계와 다르게 둔다
+                .lastLogId(folded.getId())
+                .build());
+        pointLogRepository.save(PointLog.builder().user(user).points(-300L).type(PointType.USE).build());
+
+        // when
+        Long totalPoints = pointLogRepository.sumPointsByUserId(user.getId());
+
+        // then
+        assertThat(totalPoints).isEqualTo(700L);
+    }
+
     @Test
     @DisplayName("월간 포인트 집계 시 USE 타입은 제외하고 EARN과 DEDUCT만 합산한다")
     void sumPointsByUserIdAndMonth_CheckPointTypeFilter() {
@@ -93,45 +117,69 @@ class PointLogRepositoryTest extends BaseRepositoryTest {
     }
 
     @Test
-    @DisplayName("내 랭킹 조회(NativeQuery) 시 음수 포인트는 0으로 반환되지만 순위는 유지된다")
-    void findUserRankingContext_NegativePointsAsZero() {
+    @DisplayName("랭킹 재구축 집계는 사용자 ID 순으로 끊어 읽고, 0점 사용자와 음수 합계도 그대로 돌려준다")
+    void sumPointsPerUserAfter_KeysetPaging() {
         // given
-        // 1. 100점 유저 (1등)
-        User user1 = createAndSaveUser("Winner");
-        // [수정] 쿼리가 point_logs 테이블을 집계하므로 PointLog를 저장해야 함
-        pointLogRepository.save(PointLog.builder()
-                .user(user1)
-                .points(100L)
-                .type(PointType.EARN)
-                .build());
+        User winner = createAndSaveUser("Winner");
+        User loser = createAndSaveUser("Loser");
+        User idle = createAndSaveUser("Idle");
+        pointLogRepository.save(PointLog.builder().user(winner).points(100L).type(PointType.EARN).build());
+        pointLogRepository.save(PointLog.builder().user(loser).points(-50L).type(PointType.DEDUCT).build());
+        pointLogRepository.save(PointLog.builder().user(winner).points(-500L).type(PointType.USE).build());
 
-        // 2. -50점 유저 (2등)
-        User user2 = createAndSaveUser("Loser");
-        // [수정] 쿼리 조건에 맞는 DEDUCT 타입으로 음수 로그 저장
-        pointLogRepository.save(PointLog.builder()
-                .user(user2)
-                .points(-50L)
-                .type(PointType.DEDUCT)
-                .build());
-
-        // when
-        // [수정] 기간 파라미터 추가 (전체 기간 조회를 위해 넉넉하게 설정)
         LocalDateTime start = LocalDateTime.now().minusDays(1);
         LocalDateTime end = LocalDateTime.now().plusDays(1);
-        
-        List<Object[]> result = pointLogRepository.findUserRankingContext(user2.getId(), start, end);
 
-        // then
-        // 결과: id, name, avatar, department, total_points, user_rank
-        Object[] myRankRow = result.stream()
-                .filter(row -> ((Number) row[0]).longValue() == user2.getId())
-                .findFirst()
-                .orElseThrow();
+        // when
+        List<Object[]> firstPage = pointLogRepository.sumPointsPerUserAfter(start, end, 0L, PageRequest.of(0, 2));
+        Long lastId = (Long) firstPage.get(firstPage.size() - 1)[0];
+        List<Object[]> secondPage = pointLogRepository.sumPointsPerUserAfter(start, end, lastId, PageRequest.of(0, 2));
 
-        // 검증 1: DB에는 -50으로 계산되어도 조회 결과(total_points)는 0이어야 함 (GREATEST 함수 동작)
-        assertThat(((Number) myRankRow[4]).longValue()).isEqualTo(0L);
+        // then
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage).extracting(row -> row[0]).containsExactly(winner.getId(), loser.getId());
+        // USE는 랭킹 점수에서 제외된다
+        assertThat(firstPage).extracting(row -> ((Number) row[1]).longValue()).containsExactly(100L, -50L);
+        assertThat(secondPage).extracting(row -> row[0]).contains(idle.getId());
+        assertThat(secondPage).extracting(row -> ((Number) row[1]).longValue()).containsOnly(0L);
+    }
 
-        // 검증 2: 점수는 0으로 보이지만, 100점 유저 다음인 2등이어야 함
-        assertThat(((Number) myRankRow[5]).intValue()).isEqualTo(2);
+    @Test
+    @DisplayName("월간 집계는 롤업 진행 위치 이전은 일별 롤업, 이후는 로그만 합산한다")
+    void monthlyAggregationsUseDailyRollups() {
+        // given
+        User user = createAndSaveUser("rollupUser");
+        User rolledUpOnly = createAndSaveUser("rolledUpOnly");
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 3, 31, 23, 59, 59);
+        LocalDateTime rolledUpBefore = LocalDateTime.of(2025, 3, 11, 0, 0);
+
+        entityManager.persist(PointRollupCheckpoint.builder()
+                .id(PointRollupCheckpoint.DAILY).rolledUpBefore(rolledUpBefore).build());
+        entityManager.persist(PointDailyRollup.builder()
+                .userId(user.getId()).bucketStart(LocalDateTime.of(2025, 3, 5, 0, 0)).rankedPoints(70L).logCount(2).build());
+        entityManager.persist(PointDailyRollup.builder()
+                .userId(rolledUpOnly.getId()).bucketStart(LocalDateTime.of(2025, 3, 6, 0, 0)).rankedPoints(5L).logCount(1).build());
+        // 진행 위치 이후의 롤업 행은 아직 확정되지 않은 것으로 보고 무시한다
+        entityManager.persist(PointDailyRollup.builder()
+                .userId(user.getId()).bucketStart(LocalDateTime.of(2025, 3, 20, 0, 0)).rankedPoints(999L).logCount(1).build());
+
+        // 이미 롤업에 접힌 로그는 다시 더하지 않는다
+        pointLogRepository.save(PointLog.builder().user(user).points(1000L).type(PointType.EARN)
+                .createdAt(LocalDateTime.of(2025, 3, 5, 9, 0)).build());
+        pointLogRepository.save(PointLog.builder().user(user).points(30L).type(PointType.EARN)
+                .createdAt(LocalDateTime.of(2025, 3, 15, 9, 0)).build());
+        pointLogRepository.save(PointLog.builder().user(user).points(-5L).type(PointType.USE)
+                .createdAt(LocalDateTime.of(2025, 3, 15, 10, 0)).build());
+        entityManager.flush();
+
+        // when & then
+        assertThat(pointLogRepository.sumPointsByUserIdAndMonth(user.getId(), start, end)).isEqualTo(100L);
+        assertThat(pointLogRepository.sumRankedPointsBetween(start, end)).isEqualTo(105L);
+        assertThat(pointLogRepository.findActiveUserIdsAfter(start, end, 0L, PageRequest.of(0, 10)))
+                .containsExactly(user.getId(), rolledUpOnly.getId());
+        assertThat(pointLogRepository.sumPointsPerUserAfter(start, end, 0L, PageRequest.of(0, 10)))
+                .extracting(row -> ((Number) row[1]).longValue())
+                .containsExactly(100L, 5L);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.domain.entity.Auction;
+import com.example.demo.domain.enums.AuctionStatus;
+import com.example.demo.repository.AuctionRepository;
+import com.example.demo.service.AuctionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuctionCoordinatorTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RScript rScript;
+
+    @Mock
+    private RBucket<Object> rBucket;
+
+    @Mock
+    private AuctionRepository auctionRepository;
+
+    @Mock
+    private AuctionTaskScheduler auctionTaskScheduler;
+
+    @Mock
+    private AuctionService auctionService;
+
+    @InjectMocks
+    private AuctionCoordinator auctionCoordinator;
+
+    @Test
+    @DisplayName("리스를 획득하면 리더가 되고 DB 기준으로 경매 타이머를 복구한다")
+    void heartbeat_elected() {
+        // given
+        Auction active = Auction.builder()
+                .id(1L)
+                .status(AuctionStatus.ACTIVE)
+                .currentPrice(300L)
+                .startTime(LocalDateTime.now().minusMinutes(10))
+                .regularEndTime(LocalDateTime.now().plusMinutes(10))
+                .build();
+
+        given(redissonClient.getScript(StringCodec.INSTANCE)).willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any(), any()))
+                .willReturn(1L);
+        given(redissonClient.getBucket(anyString(), any())).willReturn(rBucket);
+        given(auctionRepository.findAllByStatus(AuctionStatus.ACTIVE)).willReturn(List.of(active));
+        given(auctionRepository.findAllByStatus(AuctionStatus.SCHEDULED)).willReturn(List.of());
+
+        // when
+        auctionCoordinator.heartbeat();
+
+        // then
+        assertThat(auctionCoordinator.isLeader()).isTrue();
+        verify(auctionTaskScheduler).scheduleAuctionEnd(eq(1L), any(LocalDateTime.class));
+        verify(auctionService, never()).closeExpiredAuctions(any());
+    }
+
+    @Test
+    @DisplayName("리스 갱신에 실패하면 리더 자리에서 내려오고 보관 중인 알람을 취소한다")
+    void heartbeat_lostLeadership() {
+        // given
+        given(redissonClient.getScript(StringCodec.INSTANCE)).willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any(), any()))
+                .willReturn(1L, 0L);
+        given(auctionRepository.findAllByStatus(any())).willReturn(List.of());
+
+        auctionCoordinator.heartbeat();
+        assertThat(auctionCoordinator.isLeader()).isTrue();
+
+        // when
+        auctionCoordinator.heartbeat();
+
+        // then
+        assertThat(auctionCoordinator.isLeader()).isFalse();
+        verify(auctionTaskScheduler).cancelAll();
+    }
+
+    @Test
+    @DisplayName("리더가 아니면 만료 경매 sweep을 실행하지 않는다")
+    void sweep_followerDoesNothing() {
+        // when
+        auctionCoordinator.sweepExpiredAuctions();
+
+        // then
+        verifyNoInteractions(auctionService);
+    }
+
+    @Test
+    @DisplayName("Redis 장애로 리스를 확인할 수 없으면 리더가 되지 않는다")
+    void heartbeat_redisFailure() {
+        // given
+        given(redissonClient.getScript(StringCodec.INSTANCE)).willThrow(new RuntimeException("connection refused"));
+
+        // when
+        auctionCoordinator.heartbeat();
+
+        // then
+        assertThat(auctionCoordinator.isLeader()).isFalse();
+        verifyNoInteractions(auctionTaskScheduler);
+    }
+}
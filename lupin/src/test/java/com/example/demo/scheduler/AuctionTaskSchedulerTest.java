@@ -4,6 +4,7 @@ import com.example.demo.service.AuctionService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -26,6 +27,9 @@ class AuctionTaskSchedulerTest {
     @Mock
     private AuctionService auctionService;
 
+    @Mock
+    private AuctionCoordinator auctionCoordinator;
+
     @InjectMocks
     private AuctionTaskScheduler auctionTaskScheduler; // 테스트할 대상
 
@@ -93,4 +97,46 @@ class AuctionTaskSchedulerTest {
         // "그리고 스케줄 예약은 총 2번 일어났니?" (처음 등록 + 재등록)
         verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("리더가 아닌 노드에서는 종료 알람이 울려도 경매를 닫지 않는다")
+    void endTaskSkippedOnFollower() {
+        // given
+        ScheduledFuture dummyFuture = mock(ScheduledFuture.class);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class)))
+                .thenReturn(dummyFuture);
+        when(auctionCoordinator.isLeader()).thenReturn(false);
+
+        auctionTaskScheduler.scheduleAuctionEnd(4L, LocalDateTime.now().plusMinutes(1));
+
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(taskCaptor.capture(), any(Instant.class));
+
+        // when
+        taskCaptor.getValue().run();
+
+        // then
+        verify(auctionService, never()).closeExpiredAuctions(any());
+    }
+
+    @Test
+    @DisplayName("리더 노드에서는 종료 알람이 울리면 만료 경매를 닫는다")
+    void endTaskRunsOnLeader() {
+        // given
+        ScheduledFuture dummyFuture = mock(ScheduledFuture.class);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class)))
+                .thenReturn(dummyFuture);
+        when(auctionCoordinator.isLeader()).thenReturn(true);
+
+        auctionTaskScheduler.scheduleAuctionEnd(5L, LocalDateTime.now().plusMinutes(1));
+
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(taskCaptor.capture(), any(Instant.class));
+
+        // when
+        taskCaptor.getValue().run();
+
+        // then
+        verify(auctionService).closeExpiredAuctions(any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.service.ImageDedupService;
+import com.example.demo.service.ImageReferenceService;
+import com.example.demo.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("S3OrphanImageCleanupScheduler 테스트")
+class S3OrphanImageCleanupSchedulerTest {
+
+    private static final Instant OLD = Instant.now().minus(2, ChronoUnit.DAYS);
+    private static final Instant RECENT = Instant.now().minus(1, ChronoUnit.HOURS);
+
+    @Mock
+    private ImageReferenceService imageReferenceService;
+
+    @Mock
+    private FileStorage fileStorage;
+
+    @Mock
+    private ImageDedupService imageDedupService;
+
+    private S3OrphanImageCleanupScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new S3OrphanImageCleanupScheduler(imageReferenceService, fileStorage, imageDedupService);
+    }
+
+    private FileStorage.StoredObject object(String key, Instant lastModified) {
+        return new FileStorage.StoredObject(key, lastModified);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenObjects(String prefix, FileStorage.StoredObject... objects) throws Exception {
+        willAnswer(invocation -> {
+            Consumer<FileStorage.StoredObject> action = invocation.getArgument(1);
+            for (FileStorage.StoredObject object : objects) {
+                action.accept(object);
+            }
+            return null;
+        }).given(fileStorage).list(eq(prefix), any(Consumer.class));
+    }
+
+    private void givenReferences(String... keys) {
+        BloomFilter filter = BloomFilter.create(100, 0.01, 1L);
+        for (String key : keys) {
+            filter.put(key);
+        }
+        given(imageReferenceService.buildReferenceFilter(anyDouble(), anyLong())).willReturn(filter);
+    }
+
+    @Test
+    @DisplayName("필터에 없는 오래된 원본은 썸네일/추가 크기와 함께 다중 삭제하고, 참조 중인 이미지와 최근 이미지는 남긴다")
+    void deletesFilterNegativesWithRenditions() throws Exception {
+        // given
+        givenReferences("feed/b.webp", "profiles/p.webp");
+        givenObjects("feed/",
+                object("feed/a.webp", OLD),
+                object("feed/b.webp", OLD),
+                object("feed/d.webp", RECENT),
+                object("feed/medium/a.webp", OLD),
+                object("feed/thumb/a.webp", OLD),
+                object("feed/thumb/b.webp", OLD));
+        givenObjects("profiles/",
+                object("profiles/p.webp", OLD),
+                object("profiles/q.webp", OLD),
+                object("profiles/thumb/q.webp", OLD));
+        given(imageReferenceService.findReferenced(anyCollection())).willReturn(Set.of());
+        given(imageDedupService.forgetIfIdle(any(), any(LocalDateTime.class))).willReturn(true);
+
+        // when
+        scheduler.cleanupOrphanImages();
+
+        // then
+        verify(imageReferenceService).findReferenced(Set.of("feed/a.webp", "profiles/q.webp"));
+        verify(fileStorage, times(1)).deleteAll(List.of(
+                "feed/a.webp", "feed/medium/a.webp", "feed/thumb/a.webp", "profiles/q.webp", "profiles/thumb/q.webp"));
+    }
+
+    @Test
+    @DisplayName("원본이 이미 지워지고 남은 썸네일도 정리한다")
+    void deletesLeftoverThumbnail() throws Exception {
+        // given
+        givenReferences();
+        givenObjects("feed/", object("feed/thumb/gone.webp", OLD));
+        givenObjects("profiles/");
+        given(imageReferenceService.findReferenced(anyCollection())).willReturn(Set.of());
+        given(imageDedupService.forgetIfIdle(eq("feed/gone.webp"), any(LocalDateTime.class))).willReturn(true);
+
+        // when
+        scheduler.cleanupOrphanImages();
+
+        // then
+        verify(fileStorage).deleteAll(List.of("feed/thumb/gone.webp"));
+    }
+
+    @Test
+    @DisplayName("필터를 만든 뒤 참조가 생겼거나 최근 새 업로드가 받아 간 이미지는 삭제 직전 확인에서 남긴다")
+    void recheckKeepsReferenced() throws Exception {
+        // given
+        givenReferences();
+        givenObjects("feed/", object("feed/a.webp", OLD), object("feed/e.webp", OLD));
+        givenObjects("profiles/");
+        given(imageReferenceService.findReferenced(anyCollection())).willReturn(Set.of("feed/a.webp"));
+        given(imageDedupService.forgetIfIdle(eq("feed/e.webp"), any(LocalDateTime.class))).willReturn(false);
+
+        // when
+        scheduler.cleanupOrphanImages();
+
+        // then
+        verify(fileStorage, never()).deleteAll(anyCollection());
+        verify(imageDedupService, never()).forgetIfIdle(eq("feed/a.webp"), any());
+    }
+}
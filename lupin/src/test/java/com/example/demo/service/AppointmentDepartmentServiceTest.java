@@ -14,15 +14,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.junit.jupiter.api.AfterEach;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.*;
@@ -44,14 +43,11 @@ class AppointmentDepartmentServiceTest {
     @Mock
     private ChatService chatService;
 
-    @Mock
-    private RedissonClient redissonClient;
-
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
     @Mock
-    private RLock rLock;
+    private ValueOperations<String, String> valueOperations;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -59,7 +55,7 @@ class AppointmentDepartmentServiceTest {
     private User patient;
 
     @BeforeEach
-    void setUp() throws InterruptedException {
+    void setUp() {
         // 트랜잭션 동기화 활성화
         TransactionSynchronizationManager.initSynchronization();
 
@@ -71,9 +67,8 @@ class AppointmentDepartmentServiceTest {
                 .build();
 
         // Redis mock 공통 설정
-        given(redissonClient.getLock(anyString())).willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
-        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
     }
 
     @AfterEach
@@ -15,19 +15,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
-import org.springframework.data.redis.core.ListOperations;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.junit.jupiter.api.AfterEach;
 
-import java.time.LocalDate;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Collection;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.*;
@@ -49,17 +46,14 @@ class AppointmentRedisServiceTest {
     @Mock
     private ChatService chatService;
 
-    @Mock
-    private RedissonClient redissonClient;
-
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
     @Mock
-    private RLock rLock;
+    private ValueOperations<String, String> valueOperations;
 
     @Mock
-    private ListOperations<String, String> listOperations;
+    private DoctorAvailabilityService doctorAvailabilityService;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -97,8 +91,8 @@ class AppointmentRedisServiceTest {
     }
 
     @Test
-    @DisplayName("Redis 분산 락을 사용하여 예약 생성 시 동시성 제어")
-    void createAppointment_WithRedisLock_ShouldPreventConcurrentBooking() throws InterruptedException {
+    @DisplayName("Redis SET NX로 의사+시간대를 선점한 뒤 예약 생성")
+    void createAppointment_WithSlotClaim_ShouldPreventConcurrentBooking() {
         // Given
         AppointmentRequest request = AppointmentRequest.builder()
                 .patientId(1L)
@@ -117,9 +111,8 @@ class AppointmentRedisServiceTest {
 
         given(userRepository.findById(1L)).willReturn(Optional.of(patient));
         given(userRepository.findById(21L)).willReturn(Optional.of(doctor));
-        given(redissonClient.getLock(anyString())).willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
-        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
         given(appointmentRepository.existsByDoctorIdAndDate(anyLong(), any())).willReturn(false);
         given(appointmentRepository.save(any(Appointment.class))).willReturn(expectedAppointment);
         given(chatService.createChatRoomForAppointment(anyLong())).willReturn("appointment_1");
@@ -129,14 +122,14 @@ class AppointmentRedisServiceTest {
 
         // Then
         assertThat(appointmentId).isNotNull();
-        verify(rLock, times(1)).tryLock(anyLong(), anyLong(), any(TimeUnit.class));
-        verify(rLock, times(1)).unlock();
+        verify(valueOperations, times(1)).setIfAbsent(
+                eq("appointment:claim:doctor:21:" + request.getDate()), anyString(), any(Duration.class));
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
     }
 
     @Test
-    @DisplayName("Redis 락 획득 실패 시 예외 발생")
-    void createAppointment_LockAcquisitionFailed_ShouldThrowException() throws InterruptedException {
+    @DisplayName("다른 요청이 시간대를 선점 중이면 기다리지 않고 예외 발생")
+    void createAppointment_SlotAlreadyClaimed_ShouldThrowException() {
         // Given
         AppointmentRequest request = AppointmentRequest.builder()
                 .patientId(1L)
@@ -146,120 +139,46 @@ class AppointmentRedisServiceTest {
 
         given(userRepository.findById(1L)).willReturn(Optional.of(patient));
         given(userRepository.findById(21L)).willReturn(Optional.of(doctor));
-        given(redissonClient.getLock(anyString())).willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(false);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> appointmentService.createAppointment(request))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("다른 사용자가 예약 중입니다");
 
+        verify(appointmentRepository, never()).existsByDoctorIdAndDate(anyLong(), any());
         verify(appointmentRepository, never()).save(any(Appointment.class));
     }
 
     @Test
-    @DisplayName("Redis 캐시에 예약 시간이 있으면 DB 조회 없이 반환")
-    void getBookedTimesByDoctorAndDate_WithCache_ShouldReturnCachedData() {
+    @DisplayName("선점 없이 진행해도 DB 유니크 제약 위반은 이미 예약된 시간 예외로 바뀜")
+    void createAppointment_UniqueConstraintViolation_ShouldThrowAlreadyExists() {
         // Given
-        Long doctorId = 21L;
-        LocalDate date = LocalDate.of(2025, 12, 18);
-        List<String> cachedTimes = List.of("09:00", "10:00", "11:00");
-
-        given(redisTemplate.opsForList()).willReturn(listOperations);
-        given(listOperations.size(anyString())).willReturn(3L);
-        given(listOperations.range(anyString(), eq(0L), eq(-1L))).willReturn(cachedTimes);
-
-        // When
-        List<String> result = appointmentService.getBookedTimesByDoctorAndDate(doctorId, date);
-
-        // Then
-        assertThat(result).hasSize(3);
-        assertThat(result).containsExactly("09:00", "10:00", "11:00");
-        verify(appointmentRepository, never()).findByDoctorIdAndDateBetween(anyLong(), any(), any());
-    }
-
-    @Test
-    @DisplayName("Redis 캐시 미스 시 DB 조회 후 캐시 저장")
-    void getBookedTimesByDoctorAndDate_CacheMiss_ShouldQueryDbAndCache() {
-        // Given
-        Long doctorId = 21L;
-        LocalDate date = LocalDate.of(2025, 12, 18);
-
-        Appointment apt1 = Appointment.builder()
-                .id(1L)
-                .patient(patient)
-                .doctor(doctor)
-                .date(LocalDateTime.of(2025, 12, 18, 9, 0))
-                .status(AppointmentStatus.SCHEDULED)
-                .build();
-
-        Appointment apt2 = Appointment.builder()
-                .id(2L)
-                .patient(patient)
-                .doctor(doctor)
-                .date(LocalDateTime.of(2025, 12, 18, 10, 0))
-                .status(AppointmentStatus.SCHEDULED)
-                .build();
-
-        given(redisTemplate.opsForList()).willReturn(listOperations);
-        given(listOperations.size(anyString())).willReturn(0L);
-        given(appointmentRepository.findByDoctorIdAndDateBetween(anyLong(), any(), any()))
-                .willReturn(List.of(apt1, apt2));
-
-        // When
-        List<String> result = appointmentService.getBookedTimesByDoctorAndDate(doctorId, date);
-
-        // Then
-        assertThat(result).hasSize(2);
-        assertThat(result).containsExactly("09:00", "10:00");
-        verify(appointmentRepository, times(1)).findByDoctorIdAndDateBetween(anyLong(), any(), any());
-        verify(redisTemplate, times(1)).delete(anyString());
-        verify(listOperations, times(1)).rightPushAll(anyString(), (Collection<String>) any());
-        verify(redisTemplate, times(1)).expire(anyString(), anyLong(), any(TimeUnit.class));
-    }
-
-    @Test
-    @DisplayName("예약 취소된 항목은 예약 시간 목록에서 제외")
-    void getBookedTimesByDoctorAndDate_ShouldExcludeCancelledAppointments() {
-        // Given
-        Long doctorId = 21L;
-        LocalDate date = LocalDate.of(2025, 12, 18);
-
-        Appointment scheduledApt = Appointment.builder()
-                .id(1L)
-                .patient(patient)
-                .doctor(doctor)
+        AppointmentRequest request = AppointmentRequest.builder()
+                .patientId(1L)
+                .doctorId(21L)
                 .date(LocalDateTime.of(2025, 12, 18, 9, 0))
-                .status(AppointmentStatus.SCHEDULED)
-                .build();
-
-        Appointment cancelledApt = Appointment.builder()
-                .id(2L)
-                .patient(patient)
-                .doctor(doctor)
-                .date(LocalDateTime.of(2025, 12, 18, 10, 0))
-                .status(AppointmentStatus.CANCELLED)
                 .build();
 
-        given(redisTemplate.opsForList()).willReturn(listOperations);
-        given(listOperations.size(anyString())).willReturn(0L);
-        given(appointmentRepository.findByDoctorIdAndDateBetween(anyLong(), any(), any()))
-                .willReturn(List.of(scheduledApt, cancelledApt));
+        given(userRepository.findById(1L)).willReturn(Optional.of(patient));
+        given(userRepository.findById(21L)).willReturn(Optional.of(doctor));
+        given(redisTemplate.opsForValue()).willThrow(new RuntimeException("connection refused"));
+        given(appointmentRepository.existsByDoctorIdAndDate(anyLong(), any())).willReturn(false);
+        given(appointmentRepository.save(any(Appointment.class)))
+                .willThrow(new DataIntegrityViolationException("uk_appointment_doctor_slot"));
 
-        // When
-        List<String> result = appointmentService.getBookedTimesByDoctorAndDate(doctorId, date);
+        // When & Then
+        assertThatThrownBy(() -> appointmentService.createAppointment(request))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("해당 의사의 해당 시간에 예약이 이미 꽉 찼습니다");
 
-        // Then
-        assertThat(result).hasSize(1);
-        assertThat(result).containsExactly("09:00");
-        verify(listOperations, times(1)).rightPushAll(anyString(), (Collection<String>) argThat((Collection<String> list) ->
-        list != null && list.size() == 1 && list.contains("09:00")
-        ));
+        verify(chatService, never()).createChatRoomForAppointment(anyLong());
     }
 
     @Test
-    @DisplayName("예약 생성 후 Redis 캐시 무효화")
-    void createAppointment_ShouldInvalidateCache() throws InterruptedException {
+    @DisplayName("예약 생성 커밋 후 예약 시간 비트맵에 반영")
+    void createAppointment_ShouldMarkSlotBookedAfterCommit() {
         // Given
         AppointmentRequest request = AppointmentRequest.builder()
                 .patientId(1L)
@@ -278,9 +197,8 @@ class AppointmentRedisServiceTest {
 
         given(userRepository.findById(1L)).willReturn(Optional.of(patient));
         given(userRepository.findById(21L)).willReturn(Optional.of(doctor));
-        given(redissonClient.getLock(anyString())).willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
-        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
         given(appointmentRepository.existsByDoctorIdAndDate(anyLong(), any())).willReturn(false);
         given(appointmentRepository.save(any(Appointment.class))).willReturn(expectedAppointment);
         given(chatService.createChatRoomForAppointment(anyLong())).willReturn("appointment_1");
@@ -288,17 +206,17 @@ class AppointmentRedisServiceTest {
         // When
         appointmentService.createAppointment(request);
 
-        // Then
-        // Redis 캐시 무효화는 트랜잭션 커밋 후에 실행되므로,
-        // 단위 테스트 환경에서는 실제 커밋이 발생하지 않아 검증할 수 없음
-        // 통합 테스트에서 검증해야 함
+        // Then - 커밋 전에는 반영하지 않고, 커밋 후에 해당 슬롯만 고친다
+        verify(doctorAvailabilityService, never()).markBooked(anyLong(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(doctorAvailabilityService, times(1)).markBooked(21L, request.getDate());
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
         verify(chatService, times(1)).createChatRoomForAppointment(anyLong());
     }
 
     @Test
     @DisplayName("취소된 예약이 있는 시간대에 새로운 예약 가능")
-    void createAppointment_WithCancelledAppointment_ShouldAllowNewBooking() throws InterruptedException {
+    void createAppointment_WithCancelledAppointment_ShouldAllowNewBooking() {
         // Given
         LocalDateTime sameTime = LocalDateTime.of(2025, 12, 18, 9, 0);
 
@@ -319,9 +237,8 @@ class AppointmentRedisServiceTest {
 
         given(userRepository.findById(1L)).willReturn(Optional.of(patient));
         given(userRepository.findById(21L)).willReturn(Optional.of(doctor));
-        given(redissonClient.getLock(anyString())).willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
-        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
 
         // 취소된 예약은 existsByDoctorIdAndDate에서 false 반환 (쿼리에서 CANCELLED 제외)
         given(appointmentRepository.existsByDoctorIdAndDate(21L, sameTime)).willReturn(false);
@@ -335,12 +252,12 @@ class AppointmentRedisServiceTest {
         assertThat(appointmentId).isEqualTo(2L);
         verify(appointmentRepository, times(1)).existsByDoctorIdAndDate(21L, sameTime);
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
-        verify(rLock, times(1)).unlock();
+        verify(valueOperations, times(1)).setIfAbsent(anyString(), anyString(), any(Duration.class));
     }
 
     @Test
     @DisplayName("같은 시간대에 의사별로 독립적인 예약 상태 관리: 취소/예약됨/예약없음")
-    void createAppointment_MultipleDoctors_IndependentBookingStatus() throws InterruptedException {
+    void createAppointment_MultipleDoctors_IndependentBookingStatus() {
         // Given: 같은 시간대, 세 명의 다른 의사
         LocalDateTime sameTime = LocalDateTime.of(2025, 12, 18, 9, 0);
 
@@ -389,9 +306,8 @@ class AppointmentRedisServiceTest {
 
         given(userRepository.findById(1L)).willReturn(Optional.of(patient));
         given(userRepository.findById(21L)).willReturn(Optional.of(doctor1));
-        given(redissonClient.getLock(contains("21"))).willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
-        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
 
         // 의사1: CANCELLED 예약은 제외되어 false 반환
         given(appointmentRepository.existsByDoctorIdAndDate(21L, sameTime)).willReturn(false);
@@ -417,7 +333,6 @@ class AppointmentRedisServiceTest {
                 .build();
 
         given(userRepository.findById(22L)).willReturn(Optional.of(doctor2));
-        given(redissonClient.getLock(contains("22"))).willReturn(rLock);
 
         // 의사2: SCHEDULED 예약이 있어서 true 반환
         given(appointmentRepository.existsByDoctorIdAndDate(22L, sameTime)).willReturn(true);
@@ -447,7 +362,6 @@ class AppointmentRedisServiceTest {
                 .build();
 
         given(userRepository.findById(23L)).willReturn(Optional.of(doctor3));
-        given(redissonClient.getLock(contains("23"))).willReturn(rLock);
 
         // 의사3: 예약 없음 (false 반환)
         given(appointmentRepository.existsByDoctorIdAndDate(23L, sameTime)).willReturn(false);
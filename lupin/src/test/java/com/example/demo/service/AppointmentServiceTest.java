@@ -5,6 +5,8 @@ import com.example.demo.domain.entity.ChatMessage;
 import com.example.demo.domain.entity.User;
 import com.example.demo.domain.enums.AppointmentStatus;
 import com.example.demo.dto.request.AppointmentRequest;
+import com.example.demo.dto.response.DoctorBookedTimesResponse;
+import com.example.demo.exception.BusinessException;
 import com.example.demo.repository.AppointmentRepository;
 import com.example.demo.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -15,17 +17,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.*;
@@ -48,20 +50,17 @@ class AppointmentServiceTest {
     private ChatService chatService;
 
     @Mock
-    private RedissonClient redissonClient;
+    private DoctorAvailabilityService doctorAvailabilityService;
 
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
     @Mock
-    private RLock rLock;
+    private ValueOperations<String, String> valueOperations;
 
     @InjectMocks
     private AppointmentService appointmentService;
 
-    @Mock
-    private org.springframework.data.redis.core.ListOperations<String, String> listOperations;
-
     private User patient;
     private User doctor;
     private Appointment appointment;
@@ -104,7 +103,7 @@ class AppointmentServiceTest {
 
     @Test
     @DisplayName("예약 생성 시 채팅방이 자동으로 생성됨")
-    void createAppointment_ShouldCreateChatRoomAutomatically() throws InterruptedException {
+    void createAppointment_ShouldCreateChatRoomAutomatically() {
         // Given
         AppointmentRequest request = AppointmentRequest.builder()
                 .patientId(1L)
@@ -114,9 +113,8 @@ class AppointmentServiceTest {
 
         given(userRepository.findById(1L)).willReturn(Optional.of(patient));
         given(userRepository.findById(21L)).willReturn(Optional.of(doctor));
-        given(redissonClient.getLock(anyString())).willReturn(rLock);
-        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
-        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).willReturn(true);
         given(appointmentRepository.existsByDoctorIdAndDate(anyLong(), any())).willReturn(false);
         given(appointmentRepository.save(any(Appointment.class))).willReturn(appointment);
         given(chatService.createChatRoomForAppointment(anyLong())).willReturn("appointment_1");
@@ -128,7 +126,7 @@ class AppointmentServiceTest {
         assertThat(appointmentId).isNotNull();
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
         verify(chatService, times(1)).createChatRoomForAppointment(anyLong());
-        verify(rLock, times(1)).unlock();
+        verify(valueOperations, times(1)).setIfAbsent(anyString(), anyString(), any(Duration.class));
         // Redis 캐시 무효화는 트랜잭션 커밋 후 실행되므로 단위 테스트에서는 검증하지 않음
         // 환영 메시지 전송 기능 제거로 인해 saveMessage 검증 제거
     }
@@ -262,102 +260,53 @@ class AppointmentServiceTest {
     }
 
     @Test
-    @DisplayName("예약된 시간 조회 - 캐시 미스 시 DB에서 조회")
-    void getBookedTimesByDoctorAndDate_ShouldFetchFromDbWhenCacheMiss() {
+    @DisplayName("예약된 시간 조회 - 예약 시간 비트맵에서 조회")
+    void getBookedTimesByDoctorAndDate_ShouldReadAvailabilityBitmap() {
         // Given
         Long doctorId = 21L;
         LocalDate date = LocalDate.of(2025, 12, 1);
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-
-        Appointment appointment1 = Appointment.builder()
-                .id(1L)
-                .patient(patient)
-                .doctor(doctor)
-                .date(LocalDateTime.of(2025, 12, 1, 10, 0))
-                .status(AppointmentStatus.SCHEDULED)
-                .build();
-
-        Appointment appointment2 = Appointment.builder()
-                .id(2L)
-                .patient(patient)
-                .doctor(doctor)
-                .date(LocalDateTime.of(2025, 12, 1, 14, 0))
-                .status(AppointmentStatus.SCHEDULED)
-                .build();
-
-        given(redisTemplate.opsForList()).willReturn(listOperations);
-        given(listOperations.size(anyString())).willReturn(null); // 캐시 미스
-        given(appointmentRepository.findByDoctorIdAndDateBetween(doctorId, startOfDay, endOfDay))
-                .willReturn(Arrays.asList(appointment1, appointment2));
+        given(doctorAvailabilityService.getBookedTimes(doctorId, date)).willReturn(List.of("10:00", "14:00"));
 
         // When
         List<String> bookedTimes = appointmentService.getBookedTimesByDoctorAndDate(doctorId, date);
 
         // Then
-        assertThat(bookedTimes).hasSize(2);
         assertThat(bookedTimes).containsExactly("10:00", "14:00");
-        verify(appointmentRepository, times(1)).findByDoctorIdAndDateBetween(doctorId, startOfDay, endOfDay);
-        verify(listOperations, times(1)).rightPushAll(anyString(), anyList());
+        verifyNoInteractions(appointmentRepository);
     }
 
     @Test
-    @DisplayName("예약된 시간 조회 - 캐시 히트")
-    void getBookedTimesByDoctorAndDate_ShouldReturnFromCacheWhenCacheHit() {
+    @DisplayName("예약 달력 - 진료과 의사들의 여러 날 예약 시간을 한 번에 조회")
+    void getBookedTimesCalendar_ShouldResolveDepartmentDoctors() {
         // Given
-        Long doctorId = 21L;
-        LocalDate date = LocalDate.of(2025, 12, 1);
-        List<String> cachedTimes = Arrays.asList("10:00", "14:00");
+        LocalDate from = LocalDate.of(2025, 12, 1);
+        LocalDate to = LocalDate.of(2025, 12, 2);
+        Map<LocalDate, List<String>> byDay = new LinkedHashMap<>();
+        byDay.put(from, List.of("10:00"));
+        byDay.put(to, List.of());
 
-        given(redisTemplate.opsForList()).willReturn(listOperations);
-        given(listOperations.size(anyString())).willReturn(2L);
-        given(listOperations.range(anyString(), eq(0L), eq(-1L))).willReturn(cachedTimes);
+        given(userRepository.findByRoleAndDepartment(Role.DOCTOR, "내과")).willReturn(List.of(doctor));
+        given(doctorAvailabilityService.getBookedTimes(List.of(21L), from, to)).willReturn(Map.of(21L, byDay));
 
         // When
-        List<String> bookedTimes = appointmentService.getBookedTimesByDoctorAndDate(doctorId, date);
+        List<DoctorBookedTimesResponse> calendar = appointmentService.getBookedTimesCalendar(null, "내과", from, to);
 
         // Then
-        assertThat(bookedTimes).hasSize(2);
-        assertThat(bookedTimes).containsExactly("10:00", "14:00");
-        verify(appointmentRepository, never()).findByDoctorIdAndDateBetween(any(), any(), any());
+        assertThat(calendar).hasSize(2);
+        assertThat(calendar.get(0).getDoctorId()).isEqualTo(21L);
+        assertThat(calendar.get(0).getDate()).isEqualTo(from);
+        assertThat(calendar.get(0).getBookedTimes()).containsExactly("10:00");
+        assertThat(calendar.get(1).getBookedTimes()).isEmpty();
     }
 
     @Test
-    @DisplayName("예약된 시간 조회 - 취소된 예약은 제외")
-    void getBookedTimesByDoctorAndDate_ShouldExcludeCancelledAppointments() {
-        // Given
-        Long doctorId = 21L;
-        LocalDate date = LocalDate.of(2025, 12, 1);
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-
-        Appointment scheduledAppointment = Appointment.builder()
-                .id(1L)
-                .patient(patient)
-                .doctor(doctor)
-                .date(LocalDateTime.of(2025, 12, 1, 10, 0))
-                .status(AppointmentStatus.SCHEDULED)
-                .build();
-
-        Appointment cancelledAppointment = Appointment.builder()
-                .id(2L)
-                .patient(patient)
-                .doctor(doctor)
-                .date(LocalDateTime.of(2025, 12, 1, 14, 0))
-                .status(AppointmentStatus.CANCELLED)
-                .build();
-
-        given(redisTemplate.opsForList()).willReturn(listOperations);
-        given(listOperations.size(anyString())).willReturn(null);
-        given(appointmentRepository.findByDoctorIdAndDateBetween(doctorId, startOfDay, endOfDay))
-                .willReturn(Arrays.asList(scheduledAppointment, cancelledAppointment));
-
-        // When
-        List<String> bookedTimes = appointmentService.getBookedTimesByDoctorAndDate(doctorId, date);
+    @DisplayName("예약 달력 - 조회 기간이 31일을 넘으면 예외")
+    void getBookedTimesCalendar_ShouldRejectLongRange() {
+        // When & Then
+        assertThatThrownBy(() -> appointmentService.getBookedTimesCalendar(
+                List.of(21L), null, LocalDate.of(2025, 12, 1), LocalDate.of(2026, 1, 1)))
+                .isInstanceOf(BusinessException.class);
 
-        // Then
-        assertThat(bookedTimes).hasSize(1);
-        assertThat(bookedTimes).containsExactly("10:00");
-        verify(appointmentRepository, times(1)).findByDoctorIdAndDateBetween(doctorId, startOfDay, endOfDay);
+        verifyNoInteractions(doctorAvailabilityService);
     }
 }
@@ -1,5 +1,7 @@
 package com.example.demo.service;
 
+import com.example.demo.exception.BidRateLimitException;
+import com.example.demo.exception.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,8 +16,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +34,9 @@ class AuctionBidFacadeTest {
     @Mock
     private AuctionService auctionService; // 실제 서비스 로직
 
+    @Mock
+    private BidRateLimiter bidRateLimiter; // 입찰 유량 제어
+
     @InjectMocks
     private AuctionBidFacade auctionBidFacade;
 
@@ -91,4 +98,36 @@ class AuctionBidFacadeTest {
         // 2. DB 서비스(placeBid)는 절대 호출되면 안 됨! (Redis에서 컷 당했으므로)
         verify(auctionService, never()).placeBid(anyLong(), anyLong(), anyLong(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("토큰 버킷에 걸리면: 가격 스크립트와 DB 로직을 호출하지 않고 429 예외를 던지며 동시 처리 슬롯을 반납한다")
+    void bid_rate_limited() {
+        // given
+        willThrow(new BidRateLimitException(ErrorCode.BID_RATE_LIMITED, 1))
+                .given(bidRateLimiter).acquire(1L, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> auctionBidFacade.bid(1L, 100L, 5000L, LocalDateTime.now()))
+                .isInstanceOf(BidRateLimitException.class);
+
+        verify(bidRateLimiter).exit();
+        verifyNoInteractions(redissonClient);
+        verify(auctionService, never()).placeBid(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("동시 처리 상한을 넘으면: 토큰 버킷조차 확인하지 않고 거절한다")
+    void bid_overloaded() {
+        // given
+        willThrow(new BidRateLimitException(ErrorCode.BID_OVERLOADED, 1))
+                .given(bidRateLimiter).enter();
+
+        // when & then
+        assertThatThrownBy(() -> auctionBidFacade.bid(1L, 100L, 5000L, LocalDateTime.now()))
+                .isInstanceOf(BidRateLimitException.class);
+
+        verify(bidRateLimiter, never()).acquire(anyLong(), anyLong());
+        verify(bidRateLimiter, never()).exit();
+        verifyNoInteractions(redissonClient, auctionService);
+    }
+}
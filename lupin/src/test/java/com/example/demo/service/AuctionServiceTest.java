@@ -2,15 +2,17 @@ package com.example.demo.service;
 
 import com.example.demo.domain.entity.*;
 import com.example.demo.domain.enums.*;
+import com.example.demo.dto.ActiveAuctionView;
 import com.example.demo.dto.AuctionSseMessage;
 import com.example.demo.dto.response.AuctionBidResponse;
+import com.example.demo.dto.response.AuctionItemResponse;
 import com.example.demo.dto.response.AuctionStatusResponse;
 import com.example.demo.dto.response.OngoingAuctionResponse;
 import com.example.demo.dto.response.ScheduledAuctionResponse;
 import com.example.demo.event.NotificationEvent;
 import com.example.demo.repository.AuctionBidRepository;
 import com.example.demo.repository.AuctionRepository;
-import com.example.demo.repository.PointLogRepository;
+import com.example.demo.repository.AuctionSettlementRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.scheduler.AuctionTaskScheduler;
 import org.junit.jupiter.api.DisplayName;
@@ -52,17 +54,23 @@ class AuctionServiceTest {
     @Mock
     AuctionBidRepository auctionBidRepository;
 
+    @Mock
+    AuctionSettlementRepository auctionSettlementRepository;
+
     @Mock
     PointService pointService;
 
     @Mock
     AuctionSseService auctionSseService;
 
+    @Mock
+    AuctionReadModelService auctionReadModelService;
+
     @Mock
     AuctionTaskScheduler auctionTaskScheduler;
 
     @Mock
-    PointLogRepository pointLogRepository;
+    PointLedgerService pointLedgerService;
 
     @Mock
     private RedissonClient redissonClient;
@@ -284,7 +292,7 @@ class AuctionServiceTest {
                 .willReturn(List.of(auction));
 
         // (2) [추가됨] 트랜잭션 분리 후 내부에서 '경매'를 다시 조회할 때
-        given(auctionRepository.findById(100L))
+        given(auctionRepository.findByIdForUpdate(100L))
                 .willReturn(Optional.of(auction));
 
         // (3) [추가됨] 트랜잭션 분리 후 내부에서 '낙찰자'를 다시 조회할 때
@@ -302,13 +310,11 @@ class AuctionServiceTest {
         // 1. 경매 상태 변경 확인
         assertThat(auction.getStatus()).isEqualTo(AuctionStatus.ENDED);
 
-        // 2. 포인트 차감 확인 (1000 - 500 = 500)
-        // (mock이 리턴한 객체가 수정되었는지 확인)
-        assertThat(winner.getTotalPoints()).isEqualTo(500L);
+        // 2. 포인트 차감은 원장에 기록 (users 행은 원장 서비스가 커밋 후 배치로 반영)
+        verify(pointLedgerService).append(winner, -500L, PointType.USE);
+        verify(userRepository, never()).save(any());
 
-        // 3. DB 저장 호출 확인 (Winner, Log, Auction)
-        verify(userRepository).save(winner);
-        verify(pointLogRepository).save(any(PointLog.class)); // 캡처 대신 간단하게 확인 가능
+        // 3. DB 저장 호출 확인 (Auction)
         verify(auctionRepository).saveAndFlush(auction);
 
         // 4. 알림 이벤트 발행 확인
@@ -359,29 +365,75 @@ class AuctionServiceTest {
     @Test
     void 현재진행중인_경매정보_가지고오기_업데이트된내용(){
         //given
-        AuctionStatusResponse auction = new AuctionStatusResponse(
-                1L, 1000L, "테스트유저", true, LocalDateTime.now().plusSeconds(30), 5
+        LocalDateTime overtimeEnd = LocalDateTime.now().plusSeconds(30);
+        ActiveAuctionView view = new ActiveAuctionView(
+                1L, LocalDateTime.now().minusMinutes(10), LocalDateTime.now().minusSeconds(5), 30,
+                1000L, "테스트유저", true, overtimeEnd, 5, null
         );
 
-        given(auctionRepository.findAuctionStatus()).willReturn(Optional.of(auction));
+        given(auctionReadModelService.getActive()).willReturn(Optional.of(view));
 
         //when
         AuctionStatusResponse response = auctionService.getRealtimeStatus();
 
         //then
-        assertThat(response).isEqualTo(auction);
+        assertThat(response).isEqualTo(new AuctionStatusResponse(1L, 1000L, "테스트유저", true, overtimeEnd, 5));
+        verifyNoInteractions(auctionRepository);
     }
 
     @Test
     @DisplayName("진행중인 경매가 없으면 예외가 발생한다")
     void getRealtimeStatus_NotFound() {
         // given
-        given(auctionRepository.findAuctionStatus()).willReturn(Optional.empty());
+        given(auctionReadModelService.currentGeneration()).willReturn("3");
+        given(auctionRepository.findFirstWithItemByStatus(AuctionStatus.ACTIVE)).willReturn(Optional.empty());
 
         // when & then
         assertThatThrownBy(() -> auctionService.getRealtimeStatus())
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("진행 중인 경매가 없습니다.");
+        // DB를 읽기 전의 세대 번호로 적재 (그 사이 무효화됐으면 Redis에서 버려짐)
+        verify(auctionReadModelService).warmActive(eq(ActiveAuctionView.NONE), any(), eq("3"));
+    }
+
+    @Test
+    @DisplayName("읽기 모델이 있으면 진행 중인 경매를 DB 조회 없이 반환한다")
+    void getOngoingAuctionWithItem_ReadModelHit() {
+        // given
+        ActiveAuctionView view = new ActiveAuctionView(
+                7L, LocalDateTime.now().minusMinutes(10), LocalDateTime.now().plusMinutes(10), 30,
+                3000L, "입찰자", false, null, 3,
+                new AuctionItemResponse(1L, "경매물품", "설명", "이미지")
+        );
+        given(auctionReadModelService.getActive()).willReturn(Optional.of(view));
+
+        // when
+        OngoingAuctionResponse response = auctionService.getOngoingAuctionWithItem();
+
+        // then
+        assertThat(response.auctionId()).isEqualTo(7L);
+        assertThat(response.currentPrice()).isEqualTo(3000L);
+        assertThat(response.item().itemName()).isEqualTo("경매물품");
+        verifyNoInteractions(auctionRepository, auctionBidRepository);
+    }
+
+    @Test
+    @DisplayName("리더보드가 적재되어 있으면 상위 입찰을 DB 조회 없이 반환한다")
+    void getAuctionStatus_ReadModelHit() {
+        // given
+        AuctionBidResponse top = AuctionBidResponse.builder()
+                .id(1L).userId(1L).userName("홍길동").bidAmount(1000L)
+                .bidTime(LocalDateTime.now()).status(BidStatus.ACTIVE.name()).bidderId(1L)
+                .build();
+        given(auctionReadModelService.getTopBids(AuctionReadModelService.TOP_BIDS_SIZE))
+                .willReturn(Optional.of(List.of(top)));
+
+        // when
+        List<AuctionBidResponse> result = auctionService.getAuctionStatus();
+
+        // then
+        assertThat(result).containsExactly(top);
+        verifyNoInteractions(auctionBidRepository);
     }
 
     @Test
@@ -500,7 +552,7 @@ class AuctionServiceTest {
     }
 
     @Test
-    @DisplayName("진행 중인 경매가 있지만 종료 시간이 지났다면, 강제 종료 로직이 실행되고 null을 반환한다 (Lazy Close)")
+    @DisplayName("진행 중인 경매가 있지만 종료 시간이 지났다면 null을 반환하고, 조회 요청에서는 종료 처리를 하지 않는다")
     void getOngoingAuctionWithItem_LazyClose() {
         // given
         LocalDateTime now = LocalDateTime.now();
@@ -529,9 +581,8 @@ class AuctionServiceTest {
         // 1. 결과는 null이어야 함 (프론트엔드에게 '없음'으로 응답)
         assertThat(response).isNull();
 
-        // 2. 내부적으로 closeExpiredAuctions가 호출되어야 함.
-        // closeExpiredAuctions 내에서 호출되는 findExpiredAuctions가 실행되었는지 검증하여 간접 확인
-        verify(auctionRepository, times(1)).findExpiredAuctions(any(), any());
+        // 2. 종료 처리는 리더 노드의 코디네이터 담당이므로 GET에서는 closeExpiredAuctions가 실행되지 않아야 함
+        verify(auctionRepository, never()).findExpiredAuctions(any(), any());
     }
 
     @Test
@@ -617,7 +668,7 @@ class AuctionServiceTest {
                 .willReturn(List.of(auction));
 
         // (2) [추가됨] 내부 트랜잭션에서 '경매' 재조회
-        given(auctionRepository.findById(100L))
+        given(auctionRepository.findByIdForUpdate(100L))
                 .willReturn(Optional.of(auction));
 
         // (3) [추가됨] 내부 트랜잭션에서 '낙찰자' 재조회
@@ -776,7 +827,7 @@ class AuctionServiceTest {
         // 4. Mock 동작 정의 (중요!)
 
         // (1) 서비스 내부에서 '경매'를 다시 조회할 때, 위에서 만든 auction 객체 반환
-        given(auctionRepository.findById(auction.getId()))
+        given(auctionRepository.findByIdForUpdate(auction.getId()))
                 .willReturn(Optional.of(auction));
 
         // (2) 서비스 내부에서 '낙찰자'를 다시 조회할 때, 위에서 만든 winner 객체 반환
@@ -796,17 +847,71 @@ class AuctionServiceTest {
         assertThat(auction.getStatus()).isEqualTo(AuctionStatus.ENDED);
         verify(auctionRepository).saveAndFlush(auction);
 
-        // 2. 유저 포인트 차감 확인 (10000 - 5000 = 5000)
-        assertThat(winner.getTotalPoints()).isEqualTo(initialPoints - winningPrice);
-        verify(userRepository).save(winner);
-
-        // 3. 포인트 로그 저장 확인
-        verify(pointLogRepository).save(any(PointLog.class));
+        // 2. 유저 포인트 차감은 원장 기록으로 대체 (엔티티를 직접 수정하지 않음)
+        assertThat(winner.getTotalPoints()).isEqualTo(initialPoints);
+        verify(pointLedgerService).append(winner, -winningPrice, PointType.USE);
 
         // 4. 알림 이벤트 발행 확인
         verify(eventPublisher).publishEvent(any(NotificationEvent.class));
     }
 
+    @Test
+    @DisplayName("이미 정산 기록(멱등 키)이 있는 경매는 포인트를 다시 차감하지 않고 종료 상태만 반영한다")
+    void processSingleAuctionClose_AlreadySettled() {
+        // given
+        User winner = User.builder()
+                .id(1L)
+                .name("낙찰자")
+                .totalPoints(10000L)
+                .build();
+
+        Auction auction = Auction.builder()
+                .id(100L)
+                .currentPrice(5000L)
+                .status(AuctionStatus.ACTIVE)
+                .regularEndTime(LocalDateTime.now().minusMinutes(1))
+                .winner(winner)
+                .build();
+
+        given(auctionRepository.findByIdForUpdate(100L)).willReturn(Optional.of(auction));
+        given(auctionSettlementRepository.existsBySettlementKey(AuctionSettlement.keyOf(100L))).willReturn(true);
+
+        // when
+        auctionService.processSingleAuctionClose(auction);
+
+        // then
+        assertThat(winner.getTotalPoints()).isEqualTo(10000L);
+        verify(userRepository, never()).save(any());
+        verify(pointLedgerService, never()).append(any(), anyLong(), any());
+        verify(auctionSettlementRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(auction.getStatus()).isEqualTo(AuctionStatus.ENDED);
+        verify(auctionRepository).saveAndFlush(auction);
+        verify(auctionReadModelService).evict();
+    }
+
+    @Test
+    @DisplayName("잠금을 기다리는 사이 다른 노드가 종료한 경매는 건너뛴다")
+    void processSingleAuctionClose_AlreadyEnded() {
+        // given
+        Auction auction = Auction.builder()
+                .id(100L)
+                .currentPrice(5000L)
+                .status(AuctionStatus.ENDED)
+                .regularEndTime(LocalDateTime.now().minusMinutes(1))
+                .build();
+
+        given(auctionRepository.findByIdForUpdate(100L)).willReturn(Optional.of(auction));
+
+        // when
+        auctionService.processSingleAuctionClose(auction);
+
+        // then
+        verify(auctionBidRepository, never()).findByAuctionId(any());
+        verify(auctionSettlementRepository, never()).saveAndFlush(any());
+        verify(auctionRepository, never()).saveAndFlush(any());
+    }
+
     // 편의 메서드 (Auction에 setAuctionItem이 없는 경우를 대비한 헬퍼)
     private void setAuctionItemForTest(Auction auction, AuctionItem item) {
         try {
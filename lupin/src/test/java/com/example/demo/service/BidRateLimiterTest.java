@@ -0,0 +1,134 @@
+package com.example.demo.service;
+
+import com.example.demo.config.properties.BidRateLimitProperties;
+import com.example.demo.exception.BidRateLimitException;
+import com.example.demo.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BidRateLimiterTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RScript rScript;
+
+    private BidRateLimitProperties properties;
+    private BidRateLimiter bidRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BidRateLimitProperties();
+        properties.setUserCapacity(2);
+        properties.setUserRefillPerSecond(1.0);
+        properties.setMaxInFlight(1);
+        bidRateLimiter = new BidRateLimiter(redissonClient, properties);
+    }
+
+    private void givenRedisWait(Long waitMillis) {
+        given(redissonClient.getScript(StringCodec.INSTANCE)).willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(),
+                any(), any(), any(), any()))
+                .willReturn(waitMillis);
+    }
+
+    @Test
+    @DisplayName("클러스터 버킷에 토큰이 있으면 통과한다")
+    void acquire_pass() {
+        // given
+        givenRedisWait(0L);
+
+        // when & then
+        assertThatCode(() -> bidRateLimiter.acquire(1L, 100L)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("클러스터 버킷이 비어 있으면 남은 시간을 올림한 Retry-After와 함께 거절한다")
+    void acquire_rejectedByRedis() {
+        // given
+        givenRedisWait(1500L);
+
+        // when & then
+        assertThatThrownBy(() -> bidRateLimiter.acquire(1L, 100L))
+                .isInstanceOfSatisfying(BidRateLimitException.class, e -> {
+                    assertThat(e.getErrorCode()).isEqualTo(ErrorCode.BID_RATE_LIMITED);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    @DisplayName("로컬 버킷이 소진된 사용자는 Redis를 거치지 않고 거절한다")
+    void acquire_localFastPath() {
+        // given
+        givenRedisWait(0L);
+        bidRateLimiter.acquire(1L, 100L);
+        bidRateLimiter.acquire(1L, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> bidRateLimiter.acquire(1L, 100L))
+                .isInstanceOf(BidRateLimitException.class);
+        verify(rScript, times(2)).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("클러스터 버킷에서 거절되면 로컬 토큰은 되돌려 준다")
+    void acquire_rejectedByRedisRefundsLocalToken() {
+        // given - 로컬 버킷 용량 2
+        given(redissonClient.getScript(StringCodec.INSTANCE)).willReturn(rScript);
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(),
+                any(), any(), any(), any()))
+                .willReturn(1500L, 1500L, 1500L, 0L);
+
+        // when - 클러스터에서 세 번 거절
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> bidRateLimiter.acquire(1L, 100L)).isInstanceOf(BidRateLimitException.class);
+        }
+
+        // then - 로컬 토큰이 남아 있으므로 다시 Redis까지 가서 통과한다
+        assertThatCode(() -> bidRateLimiter.acquire(1L, 100L)).doesNotThrowAnyException();
+        verify(rScript, times(4)).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(),
+                any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시에는 입찰을 막지 않는다 (로컬 제한만 적용)")
+    void acquire_redisFailureFailsOpen() {
+        // given
+        given(redissonClient.getScript(StringCodec.INSTANCE)).willThrow(new RuntimeException("connection refused"));
+
+        // when & then
+        assertThatCode(() -> bidRateLimiter.acquire(1L, 100L)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("동시 처리 상한을 넘으면 거절하고, 슬롯을 반납하면 다시 들어올 수 있다")
+    void enter_inFlightCap() {
+        // given
+        bidRateLimiter.enter();
+
+        // when & then
+        assertThatThrownBy(() -> bidRateLimiter.enter())
+                .isInstanceOfSatisfying(BidRateLimitException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.BID_OVERLOADED));
+
+        bidRateLimiter.exit();
+        assertThatCode(() -> bidRateLimiter.enter()).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.demo.service;
+
+import com.example.demo.config.properties.DirectUploadProperties;
+import com.example.demo.domain.entity.DirectUpload;
+import com.example.demo.domain.entity.User;
+import com.example.demo.domain.enums.DirectUploadStatus;
+import com.example.demo.domain.enums.Role;
+import com.example.demo.dto.response.PresignedUploadResponse;
+import com.example.demo.event.DirectUploadCompletedEvent;
+import com.example.demo.exception.BusinessException;
+import com.example.demo.exception.ErrorCode;
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.repository.DirectUploadRepository;
+import com.example.demo.repository.FeedImageRepository;
+import com.example.demo.repository.FeedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DirectUploadService 테스트")
+class DirectUploadServiceTest {
+
+    private static final String RAW_KEY = "raw/feed/0f8fad5b-d9cb-469f-a165-70867728950e";
+    private static final String FINAL_URL = "https://cdn.lupin-care.com/feed/abc.webp";
+
+    @Mock
+    private DirectUploadRepository directUploadRepository;
+
+    @Mock
+    private FeedImageRepository feedImageRepository;
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    @Mock
+    private FileStorage fileStorage;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DirectUploadProperties properties;
+
+    private DirectUploadService directUploadService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DirectUploadProperties();
+        properties.setMaxAttempts(2);
+        directUploadService = new DirectUploadService(directUploadRepository, feedImageRepository, feedRepository,
+                fileStorage, imageService, properties, transactionTemplate, eventPublisher);
+
+        user = User.builder()
+                .userId("user")
+                .password("password")
+                .name("사용자")
+                .role(Role.MEMBER)
+                .build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactionRuns() {
+        willAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private DirectUpload upload(DirectUploadStatus status, Long userId) {
+        return DirectUpload.builder()
+                .rawKey(RAW_KEY)
+                .userId(userId)
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("raw/feed 아래 새 키로 업로드 URL을 발급하고 기록을 남긴다")
+    void issueUploadUrl() {
+        // given
+        given(fileStorage.createUploadUrl(anyString(), eq("image/jpeg"), eq(2048L), eq(Duration.ofMinutes(10))))
+                .willReturn("https://lupin-storage.s3.amazonaws.com/signed");
+
+        // when
+        PresignedUploadResponse response = directUploadService.issue(user, "image/jpeg", 2048L);
+
+        // then
+        assertThat(response.getKey()).startsWith("raw/feed/");
+        assertThat(response.getUploadUrl()).isEqualTo("https://lupin-storage.s3.amazonaws.com/signed");
+        ArgumentCaptor<DirectUpload> saved = ArgumentCaptor.forClass(DirectUpload.class);
+        verify(directUploadRepository).save(saved.capture());
+        assertThat(saved.getValue().getRawKey()).isEqualTo(response.getKey());
+        assertThat(saved.getValue().getStatus()).isEqualTo(DirectUploadStatus.ISSUED);
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 형식은 URL을 발급하지 않는다")
+    void issueRejectsNonImage() {
+        assertThatThrownBy(() -> directUploadService.issue(user, "application/pdf", 2048L))
+                .isInstanceOf(BusinessException.class);
+        verify(fileStorage, never()).createUploadUrl(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("허용 크기를 넘거나 크기가 없는 업로드는 URL을 발급하지 않는다")
+    void issueRejectsOversized() {
+        assertThatThrownBy(() -> directUploadService.issue(user, "image/jpeg", properties.getMaxUploadBytes() + 1))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> directUploadService.issue(user, "image/jpeg", 0L))
+                .isInstanceOf(BusinessException.class);
+        verify(fileStorage, never()).createUploadUrl(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("업로드 완료를 알리면 대기 상태로 바꾸고 변환 이벤트를 발행한다")
+    void completeQueuesTranscode() {
+        // given
+        DirectUpload upload = upload(DirectUploadStatus.ISSUED, 1L);
+        given(directUploadRepository.findByRawKey(RAW_KEY)).willReturn(Optional.of(upload));
+
+        // when
+        directUploadService.complete(user, RAW_KEY);
+
+        // then
+        assertThat(upload.getStatus()).isEqualTo(DirectUploadStatus.QUEUED);
+        verify(eventPublisher).publishEvent(new DirectUploadCompletedEvent(RAW_KEY));
+    }
+
+    @Test
+    @DisplayName("다른 사용자가 발급받은 업로드는 완료할 수 없다")
+    void completeRejectsOtherUser() {
+        // given
+        given(directUploadRepository.findByRawKey(RAW_KEY)).willReturn(Optional.of(upload(DirectUploadStatus.ISSUED, 2L)));
+
+        // when & then
+        assertThatThrownBy(() -> directUploadService.complete(user, RAW_KEY))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.IMAGE_UPLOAD_NOT_OWNER);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("변환이 끝나면 URL을 기록하고 원본 키를 참조하던 피드 이미지와 썸네일을 교체한 뒤 임시 파일을 지운다")
+    void transcodeReplacesReferences() throws Exception {
+        // given
+        givenTransactionRuns();
+        DirectUpload upload = upload(DirectUploadStatus.QUEUED, 1L);
+        given(directUploadRepository.findByRawKey(RAW_KEY)).willReturn(Optional.of(upload));
+        ArgumentCaptor<Path> source = ArgumentCaptor.forClass(Path.class);
+        given(imageService.importImage(source.capture(), eq("feed"))).willReturn(FINAL_URL);
+        given(feedImageRepository.replaceS3Key(RAW_KEY, FINAL_URL)).willReturn(2);
+        given(fileStorage.size(RAW_KEY)).willReturn(2048L);
+
+        // when
+        directUploadService.transcode(RAW_KEY);
+
+        // then
+        verify(fileStorage).download(eq(RAW_KEY), any(Path.class));
+        verify(feedRepository).replaceThumbnailUrl(RAW_KEY, FINAL_URL);
+        assertThat(upload.getStatus()).isEqualTo(DirectUploadStatus.READY);
+        assertThat(upload.getFinalUrl()).isEqualTo(FINAL_URL);
+        assertThat(source.getValue()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("변환에 실패하면 시도 횟수를 올리고, 최대 횟수에 도달하면 실패 상태로 둔다")
+    void transcodeFailureCountsAttempts() throws Exception {
+        // given
+        givenTransactionRuns();
+        DirectUpload upload = upload(DirectUploadStatus.QUEUED, 1L);
+        given(directUploadRepository.findByRawKey(RAW_KEY)).willReturn(Optional.of(upload));
+        given(fileStorage.size(RAW_KEY)).willReturn(2048L);
+        willThrow(new IOException("not found")).given(fileStorage).download(eq(RAW_KEY), any(Path.class));
+
+        // when
+        directUploadService.transcode(RAW_KEY);
+        DirectUploadStatus afterFirst = upload.getStatus();
+        directUploadService.transcode(RAW_KEY);
+
+        // then
+        assertThat(afterFirst).isEqualTo(DirectUploadStatus.QUEUED);
+        assertThat(upload.getStatus()).isEqualTo(DirectUploadStatus.FAILED);
+        verify(imageService, never()).importImage(any(Path.class), anyString());
+    }
+
+    @Test
+    @DisplayName("허용 크기를 넘는 원본은 내려받지 않고 바로 실패 상태로 둔다")
+    void transcodeRejectsOversizedRaw() throws Exception {
+        // given
+        givenTransactionRuns();
+        DirectUpload upload = upload(DirectUploadStatus.QUEUED, 1L);
+        given(directUploadRepository.findByRawKey(RAW_KEY)).willReturn(Optional.of(upload));
+        given(fileStorage.size(RAW_KEY)).willReturn(properties.getMaxUploadBytes() + 1);
+
+        // when
+        directUploadService.transcode(RAW_KEY);
+
+        // then
+        assertThat(upload.getStatus()).isEqualTo(DirectUploadStatus.FAILED);
+        verify(fileStorage, never()).download(anyString(), any(Path.class));
+    }
+
+    @Test
+    @DisplayName("오래 대기 중인 업로드는 조건부 UPDATE로 선점한 것만 다시 넣는다 (다른 노드가 선점했으면 건너뜀)")
+    @SuppressWarnings("unchecked")
+    void requeueStaleOnlyClaimed() {
+        // given
+        willAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null))
+                .given(transactionTemplate).execute(any());
+        DirectUpload mine = upload(DirectUploadStatus.QUEUED, 1L);
+        DirectUpload taken = DirectUpload.builder()
+                .rawKey("raw/feed/taken")
+                .userId(1L)
+                .status(DirectUploadStatus.QUEUED)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        ReflectionTestUtils.setField(mine, "id", 10L);
+        ReflectionTestUtils.setField(taken, "id", 11L);
+        given(directUploadRepository.findByStatusAndUpdatedAtBefore(eq(DirectUploadStatus.QUEUED), any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(List.of(mine, taken));
+        given(directUploadRepository.claimStale(eq(10L), any(LocalDateTime.class), any(LocalDateTime.class))).willReturn(1);
+        given(directUploadRepository.claimStale(eq(11L), any(LocalDateTime.class), any(LocalDateTime.class))).willReturn(0);
+
+        // when
+        int requeued = directUploadService.requeueStale();
+
+        // then
+        assertThat(requeued).isEqualTo(1);
+        verify(eventPublisher).publishEvent(new DirectUploadCompletedEvent(RAW_KEY));
+        verify(eventPublisher, never()).publishEvent(new DirectUploadCompletedEvent("raw/feed/taken"));
+    }
+
+    @Test
+    @DisplayName("변환 완료 후에 커밋된 피드도 원본 키를 URL로 교체한다")
+    void reconcileReplacesLateReferences() {
+        // given
+        givenTransactionRuns();
+        DirectUpload ready = upload(DirectUploadStatus.READY, 1L);
+        ready.ready(FINAL_URL);
+        given(feedImageRepository.findRawS3Keys()).willReturn(List.of(RAW_KEY, "raw/feed/pending"));
+        given(directUploadRepository.findByRawKeyInAndStatus(List.of(RAW_KEY, "raw/feed/pending"), DirectUploadStatus.READY))
+                .willReturn(List.of(ready));
+
+        // when
+        int reconciled = directUploadService.reconcile();
+
+        // then
+        assertThat(reconciled).isEqualTo(1);
+        verify(feedImageRepository).replaceS3Key(RAW_KEY, FINAL_URL);
+        verify(feedRepository).replaceThumbnailUrl(RAW_KEY, FINAL_URL);
+    }
+
+    @Test
+    @DisplayName("보관 시간이 지난 원본은 지우되, 피드가 아직 참조하는 원본은 남긴다")
+    void purgeKeepsReferencedRaw() {
+        // given
+        DirectUpload referenced = upload(DirectUploadStatus.FAILED, 1L);
+        DirectUpload expired = DirectUpload.builder()
+                .rawKey("raw/feed/expired")
+                .userId(1L)
+                .status(DirectUploadStatus.ISSUED)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        given(directUploadRepository.findByStatusAndUpdatedAtBefore(eq(DirectUploadStatus.READY), any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(List.of());
+        given(directUploadRepository.findByStatusAndUpdatedAtBefore(eq(DirectUploadStatus.FAILED), any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(List.of(referenced));
+        given(directUploadRepository.findByStatusAndUpdatedAtBefore(eq(DirectUploadStatus.ISSUED), any(LocalDateTime.class), any(Pageable.class)))
+                .willReturn(List.of(expired));
+        given(feedImageRepository.existsByS3Key(RAW_KEY)).willReturn(true);
+        given(feedImageRepository.existsByS3Key("raw/feed/expired")).willReturn(false);
+
+        // when
+        int purged = directUploadService.purgeExpired();
+
+        // then
+        assertThat(purged).isEqualTo(1);
+        verify(fileStorage).delete("raw/feed/expired");
+        verify(fileStorage, never()).delete(RAW_KEY);
+        verify(directUploadRepository).delete(expired);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.AppointmentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DoctorAvailabilityService 테스트")
+class DoctorAvailabilityServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @InjectMocks
+    private DoctorAvailabilityService doctorAvailabilityService;
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 1);
+
+    @Test
+    @DisplayName("비트맵이 캐시에 있으면 DB 조회 없이 켜진 슬롯을 시간순으로 반환")
+    void getBookedTimes_CacheHit() {
+        // given
+        given(redisTemplate.execute(any(RedisCallback.class)))
+                .willReturn(Arrays.asList(bitmapOf(DAY.atTime(14, 0), DAY.atTime(10, 0)), null));
+
+        // when
+        List<String> times = doctorAvailabilityService.getBookedTimes(21L, DAY);
+
+        // then
+        assertThat(times).containsExactly("10:00", "14:00");
+        verifyNoInteractions(appointmentRepository);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 (의사, 날짜)만 DB 한 번으로 모아 만들고, 조회 전에 읽은 세대와 함께 스크립트로 저장")
+    void getBookedTimes_LoadsOnlyMisses() {
+        // given - 21번 의사는 이틀 모두 캐시에 있고, 22번 의사는 둘째 날만 없다 (세대 3)
+        LocalDate nextDay = DAY.plusDays(1);
+        given(redisTemplate.execute(any(RedisCallback.class))).willReturn(Arrays.asList(
+                bitmapOf(DAY.atTime(9, 0)),
+                bitmapOf(),
+                bitmapOf(DAY.atTime(11, 0)),
+                null,
+                null, null, null, "3".getBytes(StandardCharsets.UTF_8)));
+        given(appointmentRepository.findBookedSlots(
+                Set.of(22L), nextDay.atStartOfDay(), nextDay.plusDays(1).atStartOfDay()))
+                .willReturn(List.<Object[]>of(new Object[]{22L, nextDay.atTime(15, 0)}));
+
+        // when
+        Map<Long, Map<LocalDate, List<String>>> calendar =
+                doctorAvailabilityService.getBookedTimes(List.of(21L, 22L), DAY, nextDay);
+
+        // then
+        assertThat(calendar.get(21L).get(DAY)).containsExactly("09:00");
+        assertThat(calendar.get(21L).get(nextDay)).isEmpty();
+        assertThat(calendar.get(22L).get(DAY)).containsExactly("11:00");
+        assertThat(calendar.get(22L).get(nextDay)).containsExactly("15:00");
+        verify(appointmentRepository, times(1)).findBookedSlots(any(), any(), any());
+
+        // 15:00 = 90번 슬롯, 세대가 3 그대로일 때만 저장
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class),
+                eq(List.of("appointment:slots:22:2025-12-02", "appointment:slots:gen:22:2025-12-02")), args.capture());
+        assertThat(args.getValue()).containsExactly("1800000", "143", "3", "90");
+    }
+
+    @Test
+    @DisplayName("Redis 조회에 실패하면 DB에서 만든다")
+    void getBookedTimes_RedisFailure() {
+        // given
+        given(redisTemplate.execute(any(RedisCallback.class))).willThrow(new RuntimeException("connection refused"));
+        given(appointmentRepository.findBookedSlots(any(), any(), any()))
+                .willReturn(List.<Object[]>of(new Object[]{21L, DAY.atTime(16, 0)}));
+
+        // when
+        List<String> times = doctorAvailabilityService.getBookedTimes(21L, DAY);
+
+        // then
+        assertThat(times).containsExactly("16:00");
+    }
+
+    @Test
+    @DisplayName("예약은 세대를 올리고 해당 슬롯 비트만 켠다")
+    void markBooked() {
+        // when
+        doctorAvailabilityService.markBooked(21L, DAY.atTime(10, 0));
+
+        // then - 10분 단위 슬롯: 10:00 = 60번
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("appointment:slots:21:2025-12-01", "appointment:slots:gen:21:2025-12-01")),
+                eq("60"), eq("1800000"));
+        verify(redisTemplate, never()).delete(any(String.class));
+    }
+
+    @Test
+    @DisplayName("취소는 비트를 끄지 않고 세대를 올리며 그날 비트맵을 지운다 (같은 슬롯의 다른 예약은 다시 만들 때 DB에서 반영)")
+    void markFree_DropsBitmap() {
+        // when - 09:00 예약 취소 (같은 슬롯에 09:05 예약이 있을 수 있음)
+        doctorAvailabilityService.markFree(21L, DAY.atTime(9, 0));
+
+        // then - 슬롯 번호 없이 세대 증가 + 삭제만, DB는 조회하지 않는다
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("appointment:slots:21:2025-12-01", "appointment:slots:gen:21:2025-12-01")),
+                eq("1800000"));
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    @DisplayName("슬롯 갱신에 실패하면 비트맵을 지워 다음 조회 때 다시 만든다")
+    void markBooked_FailureDropsBitmap() {
+        // given
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .willThrow(new RuntimeException("connection refused"));
+
+        // when
+        doctorAvailabilityService.markBooked(21L, DAY.atTime(10, 0));
+
+        // then
+        verify(redisTemplate).delete("appointment:slots:21:2025-12-01");
+    }
+
+    @Test
+    @DisplayName("정시가 아닌 예약은 10분 슬롯 시작 시각으로 내린다")
+    void slotOf_FloorsToSlot() {
+        // when & then
+        assertThat(DoctorAvailabilityService.slotOf(DAY.atTime(9, 5))).isEqualTo(54);
+        assertThat(DoctorAvailabilityService.decode(bitmapOf(DAY.atTime(9, 5)))).containsExactly("09:00");
+        assertThat(DoctorAvailabilityService.decode(bitmapOf(DAY.atTime(23, 50)))).containsExactly("23:50");
+    }
+
+    // Redis SETBIT과 같은 비트 순서 (바이트 안에서 상위 비트부터)
+    private byte[] bitmapOf(LocalDateTime... times) {
+        byte[] bitmap = new byte[DoctorAvailabilityService.SLOTS_PER_DAY / 8];
+        for (LocalDateTime time : times) {
+            int slot = DoctorAvailabilityService.slotOf(time);
+            bitmap[slot / 8] |= (byte) (0x80 >>> (slot % 8));
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.Feed;
+import com.example.demo.domain.entity.User;
+import com.example.demo.domain.enums.Role;
+import com.example.demo.domain.enums.WorkoutActivity;
+import com.example.demo.dto.FeedScoreRow;
+import com.example.demo.repository.FeedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedRescoreService 테스트")
+class FeedRescoreServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 4, 1, 0, 0);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    @Mock
+    private FeedRepository feedRepository;
+
+    @Spy
+    private WorkoutScoreService workoutScoreService = new WorkoutScoreService();
+
+    @Mock
+    private PointService pointService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private FeedRescoreService feedRescoreService;
+
+    private User writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = User.builder()
+                .userId("user")
+                .password("password")
+                .name("사용자")
+                .role(Role.MEMBER)
+                .build();
+        ReflectionTestUtils.setField(writer, "id", 1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactionRuns() {
+        willAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null))
+                .given(transactionTemplate).execute(any());
+    }
+
+    private Feed feed(Long id, String activity, long points, int calories) {
+        Feed feed = Feed.builder().writer(writer).activity(activity).content("내용").points(points).calories(calories).build();
+        ReflectionTestUtils.setField(feed, "id", id);
+        return feed;
+    }
+
+    private FeedScoreRow row(Long id, String activity, long points, int calories, int minutes) {
+        LocalDateTime start = CREATED_AT.minusHours(2);
+        return new FeedScoreRow(id, 1L, activity, points, calories, CREATED_AT, start, start.plusMinutes(minutes));
+    }
+
+    @Test
+    @DisplayName("점수가 달라진 피드만 갱신하고 작성자별 포인트 차이를 한 번에 반영한다")
+    void rescoreUpdatesOnlyChangedFeeds() {
+        // given
+        givenTransactionRuns();
+        // 헬스 20분 = 16점(기존 10점), 헬스 30분 = 24점(변경 없음), 요가 10분 = 5점(기존 8점)
+        List<FeedScoreRow> rows = List.of(
+                row(1L, "헬스", 10, 100, 20),
+                row(2L, "헬스", 24, 208, 30),
+                row(3L, "요가", 8, 43, 10)
+        );
+        given(feedRepository.findScoreRowsAfter(eq(0L), eq(START), eq(END), eq(WorkoutActivity.TABLE_REVISION), any(Pageable.class)))
+                .willReturn(rows);
+        Feed first = feed(1L, "헬스", 10, 100);
+        Feed third = feed(3L, "요가", 8, 43);
+        given(feedRepository.findAllByIdForUpdate(anyCollection())).willReturn(List.of(first, third));
+
+        // when
+        int changed = feedRescoreService.rescore(START, END);
+
+        // then
+        assertThat(changed).isEqualTo(2);
+        assertThat(first.getPoints()).isEqualTo(16);
+        assertThat(first.getCalories()).isEqualTo(139);
+        assertThat(third.getPoints()).isEqualTo(5);
+        verify(feedRepository).findAllByIdForUpdate(argThat(ids -> ids.size() == 2));
+        // +6 -3 = +3 (작성자별로 합쳐 한 건)
+        verify(pointService).earnPoints(writer, 3L);
+        verify(pointService, never()).deductPoints(any(), anyLong());
+        assertThat(first.getScoreRevision()).isEqualTo(WorkoutActivity.TABLE_REVISION);
+        // 점수가 그대로인 2번 피드는 버전만 기록
+        verify(feedRepository).markScoreRevision(List.of(2L), WorkoutActivity.TABLE_REVISION);
+    }
+
+    @Test
+    @DisplayName("잠그고 다시 읽었을 때 다른 노드가 이미 재채점한 피드는 포인트를 다시 반영하지 않는다")
+    void rescoreSkipsFeedsRescoredByAnotherNode() {
+        // given
+        givenTransactionRuns();
+        given(feedRepository.findScoreRowsAfter(eq(0L), eq(START), eq(END), eq(WorkoutActivity.TABLE_REVISION), any(Pageable.class)))
+                .willReturn(List.of(row(1L, "헬스", 10, 100, 20)));
+        Feed rescored = feed(1L, "헬스", 10, 100);
+        ReflectionTestUtils.setField(rescored, "scoreRevision", WorkoutActivity.TABLE_REVISION);
+        given(feedRepository.findAllByIdForUpdate(anyCollection())).willReturn(List.of(rescored));
+
+        // when
+        int changed = feedRescoreService.rescore(START, END);
+
+        // then
+        assertThat(changed).isZero();
+        verifyNoInteractions(pointService);
+    }
+
+    @Test
+    @DisplayName("읽은 뒤 사용자가 수정한 피드는 건너뛴다")
+    void rescoreSkipsFeedsEditedMeanwhile() {
+        // given
+        givenTransactionRuns();
+        given(feedRepository.findScoreRowsAfter(eq(0L), eq(START), eq(END), eq(WorkoutActivity.TABLE_REVISION), any(Pageable.class)))
+                .willReturn(List.of(row(1L, "헬스", 10, 100, 20)));
+        Feed edited = feed(1L, "달리기", 30, 390);
+        given(feedRepository.findAllByIdForUpdate(anyCollection())).willReturn(List.of(edited));
+
+        // when
+        int changed = feedRescoreService.rescore(START, END);
+
+        // then
+        assertThat(changed).isZero();
+        assertThat(edited.getPoints()).isEqualTo(30);
+        verifyNoInteractions(pointService);
+    }
+
+    @Test
+    @DisplayName("모두 맞으면 잠그지 않고 강도 표 버전만 UPDATE 한 번으로 기록해 다음 실행부터 읽지 않는다")
+    void rescoreWithoutChanges() {
+        // given
+        givenTransactionRuns();
+        given(feedRepository.findScoreRowsAfter(eq(0L), eq(START), eq(END), eq(WorkoutActivity.TABLE_REVISION), any(Pageable.class)))
+                .willReturn(List.of(row(2L, "헬스", 24, 208, 30), row(4L, "헬스", 24, 208, 30)));
+
+        // when
+        int changed = feedRescoreService.rescore(START, END);
+
+        // then
+        assertThat(changed).isZero();
+        verify(feedRepository).markScoreRevision(List.of(2L, 4L), WorkoutActivity.TABLE_REVISION);
+        verify(feedRepository, never()).findAllByIdForUpdate(anyCollection());
+        verifyNoInteractions(pointService);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.StoredImage;
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.repository.StoredImageRepository;
+import com.example.demo.util.S3UrlUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageDedupService 테스트")
+class ImageDedupServiceTest {
+
+    private static final String HASH = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Mock
+    private StoredImageRepository storedImageRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private FileStorage fileStorage;
+
+    @InjectMocks
+    private ImageDedupService imageDedupService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // register는 트랜잭션 템플릿을 쓰지 않는다
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().when(fileStorage.resolvePath(anyString()))
+                .thenAnswer(invocation -> S3UrlUtils.extractUrlPath(invocation.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("같은 내용이 저장되어 있으면 참조 수를 올리고 기존 키를 반환한다")
+    void acquireExisting() {
+        // given
+        given(storedImageRepository.incrementRefCount(eq(HASH), eq("feed"), any(LocalDateTime.class))).willReturn(1);
+        given(storedImageRepository.findByContentHashAndPrefix(HASH, "feed"))
+                .willReturn(Optional.of(StoredImage.builder().contentHash(HASH).prefix("feed").s3Key("feed/a.webp").build()));
+
+        // when
+        Optional<String> result = imageDedupService.acquire(HASH, "feed");
+
+        // then
+        assertThat(result).contains("feed/a.webp");
+    }
+
+    @Test
+    @DisplayName("저장된 내용이 없으면 빈 값을 반환하고, prefix가 없으면 빈 문자열로 조회한다")
+    void acquireMissing() {
+        // given
+        given(storedImageRepository.incrementRefCount(eq(HASH), eq(""), any(LocalDateTime.class))).willReturn(0);
+
+        // when
+        Optional<String> result = imageDedupService.acquire(HASH, null);
+
+        // then
+        assertThat(result).isEmpty();
+        verify(storedImageRepository, never()).findByContentHashAndPrefix(any(), any());
+    }
+
+    @Test
+    @DisplayName("동시에 같은 내용이 먼저 등록되었으면 예외 없이 넘어간다")
+    void registerConflict() {
+        // given
+        given(storedImageRepository.save(any(StoredImage.class)))
+                .willThrow(new DataIntegrityViolationException("duplicate"));
+
+        // when
+        imageDedupService.register(HASH, "feed", "feed/b.webp");
+
+        // then
+        verify(storedImageRepository).save(any(StoredImage.class));
+    }
+
+    @Test
+    @DisplayName("마지막 참조를 해제하면 인덱스 행을 지우고 객체 삭제를 허용한다 (URL은 키로 바꿔 조회)")
+    void releaseLastReference() {
+        // given
+        given(storedImageRepository.deleteIfUnreferenced("feed/a.webp")).willReturn(1);
+
+        // when
+        boolean deletable = imageDedupService.release("https://cdn.lupin-care.com/feed/a.webp");
+
+        // then
+        assertThat(deletable).isTrue();
+        verify(storedImageRepository).decrementRefCount("feed/a.webp");
+    }
+
+    @Test
+    @DisplayName("다른 참조가 남아 있으면 객체 삭제를 허용하지 않는다")
+    void releaseSharedReference() {
+        // given
+        given(storedImageRepository.deleteIfUnreferenced("feed/a.webp")).willReturn(0);
+        given(storedImageRepository.existsByS3Key("feed/a.webp")).willReturn(true);
+
+        // when
+        boolean deletable = imageDedupService.release("feed/a.webp");
+
+        // then
+        assertThat(deletable).isFalse();
+    }
+
+    @Test
+    @DisplayName("인덱스에 없는 키(도입 전 업로드)는 예전처럼 바로 삭제를 허용한다")
+    void releaseUnindexed() {
+        // given
+        given(storedImageRepository.deleteIfUnreferenced("feed/old.webp")).willReturn(0);
+        given(storedImageRepository.existsByS3Key("feed/old.webp")).willReturn(false);
+
+        // when
+        boolean deletable = imageDedupService.release("feed/old.webp");
+
+        // then
+        assertThat(deletable).isTrue();
+    }
+
+    @Test
+    @DisplayName("고아 정리 시 최근에 새 업로드가 받아 간 키는 남긴다")
+    void forgetIfIdleKeepsRecentlyReferenced() {
+        // given
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
+        given(storedImageRepository.deleteIfIdleSince("feed/a.webp", cutoff)).willReturn(0);
+        given(storedImageRepository.existsByS3Key("feed/a.webp")).willReturn(true);
+
+        // when
+        boolean deletable = imageDedupService.forgetIfIdle("feed/a.webp", cutoff);
+
+        // then
+        assertThat(deletable).isFalse();
+    }
+}
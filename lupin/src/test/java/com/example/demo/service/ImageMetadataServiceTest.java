@@ -1,22 +1,21 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.entity.ImageMetadata;
+import com.example.demo.infrastructure.FileStorage;
+import com.example.demo.repository.ImageMetadataRepository;
 import com.example.demo.util.S3UrlUtils;
-import io.awspring.cloud.s3.S3Resource;
-import io.awspring.cloud.s3.S3Template;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
-import org.springframework.test.util.ReflectionTestUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -33,7 +32,7 @@ import static org.mockito.Mockito.never;
 class ImageMetadataServiceTest {
 
     @Mock
-    private S3Template s3Template;
+    private FileStorage fileStorage;
 
     @Mock
     private StringRedisTemplate redisTemplate;
@@ -42,19 +41,17 @@ class ImageMetadataServiceTest {
     private ValueOperations<String, String> valueOperations;
 
     @Mock
-    private S3Resource s3Resource;
+    private ImageMetadataRepository imageMetadataRepository;
 
     @InjectMocks
     private ImageMetadataService imageMetadataService;
 
-    private static final String BUCKET = "test-bucket";
-
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(imageMetadataService, "bucket", BUCKET);
-        
         // [수정] Redis를 사용하지 않는 테스트(예: 파일명 추출)에서 에러가 나지 않도록 lenient() 적용
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(fileStorage.resolvePath(anyString()))
+                .thenAnswer(invocation -> S3UrlUtils.extractUrlPath(invocation.getArgument(0)));
     }
 
     @Nested
@@ -120,6 +117,35 @@ class ImageMetadataServiceTest {
             // 빈 이미지라 EXIF가 없으므로 Redis 저장은 호출되지 않아야 함
             verify(valueOperations, never()).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
         }
+
+        @Test
+        @DisplayName("촬영 시각이 없어도 저장 키 기준으로 기록을 남겨 다시 추출하지 않는다")
+        void persistEvenWithoutExif() {
+            // given
+            String fileName = "feed/test.webp";
+
+            // when
+            imageMetadataService.extractAndCache(new byte[0], fileName);
+
+            // then
+            ArgumentCaptor<ImageMetadata> saved = ArgumentCaptor.forClass(ImageMetadata.class);
+            verify(imageMetadataRepository).save(saved.capture());
+            assertThat(saved.getValue().getS3Key()).isEqualTo(fileName);
+            assertThat(saved.getValue().getCapturedAt()).isNull();
+        }
+
+        @Test
+        @DisplayName("같은 키의 기록이 이미 있으면 다시 저장하지 않는다")
+        void skipExistingRecord() {
+            // given
+            given(imageMetadataRepository.existsByS3Key("feed/test.webp")).willReturn(true);
+
+            // when
+            imageMetadataService.extractAndCache(new byte[0], "feed/test.webp");
+
+            // then
+            verify(imageMetadataRepository, never()).save(any());
+        }
     }
 
     @Nested
@@ -142,29 +168,44 @@ class ImageMetadataServiceTest {
             // then
             assertThat(result).isPresent();
             assertThat(result.get()).isEqualTo(LocalDateTime.parse(cachedTime));
-            verify(s3Template, never()).download(anyString(), anyString());
+            verify(fileStorage, never()).readHead(anyString(), anyInt());
         }
 
         @Test
-        @DisplayName("Redis에 데이터가 없으면 S3에서 다운로드하여 추출을 시도한다")
-        void downloadFromS3WhenRedisMiss() throws Exception { // [수정] 예외 처리 추가
+        @DisplayName("Redis에 없으면 업로드 시 남긴 기록을 쓰고 저장소는 읽지 않는다")
+        void returnTimeFromRecord() throws Exception {
             // given
-            String s3Key = "test-image.jpg";
+            String url = "https://cdn.lupin-care.com/feed/test-image.webp";
+            LocalDateTime capturedAt = LocalDateTime.parse("2024-01-01T12:00:00");
+            given(valueOperations.get("img:meta:test-image.webp")).willReturn(null);
+            given(imageMetadataRepository.findByS3Key("feed/test-image.webp")).willReturn(Optional.of(
+                    ImageMetadata.builder().s3Key("feed/test-image.webp").capturedAt(capturedAt).build()));
+
+            // when
+            Optional<LocalDateTime> result = imageMetadataService.extractPhotoDateTime(url);
+
+            // then
+            assertThat(result).contains(capturedAt);
+            verify(fileStorage, never()).readHead(anyString(), anyInt());
+        }
+
+        @Test
+        @DisplayName("기록도 없으면 저장소에서 앞부분만 읽어 추출하고 결과를 기록한다")
+        void readHeaderWhenNoRecord() throws Exception {
+            // given
+            String s3Key = "feed/test-image.jpg";
             given(valueOperations.get("img:meta:" + s3Key)).willReturn(null);
-            
-            // S3 Mock
-            byte[] emptyImageBytes = new byte[0];
-            InputStream inputStream = new ByteArrayInputStream(emptyImageBytes);
-            given(s3Template.download(eq(BUCKET), eq(s3Key))).willReturn(s3Resource);
-            given(s3Resource.getInputStream()).willReturn(inputStream);
+            given(imageMetadataRepository.findByS3Key(s3Key)).willReturn(Optional.empty());
+            given(fileStorage.readHead(eq(s3Key), anyInt())).willReturn(new byte[0]);
 
             // when
             Optional<LocalDateTime> result = imageMetadataService.extractPhotoDateTime(s3Key);
 
             // then
-            // 빈 이미지라 결과는 empty지만, S3 download가 호출되었는지 확인
+            // 빈 이미지라 결과는 empty지만, 전체가 아닌 앞부분(128KB)만 요청했는지 확인
             assertThat(result).isEmpty();
-            verify(s3Template).download(BUCKET, s3Key);
+            verify(fileStorage).readHead(s3Key, 128 * 1024);
+            verify(imageMetadataRepository).save(any(ImageMetadata.class));
         }
     }
 }
\ No newline at end of file
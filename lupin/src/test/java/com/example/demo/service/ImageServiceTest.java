@@ -1,28 +1,41 @@
 package com.example.demo.service;
 
+import com.example.demo.component.ImagePipeline;
 import com.example.demo.component.ImageProcessor;
 import com.example.demo.config.ImagePolicyProperties;
+import com.example.demo.config.properties.ImagePipelineProperties;
 import com.example.demo.infrastructure.FileStorage;
-import org.springframework.context.ApplicationContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ImageService 테스트")
@@ -38,10 +51,12 @@ class ImageServiceTest {
     private ImageMetadataService imageMetadataService;
 
     @Mock
-    private ApplicationContext applicationContext;
+    private ImageDedupService imageDedupService;
 
     private ImagePolicyProperties imagePolicy;
 
+    private ImagePipeline imagePipeline;
+
     private ImageService imageService;
 
     @BeforeEach
@@ -49,12 +64,29 @@ class ImageServiceTest {
         imagePolicy = new ImagePolicyProperties(
                 new ImagePolicyProperties.OriginalPolicy(800, 800, 60),
                 new ImagePolicyProperties.ThumbnailPolicy(300, 400, 50),
-                new ImagePolicyProperties.ThumbnailPolicy(100, 100, 60)
+                new ImagePolicyProperties.ThumbnailPolicy(100, 100, 60),
+                null
         );
-        imageService = new ImageService(fileStorage, imageProcessor, imageMetadataService, imagePolicy, applicationContext);
+        ImagePipelineProperties pipelineProperties = new ImagePipelineProperties();
+        pipelineProperties.setCpuThreads(2);
+        pipelineProperties.setIoThreads(2);
+        pipelineProperties.setMemoryBudgetMb(1);
+        pipelineProperties.setAcquireTimeoutMs(50);
+        imagePipeline = new ImagePipeline(pipelineProperties);
+        imageService = new ImageService(fileStorage, imageProcessor, imageMetadataService, imagePolicy, imagePipeline, imageDedupService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imagePipeline.shutdown();
+    }
 
-        // 비동기 메서드 호출 시 자기 자신을 참조(Proxy)하기 위해 getBean을 호출하는 경우를 대비
-        lenient().when(applicationContext.getBean(ImageService.class)).thenReturn(imageService);
+    // 임시 파일 내용을 fallbackBytes로 돌려주면 encode 스텁이 원본 바이트를 그대로 돌려줄 수 있다
+    private void givenDecodeAndEncode() throws IOException {
+        given(imageProcessor.decode(any(Path.class), anyList()))
+                .willAnswer(invocation -> new ImageProcessor.DecodedImage(null, Files.readAllBytes(invocation.getArgument(0))));
+        given(imageProcessor.encode(any(ImageProcessor.DecodedImage.class), any(ImageProcessor.Rendition.class)))
+                .willAnswer(invocation -> ((ImageProcessor.DecodedImage) invocation.getArgument(0)).fallbackBytes());
     }
 
     @Test
@@ -68,9 +100,7 @@ class ImageServiceTest {
                 "test image content".getBytes()
         );
 
-        byte[] processedBytes = "converted webp".getBytes();
-        given(imageProcessor.convertToWebp(any(byte[].class), anyInt(), anyInt(), anyInt()))
-                .willReturn(processedBytes);
+        givenDecodeAndEncode();
         given(fileStorage.getPublicUrl(anyString()))
                 .willAnswer(invocation -> "https://cdn.lupin-care.com/" + invocation.getArgument(0));
 
@@ -80,8 +110,9 @@ class ImageServiceTest {
         // then
         assertThat(result).startsWith("https://cdn.lupin-care.com/");
         assertThat(result).endsWith(".webp");
-        verify(imageProcessor).convertToWebp(any(byte[].class), eq(800), eq(800), eq(60));
-        verify(fileStorage).upload(anyString(), eq(processedBytes), eq("image/webp"));
+        verify(imageProcessor).encode(any(ImageProcessor.DecodedImage.class),
+                argThat(r -> !r.crop() && r.width() == 800 && r.height() == 800 && r.quality() == 60));
+        verify(fileStorage).upload(anyString(), any(byte[].class), eq("image/webp"));
     }
 
     @Test
@@ -95,9 +126,7 @@ class ImageServiceTest {
                 "test image content".getBytes()
         );
 
-        byte[] processedBytes = "converted webp".getBytes();
-        given(imageProcessor.convertToWebp(any(byte[].class), anyInt(), anyInt(), anyInt()))
-                .willReturn(processedBytes);
+        givenDecodeAndEncode();
         given(fileStorage.getPublicUrl(anyString()))
                 .willAnswer(invocation -> "https://cdn.lupin-care.com/" + invocation.getArgument(0));
 
@@ -106,7 +135,39 @@ class ImageServiceTest {
 
         // then
         assertThat(result).startsWith("https://cdn.lupin-care.com/feed/");
-        verify(imageMetadataService).extractAndCache(any(byte[].class), anyString());
+        verify(imageMetadataService).extractAndCache(any(Path.class), anyString());
+        verify(imageProcessor, times(1)).decode(any(Path.class), anyList());
+        verify(imageProcessor).encode(any(ImageProcessor.DecodedImage.class),
+                argThat(r -> r.crop() && r.width() == 300 && r.height() == 400 && r.key().startsWith("feed/thumb/")));
+        verify(fileStorage, timeout(1000)).upload(startsWith("feed/thumb/"), any(byte[].class), eq("image/webp"));
+    }
+
+    @Test
+    @DisplayName("한 번 디코딩한 원본에서 프로필 썸네일과 추가 크기까지 모두 만든다")
+    void uploadProfileImageWithAdditionalRenditions() throws Exception {
+        // given
+        ImagePolicyProperties policy = new ImagePolicyProperties(
+                imagePolicy.original(), imagePolicy.feedThumbnail(), imagePolicy.profileThumbnail(),
+                List.of(new ImagePolicyProperties.RenditionPolicy("medium", 400, 400, 70))
+        );
+        ImageService service = new ImageService(fileStorage, imageProcessor, imageMetadataService, policy, imagePipeline, imageDedupService);
+        MockMultipartFile file = new MockMultipartFile("image", "me.jpg", "image/jpeg", "me".getBytes());
+
+        givenDecodeAndEncode();
+        given(fileStorage.getPublicUrl(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        String result = service.uploadImage(file, "profiles");
+
+        // then
+        assertThat(result).startsWith("profiles/");
+        verify(imageProcessor, times(1)).decode(any(Path.class), anyList());
+        verify(imageProcessor, times(3)).encode(any(ImageProcessor.DecodedImage.class), any(ImageProcessor.Rendition.class));
+        verify(imageProcessor).encode(any(ImageProcessor.DecodedImage.class),
+                argThat(r -> r.crop() && r.width() == 100 && r.height() == 100));
+        verify(fileStorage, timeout(1000)).upload(startsWith("profiles/thumb/"), any(byte[].class), eq("image/webp"));
+        verify(fileStorage, timeout(1000)).upload(startsWith("profiles/medium/"), any(byte[].class), eq("image/webp"));
+        verify(imageMetadataService, never()).extractAndCache(any(Path.class), anyString());
     }
 
     @Test
@@ -126,9 +187,7 @@ class ImageServiceTest {
                 "test image 2".getBytes()
         );
 
-        byte[] processedBytes = "converted webp".getBytes();
-        given(imageProcessor.convertToWebp(any(byte[].class), anyInt(), anyInt(), anyInt()))
-                .willReturn(processedBytes);
+        givenDecodeAndEncode();
         given(fileStorage.getPublicUrl(anyString()))
                 .willAnswer(invocation -> "https://cdn.lupin-care.com/" + invocation.getArgument(0));
 
@@ -141,11 +200,181 @@ class ImageServiceTest {
         assertThat(results.get(1)).startsWith("https://cdn.lupin-care.com/");
     }
 
+    @Test
+    @DisplayName("여러 이미지를 동시에 변환하고 입력 순서대로 URL을 반환한 뒤 메모리 예산을 돌려준다")
+    void uploadImagesConcurrently() throws Exception {
+        // given
+        List<MockMultipartFile> files = List.of(
+                new MockMultipartFile("files", "a.jpg", "image/jpeg", "a".getBytes()),
+                new MockMultipartFile("files", "b.jpg", "image/jpeg", "b".getBytes()),
+                new MockMultipartFile("files", "c.jpg", "image/jpeg", "c".getBytes())
+        );
+        CountDownLatch bothConverting = new CountDownLatch(2);
+        given(imageProcessor.decode(any(Path.class), anyList()))
+                .willAnswer(invocation -> new ImageProcessor.DecodedImage(null, Files.readAllBytes(invocation.getArgument(0))));
+        given(imageProcessor.encode(any(ImageProcessor.DecodedImage.class), any(ImageProcessor.Rendition.class)))
+                .willAnswer(invocation -> {
+                    // CPU 스레드 2개가 동시에 변환 중이어야 통과 (순차 처리면 시간 초과)
+                    bothConverting.countDown();
+                    assertThat(bothConverting.await(5, TimeUnit.SECONDS)).isTrue();
+                    return ((ImageProcessor.DecodedImage) invocation.getArgument(0)).fallbackBytes();
+                });
+        given(fileStorage.getPublicUrl(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+        int budgetBefore = imagePipeline.availableBudgetKb();
+
+        // when
+        List<String> results = imageService.uploadImages(List.copyOf(files));
+
+        // then
+        assertThat(results).hasSize(3).allMatch(url -> url.endsWith(".webp"));
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<byte[]> bodies = ArgumentCaptor.forClass(byte[].class);
+        verify(fileStorage, times(3)).upload(keys.capture(), bodies.capture(), eq("image/webp"));
+        for (int i = 0; i < 3; i++) {
+            int index = keys.getAllValues().indexOf(results.get(i));
+            assertThat(new String(bodies.getAllValues().get(index))).isEqualTo(new String(files.get(i).getBytes()));
+        }
+        assertThat(imagePipeline.availableBudgetKb()).isEqualTo(budgetBefore);
+    }
+
+    @Test
+    @DisplayName("업로드 파일은 임시 파일로 옮겨 처리하고, 디코딩할 수 없으면 그 파일을 그대로 스트리밍 업로드한 뒤 지운다")
+    void uploadUndecodableImageStreamsSpooledFile() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("image", "photo.heic", "image/heic", "heic".getBytes());
+        given(imageProcessor.decode(any(Path.class), anyList())).willAnswer(invocation -> {
+            assertThat(Files.readString(invocation.getArgument(0))).isEqualTo("heic");
+            return new ImageProcessor.DecodedImage(null, null);
+        });
+        given(imageProcessor.encode(any(ImageProcessor.DecodedImage.class), any(ImageProcessor.Rendition.class)))
+                .willThrow(new IOException("not decodable"));
+        given(fileStorage.getPublicUrl(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Path> spooled = ArgumentCaptor.forClass(Path.class);
+
+        // when
+        String result = imageService.uploadImage(file);
+
+        // then
+        verify(fileStorage).upload(eq(result), spooled.capture(), eq("image/webp"));
+        verify(fileStorage, never()).upload(anyString(), any(byte[].class), anyString());
+        assertThat(spooled.getValue()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("여러 이미지 중 하나가 실패하면 이미 올라간 이미지의 참조를 내리고 객체를 지운다")
+    void uploadImagesDiscardsSucceededOnFailure() throws Exception {
+        // given - 두 번째 파일만 변환에 실패
+        List<MockMultipartFile> files = List.of(
+                new MockMultipartFile("files", "a.jpg", "image/jpeg", "a".getBytes()),
+                new MockMultipartFile("files", "b.jpg", "image/jpeg", "b".getBytes())
+        );
+        given(imageProcessor.decode(any(Path.class), anyList())).willAnswer(invocation -> {
+            byte[] bytes = Files.readAllBytes(invocation.getArgument(0));
+            if ("b".equals(new String(bytes))) {
+                throw new IOException("broken image");
+            }
+            return new ImageProcessor.DecodedImage(null, bytes);
+        });
+        given(imageProcessor.encode(any(ImageProcessor.DecodedImage.class), any(ImageProcessor.Rendition.class)))
+                .willAnswer(invocation -> ((ImageProcessor.DecodedImage) invocation.getArgument(0)).fallbackBytes());
+        given(fileStorage.getPublicUrl(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+        given(imageDedupService.release(anyString())).willReturn(true);
+
+        // when & then
+        assertThatThrownBy(() -> imageService.uploadImages(List.copyOf(files)))
+                .isInstanceOf(IOException.class);
+        ArgumentCaptor<String> uploaded = ArgumentCaptor.forClass(String.class);
+        verify(fileStorage).upload(uploaded.capture(), any(byte[].class), eq("image/webp"));
+        verify(imageDedupService, timeout(1000)).release(uploaded.getValue());
+        verify(fileStorage, timeout(1000)).delete(uploaded.getValue());
+    }
+
+    @Test
+    @DisplayName("메모리 예산이 비지 않으면 기다리다가 IOException으로 실패한다")
+    void uploadImageFailsWhenBudgetExhausted() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("image", "a.jpg", "image/jpeg", "a".getBytes());
+        ImagePipeline.Reservation held = imagePipeline.reserve(Long.MAX_VALUE / 16);
+
+        // when & then
+        try {
+            assertThatThrownBy(() -> imageService.uploadImage(file, "feed"))
+                    .isInstanceOf(IOException.class);
+            verify(fileStorage, never()).upload(anyString(), any(byte[].class), anyString());
+        } finally {
+            held.close();
+        }
+    }
+
+    @Test
+    @DisplayName("새 이미지는 원본 해시와 함께 중복 제거 인덱스에 등록한다")
+    void uploadImageRegistersContentHash() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("image", "a.jpg", "image/jpeg", "abc".getBytes());
+        givenDecodeAndEncode();
+        given(fileStorage.getPublicUrl(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        String result = imageService.uploadImage(file, "feed");
+
+        // then
+        // SHA-256("abc")
+        String hash = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        verify(imageDedupService).acquire(hash, "feed");
+        verify(imageDedupService).register(hash, "feed", result);
+    }
+
+    @Test
+    @DisplayName("같은 원본이 이미 저장되어 있으면 변환/업로드 없이 기존 URL을 반환하고 EXIF는 기존 키로 캐시한다")
+    void uploadDuplicateImageReusesExistingKey() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("image", "a.jpg", "image/jpeg", "abc".getBytes());
+        given(imageDedupService.acquire(anyString(), eq("feed"))).willReturn(Optional.of("feed/existing.webp"));
+        given(fileStorage.getPublicUrl("feed/existing.webp")).willReturn("https://cdn.lupin-care.com/feed/existing.webp");
+        int budgetBefore = imagePipeline.availableBudgetKb();
+
+        // when
+        String result = imageService.uploadImage(file, "feed");
+
+        // then
+        assertThat(result).isEqualTo("https://cdn.lupin-care.com/feed/existing.webp");
+        verify(imageMetadataService).extractAndCache(any(Path.class), eq("feed/existing.webp"));
+        verify(imageProcessor, never()).decode(any(Path.class), anyList());
+        verify(fileStorage, never()).upload(anyString(), any(byte[].class), anyString());
+        verify(imageDedupService, never()).register(anyString(), anyString(), anyString());
+        assertThat(imagePipeline.availableBudgetKb()).isEqualTo(budgetBefore);
+    }
+
+    @Test
+    @DisplayName("저장소에서 받아 둔 원본도 업로드와 같은 경로로 변환하고 파일은 호출한 쪽에 남겨 둔다")
+    void importImageFromFile() throws Exception {
+        // given
+        Path source = Files.createTempFile("direct-upload-", ".tmp");
+        Files.writeString(source, "abc");
+        givenDecodeAndEncode();
+        given(fileStorage.getPublicUrl(anyString())).willAnswer(invocation -> invocation.getArgument(0));
+
+        try {
+            // when
+            String result = imageService.importImage(source, "feed");
+
+            // then
+            assertThat(result).startsWith("feed/").endsWith(".webp");
+            verify(imageDedupService).acquire("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", "feed");
+            verify(imageMetadataService).extractAndCache(source, result);
+            verify(fileStorage).upload(eq(result), any(byte[].class), eq("image/webp"));
+            assertThat(source).exists();
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
     @Test
     @DisplayName("이미지를 삭제한다")
     void deleteImageTest() {
         // given
         String imageUrl = "https://cdn.lupin-care.com/feed/test-image.webp";
+        given(imageDedupService.release(imageUrl)).willReturn(true);
 
         // when
         imageService.deleteImage(imageUrl);
@@ -153,4 +382,35 @@ class ImageServiceTest {
         // then
         verify(fileStorage).delete(imageUrl);
     }
+
+    @Test
+    @DisplayName("다른 업로드가 아직 참조하는 이미지는 참조 수만 내리고 객체는 지우지 않는다")
+    void deleteSharedImageKeepsObject() {
+        // given
+        String imageUrl = "https://cdn.lupin-care.com/feed/shared.webp";
+        given(imageDedupService.release(imageUrl)).willReturn(false);
+
+        // when
+        imageService.deleteImages(List.of(imageUrl));
+
+        // then
+        verify(fileStorage, never()).delete(anyString());
+        verify(fileStorage, never()).deleteAll(anyList());
+    }
+
+    @Test
+    @DisplayName("여러 이미지는 참조가 남지 않은 것만 모아 한 번에 삭제한다")
+    void deleteImagesBatchesUnreferenced() {
+        // given
+        given(imageDedupService.release("feed/a.webp")).willReturn(true);
+        given(imageDedupService.release("feed/shared.webp")).willReturn(false);
+        given(imageDedupService.release("https://cdn.lupin-care.com/feed/b.webp")).willReturn(true);
+
+        // when
+        imageService.deleteImages(List.of("feed/a.webp", "feed/shared.webp", "https://cdn.lupin-care.com/feed/b.webp"));
+
+        // then
+        verify(fileStorage).deleteAll(List.of("feed/a.webp", "https://cdn.lupin-care.com/feed/b.webp"));
+        verify(fileStorage, never()).delete(anyString());
+    }
 }
@@ -0,0 +1,171 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.User;
+import com.example.demo.dto.LeaderboardCard;
+import com.example.demo.dto.response.UserRankingResponse;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.RankingTree;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaderboardService 테스트")
+class LeaderboardServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RankingEngine rankingEngine;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = new LeaderboardService(redisTemplate, objectMapper, userRepository, rankingEngine);
+    }
+
+    private String card(Long id, String name) throws Exception {
+        return objectMapper.writeValueAsString(new LeaderboardCard(id, name, "avatar" + id, "내과"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenScriptReturns(List<String> result) {
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).willReturn(result);
+    }
+
+    @Test
+    @DisplayName("상위 랭킹은 스크립트 한 번으로 점수와 카드를 받아 DB 조회 없이 응답하고, 음수 점수는 0으로 표시한다")
+    void getTop_AllCardsCached() throws Exception {
+        // given
+        givenScriptReturns(List.of("0",
+                "1", "100", card(1L, "양수유저"),
+                "2", "-50", card(2L, "음수유저")));
+
+        // when
+        List<UserRankingResponse> results = leaderboardService.getTop(MONTH, 10);
+
+        // then
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0)).isEqualTo(new UserRankingResponse(1L, "양수유저", "avatar1", "내과", 100L, 1));
+        assertThat(results.get(1).points()).isEqualTo(0L);
+        assertThat(results.get(1).rank()).isEqualTo(2);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("내 주변 등수는 스크립트가 돌려준 시작 인덱스부터 등수를 매긴다")
+    void getAround_RankStartsFromScriptOffset() throws Exception {
+        // given
+        givenScriptReturns(List.of("4",
+                "7", "300", card(7L, "앞사람"),
+                "8", "250", card(8L, "나"),
+                "9", "200", card(9L, "뒷사람")));
+
+        // when
+        List<UserRankingResponse> results = leaderboardService.getAround(MONTH, 8L);
+
+        // then
+        assertThat(results).extracting(UserRankingResponse::rank).containsExactly(5, 6, 7);
+        assertThat(results).extracting(UserRankingResponse::name).containsExactly("앞사람", "나", "뒷사람");
+    }
+
+    @Test
+    @DisplayName("카드가 없는 사용자만 DB에서 조회하고 카드 Hash에 채워 둔다")
+    @SuppressWarnings("unchecked")
+    void getTop_BackfillsMissingCards() throws Exception {
+        // given
+        givenScriptReturns(List.of("0",
+                "1", "100", card(1L, "캐시유저"),
+                "2", "90", ""));
+        given(userRepository.findAllById(List.of(2L)))
+                .willReturn(List.of(User.builder().id(2L).name("신규유저").department("외과").build()));
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+
+        // when
+        List<UserRankingResponse> results = leaderboardService.getTop(MONTH, 10);
+
+        // then
+        assertThat(results).extracting(UserRankingResponse::name).containsExactly("캐시유저", "신규유저");
+
+        ArgumentCaptor<Map<String, String>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(hashOperations).putAll(eq("ranking:cards"), captor.capture());
+        assertThat(captor.getValue()).containsOnlyKeys("2");
+    }
+
+    @Test
+    @DisplayName("엔진이 적재되어 있으면 등수는 메모리에서 구하고 카드만 HMGET 한 번으로 붙인다")
+    void getAround_FromRankingEngine() throws Exception {
+        // given
+        given(rankingEngine.isReady(MONTH)).willReturn(true);
+        given(rankingEngine.neighbors(8L, 1)).willReturn(List.of(
+                new RankingTree.Entry(7L, 300L, 5),
+                new RankingTree.Entry(8L, 250L, 6)));
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(hashOperations.multiGet("ranking:cards", List.of("7", "8")))
+                .willReturn(List.<Object>of(card(7L, "앞사람"), card(8L, "나")));
+
+        // when
+        List<UserRankingResponse> results = leaderboardService.getAround(MONTH, 8L);
+
+        // then
+        assertThat(results).extracting(UserRankingResponse::rank).containsExactly(5, 6);
+        assertThat(results).extracting(UserRankingResponse::points).containsExactly(300L, 250L);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("랭킹에 없는 사용자의 주변 등수는 빈 목록이다")
+    void getAround_NotRanked() {
+        // given
+        givenScriptReturns(List.of());
+
+        // when & then
+        assertThat(leaderboardService.getAround(MONTH, 99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 카드를 갱신하면 즉시 Hash에 반영한다")
+    @SuppressWarnings("unchecked")
+    void refreshCard() {
+        // given
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        User user = User.builder().id(3L).name("바뀐이름").avatar("new.webp").build();
+
+        // when
+        leaderboardService.refreshCard(user);
+
+        // then
+        ArgumentCaptor<Map<String, String>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(hashOperations).putAll(eq("ranking:cards"), captor.capture());
+        assertThat(captor.getValue().get("3")).contains("바뀐이름", "new.webp");
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.enums.PointType;
+import com.example.demo.repository.PointLogRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlatformStatisticsService 테스트")
+class PlatformStatisticsServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+    private static final String ACTIVE_KEY = "stats:active:2025-11";
+    private static final String POINTS_KEY = "stats:points:2025-11";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private HyperLogLogOperations<String, String> hyperLogLogOperations;
+
+    @Mock
+    private PointLogRepository pointLogRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private PlatformStatisticsService platformStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+    }
+
+    @Test
+    @DisplayName("활동 사용자 수는 HyperLogLog에서 바로 센다")
+    void getActiveUsers_FromHyperLogLog() {
+        // given
+        given(redisTemplate.hasKey(ACTIVE_KEY)).willReturn(true);
+        given(hyperLogLogOperations.size(ACTIVE_KEY)).willReturn(1234L);
+
+        // when & then
+        assertThat(platformStatisticsService.getActiveUsers(MONTH)).isEqualTo(1234L);
+        verifyNoInteractions(pointLogRepository);
+    }
+
+    @Test
+    @DisplayName("HyperLogLog가 없으면 활동 사용자 ID를 청크로 읽어 임시 키에 채운 뒤 교체한다")
+    void getActiveUsers_RecomputeOnMiss() {
+        // given
+        given(redisTemplate.hasKey(ACTIVE_KEY)).willReturn(false);
+        given(pointLogRepository.findActiveUserIdsAfter(any(), any(), eq(0L), any(Pageable.class)))
+                .willReturn(List.of(1L, 5L, 9L));
+        given(hyperLogLogOperations.size(ACTIVE_KEY)).willReturn(3L);
+
+        // when
+        long activeUsers = platformStatisticsService.getActiveUsers(MONTH);
+
+        // then
+        assertThat(activeUsers).isEqualTo(3L);
+        verify(hyperLogLogOperations).add(startsWith(ACTIVE_KEY + ":rebuild:"), eq("1"), eq("5"), eq("9"));
+        verify(redisTemplate).rename(startsWith(ACTIVE_KEY + ":rebuild:"), eq(ACTIVE_KEY));
+    }
+
+    @Test
+    @DisplayName("평균 포인트는 누적 합계를 전체 사용자 수로 나눈 값이다 (포인트 로그 조회 없음)")
+    void getAveragePoints_FromRunningSum() {
+        // given
+        given(valueOperations.get(POINTS_KEY)).willReturn("1000");
+        given(userRepository.count()).willReturn(3L);
+
+        // when & then
+        assertThat(platformStatisticsService.getAveragePoints(MONTH)).isEqualTo(333L);
+        verifyNoInteractions(pointLogRepository);
+    }
+
+    @Test
+    @DisplayName("누적 합계가 없으면 DB 합계로 다시 채운다")
+    void getAveragePoints_RecomputeOnMiss() {
+        // given
+        given(valueOperations.get(POINTS_KEY)).willReturn(null);
+        given(pointLogRepository.sumRankedPointsBetween(any(), any())).willReturn(900L);
+        given(userRepository.count()).willReturn(4L);
+
+        // when & then
+        assertThat(platformStatisticsService.getAveragePoints(MONTH)).isEqualTo(225L);
+        verify(valueOperations).set(eq(POINTS_KEY), eq("900"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("전체 사용자 수는 캐시하지 않아 가입/탈퇴가 바로 반영된다")
+    void getTotalUsers_AlwaysFresh() {
+        // given
+        given(userRepository.count()).willReturn(10L, 11L);
+
+        // when & then
+        assertThat(platformStatisticsService.getTotalUsers()).isEqualTo(10L);
+        assertThat(platformStatisticsService.getTotalUsers()).isEqualTo(11L);
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    @DisplayName("통계 누적은 스크립트 한 번으로 보내고, Redis 장애는 삼킨다")
+    void recordPointLog() {
+        // given
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .willThrow(new IllegalStateException("redis down"));
+
+        // when & then
+        assertThatCode(() -> platformStatisticsService.recordPointLog(1L, 100L, PointType.EARN, MONTH))
+                .doesNotThrowAnyException();
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(ACTIVE_KEY, POINTS_KEY)),
+                eq("1"), eq("100"), eq(String.valueOf(Duration.ofDays(40).toSeconds())), eq("1"));
+    }
+
+    @Test
+    @DisplayName("키가 없을 때 들어온 첫 증분은 키를 만들지 않으므로 다음 조회가 DB 기준으로 다시 계산한다")
+    void recordPointLog_KeyAbsentStillRecomputes() {
+        // given - 배포/플러시 직후라 이번 달 키가 없다
+        given(redisTemplate.hasKey(ACTIVE_KEY)).willReturn(false);
+        given(pointLogRepository.findActiveUserIdsAfter(any(), any(), eq(0L), any(Pageable.class)))
+                .willReturn(List.of(1L, 2L));
+        given(hyperLogLogOperations.size(ACTIVE_KEY)).willReturn(2L);
+
+        // when
+        platformStatisticsService.recordPointLog(2L, 50L, PointType.EARN, MONTH);
+        long activeUsers = platformStatisticsService.getActiveUsers(MONTH);
+
+        // then - 증분은 조건부 스크립트로만 보내고 키를 직접 만들지 않는다
+        assertThat(activeUsers).isEqualTo(2L);
+        verify(hyperLogLogOperations, never()).add(eq(ACTIVE_KEY), any(String[].class));
+        verify(valueOperations, never()).increment(anyString(), anyLong());
+        verify(pointLogRepository).findActiveUserIdsAfter(any(), any(), eq(0L), any(Pageable.class));
+        verify(redisTemplate).rename(startsWith(ACTIVE_KEY + ":rebuild:"), eq(ACTIVE_KEY));
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.PointLog;
+import com.example.demo.domain.entity.User;
+import com.example.demo.domain.enums.PointType;
+import com.example.demo.repository.PointLogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PointLedgerService 테스트")
+class PointLedgerServiceTest {
+
+    @Mock
+    private PointLogRepository pointLogRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PlatformStatisticsService platformStatisticsService;
+
+    @InjectMocks
+    private PointLedgerService pointLedgerService;
+
+    private User user(Long id) {
+        return User.builder().id(id).name("사용자" + id).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactionRuns() {
+        willAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("원장에는 증감분마다 로그를 남기고, users 반영은 사용자별로 합쳐 UPDATE 1건씩 배치로 실행한다")
+    @SuppressWarnings("unchecked")
+    void appendAndFlush_CoalescesPerUser() {
+        // given
+        givenTransactionRuns();
+        User first = user(1L);
+        User second = user(2L);
+
+        // when
+        pointLedgerService.append(first, 100L, PointType.EARN);
+        pointLedgerService.append(first, -30L, PointType.DEDUCT);
+        pointLedgerService.append(second, -500L, PointType.USE);
+        int flushed = pointLedgerService.flushPendingDeltas();
+
+        // then
+        verify(pointLogRepository, times(3)).save(any(PointLog.class));
+        verify(platformStatisticsService).recordPointLog(eq(2L), eq(-500L), eq(PointType.USE), any(YearMonth.class));
+        assertThat(flushed).isEqualTo(2);
+
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("current_points = current_points + ?"), batchCaptor.capture());
+        assertThat(batchCaptor.getValue())
+                .extracting(args -> args[1] + ":" + args[0])
+                .containsExactlyInAnyOrder("1:70", "2:-500");
+
+        // 한 번 반영한 증감분은 다시 반영하지 않는다
+        assertThat(pointLedgerService.flushPendingDeltas()).isZero();
+    }
+
+    @Test
+    @DisplayName("합쳐서 0이 된 사용자는 UPDATE하지 않는다")
+    void flush_SkipsZeroDelta() {
+        // given
+        User target = user(1L);
+        pointLedgerService.append(target, 100L, PointType.EARN);
+        pointLedgerService.append(target, -100L, PointType.DEDUCT);
+
+        // when
+        int flushed = pointLedgerService.flushPendingDeltas();
+
+        // then
+        assertThat(flushed).isZero();
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 증감분을 다시 쌓아 두고 다음 flush에서 재시도한다")
+    @SuppressWarnings("unchecked")
+    void flush_RetriesAfterFailure() {
+        // given
+        pointLedgerService.append(user(1L), 100L, PointType.EARN);
+        willThrow(new DataAccessResourceFailureException("connection lost")).willAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+
+        // 실패 사이에 들어온 증감분도 함께 합쳐진다
+        assertThat(pointLedgerService.flushPendingDeltas()).isZero();
+        pointLedgerService.append(user(1L), 50L, PointType.EARN);
+
+        // when
+        int flushed = pointLedgerService.flushPendingDeltas();
+
+        // then
+        assertThat(flushed).isEqualTo(1);
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        assertThat(batchCaptor.getValue().get(0)).containsExactly(150L, 1L);
+    }
+
+    @Test
+    @DisplayName("잔액은 스냅샷 기반 합계 쿼리로 조회한다")
+    void getBalance() {
+        // given
+        given(pointLogRepository.sumPointsByUserId(1L)).willReturn(1200L);
+
+        // when & then
+        assertThat(pointLedgerService.getBalance(1L)).isEqualTo(1200L);
+    }
+
+    @Test
+    @DisplayName("잔액 보정은 최근 로그가 없는 사용자만 원장 합계로 맞춘다")
+    void reconcileBalances_SkipsRecentlyActiveUsers() {
+        // given
+        ArgumentCaptor<Object> cutoffCaptor = ArgumentCaptor.forClass(Object.class);
+        given(jdbcTemplate.update(contains("SET u.current_points = l.balance"), cutoffCaptor.capture())).willReturn(3);
+
+        // when
+        int updated = pointLedgerService.reconcileBalances();
+
+        // then
+        assertThat(updated).isEqualTo(3);
+        assertThat((LocalDateTime) cutoffCaptor.getValue()).isBefore(LocalDateTime.now().minusMinutes(4));
+    }
+
+    @Test
+    @DisplayName("직전 스냅샷 이후 새 로그가 없으면 스냅샷을 갱신하지 않는다")
+    void foldSnapshots_NothingNew() {
+        // given
+        given(jdbcTemplate.queryForObject(contains("point_balance_snapshots"), eq(Long.class))).willReturn(10L);
+        given(jdbcTemplate.queryForObject(contains("FROM point_logs"), eq(Long.class), any())).willReturn(10L);
+
+        // when
+        int updated = pointLedgerService.foldSnapshots();
+
+        // then
+        assertThat(updated).isZero();
+        verify(jdbcTemplate, never()).update(contains("INSERT INTO point_balance_snapshots"), any(), any(), any());
+    }
+}
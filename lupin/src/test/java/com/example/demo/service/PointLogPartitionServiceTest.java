@@ -0,0 +1,69 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PointLogPartitionService 테스트")
+class PointLogPartitionServiceTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private PointLogPartitionService pointLogPartitionService;
+
+    @Test
+    @DisplayName("마지막 월 파티션 다음 달부터 3달 뒤까지 p_future를 쪼개어 순서대로 추가한다")
+    void ensureFuturePartitions_AppendsMissingMonths() {
+        // given
+        YearMonth now = YearMonth.now();
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .willReturn(List.of("p_history", "p" + now.format(SUFFIX), "p" + now.plusMonths(1).format(SUFFIX), "p_future"));
+
+        // when
+        int created = pointLogPartitionService.ensureFuturePartitions();
+
+        // then
+        assertThat(created).isEqualTo(2);
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).execute(captor.capture());
+        assertThat(captor.getAllValues().get(0))
+                .contains("REORGANIZE PARTITION p_future")
+                .contains("PARTITION p" + now.plusMonths(2).format(SUFFIX))
+                .contains("TO_DAYS('" + now.plusMonths(3).atDay(1) + "')");
+        assertThat(captor.getAllValues().get(1)).contains("PARTITION p" + now.plusMonths(3).format(SUFFIX));
+    }
+
+    @Test
+    @DisplayName("파티션 테이블이 아니면 아무것도 하지 않는다")
+    void ensureFuturePartitions_NotPartitioned() {
+        // given
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class))).willReturn(List.of());
+
+        // when
+        int created = pointLogPartitionService.ensureFuturePartitions();
+
+        // then
+        assertThat(created).isZero();
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
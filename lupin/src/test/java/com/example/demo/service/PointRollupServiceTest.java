@@ -0,0 +1,95 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PointRollupService 테스트")
+class PointRollupServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private PointRollupService pointRollupService;
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactionRuns() {
+        willAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null))
+                .given(transactionTemplate).execute(any());
+    }
+
+    @Test
+    @DisplayName("하루치 로그를 지우고 다시 접은 뒤 진행 위치를 다음 날 0시로 옮긴다")
+    void rollUp() {
+        // given
+        givenTransactionRuns();
+        LocalDate day = LocalDate.of(2025, 3, 5);
+        lenient().when(jdbcTemplate.update(startsWith("INSERT INTO point_daily_rollups"), any(), any(), any())).thenReturn(12);
+
+        // when
+        int rows = pointRollupService.rollUp(day);
+
+        // then
+        assertThat(rows).isEqualTo(12);
+        verify(jdbcTemplate).update(startsWith("DELETE FROM point_daily_rollups"), eq(day.atStartOfDay()));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO point_daily_rollups"),
+                eq(day.atStartOfDay()), eq(day.atStartOfDay()), eq(LocalDateTime.of(2025, 3, 6, 0, 0)));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO point_rollup_checkpoints"),
+                eq("daily"), eq(LocalDateTime.of(2025, 3, 6, 0, 0)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("마지막으로 접은 날부터 어제까지 하루씩 다시 접는다")
+    void catchUp_FromCheckpoint() {
+        // given
+        givenTransactionRuns();
+        LocalDate today = LocalDate.now();
+        given(jdbcTemplate.queryForList(contains("point_rollup_checkpoints"), eq(LocalDateTime.class), eq("daily")))
+                .willReturn(List.of(today.minusDays(2).atStartOfDay()));
+
+        // when
+        int days = pointRollupService.catchUp();
+
+        // then - 마지막으로 접은 그저께 + 어제
+        assertThat(days).isEqualTo(2);
+        verify(jdbcTemplate).update(startsWith("DELETE FROM point_daily_rollups"), eq(today.minusDays(3).atStartOfDay()));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM point_daily_rollups"), eq(today.minusDays(2).atStartOfDay()));
+    }
+
+    @Test
+    @DisplayName("처음 실행인데 로그가 없으면 아무것도 접지 않는다")
+    void catchUp_NoLogs() {
+        // given
+        given(jdbcTemplate.queryForList(contains("point_rollup_checkpoints"), eq(LocalDateTime.class), eq("daily")))
+                .willReturn(List.of());
+        given(jdbcTemplate.queryForList(contains("FROM point_logs"), eq(LocalDateTime.class))).willReturn(List.of());
+
+        // when
+        int days = pointRollupService.catchUp();
+
+        // then
+        assertThat(days).isZero();
+        verifyNoInteractions(transactionTemplate);
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.demo.service;
 
-import com.example.demo.domain.entity.PointLog;
 import com.example.demo.domain.entity.User;
 import com.example.demo.domain.enums.PointType;
 import com.example.demo.domain.enums.Role;
@@ -10,7 +9,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -31,6 +29,9 @@ class PointServiceTest {
     @Mock
     private PointLogRepository pointLogRepository;
 
+    @Mock
+    private PointLedgerService pointLedgerService;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
@@ -122,13 +123,8 @@ class PointServiceTest {
         // then
         // [수정] PointService는 더 이상 User를 직접 업데이트하지 않으므로 user.getTotalPoints() 검증 삭제
 
-        ArgumentCaptor<PointLog> logCaptor = ArgumentCaptor.forClass(PointLog.class);
-        verify(pointLogRepository).save(logCaptor.capture());
-        
-        PointLog savedLog = logCaptor.getValue();
-        assertThat(savedLog.getPoints()).isEqualTo(100L);
-        assertThat(savedLog.getType()).isEqualTo(PointType.EARN); 
-
+        // 원장에 증감분이 기록되는지 검증 (users 반영은 원장 서비스의 배치 flush 담당)
+        verify(pointLedgerService).append(user, 100L, PointType.EARN);
         // 이벤트 발행 여부 검증
         verify(eventPublisher).publishEvent(any(PointChangedEvent.class));
     }
@@ -146,13 +142,8 @@ class PointServiceTest {
         // then
         // [수정] PointService는 더 이상 User를 직접 업데이트하지 않으므로 user.getTotalPoints() 검증 삭제
 
-        ArgumentCaptor<PointLog> logCaptor = ArgumentCaptor.forClass(PointLog.class);
-        verify(pointLogRepository).save(logCaptor.capture());
-
-        PointLog savedLog = logCaptor.getValue();
-        assertThat(savedLog.getPoints()).isEqualTo(-50L); 
-        assertThat(savedLog.getType()).isEqualTo(PointType.DEDUCT); 
-        
+        // 원장에 증감분이 기록되는지 검증 (users 반영은 원장 서비스의 배치 flush 담당)
+        verify(pointLedgerService).append(user, -50L, PointType.DEDUCT);
         // 이벤트 발행 여부 검증 추가
         verify(eventPublisher).publishEvent(any(PointChangedEvent.class));
     }
@@ -170,13 +161,8 @@ class PointServiceTest {
         // then
         // [수정] PointService는 더 이상 User를 직접 업데이트하지 않으므로 user.getTotalPoints() 검증 삭제
 
-        ArgumentCaptor<PointLog> logCaptor = ArgumentCaptor.forClass(PointLog.class);
-        verify(pointLogRepository).save(logCaptor.capture());
-
-        PointLog savedLog = logCaptor.getValue();
-        assertThat(savedLog.getPoints()).isEqualTo(-500L);
-        assertThat(savedLog.getType()).isEqualTo(PointType.USE);
-        
+        // 원장에 증감분이 기록되는지 검증 (users 반영은 원장 서비스의 배치 flush 담당)
+        verify(pointLedgerService).append(user, -500L, PointType.USE);
         // 이벤트 발행 여부 검증 추가
         verify(eventPublisher).publishEvent(any(PointChangedEvent.class));
     }
@@ -0,0 +1,164 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.MonthlyRankingArchive;
+import com.example.demo.dto.response.UserRankingHistoryResponse;
+import com.example.demo.repository.MonthlyRankingArchiveRepository;
+import com.example.demo.repository.PointLogRepository;
+import com.example.demo.util.RankingSnapshotCodec;
+import com.example.demo.util.RankingTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RankingArchiveService 테스트")
+class RankingArchiveServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 10);
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private PointLogRepository pointLogRepository;
+
+    @Mock
+    private MonthlyRankingArchiveRepository archiveRepository;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @InjectMocks
+    private RankingArchiveService rankingArchiveService;
+
+    private MonthlyRankingArchive archiveOf(String month, long[] userIds, long[] scores) {
+        return MonthlyRankingArchive.builder()
+                .rankingMonth(month)
+                .userCount(userIds.length)
+                .payload(RankingSnapshotCodec.encode(userIds, scores))
+                .build();
+    }
+
+    @Test
+    @DisplayName("ZSet의 최종 점수를 ZSet과 같은 순서(점수 내림차순, 같은 점수면 멤버 내림차순)로 저장하고 음수 점수는 0으로 기록한다")
+    void archive_FromRanking() {
+        // given
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
+        tuples.add(new DefaultTypedTuple<>("3", 200.0));
+        tuples.add(new DefaultTypedTuple<>("2", 200.0));
+        tuples.add(new DefaultTypedTuple<>("1", -30.0));
+        given(archiveRepository.existsById("2025-10")).willReturn(false);
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.reverseRangeWithScores(eq("ranking:monthly:2025-10"), anyLong(), anyLong())).willReturn(tuples);
+
+        // when
+        boolean archived = rankingArchiveService.archive(MONTH);
+
+        // then
+        assertThat(archived).isTrue();
+        ArgumentCaptor<MonthlyRankingArchive> captor = ArgumentCaptor.forClass(MonthlyRankingArchive.class);
+        verify(archiveRepository).save(captor.capture());
+        RankingSnapshotCodec.Snapshot snapshot = RankingSnapshotCodec.decode(captor.getValue().getPayload());
+        assertThat(snapshot.userIds()).containsExactly(3L, 2L, 1L);
+        assertThat(snapshot.scores()).containsExactly(200L, 200L, 0L);
+        assertThat(captor.getValue().getUserCount()).isEqualTo(3);
+        verifyNoInteractions(pointLogRepository);
+    }
+
+    @Test
+    @DisplayName("랭킹 ZSet이 만료됐으면 DB 집계로 아카이브한다")
+    void archive_FallsBackToPointLogs() {
+        // given
+        given(archiveRepository.existsById("2025-10")).willReturn(false);
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.reverseRangeWithScores(anyString(), anyLong(), anyLong())).willReturn(Set.of());
+        given(pointLogRepository.sumPointsPerUserAfter(any(LocalDateTime.class), any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .willReturn(List.of(new Object[]{1L, 10L}, new Object[]{2L, 50L}));
+
+        // when
+        rankingArchiveService.archive(MONTH);
+
+        // then
+        ArgumentCaptor<MonthlyRankingArchive> captor = ArgumentCaptor.forClass(MonthlyRankingArchive.class);
+        verify(archiveRepository).save(captor.capture());
+        assertThat(RankingSnapshotCodec.decode(captor.getValue().getPayload()).userIds()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("이미 아카이브된 달은 다시 저장하지 않는다")
+    void archive_Idempotent() {
+        // given
+        given(archiveRepository.existsById("2025-10")).willReturn(true);
+
+        // when
+        boolean archived = rankingArchiveService.archive(MONTH);
+
+        // then
+        assertThat(archived).isFalse();
+        verify(archiveRepository, never()).save(any());
+        verifyNoInteractions(redisTemplate, pointLogRepository);
+    }
+
+    @Test
+    @DisplayName("지난달 Top N은 스냅샷 구간에 카드만 붙이고, 풀어 둔 스냅샷은 다시 조회하지 않는다")
+    @SuppressWarnings("unchecked")
+    void getTop_FromSnapshot() {
+        // given
+        given(archiveRepository.findById("2025-10"))
+                .willReturn(Optional.of(archiveOf("2025-10", new long[]{5L, 6L, 7L}, new long[]{300L, 200L, 100L})));
+        given(leaderboardService.hydrate(anyList())).willReturn(List.of());
+
+        // when
+        rankingArchiveService.getTop(MONTH, 2);
+        rankingArchiveService.getTop(MONTH, 2);
+
+        // then
+        ArgumentCaptor<List<RankingTree.Entry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(leaderboardService, times(2)).hydrate(captor.capture());
+        assertThat(captor.getValue()).extracting(RankingTree.Entry::userId).containsExactly(5L, 6L);
+        verify(archiveRepository, times(1)).findById("2025-10");
+    }
+
+    @Test
+    @DisplayName("사용자 과거 등수는 아카이브가 있고 랭킹에 있던 달만 돌려준다")
+    void getUserHistory() {
+        // given
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        YearMonth twoMonthsAgo = lastMonth.minusMonths(1);
+        YearMonth threeMonthsAgo = lastMonth.minusMonths(2);
+        given(archiveRepository.findById(lastMonth.toString()))
+                .willReturn(Optional.of(archiveOf(lastMonth.toString(), new long[]{9L, 8L}, new long[]{50L, 40L})));
+        given(archiveRepository.findById(twoMonthsAgo.toString())).willReturn(Optional.empty());
+        given(archiveRepository.findById(threeMonthsAgo.toString()))
+                .willReturn(Optional.of(archiveOf(threeMonthsAgo.toString(), new long[]{1L}, new long[]{10L})));
+
+        // when
+        List<UserRankingHistoryResponse> history = rankingArchiveService.getUserHistory(8L, 3);
+
+        // then
+        assertThat(history).containsExactly(new UserRankingHistoryResponse(lastMonth.toString(), 40L, 2, 2));
+    }
+}
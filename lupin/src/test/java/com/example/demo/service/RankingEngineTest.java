@@ -0,0 +1,145 @@
+package com.example.demo.service;
+
+import com.example.demo.util.RankingTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RankingEngine 테스트")
+class RankingEngineTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+    private static final String KEY = "ranking:monthly:2025-11";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private RankingEngine rankingEngine;
+
+    @BeforeEach
+    void setUp() {
+        rankingEngine = new RankingEngine(redisTemplate, new ChannelTopic("ranking-update"));
+    }
+
+    private void givenZSet(Object... memberScores) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
+        for (int i = 0; i < memberScores.length; i += 2) {
+            tuples.add(new DefaultTypedTuple<>((String) memberScores[i], ((Number) memberScores[i + 1]).doubleValue()));
+        }
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.reverseRangeWithScores(eq(KEY), anyLong(), anyLong())).willReturn(tuples);
+    }
+
+    @Test
+    @DisplayName("적재 전에는 준비되지 않은 상태이고, ZSet에서 적재한 뒤에는 등수/점수/주변 사용자를 메모리에서 응답한다")
+    void loadAndQuery() {
+        // given
+        givenZSet("1", 300, "3", 200, "2", 200, "4", 0);
+        assertThat(rankingEngine.isReady(MONTH)).isFalse();
+
+        // when
+        int loaded = rankingEngine.load(MONTH);
+
+        // then
+        assertThat(loaded).isEqualTo(4);
+        assertThat(rankingEngine.isReady(MONTH)).isTrue();
+        // 동점은 ZREVRANK와 같이 멤버 내림차순
+        assertThat(rankingEngine.rankOf(3L)).isEqualTo(2);
+        assertThat(rankingEngine.rankOf(2L)).isEqualTo(3);
+        assertThat(rankingEngine.scoreOf(2L)).hasValue(200L);
+        assertThat(rankingEngine.top(2)).extracting(RankingTree.Entry::userId).containsExactly(1L, 3L);
+        assertThat(rankingEngine.neighbors(1L, 1)).extracting(RankingTree.Entry::rank).containsExactly(1, 2);
+        assertThat(rankingEngine.neighbors(99L, 1)).isEmpty();
+        assertThat(rankingEngine.rankOf(99L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Pub/Sub으로 받은 최종 점수로 갱신하며, 같은 메시지를 여러 번 받아도 결과가 같다")
+    void handleMessageIsIdempotent() {
+        // given
+        givenZSet("1", 300, "2", 200);
+        rankingEngine.load(MONTH);
+
+        // when
+        rankingEngine.handleMessage("2025-11:2:500");
+        rankingEngine.handleMessage("2025-11:2:500");
+        rankingEngine.handleMessage("2025-11:7:250");
+
+        // then
+        assertThat(rankingEngine.top(3)).extracting(RankingTree.Entry::userId).containsExactly(2L, 1L, 7L);
+        assertThat(rankingEngine.scoreOf(2L)).hasValue(500L);
+    }
+
+    @Test
+    @DisplayName("여러 사용자의 점수를 묶은 메시지 한 건도 각각 반영한다")
+    void handleBatchedMessage() {
+        // given
+        givenZSet("1", 300, "2", 200);
+        rankingEngine.load(MONTH);
+
+        // when
+        rankingEngine.handleMessage("2025-11:2:500,2025-11:1:100,2025-11:7:250");
+
+        // then
+        assertThat(rankingEngine.top(3)).extracting(RankingTree.Entry::userId).containsExactly(2L, 7L, 1L);
+        assertThat(rankingEngine.scoreOf(1L)).hasValue(100L);
+    }
+
+    @Test
+    @DisplayName("적재되지 않은 달의 갱신은 무시한다")
+    void ignoresOtherMonth() {
+        // given
+        givenZSet("1", 300);
+        rankingEngine.load(MONTH);
+
+        // when
+        rankingEngine.apply(YearMonth.of(2025, 10), 1L, 999L);
+
+        // then
+        assertThat(rankingEngine.scoreOf(1L)).hasValue(300L);
+    }
+
+    @Test
+    @DisplayName("최종 점수를 랭킹 채널로 발행한다")
+    void publish() {
+        // when
+        rankingEngine.publish(MONTH, 5L, 120L);
+
+        // then
+        verify(redisTemplate).convertAndSend("ranking-update", "2025-11:5:120");
+    }
+
+    @Test
+    @DisplayName("여러 사용자의 최종 점수는 메시지 한 건으로 발행한다")
+    void publishBatch() {
+        // when
+        rankingEngine.publish(List.of(
+                new RankingEngine.ScoreUpdate(MONTH, 5L, 120L),
+                new RankingEngine.ScoreUpdate(MONTH, 6L, 0L)));
+
+        // then
+        verify(redisTemplate).convertAndSend("ranking-update", "2025-11:5:120,2025-11:6:0");
+    }
+}
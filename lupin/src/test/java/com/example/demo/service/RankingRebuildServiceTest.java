@@ -0,0 +1,232 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.PointLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RankingRebuildService 테스트")
+class RankingRebuildServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+    private static final String KEY = "ranking:monthly:2025-11";
+    private static final String FLAG_KEY = "ranking:monthly:2025-11:rebuilding";
+    private static final String DELTA_KEY = "ranking:monthly:2025-11:rebuild-delta";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private PointLogRepository pointLogRepository;
+
+    @Mock
+    private RLock lock;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RankingRebuildService rankingRebuildService;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redissonClient.getLock(anyString())).thenReturn(lock);
+        lenient().when(lock.tryLock(anyLong(), eq(TimeUnit.SECONDS))).thenReturn(true);
+        lenient().when(lock.isHeldByCurrentThread()).thenReturn(true);
+    }
+
+    private List<Object[]> rows(long fromId, int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = fromId; id < fromId + count; id++) {
+            rows.add(new Object[]{id, id % 2 == 0 ? 100L : -50L});
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("DB 집계를 청크 단위로 읽어 청크마다 파이프라인 한 번으로 임시 키에 쓰고, 교체 스크립트로 바꾼다")
+    void rebuild_ChunkedAndRenamed() {
+        // given
+        given(pointLogRepository.sumPointsPerUserAfter(any(), any(), eq(0L), any(Pageable.class)))
+                .willReturn(rows(1L, 2000));
+        given(pointLogRepository.sumPointsPerUserAfter(any(), any(), eq(2000L), any(Pageable.class)))
+                .willReturn(rows(2001L, 10));
+
+        // when
+        int total = rankingRebuildService.rebuild(MONTH);
+
+        // then
+        assertThat(total).isEqualTo(2010);
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                argThat((List<String> keys) -> keys.size() == 4 && keys.get(0).startsWith(KEY + ":rebuild:")
+                        && keys.subList(1, 4).equals(List.of(DELTA_KEY, KEY, FLAG_KEY))),
+                eq(String.valueOf(Duration.ofDays(40).toSeconds())));
+        verify(lock).unlock();
+    }
+
+    @Test
+    @DisplayName("DB를 읽기 전에 진행 표시를 세워, 스냅샷 이후 들어온 증감분을 교체 직전에 합친다")
+    void rebuild_MergesIncrementsAppliedDuringRebuild() {
+        // given - DB를 읽은 뒤 교체 전에 파이프라인이 증감분을 반영했다고 가정 (증감분 키에 모인다)
+        given(pointLogRepository.sumPointsPerUserAfter(any(), any(), eq(0L), any(Pageable.class)))
+                .willReturn(rows(1L, 10));
+
+        // when
+        rankingRebuildService.rebuild(MONTH);
+
+        // then - 이전 증감분 정리 → 진행 표시 → DB 스냅샷 → 증감분을 합쳐 교체 (RENAME만으로 덮어쓰지 않음)
+        InOrder inOrder = inOrder(redisTemplate, valueOperations, pointLogRepository);
+        inOrder.verify(redisTemplate).delete(DELTA_KEY);
+        inOrder.verify(valueOperations).set(eq(FLAG_KEY), eq("1"), any(Duration.class));
+        inOrder.verify(pointLogRepository).sumPointsPerUserAfter(any(), any(), eq(0L), any(Pageable.class));
+        inOrder.verify(redisTemplate).execute(any(RedisScript.class),
+                argThat((List<String> keys) -> keys.contains(DELTA_KEY) && keys.contains(KEY)), anyString());
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("같은 달을 다른 노드가 재구축 중이면 기다리다 실패하고 증감분 키는 건드리지 않는다")
+    void rebuild_LockNotAcquired() throws InterruptedException {
+        // given
+        given(lock.tryLock(anyLong(), eq(TimeUnit.SECONDS))).willReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> rankingRebuildService.rebuild(MONTH))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(pointLogRepository, valueOperations);
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("집계할 사용자가 없으면 랭킹 키를 교체하지 않는다")
+    void rebuild_Empty() {
+        // given
+        given(pointLogRepository.sumPointsPerUserAfter(any(), any(), eq(0L), any(Pageable.class)))
+                .willReturn(List.of());
+
+        // when
+        int total = rankingRebuildService.rebuild(MONTH);
+
+        // then
+        assertThat(total).isZero();
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verify(redisTemplate).delete(List.of(FLAG_KEY, DELTA_KEY));
+    }
+
+    @Test
+    @DisplayName("재구축 중 실패하면 임시 키를 지우고 기존 랭킹 키는 건드리지 않는다")
+    void rebuild_FailureCleansTempKey() {
+        // given
+        given(pointLogRepository.sumPointsPerUserAfter(any(), any(), eq(0L), any(Pageable.class)))
+                .willReturn(rows(1L, 10));
+        given(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .willThrow(new IllegalStateException("redis down"));
+
+        // when & then
+        assertThatThrownBy(() -> rankingRebuildService.rebuild(MONTH))
+                .isInstanceOf(IllegalStateException.class);
+        verify(redisTemplate).delete(startsWith(KEY + ":rebuild:"));
+        verify(redisTemplate).delete(List.of(FLAG_KEY, DELTA_KEY));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("랭킹 키가 이미 있으면 락도 잡지 않고 돌아간다")
+    void rebuildIfAbsent_KeyExists() {
+        // given
+        given(redisTemplate.hasKey(KEY)).willReturn(true);
+
+        // when
+        rankingRebuildService.rebuildIfAbsent(MONTH);
+
+        // then
+        verifyNoInteractions(redissonClient, pointLogRepository);
+    }
+
+    @Test
+    @DisplayName("락을 기다리는 동안 다른 요청이 재구축을 끝냈으면 다시 만들지 않는다")
+    void rebuildIfAbsent_DoubleCheckAfterLock() throws InterruptedException {
+        // given
+        given(redisTemplate.hasKey(KEY)).willReturn(false, true);
+        given(redissonClient.getLock("ranking:monthly:2025-11:rebuild-lock")).willReturn(lock);
+        given(lock.tryLock(anyLong(), eq(TimeUnit.SECONDS))).willReturn(true);
+        given(lock.isHeldByCurrentThread()).willReturn(true);
+
+        // when
+        rankingRebuildService.rebuildIfAbsent(MONTH);
+
+        // then
+        verifyNoInteractions(pointLogRepository);
+        verify(lock).unlock();
+    }
+
+    @Test
+    @DisplayName("캐시 미스 재구축은 내부 호출이어도 읽기 전용 트랜잭션 안에서 실행된다")
+    void rebuildIfAbsent_RunsInReadOnlyTransaction() throws InterruptedException {
+        // given
+        given(redisTemplate.hasKey(KEY)).willReturn(false);
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+        given(lock.tryLock(anyLong(), eq(TimeUnit.SECONDS))).willReturn(true);
+        given(lock.isHeldByCurrentThread()).willReturn(true);
+        given(pointLogRepository.sumPointsPerUserAfter(any(), any(), eq(0L), any(Pageable.class)))
+                .willReturn(List.of());
+
+        // when
+        rankingRebuildService.rebuildIfAbsent(MONTH);
+
+        // then
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("락을 얻지 못하면 재구축하지 않는다")
+    void rebuildIfAbsent_LockNotAcquired() throws InterruptedException {
+        // given
+        given(redisTemplate.hasKey(KEY)).willReturn(false);
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+        given(lock.tryLock(anyLong(), eq(TimeUnit.SECONDS))).willReturn(false);
+
+        // when
+        rankingRebuildService.rebuildIfAbsent(MONTH);
+
+        // then
+        verifyNoInteractions(pointLogRepository);
+        verify(lock, never()).unlock();
+    }
+}
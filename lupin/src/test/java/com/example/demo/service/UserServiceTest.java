@@ -8,7 +8,6 @@ import com.example.demo.exception.BusinessException;
 import com.example.demo.exception.ErrorCode;
 import com.example.demo.repository.CommentRepository;
 import com.example.demo.repository.FeedRepository;
-import com.example.demo.repository.PointLogRepository;
 import com.example.demo.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,24 +16,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate; // [추가]
-import org.springframework.data.redis.core.ZSetOperations; // [추가]
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set; // [추가]
-import java.util.LinkedHashSet; // [추가]
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString; // [추가]
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.lenient; // [추가] lenient import 필요
-import static org.mockito.Mockito.mock; 
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserService 테스트")
@@ -44,7 +37,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PointLogRepository pointLogRepository;
+    private PlatformStatisticsService platformStatisticsService;
 
     @Mock
     private FeedRepository feedRepository;
@@ -53,10 +46,10 @@ class UserServiceTest {
     private CommentRepository commentRepository;
 
     @Mock
-    private RedisTemplate<String, String> redisTemplate; // [추가]
+    private RankingRebuildService rankingRebuildService;
 
     @Mock
-    private ZSetOperations<String, String> zSetOperations; // [추가]
+    private LeaderboardService leaderboardService;
 
     @InjectMocks
     private UserService userService;
@@ -65,9 +58,6 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        // [수정] Redis를 사용하지 않는 테스트도 있으므로 lenient()를 사용하여 불필요한 스터빙 에러 방지
-        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-
         user = User.builder()
                 .userId("testUser")
                 .password("password")
@@ -183,48 +173,42 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("랭킹 조회 시 실제 포인트가 음수라도 화면에는 0으로 표시된다")
-    void getTopUsersByPoints_NegativePointsDisplayZero() {
+    @DisplayName("랭킹 조회는 이번 달 랭킹이 없으면 재구축한 뒤 Redis 읽기 모델에서 응답한다")
+    void getTopUsersByPoints_ServedFromLeaderboard() {
         // given
-        User positiveUser = User.builder().id(1L).name("양수유저").build();
-        User negativeUser = User.builder().id(2L).name("음수유저").build();
-
-        // 1. Redis ZSet 리턴값 Mocking (TupleSet)
-        Set<ZSetOperations.TypedTuple<String>> tupleSet = new LinkedHashSet<>();
-        
-        // 1등: 100점 (양수)
-        ZSetOperations.TypedTuple<String> tuple1 = mock(ZSetOperations.TypedTuple.class);
-        given(tuple1.getValue()).willReturn("1");
-        given(tuple1.getScore()).willReturn(100.0);
-        tupleSet.add(tuple1);
-
-        // 2등: -50점 (음수)
-        ZSetOperations.TypedTuple<String> tuple2 = mock(ZSetOperations.TypedTuple.class);
-        given(tuple2.getValue()).willReturn("2");
-        given(tuple2.getScore()).willReturn(-50.0);
-        tupleSet.add(tuple2);
-
-        // Redis 조회 시 위 Set 반환
-        given(zSetOperations.reverseRangeWithScores(anyString(), any(Long.class), any(Long.class)))
-                .willReturn(tupleSet);
-
-        // 2. UserRepository 조회 Mocking (ID 리스트로 조회)
-        given(userRepository.findAllById(any())).willReturn(List.of(positiveUser, negativeUser));
+        YearMonth currentMonth = YearMonth.now();
+        List<UserRankingResponse> top = List.of(new UserRankingResponse(1L, "양수유저", null, null, 100L, 1));
+        given(leaderboardService.getTop(currentMonth, 10)).willReturn(top);
 
         // when
         List<UserRankingResponse> results = userService.getTopUsersByPoints(10);
 
         // then
-        assertThat(results).hasSize(2);
+        assertThat(results).isEqualTo(top);
+        verify(rankingRebuildService).rebuildIfAbsent(currentMonth);
+        verifyNoInteractions(userRepository);
+    }
 
-        // 1등: 100점 -> 100점 그대로
-        assertThat(results.get(0).points()).isEqualTo(100L);
-        assertThat(results.get(0).rank()).isEqualTo(1);
-        assertThat(results.get(0).name()).isEqualTo("양수유저");
+    @Test
+    @DisplayName("프로필을 바꾸면 랭킹 카드도 갱신한다")
+    void updateProfile_RefreshesLeaderboardCard() {
+        // when
+        userService.updateProfile(user, "새이름", 180.0, 75.0, LocalDate.of(1990, 1, 1), "M");
 
-        // 2등: -50점 -> 0점으로 변환 확인 (핵심 검증)
-        assertThat(results.get(1).points()).isEqualTo(0L);
-        assertThat(results.get(1).rank()).isEqualTo(2);
-        assertThat(results.get(1).name()).isEqualTo("음수유저");
+        // then
+        verify(leaderboardService).refreshCard(user);
+    }
+
+    @Test
+    @DisplayName("대시보드 통계는 누적된 Redis 통계에서 조회한다")
+    void getStatistics_ServedFromAggregator() {
+        // given
+        YearMonth currentMonth = YearMonth.now();
+        given(platformStatisticsService.getActiveUsers(currentMonth)).willReturn(42L);
+        given(platformStatisticsService.getAveragePoints(currentMonth)).willReturn(17L);
+
+        // when & then
+        assertThat(userService.getActiveUsersThisMonth()).isEqualTo(42L);
+        assertThat(userService.getAveragePoints()).isEqualTo(17L);
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -391,4 +392,52 @@ class WorkoutScoreServiceTest {
             assertThat(result).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("calculateAll")
+    class CalculateAll {
+
+        @Test
+        @DisplayName("여러 운동을 한 번에 계산하면 건별 validateAndCalculate와 같은 결과를 낸다")
+        void matchesSingleCalculation() {
+            // given
+            LocalDate feedDate = LocalDate.of(2024, 1, 15);
+            LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 0);
+            List<WorkoutScoreService.WorkoutSample> samples = List.of(
+                    new WorkoutScoreService.WorkoutSample("헬스", start, start.plusMinutes(30), feedDate),
+                    new WorkoutScoreService.WorkoutSample("런닝", start, start.plusMinutes(50), feedDate),
+                    new WorkoutScoreService.WorkoutSample("걷기", start, start.plusMinutes(40), feedDate),
+                    new WorkoutScoreService.WorkoutSample("알 수 없는 운동", start, start.plusMinutes(20), feedDate),
+                    new WorkoutScoreService.WorkoutSample("요가", start.plusHours(1), start, feedDate),
+                    new WorkoutScoreService.WorkoutSample("요가", null, start, feedDate)
+            );
+
+            // when
+            WorkoutScoreService.WorkoutResult[] results = workoutScoreService.calculateAll(samples);
+
+            // then
+            assertThat(results).hasSize(samples.size());
+            for (int i = 0; i < samples.size(); i++) {
+                WorkoutScoreService.WorkoutSample sample = samples.get(i);
+                assertThat(results[i]).isEqualTo(workoutScoreService.validateAndCalculate(sample.activity(),
+                        Optional.ofNullable(sample.startTime()), Optional.ofNullable(sample.endTime()), sample.feedDate()));
+            }
+            assertThat(results[1].score()).isEqualTo(30);
+            assertThat(results[2].score()).isEqualTo(24);
+            assertThat(results[4].valid()).isFalse();
+            assertThat(results[5].valid()).isFalse();
+        }
+
+        @Test
+        @DisplayName("별칭은 대표 활동과 같은 강도를 쓰고, 기존 채점표에 없던 이름은 기본값(0.8) 그대로다")
+        void aliasesShareIntensity() {
+            // when & then
+            assertThat(workoutScoreService.getIntensity("웨이트 트레이닝")).isEqualTo(workoutScoreService.getIntensity("헬스"));
+            assertThat(workoutScoreService.getIntensity("사이클")).isEqualTo(workoutScoreService.getIntensity("자전거 타기"));
+            assertThat(workoutScoreService.getIntensity("런닝")).isEqualTo(workoutScoreService.getIntensity("달리기"));
+            assertThat(workoutScoreService.getIntensity("자전거")).isEqualTo(0.8);
+            assertThat(workoutScoreService.getIntensity("러닝")).isEqualTo(0.8);
+            assertThat(workoutScoreService.getIntensity(null)).isEqualTo(0.8);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 값은 항상 포함된다고 판단한다 (거짓 음성 없음)")
+    void noFalseNegatives() {
+        // given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, 42L);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("feed/" + i + ".webp");
+        }
+
+        // when & then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("feed/" + i + ".webp")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("넣지 않은 값의 오탐률은 목표치 근처에 머문다")
+    void falsePositiveRateNearTarget() {
+        // given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, 42L);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("feed/" + i + ".webp");
+        }
+
+        // when
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("profiles/" + i + ".webp")) {
+                falsePositives++;
+            }
+        }
+
+        // then
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("원소당 약 1.2바이트로 크기가 정해진다 (1% 기준)")
+    void sizedByExpectedInsertions() {
+        // when
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01, 0L);
+
+        // then
+        assertThat(filter.sizeInBytes()).isBetween(1_150_000L, 1_250_000L);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("시드가 다르면 오탐되는 값도 달라진다")
+    void seedChangesFalsePositives() {
+        // given
+        BloomFilter first = BloomFilter.create(1_000, 0.05, 1L);
+        BloomFilter second = BloomFilter.create(1_000, 0.05, 2L);
+        for (int i = 0; i < 1_000; i++) {
+            first.put("feed/" + i + ".webp");
+            second.put("feed/" + i + ".webp");
+        }
+
+        // when
+        int both = 0;
+        int firstOnly = 0;
+        for (int i = 0; i < 20_000; i++) {
+            String value = "profiles/" + i + ".webp";
+            boolean inFirst = first.mightContain(value);
+            if (inFirst && second.mightContain(value)) {
+                both++;
+            } else if (inFirst) {
+                firstOnly++;
+            }
+        }
+
+        // then
+        assertThat(firstOnly).isGreaterThan(both);
+    }
+
+    @Test
+    @DisplayName("오탐률은 0과 1 사이여야 한다")
+    void rejectsInvalidFpp() {
+        assertThatThrownBy(() -> BloomFilter.create(10, 1.0, 0L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
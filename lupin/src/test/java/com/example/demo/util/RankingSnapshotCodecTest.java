@@ -0,0 +1,74 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankingSnapshotCodecTest {
+
+    @Test
+    @DisplayName("인코딩한 스냅샷을 풀면 등수 순서의 사용자 ID와 점수가 그대로 복원된다")
+    void roundTrip() {
+        // given
+        long[] userIds = {42L, 7L, 1_000_000L, 3L};
+        long[] scores = {900L, 900L, 15L, 0L};
+
+        // when
+        RankingSnapshotCodec.Snapshot snapshot = RankingSnapshotCodec.decode(RankingSnapshotCodec.encode(userIds, scores));
+
+        // then
+        assertThat(snapshot.userIds()).containsExactly(userIds);
+        assertThat(snapshot.scores()).containsExactly(scores);
+        assertThat(snapshot.rankOf(42L)).isEqualTo(1);
+        assertThat(snapshot.rankOf(7L)).isEqualTo(2);
+        assertThat(snapshot.rankOf(1_000_000L)).isEqualTo(3);
+        assertThat(snapshot.rankOf(3L)).isEqualTo(4);
+        assertThat(snapshot.rankOf(99L)).isZero();
+        assertThat(snapshot.range(2, 10)).extracting(RankingTree.Entry::rank).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("빈 랭킹도 인코딩/복원할 수 있다")
+    void emptySnapshot() {
+        // when
+        RankingSnapshotCodec.Snapshot snapshot = RankingSnapshotCodec.decode(RankingSnapshotCodec.encode(new long[0], new long[0]));
+
+        // then
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.range(1, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("사용자당 평균 몇 바이트로 압축된다")
+    void compact() {
+        // given
+        int size = 10_000;
+        Random random = new Random(7);
+        long[] userIds = new long[size];
+        long[] scores = new long[size];
+        long score = 5_000L;
+        for (int i = 0; i < size; i++) {
+            userIds[i] = random.nextInt(50_000);
+            score -= random.nextInt(2);
+            scores[i] = Math.max(0, score);
+        }
+
+        // when
+        byte[] payload = RankingSnapshotCodec.encode(userIds, scores);
+
+        // then
+        assertThat(payload.length).isLessThan(size * 4);
+        assertThat(RankingSnapshotCodec.decode(payload).userIds()).containsExactly(userIds);
+    }
+
+    @Test
+    @DisplayName("점수가 내림차순이 아니면 인코딩하지 않는다")
+    void rejectsUnsortedScores() {
+        assertThatThrownBy(() -> RankingSnapshotCodec.encode(new long[]{1L, 2L}, new long[]{10L, 20L}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingTreeTest {
+
+    @Test
+    @DisplayName("점수 내림차순, 같은 점수면 ZREVRANGE처럼 멤버 내림차순으로 등수를 매긴다")
+    void rankOrder() {
+        // given
+        RankingTree tree = new RankingTree();
+        tree.insert(3L, 100L);
+        tree.insert(1L, 50L);
+        tree.insert(2L, 100L);
+
+        // when & then
+        assertThat(tree.rankOf(3L, 100L)).isEqualTo(1);
+        assertThat(tree.rankOf(2L, 100L)).isEqualTo(2);
+        assertThat(tree.rankOf(1L, 50L)).isEqualTo(3);
+        assertThat(tree.range(1, 10)).extracting(RankingTree.Entry::userId).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("동점자는 ZSet과 같이 멤버 문자열 사전순 내림차순이다 (숫자 크기 순서가 아님)")
+    void tiesFollowZSetMemberOrder() {
+        // given - 같은 점수의 ZREVRANGE 결과: "9", "100", "10", "1"
+        RankingTree tree = new RankingTree();
+        for (long userId : new long[]{10L, 1L, 100L, 9L}) {
+            tree.insert(userId, 70L);
+        }
+        tree.insert(5L, 80L);
+
+        // when & then
+        assertThat(tree.range(1, 10)).extracting(RankingTree.Entry::userId).containsExactly(5L, 9L, 100L, 10L, 1L);
+        assertThat(tree.rankOf(100L, 70L)).isEqualTo(3);
+        assertThat(RankingTree.compare(9L, 70L, 10L, 70L)).isNegative();
+        assertThat(RankingTree.compare(10L, 70L, 1L, 70L)).isNegative();
+    }
+
+    @Test
+    @DisplayName("구간 조회는 범위를 벗어난 부분을 잘라낸다")
+    void rangeClamped() {
+        // given
+        RankingTree tree = new RankingTree();
+        tree.insert(1L, 30L);
+        tree.insert(2L, 20L);
+
+        // when & then
+        assertThat(tree.range(0, 1)).extracting(RankingTree.Entry::rank).containsExactly(1);
+        assertThat(tree.range(2, 3)).extracting(RankingTree.Entry::userId).containsExactly(2L);
+        assertThat(tree.range(3, 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("무작위 갱신 후에도 정렬된 목록과 등수/구간이 일치한다")
+    void matchesSortedListAfterRandomUpdates() {
+        // given
+        RankingTree tree = new RankingTree();
+        Map<Long, Long> scores = new HashMap<>();
+        Random random = new Random(42);
+
+        // when
+        for (int i = 0; i < 5000; i++) {
+            long userId = random.nextInt(500);
+            long score = random.nextInt(200);
+            Long previous = scores.put(userId, score);
+            if (previous != null) {
+                assertThat(tree.remove(userId, previous)).isTrue();
+            }
+            tree.insert(userId, score);
+        }
+
+        // then
+        List<Map.Entry<Long, Long>> expected = new ArrayList<>(scores.entrySet());
+        // ZSet 순서: 점수 내림차순, 같은 점수면 멤버 문자열 내림차순
+        expected.sort(Comparator.<Map.Entry<Long, Long>>comparingLong(Map.Entry::getValue).reversed()
+                .thenComparing(entry -> String.valueOf(entry.getKey()), Comparator.reverseOrder()));
+
+        assertThat(tree.size()).isEqualTo(expected.size());
+        for (int rank = 1; rank <= expected.size(); rank += 37) {
+            Map.Entry<Long, Long> entry = expected.get(rank - 1);
+            assertThat(tree.rankOf(entry.getKey(), entry.getValue())).isEqualTo(rank);
+        }
+        assertThat(tree.range(100, 104)).extracting(RankingTree.Entry::userId)
+                .containsExactlyElementsOf(expected.subList(99, 104).stream().map(Map.Entry::getKey).toList());
+    }
+}